@@ -0,0 +1,433 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.apache.connector;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.core.Configuration;
+
+import javax.net.ssl.SSLContext;
+
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.NonBlockingConnector;
+import org.glassfish.jersey.internal.util.collection.ByteBufferInputStream;
+import org.glassfish.jersey.message.internal.HeaderUtils;
+import org.glassfish.jersey.message.internal.ReaderWriter;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.HttpClientConnectionManager;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClientBuilder;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.ContentDecoder;
+import org.apache.http.nio.IOControl;
+import org.apache.http.nio.client.methods.HttpAsyncMethods;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.protocol.AbstractAsyncResponseConsumer;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.ssl.SSLContexts;
+
+import jersey.repackaged.com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * A {@link ApacheConnector connector} that sends asynchronous requests using a non-blocking Apache HTTP async client
+ * with its own I/O reactor.
+ * <p>
+ * Synchronous requests are sent using the blocking Apache HTTP client the same way as by {@link ApacheConnector}.
+ * Asynchronous requests do not block any thread while waiting for the response: the request entity is buffered,
+ * the request is sent by the I/O reactor and the response is reported to the client runtime as soon as the response
+ * headers are received. The response entity is streamed to the client runtime as it is being received.
+ * </p>
+ * <p>
+ * At most {@value #MAX_BUFFERED_SIZE} bytes of the response entity that have not been read by the client yet are
+ * buffered. When the limit is reached, the I/O reactor stops reading the response from the connection until the
+ * client reads at least half of the buffered entity, so that a slow reader of a large response pushes back on the
+ * server instead of accumulating the whole entity on the heap.
+ * </p>
+ * <p>
+ * The connector is used by {@link ApacheConnectorProvider} if the {@link ApacheClientProperties#ASYNC_IO} property
+ * is enabled.
+ * </p>
+ */
+class ApacheAsyncConnector extends ApacheConnector implements NonBlockingConnector {
+
+    /**
+     * Maximum size of the received response entity content waiting to be read by the client.
+     */
+    static final int MAX_BUFFERED_SIZE = 16 * 8192;
+
+    private final PoolingNHttpClientConnectionManager asyncConnectionManager;
+    private final CloseableHttpAsyncClient asyncClient;
+
+    /**
+     * Create the new Apache HTTP Client connector with non-blocking asynchronous requests.
+     *
+     * @param client JAX-RS client instance for which the connector is being created.
+     * @param config client configuration.
+     */
+    ApacheAsyncConnector(final Client client, final Configuration config) {
+        super(client, config);
+
+        this.asyncConnectionManager = createAsyncConnectionManager(client, config);
+
+        final HttpAsyncClientBuilder clientBuilder = HttpAsyncClientBuilder.create();
+        clientBuilder.setConnectionManager(asyncConnectionManager);
+        clientBuilder.setDefaultRequestConfig(getRequestConfig());
+        if (getCredentialsProvider() != null) {
+            clientBuilder.setDefaultCredentialsProvider(getCredentialsProvider());
+        }
+        if (getProxy() != null) {
+            clientBuilder.setProxy(getProxy());
+        }
+        if (getCookieStore() != null) {
+            clientBuilder.setDefaultCookieStore(getCookieStore());
+        }
+
+        this.asyncClient = clientBuilder.build();
+        this.asyncClient.start();
+    }
+
+    private PoolingNHttpClientConnectionManager createAsyncConnectionManager(final Client client,
+                                                                             final Configuration config) {
+        final IOReactorConfig.Builder reactorConfig = IOReactorConfig.custom();
+        final Integer ioThreadCount = ApacheClientProperties.getValue(config.getProperties(),
+                ApacheClientProperties.ASYNC_IO_THREAD_COUNT, Integer.class);
+        if (ioThreadCount != null && ioThreadCount > 0) {
+            reactorConfig.setIoThreadCount(ioThreadCount);
+        }
+
+        final SSLContext sslContext = client.getSslContext();
+        final Registry<SchemeIOSessionStrategy> registry = RegistryBuilder.<SchemeIOSessionStrategy>create()
+                .register("http", NoopIOSessionStrategy.INSTANCE)
+                .register("https", new SSLIOSessionStrategy(
+                        sslContext != null ? sslContext : SSLContexts.createDefault(), client.getHostnameVerifier()))
+                .build();
+
+        final PoolingNHttpClientConnectionManager connectionManager;
+        try {
+            connectionManager = new PoolingNHttpClientConnectionManager(
+                    new DefaultConnectingIOReactor(reactorConfig.build()), registry);
+        } catch (final IOReactorException e) {
+            throw new ProcessingException(LocalizationMessages.FAILED_TO_START_ASYNC_CLIENT(), e);
+        }
+
+        // share the pool limits of the blocking client connection pool
+        final HttpClientConnectionManager blockingConnectionManager = getConnectionManager();
+        if (blockingConnectionManager instanceof PoolingHttpClientConnectionManager) {
+            final PoolingHttpClientConnectionManager pool = (PoolingHttpClientConnectionManager) blockingConnectionManager;
+            connectionManager.setMaxTotal(pool.getMaxTotal());
+            connectionManager.setDefaultMaxPerRoute(pool.getDefaultMaxPerRoute());
+        }
+
+        return connectionManager;
+    }
+
+    @Override
+    PoolStats getAsyncPoolStats() {
+        return asyncConnectionManager.getTotalStats();
+    }
+
+    @Override
+    public Future<?> apply(final ClientRequest clientRequest, final AsyncConnectorCallback callback) {
+        final ResponseEntityStream entityStream = new ResponseEntityStream();
+        final AtomicBoolean callbackInvoked = new AtomicBoolean(false);
+
+        Throwable failure;
+        try {
+            final HttpUriRequest request = getUriHttpRequest(clientRequest, true);
+            final Map<String, String> clientHeadersSnapshot = writeOutBoundHeaders(clientRequest.getHeaders(), request);
+            final HttpClientContext context = createContext(request);
+
+            return asyncClient.execute(
+                    HttpAsyncMethods.create(getHost(request), request),
+                    new ResponseConsumer(clientRequest, clientHeadersSnapshot, context, entityStream, callback,
+                            callbackInvoked),
+                    context,
+                    new FutureCallback<Void>() {
+
+                        @Override
+                        public void completed(final Void result) {
+                            // entity stream closed by the response consumer
+                        }
+
+                        @Override
+                        public void failed(final Exception ex) {
+                            fail(ex instanceof IOException ? new ProcessingException(ex.getMessage(), ex) : ex);
+                        }
+
+                        @Override
+                        public void cancelled() {
+                            fail(new ProcessingException(new CancellationException()));
+                        }
+
+                        private void fail(final Throwable t) {
+                            entityStream.queue.closeQueue(t);
+                            if (callbackInvoked.compareAndSet(false, true)) {
+                                callback.failure(t);
+                            }
+                        }
+                    });
+        } catch (final Throwable t) {
+            failure = t;
+        }
+
+        if (callbackInvoked.compareAndSet(false, true)) {
+            callback.failure(failure);
+        }
+        final SettableFuture<Object> errorFuture = SettableFuture.create();
+        errorFuture.setException(failure);
+        return errorFuture;
+    }
+
+    @Override
+    public void close() {
+        try {
+            asyncClient.close();
+        } catch (final IOException e) {
+            throw new ProcessingException(LocalizationMessages.FAILED_TO_STOP_CLIENT(), e);
+        } finally {
+            super.close();
+        }
+    }
+
+    /**
+     * Response consumer reporting the response to the connector callback once the response headers are received
+     * and streaming the received response entity content to the response entity stream.
+     */
+    private final class ResponseConsumer extends AbstractAsyncResponseConsumer<Void> {
+
+        private final ClientRequest clientRequest;
+        private final Map<String, String> clientHeadersSnapshot;
+        private final HttpClientContext context;
+        private final ResponseEntityStream entityStream;
+        private final AsyncConnectorCallback callback;
+        private final AtomicBoolean callbackInvoked;
+        private final ByteBuffer buffer = ByteBuffer.allocate(ReaderWriter.BUFFER_SIZE);
+
+        private ResponseConsumer(final ClientRequest clientRequest,
+                                 final Map<String, String> clientHeadersSnapshot,
+                                 final HttpClientContext context,
+                                 final ResponseEntityStream entityStream,
+                                 final AsyncConnectorCallback callback,
+                                 final AtomicBoolean callbackInvoked) {
+            this.clientRequest = clientRequest;
+            this.clientHeadersSnapshot = clientHeadersSnapshot;
+            this.context = context;
+            this.entityStream = entityStream;
+            this.callback = callback;
+            this.callbackInvoked = callbackInvoked;
+        }
+
+        @Override
+        protected void onResponseReceived(final HttpResponse response) {
+            if (!callbackInvoked.compareAndSet(false, true)) {
+                return;
+            }
+
+            HeaderUtils.checkHeaderChanges(clientHeadersSnapshot, clientRequest.getHeaders(),
+                    ApacheAsyncConnector.this.getClass().getName());
+
+            final ClientResponse responseContext = translateResponse(clientRequest, response, context);
+            responseContext.setEntityStream(entityStream);
+            callback.response(responseContext);
+        }
+
+        @Override
+        protected void onEntityEnclosed(final HttpEntity entity, final ContentType contentType) {
+            // entity content is streamed as it is received
+        }
+
+        @Override
+        protected void onContentReceived(final ContentDecoder decoder, final IOControl ioControl) throws IOException {
+            while (decoder.read(buffer) > 0) {
+                buffer.flip();
+                final ByteBuffer chunk = ByteBuffer.allocate(buffer.remaining());
+                chunk.put(buffer);
+                chunk.flip();
+                buffer.clear();
+
+                if (!entityStream.put(chunk, ioControl)) {
+                    // input suspended - the rest of the content is read once the client drains the buffered content
+                    break;
+                }
+            }
+        }
+
+        @Override
+        protected Void buildResult(final HttpContext context) {
+            entityStream.queue.closeQueue();
+            return null;
+        }
+
+        @Override
+        protected void releaseResources() {
+            // nothing to release
+        }
+    }
+
+    /**
+     * Response entity stream reading the content queued by the response consumer. The stream suspends the input
+     * of the connection while {@value #MAX_BUFFERED_SIZE} bytes or more are waiting to be read and resumes it once
+     * the client reads at least half of them.
+     */
+    private static final class ResponseEntityStream extends FilterInputStream {
+
+        private final ByteBufferInputStream queue;
+        private final Object lock = new Object();
+        private int buffered = 0;
+        private IOControl suspended = null;
+        private boolean closed = false;
+
+        private ResponseEntityStream() {
+            this(new ByteBufferInputStream());
+        }
+
+        private ResponseEntityStream(final ByteBufferInputStream queue) {
+            super(queue);
+            this.queue = queue;
+        }
+
+        /**
+         * Queue the received content chunk to be read by the client. Invoked by the I/O reactor thread.
+         *
+         * @param chunk     received content chunk.
+         * @param ioControl I/O control of the connection the chunk has been received from.
+         * @return {@code false} if the input of the connection has been suspended, {@code true} otherwise.
+         * @throws IOException in case the thread has been interrupted.
+         */
+        private boolean put(final ByteBuffer chunk, final IOControl ioControl) throws IOException {
+            final int size = chunk.remaining();
+            try {
+                if (!queue.put(chunk)) {
+                    // entity stream closed by the client - the rest of the content is discarded
+                    return true;
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+
+            synchronized (lock) {
+                buffered += size;
+                if (!closed && suspended == null && buffered >= MAX_BUFFERED_SIZE) {
+                    suspended = ioControl;
+                    ioControl.suspendInput();
+                }
+                return suspended == null;
+            }
+        }
+
+        private void released(final long size) {
+            synchronized (lock) {
+                buffered -= size;
+                if (suspended != null && buffered <= MAX_BUFFERED_SIZE / 2) {
+                    suspended.requestInput();
+                    suspended = null;
+                }
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b != -1) {
+                released(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int read = super.read(b, off, len);
+            if (read > 0) {
+                released(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final long skipped = super.skip(n);
+            if (skipped > 0) {
+                released(skipped);
+            }
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                // the queued content has been discarded
+                synchronized (lock) {
+                    closed = true;
+                    released(buffered);
+                }
+            }
+        }
+    }
+}
@@ -145,6 +145,43 @@ public final class ApacheClientProperties {
      */
     public static final String REQUEST_CONFIG = "jersey.config.apache.client.requestConfig";
 
+    /**
+     * A value of {@code true} indicates that asynchronous requests should be sent using a non-blocking
+     * Apache HTTP async client with its own I/O reactor instead of blocking the calling thread.
+     * <p>
+     * The non-blocking client shares the {@link #REQUEST_CONFIG request configuration}, the
+     * {@link #CREDENTIALS_PROVIDER credentials provider}, the cookie store and the proxy settings with the blocking
+     * client used for synchronous requests. If the configured {@link #CONNECTION_MANAGER connection manager} is
+     * a {@link org.apache.http.impl.conn.PoolingHttpClientConnectionManager}, its maximum total and maximum per route
+     * connection limits are applied to the non-blocking connection pool as well.
+     * </p>
+     * <p>
+     * Request entities of asynchronous requests are always buffered before the request is sent.
+     * </p>
+     * <p>
+     * This property may only be set prior to constructing Apache connector using {@link ApacheConnectorProvider}.
+     * <p/>
+     * The value MUST be an instance of {@link java.lang.Boolean}.
+     * <p/>
+     * The default value is {@code false}.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     */
+    public static final String ASYNC_IO = "jersey.config.apache.client.asyncIo";
+
+    /**
+     * Number of I/O dispatch threads of the non-blocking Apache HTTP async client.
+     * <p>
+     * The property is used only if {@link #ASYNC_IO} is enabled.
+     * <p/>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}.
+     * <p/>
+     * The default value is the number of available processors.
+     * <p/>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     */
+    public static final String ASYNC_IO_THREAD_COUNT = "jersey.config.apache.client.asyncIoThreadCount";
+
     /**
      * Get the value of the specified property.
      *
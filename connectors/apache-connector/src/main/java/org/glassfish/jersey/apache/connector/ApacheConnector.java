@@ -82,6 +82,7 @@ import org.glassfish.jersey.message.internal.Statuses;
 import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.AuthCache;
@@ -119,6 +120,8 @@ import org.apache.http.impl.conn.ManagedHttpClientConnectionFactory;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.http.impl.io.ChunkedOutputStream;
 import org.apache.http.io.SessionOutputBuffer;
+import org.apache.http.pool.ConnPoolControl;
+import org.apache.http.pool.PoolStats;
 import org.apache.http.util.TextUtils;
 import org.apache.http.util.VersionInfo;
 
@@ -195,7 +198,10 @@ class ApacheConnector implements Connector {
     }
 
     private final CloseableHttpClient client;
+    private final HttpClientConnectionManager connectionManager;
     private final CookieStore cookieStore;
+    private final CredentialsProvider credentialsProvider;
+    private final HttpHost proxy;
     private final boolean preemptiveBasicAuth;
     private final RequestConfig requestConfig;
 
@@ -236,23 +242,27 @@ class ApacheConnector implements Connector {
         final SSLContext sslContext = client.getSslContext();
         final HttpClientBuilder clientBuilder = HttpClientBuilder.create();
 
-        clientBuilder.setConnectionManager(getConnectionManager(client, config, sslContext));
+        this.connectionManager = getConnectionManager(client, config, sslContext);
+        clientBuilder.setConnectionManager(this.connectionManager);
         clientBuilder.setConnectionManagerShared(
                 PropertiesHelper.getValue(config.getProperties(), ApacheClientProperties.CONNECTION_MANAGER_SHARED, false, null));
         clientBuilder.setSslcontext(sslContext);
 
         final RequestConfig.Builder requestConfigBuilder = RequestConfig.custom();
 
+        CredentialsProvider defaultCredentialsProvider = null;
         final Object credentialsProvider = config.getProperty(ApacheClientProperties.CREDENTIALS_PROVIDER);
         if (credentialsProvider != null && (credentialsProvider instanceof CredentialsProvider)) {
-            clientBuilder.setDefaultCredentialsProvider((CredentialsProvider) credentialsProvider);
+            defaultCredentialsProvider = (CredentialsProvider) credentialsProvider;
+            clientBuilder.setDefaultCredentialsProvider(defaultCredentialsProvider);
         }
 
+        HttpHost proxy = null;
         final Object proxyUri;
         proxyUri = config.getProperty(ClientProperties.PROXY_URI);
         if (proxyUri != null) {
             final URI u = getProxyUri(proxyUri);
-            final HttpHost proxy = new HttpHost(u.getHost(), u.getPort(), u.getScheme());
+            proxy = new HttpHost(u.getHost(), u.getPort(), u.getScheme());
             final String userName;
             userName = ClientProperties.getValue(config.getProperties(), ClientProperties.PROXY_USERNAME, String.class);
             if (userName != null) {
@@ -265,11 +275,14 @@ class ApacheConnector implements Connector {
                             new AuthScope(u.getHost(), u.getPort()),
                             new UsernamePasswordCredentials(userName, password)
                     );
+                    defaultCredentialsProvider = credsProvider;
                     clientBuilder.setDefaultCredentialsProvider(credsProvider);
                 }
             }
             clientBuilder.setProxy(proxy);
         }
+        this.credentialsProvider = defaultCredentialsProvider;
+        this.proxy = proxy;
 
         final Boolean preemptiveBasicAuthProperty = (Boolean) config.getProperties()
                 .get(ApacheClientProperties.PREEMPTIVE_BASIC_AUTHENTICATION);
@@ -408,6 +421,62 @@ class ApacheConnector implements Connector {
         return cookieStore;
     }
 
+    /**
+     * Get the connection manager of the blocking {@link HttpClient}.
+     *
+     * @return connection manager used for synchronous requests.
+     */
+    HttpClientConnectionManager getConnectionManager() {
+        return connectionManager;
+    }
+
+    /**
+     * Get the default credentials provider.
+     *
+     * @return default credentials provider or {@code null} if not configured.
+     */
+    CredentialsProvider getCredentialsProvider() {
+        return credentialsProvider;
+    }
+
+    /**
+     * Get the proxy host.
+     *
+     * @return proxy host or {@code null} if no proxy is configured.
+     */
+    HttpHost getProxy() {
+        return proxy;
+    }
+
+    /**
+     * Get the statistics of the blocking client connection pool.
+     *
+     * @return connection pool statistics or {@code null} if the connection manager is not a connection pool.
+     */
+    PoolStats getPoolStats() {
+        return connectionManager instanceof ConnPoolControl
+                ? ((ConnPoolControl<?>) connectionManager).getTotalStats() : null;
+    }
+
+    /**
+     * Get the statistics of the non-blocking asynchronous client connection pool.
+     *
+     * @return connection pool statistics or {@code null} if the asynchronous requests are not sent
+     * using the {@link ApacheClientProperties#ASYNC_IO non-blocking client}.
+     */
+    PoolStats getAsyncPoolStats() {
+        return null;
+    }
+
+    /**
+     * Get the default request configuration.
+     *
+     * @return default request configuration.
+     */
+    RequestConfig getRequestConfig() {
+        return requestConfig;
+    }
+
     private static URI getProxyUri(final Object proxy) {
         if (proxy instanceof URI) {
             return (URI) proxy;
@@ -420,56 +489,15 @@ class ApacheConnector implements Connector {
 
     @Override
     public ClientResponse apply(final ClientRequest clientRequest) throws ProcessingException {
-        final HttpUriRequest request = getUriHttpRequest(clientRequest);
+        final HttpUriRequest request = getUriHttpRequest(clientRequest, false);
         final Map<String, String> clientHeadersSnapshot = writeOutBoundHeaders(clientRequest.getHeaders(), request);
 
         try {
-            final CloseableHttpResponse response;
-            final HttpClientContext context = HttpClientContext.create();
-            if (preemptiveBasicAuth) {
-                final AuthCache authCache = new BasicAuthCache();
-                final BasicScheme basicScheme = new BasicScheme();
-                authCache.put(getHost(request), basicScheme);
-                context.setAuthCache(authCache);
-            }
-            response = client.execute(getHost(request), request, context);
+            final HttpClientContext context = createContext(request);
+            final CloseableHttpResponse response = client.execute(getHost(request), request, context);
             HeaderUtils.checkHeaderChanges(clientHeadersSnapshot, clientRequest.getHeaders(), this.getClass().getName());
 
-            final Response.StatusType status = response.getStatusLine().getReasonPhrase() == null
-                    ? Statuses.from(response.getStatusLine().getStatusCode())
-                    : Statuses.from(response.getStatusLine().getStatusCode(), response.getStatusLine().getReasonPhrase());
-
-            final ClientResponse responseContext = new ClientResponse(status, clientRequest);
-            final List<URI> redirectLocations = context.getRedirectLocations();
-            if (redirectLocations != null && !redirectLocations.isEmpty()) {
-                responseContext.setResolvedRequestUri(redirectLocations.get(redirectLocations.size() - 1));
-            }
-
-            final Header[] respHeaders = response.getAllHeaders();
-            final MultivaluedMap<String, String> headers = responseContext.getHeaders();
-            for (final Header header : respHeaders) {
-                final String headerName = header.getName();
-                List<String> list = headers.get(headerName);
-                if (list == null) {
-                    list = new ArrayList<>();
-                }
-                list.add(header.getValue());
-                headers.put(headerName, list);
-            }
-
-            final HttpEntity entity = response.getEntity();
-
-            if (entity != null) {
-                if (headers.get(HttpHeaders.CONTENT_LENGTH) == null) {
-                    headers.add(HttpHeaders.CONTENT_LENGTH, String.valueOf(entity.getContentLength()));
-                }
-
-                final Header contentEncoding = entity.getContentEncoding();
-                if (headers.get(HttpHeaders.CONTENT_ENCODING) == null && contentEncoding != null) {
-                    headers.add(HttpHeaders.CONTENT_ENCODING, contentEncoding.getValue());
-                }
-            }
-
+            final ClientResponse responseContext = translateResponse(clientRequest, response, context);
             try {
                 responseContext.setEntityStream(new HttpClientResponseInputStream(getInputStream(response)));
             } catch (final IOException e) {
@@ -482,6 +510,73 @@ class ApacheConnector implements Connector {
         }
     }
 
+    /**
+     * Create the HTTP context for the request.
+     *
+     * @param request Apache HTTP request.
+     * @return new HTTP context.
+     */
+    HttpClientContext createContext(final HttpUriRequest request) {
+        final HttpClientContext context = HttpClientContext.create();
+        if (preemptiveBasicAuth) {
+            final AuthCache authCache = new BasicAuthCache();
+            final BasicScheme basicScheme = new BasicScheme();
+            authCache.put(getHost(request), basicScheme);
+            context.setAuthCache(authCache);
+        }
+        return context;
+    }
+
+    /**
+     * Translate the Apache HTTP response status and headers to a Jersey client response.
+     * The entity stream of the returned response is not set.
+     *
+     * @param clientRequest Jersey client request.
+     * @param response      Apache HTTP response.
+     * @param context       HTTP context the request was executed with.
+     * @return Jersey client response.
+     */
+    ClientResponse translateResponse(final ClientRequest clientRequest,
+                                     final HttpResponse response,
+                                     final HttpClientContext context) {
+        final Response.StatusType status = response.getStatusLine().getReasonPhrase() == null
+                ? Statuses.from(response.getStatusLine().getStatusCode())
+                : Statuses.from(response.getStatusLine().getStatusCode(), response.getStatusLine().getReasonPhrase());
+
+        final ClientResponse responseContext = new ClientResponse(status, clientRequest);
+        final List<URI> redirectLocations = context.getRedirectLocations();
+        if (redirectLocations != null && !redirectLocations.isEmpty()) {
+            responseContext.setResolvedRequestUri(redirectLocations.get(redirectLocations.size() - 1));
+        }
+
+        final Header[] respHeaders = response.getAllHeaders();
+        final MultivaluedMap<String, String> headers = responseContext.getHeaders();
+        for (final Header header : respHeaders) {
+            final String headerName = header.getName();
+            List<String> list = headers.get(headerName);
+            if (list == null) {
+                list = new ArrayList<>();
+            }
+            list.add(header.getValue());
+            headers.put(headerName, list);
+        }
+
+        final HttpEntity entity = response.getEntity();
+
+        if (entity != null) {
+            if (headers.get(HttpHeaders.CONTENT_LENGTH) == null) {
+                headers.add(HttpHeaders.CONTENT_LENGTH, String.valueOf(entity.getContentLength()));
+            }
+
+            final Header contentEncoding = entity.getContentEncoding();
+            if (headers.get(HttpHeaders.CONTENT_ENCODING) == null && contentEncoding != null) {
+                headers.add(HttpHeaders.CONTENT_ENCODING, contentEncoding.getValue());
+            }
+        }
+
+        return responseContext;
+    }
+
     @Override
     public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
         return MoreExecutors.sameThreadExecutor().submit(new Runnable() {
@@ -510,11 +605,25 @@ class ApacheConnector implements Connector {
         }
     }
 
-    private HttpHost getHost(final HttpUriRequest request) {
+    /**
+     * Get the target host of the request.
+     *
+     * @param request Apache HTTP request.
+     * @return target host.
+     */
+    HttpHost getHost(final HttpUriRequest request) {
         return new HttpHost(request.getURI().getHost(), request.getURI().getPort(), request.getURI().getScheme());
     }
 
-    private HttpUriRequest getUriHttpRequest(final ClientRequest clientRequest) {
+    /**
+     * Translate the Jersey client request to an Apache HTTP request.
+     *
+     * @param clientRequest  Jersey client request.
+     * @param forceBuffering if {@code true}, the request entity is buffered regardless of the configured
+     *                       {@link ClientProperties#REQUEST_ENTITY_PROCESSING request entity processing}.
+     * @return Apache HTTP request.
+     */
+    HttpUriRequest getUriHttpRequest(final ClientRequest clientRequest, final boolean forceBuffering) {
         final RequestConfig.Builder requestConfigBuilder = RequestConfig.copy(requestConfig);
 
         final int connectTimeout = clientRequest.resolveProperty(ClientProperties.CONNECT_TIMEOUT, -1);
@@ -531,8 +640,8 @@ class ApacheConnector implements Connector {
                 clientRequest.resolveProperty(ClientProperties.FOLLOW_REDIRECTS, requestConfig.isRedirectsEnabled());
         requestConfigBuilder.setRedirectsEnabled(redirectsEnabled);
 
-        final Boolean bufferingEnabled = clientRequest.resolveProperty(ClientProperties.REQUEST_ENTITY_PROCESSING,
-                RequestEntityProcessing.class) == RequestEntityProcessing.BUFFERED;
+        final Boolean bufferingEnabled = forceBuffering || clientRequest.resolveProperty(
+                ClientProperties.REQUEST_ENTITY_PROCESSING, RequestEntityProcessing.class) == RequestEntityProcessing.BUFFERED;
         final HttpEntity entity = getHttpEntity(clientRequest, bufferingEnabled);
 
         return RequestBuilder
@@ -600,7 +709,7 @@ class ApacheConnector implements Connector {
         }
     }
 
-    private static Map<String, String> writeOutBoundHeaders(final MultivaluedMap<String, Object> headers,
+    static Map<String, String> writeOutBoundHeaders(final MultivaluedMap<String, Object> headers,
                                                             final HttpUriRequest request) {
         final Map<String, String> stringHeaders = HeaderUtils.asStringHeadersSingleValue(headers);
 
@@ -622,7 +731,7 @@ class ApacheConnector implements Connector {
         }
     }
 
-    private static InputStream getInputStream(final CloseableHttpResponse response) throws IOException {
+    private static InputStream getInputStream(final HttpResponse response) throws IOException {
 
         if (response.getEntity() == null) {
             return new ByteArrayInputStream(new byte[0]);
@@ -46,9 +46,11 @@ import javax.ws.rs.core.Configuration;
 import org.glassfish.jersey.client.Initializable;
 import org.glassfish.jersey.client.spi.Connector;
 import org.glassfish.jersey.client.spi.ConnectorProvider;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
 
 import org.apache.http.client.CookieStore;
 import org.apache.http.client.HttpClient;
+import org.apache.http.pool.PoolStats;
 
 /**
  * Connector provider for Jersey {@link Connector connectors} that utilize
@@ -66,6 +68,8 @@ import org.apache.http.client.HttpClient;
  * <li>{@link org.glassfish.jersey.client.ClientProperties#REQUEST_ENTITY_PROCESSING}
  * - default value is {@link org.glassfish.jersey.client.RequestEntityProcessing#CHUNKED}</li>
  * <li>{@link ApacheClientProperties#PREEMPTIVE_BASIC_AUTHENTICATION}</li>
+ * <li>{@link ApacheClientProperties#ASYNC_IO}</li>
+ * <li>{@link ApacheClientProperties#ASYNC_IO_THREAD_COUNT}</li>
  * </ul>
  * </p>
  * <p>
@@ -112,6 +116,9 @@ public class ApacheConnectorProvider implements ConnectorProvider {
 
     @Override
     public Connector getConnector(final Client client, final Configuration runtimeConfig) {
+        if (PropertiesHelper.isProperty(runtimeConfig.getProperties(), ApacheClientProperties.ASYNC_IO)) {
+            return new ApacheAsyncConnector(client, runtimeConfig);
+        }
         return new ApacheConnector(client, runtimeConfig);
     }
 
@@ -150,6 +157,45 @@ public class ApacheConnectorProvider implements ConnectorProvider {
         return getConnector(component).getCookieStore();
     }
 
+    /**
+     * Retrieve the statistics of the connection pool used for synchronous requests by the connector of
+     * {@link org.glassfish.jersey.client.JerseyClient} or {@link org.glassfish.jersey.client.JerseyWebTarget}
+     * configured to use {@code ApacheConnectorProvider}.
+     * <p>
+     * The statistics provide the number of leased, available and pending connections of the pool.
+     * </p>
+     *
+     * @param component {@code JerseyClient} or {@code JerseyWebTarget} instance that is configured to use
+     *                  {@code ApacheConnectorProvider}.
+     * @return connection pool statistics or {@code null} if the configured connection manager is not a connection pool.
+     * @throws java.lang.IllegalArgumentException in case the {@code component} is neither {@code JerseyClient}
+     *                                            nor {@code JerseyWebTarget} instance or in case the component
+     *                                            is not configured to use a {@code ApacheConnectorProvider}.
+     */
+    public static PoolStats getPoolStats(final Configurable<?> component) {
+        return getConnector(component).getPoolStats();
+    }
+
+    /**
+     * Retrieve the statistics of the connection pool used for asynchronous requests by the connector of
+     * {@link org.glassfish.jersey.client.JerseyClient} or {@link org.glassfish.jersey.client.JerseyWebTarget}
+     * configured to use {@code ApacheConnectorProvider} with {@link ApacheClientProperties#ASYNC_IO non-blocking
+     * asynchronous requests} enabled.
+     * <p>
+     * The statistics provide the number of leased, available and pending connections of the pool.
+     * </p>
+     *
+     * @param component {@code JerseyClient} or {@code JerseyWebTarget} instance that is configured to use
+     *                  {@code ApacheConnectorProvider}.
+     * @return connection pool statistics or {@code null} if the non-blocking asynchronous requests are not enabled.
+     * @throws java.lang.IllegalArgumentException in case the {@code component} is neither {@code JerseyClient}
+     *                                            nor {@code JerseyWebTarget} instance or in case the component
+     *                                            is not configured to use a {@code ApacheConnectorProvider}.
+     */
+    public static PoolStats getAsyncPoolStats(final Configurable<?> component) {
+        return getConnector(component).getAsyncPoolStats();
+    }
+
     private static ApacheConnector getConnector(final Configurable<?> component) {
         if (!(component instanceof Initializable)) {
             throw new IllegalArgumentException(
@@ -0,0 +1,152 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.apache.connector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.JerseyClient;
+import org.glassfish.jersey.client.spi.NonBlockingConnector;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.apache.http.pool.PoolStats;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Asynchronous connector test using the non-blocking Apache HTTP async client.
+ */
+public class NonBlockingAsyncTest extends AsyncTest {
+
+    private static final int LARGE_ENTITY_SIZE = 32 * 1024 * 1024;
+    private static final AtomicLong WRITTEN = new AtomicLong();
+
+    /**
+     * Resource streaming a large response entity.
+     */
+    @Path("large")
+    public static class LargeEntityResource {
+
+        @GET
+        public StreamingOutput get() {
+            return new StreamingOutput() {
+                @Override
+                public void write(final OutputStream output) throws IOException {
+                    final byte[] chunk = new byte[8192];
+                    for (int i = 0; i < LARGE_ENTITY_SIZE / chunk.length; i++) {
+                        output.write(chunk);
+                        WRITTEN.addAndGet(chunk.length);
+                    }
+                }
+            };
+        }
+    }
+
+    @Override
+    protected Application configure() {
+        return ((ResourceConfig) super.configure()).register(LargeEntityResource.class);
+    }
+
+    @Override
+    protected void configureClient(final ClientConfig config) {
+        super.configureClient(config);
+        config.property(ApacheClientProperties.ASYNC_IO, true);
+        config.property(ApacheClientProperties.ASYNC_IO_THREAD_COUNT, 1);
+    }
+
+    @Test
+    public void testNonBlockingConnectorUsed() throws Exception {
+        final JerseyClient client = (JerseyClient) client();
+        client.preInitialize();
+        assertTrue(client.getConfiguration().getConnector() instanceof NonBlockingConnector);
+
+        final Future<Response> response = target("async").request().async().post(Entity.text("pool"));
+        assertEquals("DONE-pool", response.get(5 * getAsyncTimeoutMultiplier(), TimeUnit.SECONDS).readEntity(String.class));
+
+        final PoolStats stats = ApacheConnectorProvider.getAsyncPoolStats(client);
+        assertNotNull(stats);
+        assertTrue(stats.getMax() > 0);
+        assertEquals(0, stats.getPending());
+        assertNotNull(ApacheConnectorProvider.getPoolStats(client));
+    }
+
+    @Test
+    public void testSlowReaderSuspendsInput() throws Exception {
+        WRITTEN.set(0);
+        final Response response = target("large").request().async().get()
+                .get(5 * getAsyncTimeoutMultiplier(), TimeUnit.SECONDS);
+
+        // the client does not read - the server is blocked once the buffers are full
+        long written = -1;
+        for (int i = 0; i < 20 && written != WRITTEN.get(); i++) {
+            written = WRITTEN.get();
+            Thread.sleep(500);
+        }
+        assertEquals(written, WRITTEN.get());
+        assertThat(written, Matchers.lessThan((long) LARGE_ENTITY_SIZE));
+
+        final InputStream entity = response.readEntity(InputStream.class);
+        final byte[] buffer = new byte[8192];
+        long read = 0;
+        int count;
+        while ((count = entity.read(buffer)) != -1) {
+            read += count;
+        }
+        entity.close();
+        assertEquals(LARGE_ENTITY_SIZE, read);
+    }
+}
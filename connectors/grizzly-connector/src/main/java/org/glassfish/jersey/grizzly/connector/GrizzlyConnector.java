@@ -63,7 +63,7 @@ import org.glassfish.jersey.client.ClientRequest;
 import org.glassfish.jersey.client.ClientResponse;
 import org.glassfish.jersey.client.RequestEntityProcessing;
 import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
-import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.NonBlockingConnector;
 import org.glassfish.jersey.internal.Version;
 import org.glassfish.jersey.internal.util.collection.ByteBufferInputStream;
 import org.glassfish.jersey.internal.util.collection.NonBlockingInputStream;
@@ -94,7 +94,7 @@ import jersey.repackaged.com.google.common.util.concurrent.SettableFuture;
  * @author Stepan Kopriva
  * @author Marek Potociar (marek.potociar at oracle.com)
  */
-class GrizzlyConnector implements Connector {
+class GrizzlyConnector implements NonBlockingConnector {
 
     private final AsyncHttpClient grizzlyClient;
 
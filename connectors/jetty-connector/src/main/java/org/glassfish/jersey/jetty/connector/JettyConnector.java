@@ -71,6 +71,7 @@ import org.glassfish.jersey.client.ClientRequest;
 import org.glassfish.jersey.client.ClientResponse;
 import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
 import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.NonBlockingConnector;
 import org.glassfish.jersey.internal.util.collection.ByteBufferInputStream;
 import org.glassfish.jersey.internal.util.collection.NonBlockingInputStream;
 import org.glassfish.jersey.message.internal.HeaderUtils;
@@ -148,7 +149,7 @@ import jersey.repackaged.com.google.common.util.concurrent.SettableFuture;
  * @author Arul Dhesiaseelan (aruld at acm.org)
  * @author Marek Potociar (marek.potociar at oracle.com)
  */
-class JettyConnector implements Connector {
+class JettyConnector implements NonBlockingConnector {
 
     private static final Logger LOGGER = Logger.getLogger(JettyConnector.class.getName());
 
@@ -44,6 +44,7 @@ import java.io.OutputStream;
 import java.lang.reflect.Type;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.channels.FileChannel;
 import java.security.Principal;
 import java.util.List;
 import java.util.Map;
@@ -62,6 +63,7 @@ import org.glassfish.jersey.grizzly2.httpserver.internal.LocalizationMessages;
 import org.glassfish.jersey.internal.inject.ReferencingFactory;
 import org.glassfish.jersey.internal.util.ExtendedLogger;
 import org.glassfish.jersey.internal.util.collection.Ref;
+import org.glassfish.jersey.message.FileRegionWriter;
 import org.glassfish.jersey.process.internal.RequestScoped;
 import org.glassfish.jersey.server.ApplicationHandler;
 import org.glassfish.jersey.server.ContainerException;
@@ -185,6 +187,62 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
         }
     };
 
+    /**
+     * Response entity stream writing file regions as memory mapped buffers, so that the file content is passed
+     * to the connection without being copied through the Java heap.
+     */
+    private static final class ResponseOutputStream extends OutputStream implements FileRegionWriter {
+
+        /**
+         * Smaller regions are cheaper to copy than to map.
+         */
+        private static final long MIN_MAPPED_REGION_SIZE = 64 * 1024;
+        private static final long MAX_MAPPED_REGION_SIZE = 64 * 1024 * 1024;
+
+        private final Response grizzlyResponse;
+        private final OutputStream out;
+
+        ResponseOutputStream(final Response grizzlyResponse) {
+            this.grizzlyResponse = grizzlyResponse;
+            this.out = grizzlyResponse.getOutputStream();
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public boolean writeRegion(final FileChannel channel, long position, long count) throws IOException {
+            if (count < MIN_MAPPED_REGION_SIZE) {
+                return false;
+            }
+
+            while (count > 0) {
+                final long size = Math.min(count, MAX_MAPPED_REGION_SIZE);
+                grizzlyResponse.getOutputBuffer().writeByteBuffer(channel.map(FileChannel.MapMode.READ_ONLY, position, size));
+                position += size;
+                count -= size;
+            }
+            return true;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
     private static final class ResponseWriter implements ContainerResponseWriter {
 
         private final String name;
@@ -275,7 +333,7 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
                     }
                 }
 
-                return grizzlyResponse.getOutputStream();
+                return new ResponseOutputStream(grizzlyResponse);
             } finally {
                 logger.debugLog("{0} - writeResponseStatusAndHeaders() called", name);
             }
@@ -0,0 +1,189 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.jdkhttp;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.process.JerseyProcessingUncaughtExceptionHandler;
+
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpExchange;
+
+import jersey.repackaged.com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Request executor with a bounded number of threads and a bounded queue.
+ * <p>
+ * An exchange rejected because the executor is saturated is not processed by the dispatcher thread of the server,
+ * which would stop accepting and reading all the other connections while it reads the request of a possibly slow
+ * client. It is passed to a small dedicated rejection executor instead, whose threads only read the request and
+ * answer it with {@code 503 Service Unavailable} through the {@link #createRejectionFilter() rejection filter}.
+ * When the rejection executor is saturated as well, the exchange is rejected back to the server, which closes the
+ * connection (the JDK HTTP server of Java 8 logs the rejection and leaves the connection open until it is stopped).
+ * </p>
+ */
+final class BoundedRequestExecutor extends ThreadPoolExecutor implements RequestExecutorStatistics {
+
+    private static final int REJECTION_THREADS = 2;
+    private static final int REJECTION_QUEUE_SIZE = 256;
+
+    /**
+     * Set while a rejected exchange is processed by a thread of the rejection executor.
+     */
+    private static final ThreadLocal<Boolean> REJECTED = new ThreadLocal<Boolean>();
+
+    private final ThreadPoolExecutor rejectionExecutor;
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /**
+     * Create new bounded request executor.
+     *
+     * @param maxThreads    maximum number of request threads.
+     * @param queueSize     maximum number of requests waiting for a request thread.
+     * @param threadFactory factory of the request threads.
+     */
+    BoundedRequestExecutor(final int maxThreads, final int queueSize, final ThreadFactory threadFactory) {
+        super(maxThreads, maxThreads, 60L, TimeUnit.SECONDS, queueSize > 0
+                ? new ArrayBlockingQueue<Runnable>(queueSize)
+                : new SynchronousQueue<Runnable>(), threadFactory);
+        allowCoreThreadTimeOut(true);
+
+        this.rejectionExecutor = new ThreadPoolExecutor(REJECTION_THREADS, REJECTION_THREADS, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(REJECTION_QUEUE_SIZE),
+                new ThreadFactoryBuilder()
+                        .setNameFormat("jdk-http-server-rejection-%d")
+                        .setUncaughtExceptionHandler(new JerseyProcessingUncaughtExceptionHandler())
+                        .build());
+        this.rejectionExecutor.allowCoreThreadTimeOut(true);
+
+        setRejectedExecutionHandler(new RejectedExecutionHandler() {
+            @Override
+            public void rejectedExecution(final Runnable exchange, final ThreadPoolExecutor executor) {
+                if (executor.isShutdown()) {
+                    throw new RejectedExecutionException();
+                }
+                rejectedCount.incrementAndGet();
+                rejectionExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        REJECTED.set(Boolean.TRUE);
+                        try {
+                            exchange.run();
+                        } finally {
+                            REJECTED.remove();
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Create the filter answering the exchanges rejected by this executor with {@code 503 Service Unavailable}.
+     * The other exchanges are passed to the next filter in the chain.
+     *
+     * @return rejection filter to be added to the context of the server.
+     */
+    static Filter createRejectionFilter() {
+        return new Filter() {
+            @Override
+            public void doFilter(final HttpExchange exchange, final Chain chain) throws IOException {
+                if (REJECTED.get() == null) {
+                    chain.doFilter(exchange);
+                    return;
+                }
+                try {
+                    exchange.getResponseHeaders().set("Connection", "close");
+                    exchange.sendResponseHeaders(Response.Status.SERVICE_UNAVAILABLE.getStatusCode(), -1);
+                } finally {
+                    exchange.close();
+                }
+            }
+
+            @Override
+            public String description() {
+                return "Answers requests rejected by the saturated request executor with 503 Service Unavailable.";
+            }
+        };
+    }
+
+    @Override
+    public void shutdown() {
+        super.shutdown();
+        rejectionExecutor.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        rejectionExecutor.shutdownNow();
+        return super.shutdownNow();
+    }
+
+    @Override
+    public int getMaxThreads() {
+        return getMaximumPoolSize();
+    }
+
+    @Override
+    public int getQueueSize() {
+        return getQueue().size();
+    }
+
+    @Override
+    public long getCompletedCount() {
+        return getCompletedTaskCount();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+}
@@ -43,14 +43,23 @@ package org.glassfish.jersey.jdkhttp;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.URI;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 
 import javax.ws.rs.ProcessingException;
 
 import javax.net.ssl.SSLContext;
 
+import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.jdkhttp.internal.LocalizationMessages;
 import org.glassfish.jersey.process.JerseyProcessingUncaughtExceptionHandler;
 import org.glassfish.jersey.server.ResourceConfig;
@@ -266,15 +275,16 @@ public final class JdkHttpServerFactory {
             ((HttpsServer) server).setHttpsConfigurator(httpsConfigurator);
         }
 
-        server.setExecutor(Executors.newCachedThreadPool(new ThreadFactoryBuilder()
-                .setNameFormat("jdk-http-server-%d")
-                .setUncaughtExceptionHandler(new JerseyProcessingUncaughtExceptionHandler())
-                .build()));
-        server.createContext(path, handler);
+        final ExecutorService executor = createExecutor(handler.getConfiguration().getProperties());
+        server.setExecutor(executor);
+        final HttpContext context = server.createContext(path, handler);
+        if (executor instanceof BoundedRequestExecutor) {
+            context.getFilters().add(BoundedRequestExecutor.createRejectionFilter());
+        }
 
         final HttpServer wrapper = isHttp
-                ? createHttpServerWrapper(server, handler)
-                : createHttpsServerWrapper((HttpsServer) server, handler);
+                ? createHttpServerWrapper(server, handler, executor)
+                : createHttpsServerWrapper((HttpsServer) server, handler, executor);
 
         if (start) {
             wrapper.start();
@@ -283,7 +293,112 @@ public final class JdkHttpServerFactory {
         return wrapper;
     }
 
-    private static HttpServer createHttpsServerWrapper(final HttpsServer delegate, final JdkHttpHandlerContainer handler) {
+    /**
+     * Get the statistics of the request executor of a server created by this factory.
+     * <p>
+     * The statistics are available when the server processes requests by the
+     * {@link JdkHttpServerProperties#EXECUTOR_TYPE_BOUNDED bounded} executor.
+     * </p>
+     *
+     * @param server server created by this factory.
+     * @return statistics of the request executor of the server or {@code null} if the server does not use
+     * the bounded executor.
+     */
+    public static RequestExecutorStatistics getExecutorStatistics(final HttpServer server) {
+        final Executor executor = server.getExecutor();
+        return executor instanceof RequestExecutorStatistics ? (RequestExecutorStatistics) executor : null;
+    }
+
+    /**
+     * Create the executor processing requests of the server as configured by {@link JdkHttpServerProperties}.
+     *
+     * @param properties configuration properties of the deployed application.
+     * @return new request executor.
+     */
+    static ExecutorService createExecutor(final Map<String, Object> properties) {
+        final String type = PropertiesHelper.getValue(properties, JdkHttpServerProperties.EXECUTOR_TYPE,
+                JdkHttpServerProperties.EXECUTOR_TYPE_CACHED, null);
+        final int processors = Runtime.getRuntime().availableProcessors();
+
+        switch (type) {
+            case JdkHttpServerProperties.EXECUTOR_TYPE_CACHED:
+                return createCachedExecutor();
+            case JdkHttpServerProperties.EXECUTOR_TYPE_BOUNDED:
+                final int maxThreads = PropertiesHelper.getValue(properties, JdkHttpServerProperties.EXECUTOR_MAX_THREADS,
+                        processors * 8, null);
+                final int queueSize = PropertiesHelper.getValue(properties, JdkHttpServerProperties.EXECUTOR_QUEUE_SIZE,
+                        JdkHttpServerProperties.DEFAULT_EXECUTOR_QUEUE_SIZE, null);
+                return createBoundedExecutor(maxThreads, queueSize);
+            case JdkHttpServerProperties.EXECUTOR_TYPE_WORK_STEALING:
+                return createWorkStealingExecutor(PropertiesHelper.getValue(properties,
+                        JdkHttpServerProperties.EXECUTOR_MAX_THREADS, processors, null));
+            case JdkHttpServerProperties.EXECUTOR_TYPE_VIRTUAL:
+                final ExecutorService virtualExecutor = createVirtualThreadExecutor();
+                if (virtualExecutor != null) {
+                    return virtualExecutor;
+                }
+                LOG.warning(LocalizationMessages.WARNING_CONTAINER_EXECUTOR_VIRTUAL_UNSUPPORTED(
+                        JdkHttpServerProperties.EXECUTOR_TYPE_CACHED));
+                return createCachedExecutor();
+            default:
+                LOG.warning(LocalizationMessages.WARNING_CONTAINER_EXECUTOR_TYPE_UNKNOWN(type,
+                        JdkHttpServerProperties.EXECUTOR_TYPE_CACHED));
+                return createCachedExecutor();
+        }
+    }
+
+    private static ThreadFactory createThreadFactory() {
+        return new ThreadFactoryBuilder()
+                .setNameFormat("jdk-http-server-%d")
+                .setUncaughtExceptionHandler(new JerseyProcessingUncaughtExceptionHandler())
+                .build();
+    }
+
+    private static ExecutorService createCachedExecutor() {
+        return Executors.newCachedThreadPool(createThreadFactory());
+    }
+
+    private static ExecutorService createBoundedExecutor(final int maxThreads, final int queueSize) {
+        return new BoundedRequestExecutor(maxThreads, queueSize, createThreadFactory());
+    }
+
+    private static ExecutorService createWorkStealingExecutor(final int parallelism) {
+        final AtomicInteger counter = new AtomicInteger();
+        return new ForkJoinPool(parallelism, new ForkJoinPool.ForkJoinWorkerThreadFactory() {
+            @Override
+            public ForkJoinWorkerThread newThread(final ForkJoinPool pool) {
+                final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("jdk-http-server-" + counter.getAndIncrement());
+                return thread;
+            }
+        }, new JerseyProcessingUncaughtExceptionHandler(), true);
+    }
+
+    /**
+     * Create a virtual thread per task executor via reflection as the API is not available in all supported Java
+     * versions.
+     *
+     * @return virtual thread per task executor or {@code null} if virtual threads are not supported.
+     */
+    private static ExecutorService createVirtualThreadExecutor() {
+        try {
+            final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (final NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            // virtual threads not available (or preview features not enabled)
+            return null;
+        }
+    }
+
+    private static void shutdownExecutor(final HttpServer server, final ExecutorService executor) {
+        // do not shut down an executor set by the user
+        if (server.getExecutor() == executor) {
+            executor.shutdown();
+        }
+    }
+
+    private static HttpServer createHttpsServerWrapper(final HttpsServer delegate, final JdkHttpHandlerContainer handler,
+                                                       final ExecutorService executor) {
         return new HttpsServer() {
 
             @Override
@@ -321,6 +436,7 @@ public final class JdkHttpServerFactory {
             public void stop(final int i) {
                 handler.onServerStop();
                 delegate.stop(i);
+                shutdownExecutor(delegate, executor);
             }
 
             @Override
@@ -350,7 +466,8 @@ public final class JdkHttpServerFactory {
         };
     }
 
-    private static HttpServer createHttpServerWrapper(final HttpServer delegate, final JdkHttpHandlerContainer handler) {
+    private static HttpServer createHttpServerWrapper(final HttpServer delegate, final JdkHttpHandlerContainer handler,
+                                                      final ExecutorService executor) {
         return new HttpServer() {
 
             @Override
@@ -378,6 +495,7 @@ public final class JdkHttpServerFactory {
             public void stop(final int i) {
                 handler.onServerStop();
                 delegate.stop(i);
+                shutdownExecutor(delegate, executor);
             }
 
             @Override
@@ -0,0 +1,128 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.jdkhttp;
+
+import org.glassfish.jersey.internal.util.PropertiesClass;
+
+/**
+ * JDK HTTP container configuration properties. The properties are read from the configuration of the application
+ * deployed by {@link JdkHttpServerFactory}.
+ */
+@PropertiesClass
+public final class JdkHttpServerProperties {
+
+    /**
+     * Value of {@link #EXECUTOR_TYPE} selecting an unbounded pool of platform threads which are created on demand and
+     * reused when available.
+     */
+    public static final String EXECUTOR_TYPE_CACHED = "cached";
+
+    /**
+     * Value of {@link #EXECUTOR_TYPE} selecting a pool with at most {@link #EXECUTOR_MAX_THREADS} platform threads and
+     * a bounded queue of {@link #EXECUTOR_QUEUE_SIZE} pending requests. When the queue is full, the request is answered
+     * with {@code 503 Service Unavailable} by a small dedicated pool of threads without being passed to the application.
+     * <p>
+     * Metrics like the queue size, the number of active threads or the number of rejected requests are available from
+     * {@link JdkHttpServerFactory#getExecutorStatistics(com.sun.net.httpserver.HttpServer)}.
+     * </p>
+     */
+    public static final String EXECUTOR_TYPE_BOUNDED = "bounded";
+
+    /**
+     * Value of {@link #EXECUTOR_TYPE} selecting a {@link java.util.concurrent.ForkJoinPool work-stealing pool} with
+     * {@link #EXECUTOR_MAX_THREADS} as the target parallelism.
+     */
+    public static final String EXECUTOR_TYPE_WORK_STEALING = "workStealing";
+
+    /**
+     * Value of {@link #EXECUTOR_TYPE} selecting an executor that starts a new virtual thread for each request. Virtual
+     * threads are available since Java 21; when the runtime does not support them, the {@link #EXECUTOR_TYPE_CACHED
+     * cached} executor is used instead.
+     */
+    public static final String EXECUTOR_TYPE_VIRTUAL = "virtual";
+
+    /**
+     * Type of the executor processing requests of the JDK HTTP server created by {@link JdkHttpServerFactory}.
+     * <p>
+     * The value MUST be one of {@value #EXECUTOR_TYPE_CACHED}, {@value #EXECUTOR_TYPE_BOUNDED},
+     * {@value #EXECUTOR_TYPE_WORK_STEALING} or {@value #EXECUTOR_TYPE_VIRTUAL}.
+     * </p>
+     * <p>
+     * The default value is {@value #EXECUTOR_TYPE_CACHED}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String EXECUTOR_TYPE = "jersey.config.jdkhttp.executor.type";
+
+    /**
+     * Maximum number of threads of the {@value #EXECUTOR_TYPE_BOUNDED} executor or the parallelism of the
+     * {@value #EXECUTOR_TYPE_WORK_STEALING} executor.
+     * <p>
+     * The value MUST be a positive integer. The default value is {@code 8} times the number of available processors
+     * for the bounded executor and the number of available processors for the work-stealing executor.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String EXECUTOR_MAX_THREADS = "jersey.config.jdkhttp.executor.maxThreads";
+
+    /**
+     * Maximum number of requests waiting for a thread of the {@value #EXECUTOR_TYPE_BOUNDED} executor.
+     * <p>
+     * The value MUST be a non-negative integer. The default value is {@value #DEFAULT_EXECUTOR_QUEUE_SIZE}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String EXECUTOR_QUEUE_SIZE = "jersey.config.jdkhttp.executor.queueSize";
+
+    /**
+     * Default value of {@link #EXECUTOR_QUEUE_SIZE}.
+     */
+    public static final int DEFAULT_EXECUTOR_QUEUE_SIZE = 1024;
+
+    private JdkHttpServerProperties() {
+        // prevents instantiation
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.jdkhttp;
+
+/**
+ * Statistics of the bounded request executor of a JDK HTTP server created by {@link JdkHttpServerFactory}.
+ * <p>
+ * The statistics are live views of the executor state; every call returns the current value.
+ * </p>
+ *
+ * @see JdkHttpServerFactory#getExecutorStatistics(com.sun.net.httpserver.HttpServer)
+ * @see JdkHttpServerProperties#EXECUTOR_TYPE_BOUNDED
+ */
+public interface RequestExecutorStatistics {
+
+    /**
+     * Get the maximum number of threads processing requests.
+     *
+     * @return maximum number of request threads.
+     */
+    public int getMaxThreads();
+
+    /**
+     * Get the approximate number of threads that are currently processing requests.
+     *
+     * @return number of active request threads.
+     */
+    public int getActiveCount();
+
+    /**
+     * Get the number of requests waiting for a request thread.
+     *
+     * @return current queue depth.
+     */
+    public int getQueueSize();
+
+    /**
+     * Get the approximate number of requests processed since the server was started.
+     *
+     * @return number of completed requests.
+     */
+    public long getCompletedCount();
+
+    /**
+     * Get the number of requests rejected since the server was started because all request threads were busy and
+     * the queue was full.
+     *
+     * @return number of rejected requests.
+     */
+    public long getRejectedCount();
+}
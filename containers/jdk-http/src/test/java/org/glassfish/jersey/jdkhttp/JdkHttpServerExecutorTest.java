@@ -0,0 +1,216 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.jdkhttp;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.junit.After;
+import org.junit.Test;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests of request executors configured by {@link JdkHttpServerProperties}.
+ */
+public class JdkHttpServerExecutorTest extends AbstractJdkHttpServerTester {
+
+    private static volatile CountDownLatch entered;
+    private static volatile CountDownLatch released;
+
+    private HttpServer server;
+    private Client client;
+
+    @Path("/executor")
+    public static class ExecutorResource {
+
+        @GET
+        public String get() {
+            return Thread.currentThread().getName();
+        }
+
+        @GET
+        @Path("blocking")
+        public String getBlocking() throws InterruptedException {
+            entered.countDown();
+            released.await(10, TimeUnit.SECONDS);
+            return "released";
+        }
+    }
+
+    private void start(final String executorType, final int maxThreads, final int queueSize) {
+        server = JdkHttpServerFactory.createHttpServer(getBaseUri(), new ResourceConfig(ExecutorResource.class)
+                .property(JdkHttpServerProperties.EXECUTOR_TYPE, executorType)
+                .property(JdkHttpServerProperties.EXECUTOR_MAX_THREADS, maxThreads)
+                .property(JdkHttpServerProperties.EXECUTOR_QUEUE_SIZE, String.valueOf(queueSize)));
+        client = ClientBuilder.newClient();
+    }
+
+    private String startAndRequest(final String executorType) {
+        start(executorType, 2, 16);
+        return client.target(getBaseUri()).path("executor").request().get(String.class);
+    }
+
+    @Test
+    public void testCachedExecutor() {
+        assertTrue(startAndRequest(JdkHttpServerProperties.EXECUTOR_TYPE_CACHED).startsWith("jdk-http-server-"));
+        assertThat(server.getExecutor(), instanceOf(ThreadPoolExecutor.class));
+        assertNull(JdkHttpServerFactory.getExecutorStatistics(server));
+    }
+
+    @Test
+    public void testBoundedExecutor() {
+        assertTrue(startAndRequest(JdkHttpServerProperties.EXECUTOR_TYPE_BOUNDED).startsWith("jdk-http-server-"));
+
+        final RequestExecutorStatistics statistics = JdkHttpServerFactory.getExecutorStatistics(server);
+        assertNotNull(statistics);
+        assertEquals(2, statistics.getMaxThreads());
+        assertEquals(0, statistics.getQueueSize());
+        assertEquals(0, statistics.getRejectedCount());
+    }
+
+    @Test
+    public void testSaturatedBoundedExecutorRejectsRequests() throws Exception {
+        entered = new CountDownLatch(1);
+        released = new CountDownLatch(1);
+        start(JdkHttpServerProperties.EXECUTOR_TYPE_BOUNDED, 1, 0);
+
+        final Future<String> blocked = client.target(getBaseUri()).path("executor/blocking").request().async()
+                .get(String.class);
+        try {
+            assertTrue(entered.await(10, TimeUnit.SECONDS));
+            assertEquals(503, client.target(getBaseUri()).path("executor").request().get().getStatus());
+            assertEquals(503, client.target(getBaseUri()).path("executor").request().get().getStatus());
+        } finally {
+            released.countDown();
+        }
+        assertEquals("released", blocked.get(10, TimeUnit.SECONDS));
+
+        final RequestExecutorStatistics statistics = JdkHttpServerFactory.getExecutorStatistics(server);
+        assertEquals(2, statistics.getRejectedCount());
+        assertEquals(0, statistics.getQueueSize());
+    }
+
+    @Test
+    public void testWorkStealingExecutor() {
+        assertTrue(startAndRequest(JdkHttpServerProperties.EXECUTOR_TYPE_WORK_STEALING).startsWith("jdk-http-server-"));
+
+        assertThat(server.getExecutor(), instanceOf(ForkJoinPool.class));
+        assertEquals(2, ((ForkJoinPool) server.getExecutor()).getParallelism());
+    }
+
+    @Test
+    public void testVirtualThreadExecutor() {
+        final String threadName = startAndRequest(JdkHttpServerProperties.EXECUTOR_TYPE_VIRTUAL);
+
+        if (isVirtualThreadSupported()) {
+            assertThat(server.getExecutor(), not(instanceOf(ThreadPoolExecutor.class)));
+            // virtual threads created by the per-task executor are not named
+            assertEquals("", threadName);
+        } else {
+            // falls back to the cached executor on runtimes without virtual threads
+            assertThat(server.getExecutor(), instanceOf(ThreadPoolExecutor.class));
+            assertTrue(threadName.startsWith("jdk-http-server-"));
+        }
+    }
+
+    private static boolean isVirtualThreadSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (final NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    @Test
+    public void testUnknownExecutorTypeFallsBackToCached() {
+        final ExecutorService executor = JdkHttpServerFactory.createExecutor(
+                Collections.<String, Object>singletonMap(JdkHttpServerProperties.EXECUTOR_TYPE, "unknown"));
+        try {
+            assertThat(executor, instanceOf(ThreadPoolExecutor.class));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testExecutorShutDownOnStop() {
+        startAndRequest(JdkHttpServerProperties.EXECUTOR_TYPE_BOUNDED);
+        final ExecutorService executor = (ExecutorService) server.getExecutor();
+
+        server.stop(0);
+        server = null;
+
+        assertTrue(executor.isShutdown());
+    }
+
+    @After
+    public void tearDown() {
+        if (client != null) {
+            client.close();
+            client = null;
+        }
+        if (server != null) {
+            server.stop(3);
+            server = null;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.client.InvocationCallback;
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+
+import jersey.repackaged.com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * Batch invoker that dispatches many {@link JerseyInvocation invocations} concurrently while keeping the number
+ * of invocations in flight to a single host (a unique combination of scheme, host and port) within a bounded window.
+ * <p>
+ * Invocations submitted while the window of their host is full are queued and dispatched in the submission order
+ * as soon as one of the in-flight invocations of the same host completes. Completed invocations can be collected
+ * in the completion order using the {@link #take()} and {@link #poll(long, java.util.concurrent.TimeUnit)} methods:
+ * </p>
+ * <pre>
+ * final BatchInvoker batch = target.batch(8);
+ * for (final String id : ids) {
+ *     batch.submit(target.path(id).request().buildGet(), String.class);
+ * }
+ * for (int i = 0; i &lt; ids.size(); i++) {
+ *     final String result = (String) batch.take().get();
+ *     ...
+ * }
+ * </pre>
+ * <p>
+ * The invocations are dispatched using the asynchronous invocation support of the client runtime. Each invocation
+ * reuses the request processing stages pre-built by the runtime of its web target, there is no per-batch or
+ * per-invocation runtime state. Instances of this class are thread-safe.
+ * </p>
+ *
+ * @see JerseyWebTarget#batch(int)
+ */
+public final class BatchInvoker {
+
+    /**
+     * Invocations submitted by the currently dispatching thread that are waiting for the dispatch to unwind.
+     * Prevents deep recursion in case the invocations fail synchronously.
+     */
+    private static final ThreadLocal<LinkedList<Entry<?>>> DISPATCH_QUEUE = new ThreadLocal<LinkedList<Entry<?>>>();
+
+    private final int maxInFlightPerHost;
+    private final Map<String, Host> hosts = new HashMap<String, Host>();
+    private final BlockingQueue<Future<?>> completed = new LinkedBlockingQueue<Future<?>>();
+    private int pendingCount = 0;
+
+    /**
+     * Create new batch invoker.
+     *
+     * @param maxInFlightPerHost maximum number of invocations concurrently in flight to a single host.
+     * @throws java.lang.IllegalArgumentException in case the {@code maxInFlightPerHost} is not positive.
+     */
+    BatchInvoker(final int maxInFlightPerHost) {
+        if (maxInFlightPerHost <= 0) {
+            throw new IllegalArgumentException(LocalizationMessages.BATCH_MAX_IN_FLIGHT_NOT_POSITIVE(maxInFlightPerHost));
+        }
+        this.maxInFlightPerHost = maxInFlightPerHost;
+    }
+
+    /**
+     * Submit the invocation to the batch.
+     *
+     * @param invocation invocation to be dispatched.
+     * @return future response of the invocation.
+     */
+    public Future<Response> submit(final JerseyInvocation invocation) {
+        return submit(invocation, new GenericType<Response>(Response.class));
+    }
+
+    /**
+     * Submit the invocation to the batch.
+     *
+     * @param <T>          response type.
+     * @param invocation   invocation to be dispatched.
+     * @param responseType Java type the response entity will be converted to.
+     * @return future response entity of the invocation.
+     */
+    public <T> Future<T> submit(final JerseyInvocation invocation, final Class<T> responseType) {
+        if (responseType == null) {
+            throw new IllegalArgumentException(LocalizationMessages.RESPONSE_TYPE_IS_NULL());
+        }
+        return submit(invocation, new GenericType<T>(responseType));
+    }
+
+    /**
+     * Submit the invocation to the batch.
+     *
+     * @param <T>          generic response type.
+     * @param invocation   invocation to be dispatched.
+     * @param responseType generic type the response entity will be converted to.
+     * @return future response entity of the invocation.
+     */
+    public <T> Future<T> submit(final JerseyInvocation invocation, final GenericType<T> responseType) {
+        if (invocation == null) {
+            throw new NullPointerException(LocalizationMessages.NULL_INPUT_PARAMETER("invocation"));
+        }
+        if (responseType == null) {
+            throw new IllegalArgumentException(LocalizationMessages.RESPONSE_TYPE_IS_NULL());
+        }
+
+        final Entry<T> entry = new Entry<T>(getHostKey(invocation.request().getUri()), invocation, responseType);
+        final boolean dispatch;
+        synchronized (hosts) {
+            pendingCount++;
+
+            Host host = hosts.get(entry.host);
+            if (host == null) {
+                host = new Host();
+                hosts.put(entry.host, host);
+            }
+            if (host.inFlight < maxInFlightPerHost) {
+                host.inFlight++;
+                dispatch = true;
+            } else {
+                host.queued.add(entry);
+                dispatch = false;
+            }
+        }
+
+        if (dispatch) {
+            dispatch(entry);
+        }
+        return entry.future;
+    }
+
+    /**
+     * Retrieve and remove the future of the next completed invocation, waiting if none is completed yet.
+     *
+     * @return future of a completed invocation, as returned from one of the {@code submit} methods.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public Future<?> take() throws InterruptedException {
+        return completed.take();
+    }
+
+    /**
+     * Retrieve and remove the future of the next completed invocation, waiting up to the specified time
+     * if none is completed yet.
+     *
+     * @param timeout maximum time to wait.
+     * @param unit    time unit of the {@code timeout} argument.
+     * @return future of a completed invocation, as returned from one of the {@code submit} methods,
+     * or {@code null} if the specified waiting time elapses before any invocation completes.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public Future<?> poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return completed.poll(timeout, unit);
+    }
+
+    /**
+     * Get the number of submitted invocations that have not completed yet, i.e. the invocations queued
+     * or in flight.
+     *
+     * @return number of not yet completed invocations.
+     */
+    public int getPendingCount() {
+        synchronized (hosts) {
+            return pendingCount;
+        }
+    }
+
+    private void dispatch(final Entry<?> entry) {
+        LinkedList<Entry<?>> queue = DISPATCH_QUEUE.get();
+        if (queue != null) {
+            // invoked from a synchronously completed dispatch of the current thread
+            queue.add(entry);
+            return;
+        }
+
+        queue = new LinkedList<Entry<?>>();
+        DISPATCH_QUEUE.set(queue);
+        try {
+            Entry<?> next = entry;
+            while (next != null) {
+                next.dispatch();
+                next = queue.poll();
+            }
+        } finally {
+            DISPATCH_QUEUE.remove();
+        }
+    }
+
+    private void complete(final Entry<?> entry) {
+        Entry<?> next = null;
+        synchronized (hosts) {
+            pendingCount--;
+
+            final Host host = hosts.get(entry.host);
+            while (next == null && !host.queued.isEmpty()) {
+                next = host.queued.poll();
+                if (next.future.isCancelled()) {
+                    // cancelled before dispatched
+                    pendingCount--;
+                    completed.add(next.future);
+                    next = null;
+                }
+            }
+            if (next == null) {
+                host.inFlight--;
+                if (host.inFlight == 0) {
+                    hosts.remove(entry.host);
+                }
+            }
+        }
+
+        completed.add(entry.future);
+        if (next != null) {
+            dispatch(next);
+        }
+    }
+
+    private static String getHostKey(final URI uri) {
+        return uri.getScheme() + "://" + uri.getHost() + ":" + uri.getPort();
+    }
+
+    /**
+     * Invocations of a single host.
+     */
+    private static final class Host {
+
+        private final LinkedList<Entry<?>> queued = new LinkedList<Entry<?>>();
+        private int inFlight = 0;
+    }
+
+    /**
+     * Batch entry of a single invocation.
+     */
+    private final class Entry<T> implements InvocationCallback<T> {
+
+        private final String host;
+        private final JerseyInvocation invocation;
+        private final GenericType<T> responseType;
+        private final SettableFuture<T> future = SettableFuture.create();
+        private final AtomicBoolean done = new AtomicBoolean(false);
+
+        private Entry(final String host, final JerseyInvocation invocation, final GenericType<T> responseType) {
+            this.host = host;
+            this.invocation = invocation;
+            this.responseType = responseType;
+        }
+
+        private void dispatch() {
+            try {
+                invocation.submit(responseType, this);
+            } catch (final RuntimeException e) {
+                // the invocation has not been submitted - release its slot so that the queued invocations proceed
+                failed(e);
+            }
+        }
+
+        @Override
+        public void completed(final T response) {
+            if (done.compareAndSet(false, true)) {
+                future.set(response);
+                complete(this);
+            }
+        }
+
+        @Override
+        public void failed(final Throwable throwable) {
+            if (done.compareAndSet(false, true)) {
+                if (throwable instanceof ProcessingException && throwable.getCause() instanceof WebApplicationException) {
+                    future.setException(throwable.getCause());
+                } else {
+                    future.setException(throwable);
+                }
+                complete(this);
+            }
+        }
+    }
+}
@@ -542,6 +542,18 @@ public class ClientConfig implements Configurable<ClientConfig>, ExtendedConfig
         return new ClientConfig(state);
     }
 
+    /**
+     * Check whether this configuration shares the internal configuration state with the other configuration,
+     * e.g. if this configuration is a {@link #snapshot() snapshot} of the other configuration that has not been
+     * modified since the snapshot was taken.
+     *
+     * @param other other configuration.
+     * @return {@code true} if both configurations share the same internal state, {@code false} otherwise.
+     */
+    boolean sharesStateWith(final ClientConfig other) {
+        return state == other.state;
+    }
+
     /**
      * Load the internal configuration state from an externally provided configuration state.
      *
@@ -402,6 +402,83 @@ public final class ClientProperties {
      */
     public static final String REQUEST_ENTITY_PROCESSING = "jersey.config.client.request.entity.processing";
 
+    /**
+     * The maximum number of concurrent connections the client connector opens to a single route, i.e.
+     * a unique combination of scheme, host and port.
+     * <p>
+     * Requests exceeding the limit wait for a connection of the same route to be released, at most for
+     * the {@link #CONNECTION_LEASE_TIMEOUT connection lease timeout} interval. A connection is released once
+     * the response entity has been fully read or the response has been closed. The connection of a response that
+     * is neither read nor closed is released after the response has been garbage collected.
+     * </p>
+     * <p>
+     * The property is currently supported by the default {@link HttpUrlConnectorProvider HttpURLConnection-based}
+     * connector only, which reads the property from the client configuration when the connector is created.
+     * </p>
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}. A value of zero (0) means that
+     * the number of connections is not limited.
+     * </p>
+     * <p>
+     * The default value is {@code 0}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String CONNECTION_MAX_PER_ROUTE = "jersey.config.client.connection.maxPerRoute";
+
+    /**
+     * Maximum time, in milliseconds, a request waits for a connection to be released when the
+     * {@link #CONNECTION_MAX_PER_ROUTE maximum number of connections} of the route has been reached.
+     * <p>
+     * The property is currently supported by the default {@link HttpUrlConnectorProvider HttpURLConnection-based}
+     * connector only. The value can be overridden for a single request.
+     * </p>
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}. A value of zero (0) means that the request
+     * fails immediately if no connection of the route is available.
+     * </p>
+     * <p>
+     * The default value is {@value #DEFAULT_CONNECTION_LEASE_TIMEOUT}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String CONNECTION_LEASE_TIMEOUT = "jersey.config.client.connection.leaseTimeout";
+
+    /**
+     * Default value of {@link #CONNECTION_LEASE_TIMEOUT}.
+     */
+    public static final int DEFAULT_CONNECTION_LEASE_TIMEOUT = 30000;
+
+    /**
+     * Idle connection timeout interval, in milliseconds.
+     * <p>
+     * Kept-alive connections that have not been reused for longer than the timeout are evicted, i.e. closed.
+     * The eviction is performed when the next request is sent by the connector.
+     * </p>
+     * <p>
+     * The property is currently supported by the default {@link HttpUrlConnectorProvider HttpURLConnection-based}
+     * connector only, which reads the property from the client configuration when the connector is created.
+     * Note that the JDK keep-alive cache used by the connector closes idle connections on its own as well,
+     * after the timeout advertised by the server or after 5 seconds by default, and keeps at most
+     * {@code http.maxConnections} idle connections per route.
+     * </p>
+     * <p>
+     * The value MUST be an instance convertible to {@link java.lang.Integer}. A value of zero (0) means
+     * that the idle connections are evicted by the JDK keep-alive cache only.
+     * </p>
+     * <p>
+     * The default value is {@code 0}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String CONNECTION_IDLE_TIMEOUT = "jersey.config.client.connection.idleTimeout";
+
     private ClientProperties() {
         // prevents instantiation
     }
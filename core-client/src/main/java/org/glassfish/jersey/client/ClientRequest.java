@@ -71,6 +71,7 @@ import org.glassfish.jersey.internal.inject.ServiceLocatorSupplier;
 import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.message.MessageBodyWorkers;
 import org.glassfish.jersey.message.internal.OutboundMessageContext;
+import org.glassfish.jersey.message.internal.spi.EntityChangeInterceptor;
 
 import org.glassfish.hk2.api.ServiceLocator;
 
@@ -126,6 +127,24 @@ public class ClientRequest extends OutboundMessageContext implements ClientReque
         setEntityInterceptors(clientConfig.getRuntime().getEntityInterceptors());
     }
 
+    /**
+     * Create new Jersey client request context from a pre-resolved {@link InvocationTemplate invocation template}
+     * state.
+     *
+     * @param requestUri         request Uri.
+     * @param clientConfig       request configuration, already checked to contain a parent client.
+     * @param propertiesDelegate properties delegate.
+     * @param entityInterceptors entity change interceptors of the client runtime.
+     */
+    ClientRequest(final URI requestUri, final ClientConfig clientConfig, final PropertiesDelegate propertiesDelegate,
+                  final Iterable<EntityChangeInterceptor> entityInterceptors) {
+        this.requestUri = requestUri;
+        this.clientConfig = clientConfig;
+        this.propertiesDelegate = propertiesDelegate;
+
+        setEntityInterceptors(entityInterceptors);
+    }
+
     /**
      * Copy constructor.
      *
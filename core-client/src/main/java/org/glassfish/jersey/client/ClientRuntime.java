@@ -43,6 +43,7 @@ import java.util.Arrays;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -55,6 +56,7 @@ import javax.ws.rs.core.MultivaluedMap;
 import org.glassfish.jersey.client.internal.LocalizationMessages;
 import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
 import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.NonBlockingConnector;
 import org.glassfish.jersey.internal.Version;
 import org.glassfish.jersey.internal.inject.Injections;
 import org.glassfish.jersey.internal.inject.Providers;
@@ -86,6 +88,7 @@ class ClientRuntime implements JerseyClient.ShutdownHook {
 
     private final Connector connector;
     private final ClientConfig config;
+    private final String userAgent;
 
     private final RequestScope requestScope;
     private final LazyValue<ExecutorService> asyncRequestExecutor;
@@ -117,6 +120,7 @@ class ClientRuntime implements JerseyClient.ShutdownHook {
 
         this.config = config;
         this.connector = connector;
+        this.userAgent = createUserAgent(connector.getName());
 
         this.requestScope = locator.getService(RequestScope.class);
 
@@ -147,11 +151,22 @@ class ClientRuntime implements JerseyClient.ShutdownHook {
      * Both, the request processing as well as response callback invocation will be executed
      * in a context of an active {@link RequestScope.Instance request scope instance}.
      * </p>
+     * <p>
+     * If the runtime connector is a {@link NonBlockingConnector non-blocking connector}, no thread waits for
+     * the connector to complete the request: the response processing is submitted to the asynchronous request
+     * executor once the connector reports the response. Otherwise the request executor thread waits for the
+     * connector to complete the request.
+     * </p>
      *
      * @param request  client request to be sent.
      * @param callback asynchronous response callback.
      */
     public void submit(final ClientRequest request, final ResponseCallback callback) {
+        if (connector instanceof NonBlockingConnector) {
+            submitNonBlocking(request, callback);
+            return;
+        }
+
         submit(asyncRequestExecutor.get(), new Runnable() {
 
             @Override
@@ -160,7 +175,7 @@ class ClientRuntime implements JerseyClient.ShutdownHook {
                     ClientRequest processedRequest;
                     try {
                         processedRequest = Stages.process(request, requestProcessingRoot);
-                        processedRequest = addUserAgent(processedRequest, connector.getName());
+                        processedRequest = addUserAgent(processedRequest);
                     } catch (final AbortException aborted) {
                         processResponse(aborted.getAbortResponse(), callback);
                         return;
@@ -191,6 +206,97 @@ class ClientRuntime implements JerseyClient.ShutdownHook {
         });
     }
 
+    private void submitNonBlocking(final ClientRequest request, final ResponseCallback callback) {
+        submit(asyncRequestExecutor.get(), new Runnable() {
+
+            @Override
+            public void run() {
+                final ClientRequest processedRequest;
+                try {
+                    processedRequest = addUserAgent(Stages.process(request, requestProcessingRoot));
+                } catch (final AbortException aborted) {
+                    processResponse(aborted.getAbortResponse(), callback);
+                    return;
+                } catch (final Throwable throwable) {
+                    processFailure(throwable, callback);
+                    return;
+                }
+
+                final NonBlockingCallback connectorCallback =
+                        new NonBlockingCallback(requestScope.suspendCurrent(), callback);
+                try {
+                    connector.apply(processedRequest, connectorCallback);
+                } catch (final Throwable throwable) {
+                    connectorCallback.failure(throwable);
+                }
+            }
+        });
+    }
+
+    /**
+     * Connector callback resuming the processing of a request submitted to a {@link NonBlockingConnector}.
+     * <p>
+     * The response processing is resumed in the request scope instance of the request on the asynchronous
+     * request executor so that the connector I/O threads are not used to run the response filters and
+     * the user callbacks.
+     * </p>
+     */
+    private final class NonBlockingCallback implements AsyncConnectorCallback {
+
+        private final RequestScope.Instance scopeInstance;
+        private final ResponseCallback callback;
+        private final AtomicBoolean completed = new AtomicBoolean(false);
+
+        private NonBlockingCallback(final RequestScope.Instance scopeInstance, final ResponseCallback callback) {
+            this.scopeInstance = scopeInstance;
+            this.callback = callback;
+        }
+
+        @Override
+        public void response(final ClientResponse response) {
+            resume(new Runnable() {
+                @Override
+                public void run() {
+                    processResponse(response, callback);
+                }
+            });
+        }
+
+        @Override
+        public void failure(final Throwable failure) {
+            resume(new Runnable() {
+                @Override
+                public void run() {
+                    processFailure(failure, callback);
+                }
+            });
+        }
+
+        private void resume(final Runnable task) {
+            if (!completed.compareAndSet(false, true)) {
+                // connector already reported the request result
+                return;
+            }
+
+            final Runnable scopedTask = new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        requestScope.runInScope(scopeInstance, task);
+                    } finally {
+                        scopeInstance.release();
+                    }
+                }
+            };
+            try {
+                asyncRequestExecutor.get().submit(scopedTask);
+            } catch (final RejectedExecutionException e) {
+                // executor has been shut down - complete the request in the connector thread
+                scopedTask.run();
+            }
+        }
+    }
+
     private void processResponse(final ClientResponse response, final ResponseCallback callback) {
         final ClientResponse processedResponse;
         try {
@@ -216,7 +322,22 @@ class ClientRuntime implements JerseyClient.ShutdownHook {
         });
     }
 
-    private ClientRequest addUserAgent(final ClientRequest clientRequest, final String connectorName) {
+    /**
+     * Create the {@value javax.ws.rs.core.HttpHeaders#USER_AGENT} header value once for all the requests
+     * processed by the runtime.
+     *
+     * @param connectorName name of the runtime connector.
+     * @return user agent header value.
+     */
+    private static String createUserAgent(final String connectorName) {
+        if (connectorName != null && !connectorName.isEmpty()) {
+            return String.format("Jersey/%s (%s)", Version.getVersion(), connectorName);
+        } else {
+            return String.format("Jersey/%s", Version.getVersion());
+        }
+    }
+
+    private ClientRequest addUserAgent(final ClientRequest clientRequest) {
         final MultivaluedMap<String, Object> headers = clientRequest.getHeaders();
 
         if (headers.containsKey(HttpHeaders.USER_AGENT)) {
@@ -225,13 +346,7 @@ class ClientRuntime implements JerseyClient.ShutdownHook {
                 headers.remove(HttpHeaders.USER_AGENT);
             }
         } else if (!clientRequest.ignoreUserAgent()) {
-            if (connectorName != null && !connectorName.isEmpty()) {
-                headers.put(HttpHeaders.USER_AGENT,
-                        Arrays.<Object>asList(String.format("Jersey/%s (%s)", Version.getVersion(), connectorName)));
-            } else {
-                headers.put(HttpHeaders.USER_AGENT,
-                        Arrays.<Object>asList(String.format("Jersey/%s", Version.getVersion())));
-            }
+            headers.put(HttpHeaders.USER_AGENT, Arrays.<Object>asList(userAgent));
         }
 
         return clientRequest;
@@ -256,7 +371,7 @@ class ClientRuntime implements JerseyClient.ShutdownHook {
         ClientResponse response;
         try {
             try {
-                response = connector.apply(addUserAgent(Stages.process(request, requestProcessingRoot), connector.getName()));
+                response = connector.apply(addUserAgent(Stages.process(request, requestProcessingRoot)));
             } catch (final AbortException aborted) {
                 response = aborted.getAbortResponse();
             }
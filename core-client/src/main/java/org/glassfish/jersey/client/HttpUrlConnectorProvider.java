@@ -43,9 +43,11 @@ import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import javax.ws.rs.client.Client;
+import javax.ws.rs.core.Configurable;
 import javax.ws.rs.core.Configuration;
 
 import org.glassfish.jersey.client.internal.HttpUrlConnector;
@@ -69,6 +71,13 @@ import org.glassfish.jersey.client.spi.ConnectorProvider;
  * workaround can be enabled via {@link #useFixedLengthStreaming()} method or via
  * {@link #USE_FIXED_LENGTH_STREAMING} Jersey client configuration property.
  * </p>
+ * <p>
+ * The number of connections the provided connector instances open per route and the idle time of the kept-alive
+ * connections can be limited via the {@link ClientProperties#CONNECTION_MAX_PER_ROUTE},
+ * {@link ClientProperties#CONNECTION_LEASE_TIMEOUT} and {@link ClientProperties#CONNECTION_IDLE_TIMEOUT} client
+ * configuration properties. The connection statistics
+ * of each route can be retrieved using {@link #getRouteStatistics(javax.ws.rs.core.Configurable)}.
+ * </p>
  *
  * @author Marek Potociar (marek.potociar at oracle.com)
  */
@@ -266,6 +275,105 @@ public class HttpUrlConnectorProvider implements ConnectorProvider {
                 setMethodWorkaround);
     }
 
+    /**
+     * Retrieve the connection statistics of the routes used by the connector of
+     * {@link org.glassfish.jersey.client.JerseyClient} or {@link org.glassfish.jersey.client.JerseyWebTarget}
+     * configured to use {@code HttpUrlConnectorProvider}.
+     *
+     * @param component {@code JerseyClient} or {@code JerseyWebTarget} instance that is configured to use
+     *                  {@code HttpUrlConnectorProvider}.
+     * @return snapshot of the connection statistics keyed by the route name, e.g. {@code http://localhost:8080}.
+     * @throws java.lang.IllegalArgumentException in case the {@code component} is neither {@code JerseyClient}
+     *                                            nor {@code JerseyWebTarget} instance or in case the component
+     *                                            is not configured to use a {@code HttpUrlConnectorProvider}.
+     */
+    public static Map<String, RouteStatistics> getRouteStatistics(final Configurable<?> component) {
+        if (!(component instanceof Initializable)) {
+            throw new IllegalArgumentException(
+                    LocalizationMessages.INVALID_CONFIGURABLE_COMPONENT_TYPE(component.getClass().getName()));
+        }
+
+        final Initializable<?> initializable = (Initializable<?>) component;
+        Connector connector = initializable.getConfiguration().getConnector();
+        if (connector == null) {
+            initializable.preInitialize();
+            connector = initializable.getConfiguration().getConnector();
+        }
+
+        if (connector instanceof HttpUrlConnector) {
+            return ((HttpUrlConnector) connector).getRouteStatistics();
+        } else {
+            throw new IllegalArgumentException(LocalizationMessages.EXPECTED_CONNECTOR_PROVIDER_NOT_USED());
+        }
+    }
+
+    /**
+     * Connection statistics of a single route, i.e. a unique combination of scheme, host and port, used by
+     * the {@link HttpUrlConnector}.
+     * <p>
+     * As the sockets of the {@link java.net.HttpURLConnection} instances are managed by the JDK keep-alive cache,
+     * the connects and reuses are derived from the connection lease bookkeeping of the connector: a request is
+     * counted as a connection reuse if a previous response of the same route has been fully consumed and
+     * its connection has neither been closed, evicted nor expired in the JDK keep-alive cache since. The JDK
+     * keep-alive cache is shared by all the clients of the JVM and does not report which socket it hands out,
+     * so the connect, reuse and idle counts are estimates.
+     * </p>
+     */
+    public interface RouteStatistics {
+
+        /**
+         * Get the route name, e.g. {@code http://localhost:8080}.
+         *
+         * @return route name.
+         */
+        public String getRoute();
+
+        /**
+         * Get the estimated number of requests that required a new connection to be opened.
+         *
+         * @return number of new connections.
+         */
+        public long getConnectCount();
+
+        /**
+         * Get the estimated number of requests that reused a kept-alive connection.
+         *
+         * @return number of connection reuses.
+         */
+        public long getReuseCount();
+
+        /**
+         * Get the number of currently leased connections, i.e. connections with a response not yet consumed or closed.
+         *
+         * @return number of leased connections.
+         */
+        public int getLeasedCount();
+
+        /**
+         * Get the estimated number of kept-alive connections available for reuse.
+         *
+         * @return number of idle connections.
+         */
+        public int getIdleCount();
+
+        /**
+         * Get the number of idle connections evicted after the {@link ClientProperties#CONNECTION_IDLE_TIMEOUT
+         * idle timeout} expired.
+         *
+         * @return number of evicted connections.
+         */
+        public long getEvictedCount();
+
+        /**
+         * Get the total time the requests spent waiting for a connection because the
+         * {@link ClientProperties#CONNECTION_MAX_PER_ROUTE maximum number of connections} of the route was reached.
+         *
+         * @param unit time unit of the returned value.
+         * @return total connection wait time.
+         */
+        public long getWaitTime(TimeUnit unit);
+    }
+
     /**
      * A factory for {@link java.net.HttpURLConnection} instances.
      * <p>
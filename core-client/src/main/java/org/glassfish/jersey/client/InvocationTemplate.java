@@ -0,0 +1,105 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client;
+
+import java.net.URI;
+
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.message.internal.spi.EntityChangeInterceptor;
+
+/**
+ * Immutable invocation template of a {@link JerseyWebTarget web target}.
+ * <p>
+ * The template captures the state resolved for the invocations of the target, i.e. the built target URI,
+ * the configuration snapshot and the entity change interceptors of the client runtime, so that the invocation
+ * builders created repeatedly from the same target only allocate the per-request state. Since the configuration
+ * state is copied on change once a snapshot has been taken, any modification of the target configuration
+ * invalidates the template.
+ * </p>
+ */
+final class InvocationTemplate {
+
+    private final URI uri;
+    private final ClientConfig config;
+    private final Iterable<EntityChangeInterceptor> entityInterceptors;
+
+    /**
+     * Create new invocation template.
+     *
+     * @param uri    built target URI.
+     * @param config target configuration. A snapshot of the configuration is captured by the template.
+     */
+    InvocationTemplate(final URI uri, final ClientConfig config) {
+        config.checkClient();
+
+        this.uri = uri;
+        this.config = config.snapshot();
+        this.entityInterceptors = this.config.getRuntime().getEntityInterceptors();
+    }
+
+    /**
+     * Create new client request initialized from the template.
+     *
+     * @return new client request.
+     */
+    ClientRequest createRequest() {
+        return new ClientRequest(uri, config, new MapPropertiesDelegate(), entityInterceptors);
+    }
+
+    /**
+     * Check whether the template is valid for the given target configuration, i.e. that the configuration
+     * has not been modified since the template was created.
+     *
+     * @param config target configuration.
+     * @return {@code true} if the template is still valid for the configuration, {@code false} otherwise.
+     */
+    boolean isValidFor(final ClientConfig config) {
+        return this.config.sharesStateWith(config);
+    }
+
+    /**
+     * Get the target URI of the template.
+     *
+     * @return target URI.
+     */
+    URI getUri() {
+        return uri;
+    }
+}
@@ -174,6 +174,15 @@ public class JerseyInvocation implements javax.ws.rs.client.Invocation {
             this.requestContext = new ClientRequest(uri, configuration, new MapPropertiesDelegate());
         }
 
+        /**
+         * Create new Jersey-specific client invocation builder from a pre-resolved invocation template.
+         *
+         * @param template invocation template of the invoked web target.
+         */
+        Builder(final InvocationTemplate template) {
+            this.requestContext = template.createRequest();
+        }
+
         /**
          * Returns a reference to the mutable request context to be invoked.
          *
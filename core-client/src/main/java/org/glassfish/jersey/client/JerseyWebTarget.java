@@ -60,6 +60,10 @@ public class JerseyWebTarget implements javax.ws.rs.client.WebTarget, Initializa
 
     private final ClientConfig config;
     private final UriBuilder targetUri;
+    /**
+     * Invocation template, lazily (re-)created whenever the target configuration has been modified.
+     */
+    private volatile InvocationTemplate template;
 
     /**
      * Create new web target instance.
@@ -211,13 +215,13 @@ public class JerseyWebTarget implements javax.ws.rs.client.WebTarget, Initializa
     @Override
     public JerseyInvocation.Builder request() {
         checkNotClosed();
-        return new JerseyInvocation.Builder(getUri(), config.snapshot());
+        return new JerseyInvocation.Builder(getTemplate());
     }
 
     @Override
     public JerseyInvocation.Builder request(String... acceptedResponseTypes) {
         checkNotClosed();
-        JerseyInvocation.Builder b = new JerseyInvocation.Builder(getUri(), config.snapshot());
+        JerseyInvocation.Builder b = new JerseyInvocation.Builder(getTemplate());
         b.request().accept(acceptedResponseTypes);
         return b;
     }
@@ -225,11 +229,45 @@ public class JerseyWebTarget implements javax.ws.rs.client.WebTarget, Initializa
     @Override
     public JerseyInvocation.Builder request(MediaType... acceptedResponseTypes) {
         checkNotClosed();
-        JerseyInvocation.Builder b = new JerseyInvocation.Builder(getUri(), config.snapshot());
+        JerseyInvocation.Builder b = new JerseyInvocation.Builder(getTemplate());
         b.request().accept(acceptedResponseTypes);
         return b;
     }
 
+    /**
+     * Get the invocation template of this target, creating the template if it does not exist yet
+     * or if the target configuration has been modified since the template was created.
+     *
+     * @return invocation template of this target.
+     */
+    InvocationTemplate getTemplate() {
+        InvocationTemplate result = template;
+        if (result == null || !result.isValidFor(config)) {
+            result = new InvocationTemplate(getUri(), config);
+            template = result;
+        }
+        return result;
+    }
+
+    /**
+     * Create new {@link BatchInvoker batch invoker} that dispatches the submitted invocations concurrently,
+     * keeping at most {@code maxInFlightPerHost} invocations in flight to a single host.
+     * <p>
+     * The runtime of this web target is {@link #preInitialize() pre-initialized} so that the invocations built
+     * from this target share the request processing stages of the runtime.
+     * </p>
+     *
+     * @param maxInFlightPerHost maximum number of invocations concurrently in flight to a single host.
+     * @return new batch invoker.
+     * @throws java.lang.IllegalArgumentException in case the {@code maxInFlightPerHost} is not positive.
+     */
+    public BatchInvoker batch(final int maxInFlightPerHost) {
+        checkNotClosed();
+        final BatchInvoker batch = new BatchInvoker(maxInFlightPerHost);
+        preInitialize();
+        return batch;
+    }
+
     @Override
     public JerseyWebTarget resolveTemplate(String name, Object value) throws NullPointerException {
         return resolveTemplate(name, value, true);
@@ -48,7 +48,10 @@ import javax.inject.Inject;
 import javax.inject.Provider;
 
 import org.glassfish.jersey.internal.inject.Providers;
+import org.glassfish.jersey.internal.util.collection.LazyValue;
 import org.glassfish.jersey.internal.util.collection.Ref;
+import org.glassfish.jersey.internal.util.collection.Value;
+import org.glassfish.jersey.internal.util.collection.Values;
 import org.glassfish.jersey.message.MessageBodyWorkers;
 import org.glassfish.jersey.model.internal.RankedComparator;
 
@@ -66,7 +69,7 @@ import jersey.repackaged.com.google.common.collect.Lists;
  */
 public class RequestProcessingInitializationStage implements Function<ClientRequest, ClientRequest> {
     private final Provider<Ref<ClientRequest>> requestRefProvider;
-    private final Provider<MessageBodyWorkers> workersProvider;
+    private final LazyValue<MessageBodyWorkers> workers;
     private final Iterable<WriterInterceptor> writerInterceptors;
     private final Iterable<ReaderInterceptor> readerInterceptors;
 
@@ -81,10 +84,16 @@ public class RequestProcessingInitializationStage implements Function<ClientRequ
     @Inject
     public RequestProcessingInitializationStage(
             Provider<Ref<ClientRequest>> requestRefProvider,
-            Provider<MessageBodyWorkers> workersProvider,
+            final Provider<MessageBodyWorkers> workersProvider,
             ServiceLocator locator) {
         this.requestRefProvider = requestRefProvider;
-        this.workersProvider = workersProvider;
+        // message body workers are a singleton service, there is no need to look the instance up per request
+        this.workers = Values.lazy(new Value<MessageBodyWorkers>() {
+            @Override
+            public MessageBodyWorkers get() {
+                return workersProvider.get();
+            }
+        });
         writerInterceptors = Collections.unmodifiableList(Lists.newArrayList(Providers.getAllProviders(locator,
                 WriterInterceptor.class, new RankedComparator<WriterInterceptor>())));
         readerInterceptors = Collections.unmodifiableList(Lists.newArrayList(Providers.getAllProviders(locator,
@@ -94,7 +103,7 @@ public class RequestProcessingInitializationStage implements Function<ClientRequ
     @Override
     public ClientRequest apply(ClientRequest requestContext) {
         requestRefProvider.get().set(requestContext);
-        requestContext.setWorkers(workersProvider.get());
+        requestContext.setWorkers(workers.get());
         requestContext.setWriterInterceptors(writerInterceptors);
         requestContext.setReaderInterceptors(readerInterceptors);
 
@@ -0,0 +1,415 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.filter;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.glassfish.jersey.message.internal.CacheControlProvider;
+import org.glassfish.jersey.message.internal.EntityTagProvider;
+import org.glassfish.jersey.message.internal.HeaderUtils;
+import org.glassfish.jersey.message.internal.HttpDateFormat;
+
+/**
+ * Immutable cached representation of a response to a {@code GET} request.
+ * <p>
+ * The entry keeps the response status, headers and buffered entity together with
+ * the request header values selected by the response {@code Vary} header and the
+ * absolute time until which the entry is considered fresh.
+ * </p>
+ */
+final class HttpCacheEntry {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final CacheControlProvider CACHE_CONTROL_PROVIDER = new CacheControlProvider();
+    private static final EntityTagProvider ENTITY_TAG_PROVIDER = new EntityTagProvider();
+
+    private final String key;
+    private final int status;
+    private final MultivaluedMap<String, String> headers;
+    private final Map<String, String> vary;
+    private final String entityTag;
+    private final String lastModified;
+    private final long freshUntil;
+    private final byte[] entity;
+
+    private HttpCacheEntry(final String key,
+                           final int status,
+                           final MultivaluedMap<String, String> headers,
+                           final Map<String, String> vary,
+                           final String entityTag,
+                           final String lastModified,
+                           final long freshUntil,
+                           final byte[] entity) {
+        this.key = key;
+        this.status = status;
+        this.headers = headers;
+        this.vary = vary;
+        this.entityTag = entityTag;
+        this.lastModified = lastModified;
+        this.freshUntil = freshUntil;
+        this.entity = entity;
+    }
+
+    /**
+     * Check whether the response headers allow the response to be stored and reused later.
+     * <p>
+     * A response is not stored if it is marked with {@code Cache-Control: no-store} or {@code Vary: *}.
+     * Otherwise it is stored if it is either fresh for a positive amount of time or can be revalidated
+     * using an {@code ETag} or {@code Last-Modified} validator.
+     * </p>
+     *
+     * @param responseHeaders response headers.
+     * @param now             current time in milliseconds.
+     * @return {@code true} if the response may be stored.
+     */
+    static boolean isStorable(final MultivaluedMap<String, String> responseHeaders, final long now) {
+        final CacheControl cacheControl = parseCacheControl(first(responseHeaders, HttpHeaders.CACHE_CONTROL));
+        if (cacheControl != null && cacheControl.isNoStore()) {
+            return false;
+        }
+        for (final String header : varyHeaders(responseHeaders)) {
+            if ("*".equals(header)) {
+                return false;
+            }
+        }
+        return parseEntityTag(first(responseHeaders, HttpHeaders.ETAG)) != null
+                || first(responseHeaders, HttpHeaders.LAST_MODIFIED) != null
+                || freshnessLifetime(cacheControl, responseHeaders, now) > 0;
+    }
+
+    /**
+     * Create a new cache entry for a {@link #isStorable(javax.ws.rs.core.MultivaluedMap, long) storable} response.
+     *
+     * @param key             cache key.
+     * @param request         request the response has been received for.
+     * @param status          response status code.
+     * @param responseHeaders response headers.
+     * @param entity          buffered response entity.
+     * @param now             current time in milliseconds.
+     * @return new cache entry.
+     */
+    static HttpCacheEntry create(final String key,
+                                 final ClientRequestContext request,
+                                 final int status,
+                                 final MultivaluedMap<String, String> responseHeaders,
+                                 final byte[] entity,
+                                 final long now) {
+        final Map<String, String> vary = new LinkedHashMap<String, String>();
+        for (final String header : varyHeaders(responseHeaders)) {
+            vary.put(header, request.getHeaderString(header));
+        }
+
+        final MultivaluedMap<String, String> headers = HeaderUtils.createInbound();
+        for (final Map.Entry<String, List<String>> header : responseHeaders.entrySet()) {
+            headers.put(header.getKey(), new ArrayList<String>(header.getValue()));
+        }
+
+        final CacheControl cacheControl = parseCacheControl(first(responseHeaders, HttpHeaders.CACHE_CONTROL));
+        return new HttpCacheEntry(key, status, headers, Collections.unmodifiableMap(vary),
+                parseEntityTag(first(responseHeaders, HttpHeaders.ETAG)),
+                first(responseHeaders, HttpHeaders.LAST_MODIFIED),
+                now + freshnessLifetime(cacheControl, responseHeaders, now),
+                entity);
+    }
+
+    /**
+     * Create a new entry that merges the headers of a {@code 304 Not Modified} response into
+     * this entry and recomputes the entry freshness.
+     *
+     * @param notModifiedHeaders headers of the {@code 304} response.
+     * @param now                current time in milliseconds.
+     * @return updated cache entry.
+     */
+    HttpCacheEntry revalidated(final MultivaluedMap<String, String> notModifiedHeaders, final long now) {
+        final MultivaluedMap<String, String> merged = HeaderUtils.createInbound();
+        for (final Map.Entry<String, List<String>> header : headers.entrySet()) {
+            merged.put(header.getKey(), new ArrayList<String>(header.getValue()));
+        }
+        for (final Map.Entry<String, List<String>> header : notModifiedHeaders.entrySet()) {
+            final String name = header.getKey();
+            // entity-describing headers of the stored representation must be preserved
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)
+                    && !HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)) {
+                merged.put(name, new ArrayList<String>(header.getValue()));
+            }
+        }
+
+        final CacheControl cacheControl = parseCacheControl(first(merged, HttpHeaders.CACHE_CONTROL));
+        final String tag = parseEntityTag(first(merged, HttpHeaders.ETAG));
+        return new HttpCacheEntry(key, status, merged, vary,
+                tag != null ? tag : entityTag,
+                first(merged, HttpHeaders.LAST_MODIFIED),
+                now + freshnessLifetime(cacheControl, merged, now),
+                entity);
+    }
+
+    /**
+     * Check whether the entry matches the request with respect to the stored {@code Vary} header values.
+     *
+     * @param request client request.
+     * @return {@code true} if the entry may be used to satisfy the request.
+     */
+    boolean matches(final ClientRequestContext request) {
+        for (final Map.Entry<String, String> header : vary.entrySet()) {
+            final String value = request.getHeaderString(header.getKey());
+            if (value == null ? header.getValue() != null : !value.equals(header.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    boolean isFresh(final long now) {
+        return now < freshUntil;
+    }
+
+    boolean hasValidator() {
+        return entityTag != null || lastModified != null;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    int getStatus() {
+        return status;
+    }
+
+    MultivaluedMap<String, String> getHeaders() {
+        return headers;
+    }
+
+    String getEntityTag() {
+        return entityTag;
+    }
+
+    String getLastModified() {
+        return lastModified;
+    }
+
+    byte[] getEntity() {
+        return entity;
+    }
+
+    /**
+     * Write the entry to the data output.
+     *
+     * @param out data output.
+     * @throws IOException in case of an I/O error.
+     */
+    void writeTo(final DataOutputStream out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(key);
+        out.writeInt(status);
+        out.writeInt(headers.size());
+        for (final Map.Entry<String, List<String>> header : headers.entrySet()) {
+            out.writeUTF(header.getKey());
+            out.writeInt(header.getValue().size());
+            for (final String value : header.getValue()) {
+                out.writeUTF(value);
+            }
+        }
+        out.writeInt(vary.size());
+        for (final Map.Entry<String, String> header : vary.entrySet()) {
+            out.writeUTF(header.getKey());
+            writeNullable(out, header.getValue());
+        }
+        writeNullable(out, entityTag);
+        writeNullable(out, lastModified);
+        out.writeLong(freshUntil);
+        out.writeInt(entity.length);
+        out.write(entity);
+    }
+
+    /**
+     * Read an entry previously written by {@link #writeTo(java.io.DataOutputStream)}.
+     *
+     * @param in data input.
+     * @return cache entry.
+     * @throws IOException in case of an I/O error or an unsupported format.
+     */
+    static HttpCacheEntry readFrom(final DataInputStream in) throws IOException {
+        if (in.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported cache entry format.");
+        }
+        final String key = in.readUTF();
+        final int status = in.readInt();
+        final MultivaluedMap<String, String> headers = HeaderUtils.createInbound();
+        for (int i = in.readInt(); i > 0; i--) {
+            final String name = in.readUTF();
+            final int count = in.readInt();
+            final List<String> values = new ArrayList<String>(count);
+            for (int j = 0; j < count; j++) {
+                values.add(in.readUTF());
+            }
+            headers.put(name, values);
+        }
+        final Map<String, String> vary = new LinkedHashMap<String, String>();
+        for (int i = in.readInt(); i > 0; i--) {
+            vary.put(in.readUTF(), readNullable(in));
+        }
+        final String entityTag = readNullable(in);
+        final String lastModified = readNullable(in);
+        final long freshUntil = in.readLong();
+        final byte[] entity = new byte[in.readInt()];
+        in.readFully(entity);
+
+        return new HttpCacheEntry(key, status, headers, Collections.unmodifiableMap(vary),
+                entityTag, lastModified, freshUntil, entity);
+    }
+
+    /**
+     * Parse the {@code Cache-Control} header value.
+     *
+     * @param value header value, may be {@code null}.
+     * @return parsed cache control or {@code null} if the value is missing or invalid.
+     */
+    static CacheControl parseCacheControl(final String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return CACHE_CONTROL_PROVIDER.fromString(value);
+        } catch (final IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static String parseEntityTag(final String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            final EntityTag tag = ENTITY_TAG_PROVIDER.fromString(value);
+            return ENTITY_TAG_PROVIDER.toString(tag);
+        } catch (final IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static long freshnessLifetime(final CacheControl cacheControl,
+                                          final MultivaluedMap<String, String> headers,
+                                          final long now) {
+        long lifetime;
+        if (cacheControl != null && cacheControl.isNoCache()) {
+            return 0;
+        } else if (cacheControl != null && cacheControl.getMaxAge() >= 0) {
+            lifetime = cacheControl.getMaxAge() * 1000L;
+        } else {
+            final String expires = first(headers, HttpHeaders.EXPIRES);
+            if (expires == null) {
+                return 0;
+            }
+            final long date = parseDate(first(headers, HttpHeaders.DATE), now);
+            // an invalid Expires value means "already expired"
+            lifetime = parseDate(expires, date) - date;
+        }
+
+        final String age = first(headers, "Age");
+        if (age != null) {
+            try {
+                lifetime -= Long.parseLong(age.trim()) * 1000L;
+            } catch (final NumberFormatException ignored) {
+                // invalid Age header is ignored
+            }
+        }
+        return Math.max(0, lifetime);
+    }
+
+    private static long parseDate(final String value, final long defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return HttpDateFormat.readDate(value).getTime();
+        } catch (final ParseException ex) {
+            return defaultValue;
+        }
+    }
+
+    private static List<String> varyHeaders(final MultivaluedMap<String, String> headers) {
+        final List<String> values = headers.get(HttpHeaders.VARY);
+        if (values == null) {
+            return Collections.emptyList();
+        }
+        final List<String> names = new ArrayList<String>();
+        for (final String value : values) {
+            for (final String name : value.split(",")) {
+                final String header = name.trim().toLowerCase(Locale.ROOT);
+                if (!header.isEmpty()) {
+                    names.add(header);
+                }
+            }
+        }
+        return names;
+    }
+
+    private static String first(final MultivaluedMap<String, String> headers, final String name) {
+        final List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    private static void writeNullable(final DataOutputStream out, final String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(final DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.filter;
+
+import java.io.File;
+
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+
+/**
+ * Feature that enables a private HTTP response cache on the client side.
+ * <p>
+ * Responses to {@code GET} requests are stored in a bounded in-memory store and, optionally,
+ * in a bounded on-disk tier that holds the entries evicted from memory. The cache honours
+ * the {@code Cache-Control} and {@code Expires} response headers when deciding about freshness,
+ * revalidates stale entries using the {@code ETag} ({@code If-None-Match}) or {@code Last-Modified}
+ * ({@code If-Modified-Since}) validators, and keeps a single response variant per request URI
+ * that is only reused for requests with the same values of the headers listed in the response
+ * {@code Vary} header. Successful {@code POST}, {@code PUT}, {@code DELETE} and other unsafe
+ * requests invalidate the cached response of the request URI.
+ * </p>
+ * <p>
+ * The feature instance owns its cache, i.e. all clients configured with the same instance share
+ * the cached responses. Example:
+ * </p>
+ * <pre>
+ * HttpCacheFeature cache = HttpCacheFeature.builder()
+ *         .maxEntries(500)
+ *         .diskStore(new File("/var/cache/client"), 10000)
+ *         .build();
+ * Client client = ClientBuilder.newClient().register(cache);
+ * ...
+ * long hits = cache.getStatistics().getHitCount();
+ * </pre>
+ */
+public final class HttpCacheFeature implements Feature {
+
+    /**
+     * Default maximal number of responses kept in memory.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    /**
+     * Default maximal size of a cached response entity in bytes.
+     */
+    public static final int DEFAULT_MAX_ENTITY_SIZE = 1024 * 1024;
+
+    /**
+     * Cache statistics.
+     */
+    public static interface Statistics {
+
+        /**
+         * Get the number of requests served from the cache without contacting the server.
+         *
+         * @return cache hit count.
+         */
+        public long getHitCount();
+
+        /**
+         * Get the number of cacheable requests that have not found a usable cached response.
+         *
+         * @return cache miss count.
+         */
+        public long getMissCount();
+
+        /**
+         * Get the number of requests sent to the server to revalidate a stale cached response.
+         *
+         * @return revalidation count.
+         */
+        public long getRevalidationCount();
+
+        /**
+         * Get the number of revalidations answered by {@code 304 Not Modified}, i.e. served from the cache.
+         *
+         * @return count of successful revalidations.
+         */
+        public long getNotModifiedCount();
+
+        /**
+         * Get the number of responses currently kept in memory.
+         *
+         * @return number of in-memory entries.
+         */
+        public int getMemoryEntryCount();
+
+        /**
+         * Get the number of responses currently kept in the disk tier.
+         *
+         * @return number of on-disk entries.
+         */
+        public int getDiskEntryCount();
+    }
+
+    /**
+     * {@link HttpCacheFeature} builder.
+     */
+    public static final class Builder {
+
+        private int maxEntries = DEFAULT_MAX_ENTRIES;
+        private int maxEntitySize = DEFAULT_MAX_ENTITY_SIZE;
+        private File directory;
+        private int maxDiskEntries;
+
+        private Builder() {
+        }
+
+        /**
+         * Set the maximal number of responses kept in memory. Defaults to {@value #DEFAULT_MAX_ENTRIES}.
+         *
+         * @param maxEntries maximal number of in-memory entries.
+         * @return updated builder.
+         */
+        public Builder maxEntries(final int maxEntries) {
+            if (maxEntries < 0) {
+                throw new IllegalArgumentException(LocalizationMessages.NEGATIVE_INPUT_PARAMETER("maxEntries"));
+            }
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Set the maximal size of a response entity in bytes that will be cached. Larger responses are
+         * passed through unchanged. Defaults to {@value #DEFAULT_MAX_ENTITY_SIZE}.
+         *
+         * @param maxEntitySize maximal cached entity size.
+         * @return updated builder.
+         */
+        public Builder maxEntitySize(final int maxEntitySize) {
+            if (maxEntitySize < 0) {
+                throw new IllegalArgumentException(LocalizationMessages.NEGATIVE_INPUT_PARAMETER("maxEntitySize"));
+            }
+            this.maxEntitySize = maxEntitySize;
+            return this;
+        }
+
+        /**
+         * Enable the on-disk tier that keeps the responses evicted from memory.
+         *
+         * @param directory  directory to store the responses in. Created if it does not exist.
+         * @param maxEntries maximal number of responses kept on disk.
+         * @return updated builder.
+         */
+        public Builder diskStore(final File directory, final int maxEntries) {
+            if (maxEntries < 0) {
+                throw new IllegalArgumentException(LocalizationMessages.NEGATIVE_INPUT_PARAMETER("maxEntries"));
+            }
+            this.directory = directory;
+            this.maxDiskEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Build the feature.
+         *
+         * @return new HTTP cache feature with an empty cache.
+         */
+        public HttpCacheFeature build() {
+            return new HttpCacheFeature(this);
+        }
+    }
+
+    private final HttpCacheStore store;
+    private final int maxEntitySize;
+
+    /**
+     * Create new HTTP cache feature with the default in-memory cache settings and no disk tier.
+     */
+    public HttpCacheFeature() {
+        this(new Builder());
+    }
+
+    private HttpCacheFeature(final Builder builder) {
+        this.store = new HttpCacheStore(builder.maxEntries, builder.directory, builder.maxDiskEntries);
+        this.maxEntitySize = builder.maxEntitySize;
+    }
+
+    /**
+     * Create new {@link HttpCacheFeature} builder.
+     *
+     * @return new feature builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Get the live statistics of the cache.
+     *
+     * @return cache statistics.
+     */
+    public Statistics getStatistics() {
+        return store;
+    }
+
+    /**
+     * Remove all responses from the cache.
+     */
+    public void clear() {
+        store.clear();
+    }
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        context.register(new HttpCacheFilter(store, maxEntitySize));
+        return true;
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.filter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+
+import javax.annotation.Priority;
+
+/**
+ * Client filter that serves {@code GET} requests from the {@link HttpCacheStore HTTP cache} and
+ * stores cacheable responses in it.
+ * <p>
+ * On the request side, a fresh matching entry is returned without contacting the server.
+ * A stale entry with a validator is revalidated by adding the {@code If-None-Match} or
+ * {@code If-Modified-Since} header to the request; a {@code 304 Not Modified} response is then
+ * replaced by the cached response on the response side. Successful responses to unsafe methods
+ * invalidate the cached entry of the request URI.
+ * </p>
+ * <p>
+ * The filter runs after the user filters on the request side so that any headers selected by
+ * the response {@code Vary} header have already been set. Consequently it is the first filter
+ * invoked on the response side.
+ * </p>
+ */
+@Priority(HttpCacheFilter.PRIORITY)
+final class HttpCacheFilter implements ClientRequestFilter, ClientResponseFilter {
+
+    /**
+     * Filter priority.
+     */
+    static final int PRIORITY = Priorities.USER + 1000;
+
+    private static final String CACHED_ENTRY = HttpCacheFilter.class.getName() + ".cached";
+    private static final String REVALIDATED_ENTRY = HttpCacheFilter.class.getName() + ".revalidated";
+    private static final String BYPASS = HttpCacheFilter.class.getName() + ".bypass";
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private final HttpCacheStore store;
+    private final int maxEntitySize;
+
+    /**
+     * Create new cache filter.
+     *
+     * @param store         cache store.
+     * @param maxEntitySize maximal size of a response entity in bytes that will be cached.
+     */
+    HttpCacheFilter(final HttpCacheStore store, final int maxEntitySize) {
+        this.store = store;
+        this.maxEntitySize = maxEntitySize;
+    }
+
+    @Override
+    public void filter(final ClientRequestContext request) throws IOException {
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            return;
+        }
+
+        final CacheControl cacheControl = HttpCacheEntry.parseCacheControl(request.getHeaderString(HttpHeaders.CACHE_CONTROL));
+        if (cacheControl != null && cacheControl.isNoStore()) {
+            request.setProperty(BYPASS, Boolean.TRUE);
+            return;
+        }
+
+        final HttpCacheEntry entry = store.get(key(request));
+        if (entry == null || !entry.matches(request)) {
+            store.miss();
+            return;
+        }
+
+        final boolean noCache = (cacheControl != null && (cacheControl.isNoCache() || cacheControl.getMaxAge() == 0))
+                || "no-cache".equalsIgnoreCase(request.getHeaderString("Pragma"));
+        if (!noCache && entry.isFresh(System.currentTimeMillis())) {
+            store.hit();
+            request.setProperty(CACHED_ENTRY, entry);
+            request.abortWith(toResponse(entry));
+            return;
+        }
+
+        final MultivaluedMap<String, Object> headers = request.getHeaders();
+        if (!entry.hasValidator()
+                || headers.containsKey(HttpHeaders.IF_NONE_MATCH) || headers.containsKey(HttpHeaders.IF_MODIFIED_SINCE)) {
+            // conditional request issued by the user is left untouched
+            store.miss();
+            return;
+        }
+
+        if (entry.getEntityTag() != null) {
+            headers.putSingle(HttpHeaders.IF_NONE_MATCH, entry.getEntityTag());
+        } else {
+            headers.putSingle(HttpHeaders.IF_MODIFIED_SINCE, entry.getLastModified());
+        }
+        request.setProperty(REVALIDATED_ENTRY, entry);
+        store.revalidation();
+    }
+
+    @Override
+    public void filter(final ClientRequestContext request, final ClientResponseContext response) throws IOException {
+        final HttpCacheEntry cached = (HttpCacheEntry) request.getProperty(CACHED_ENTRY);
+        if (cached != null) {
+            // faster than the serialization of the abort response entity
+            response.setEntityStream(new ByteArrayInputStream(cached.getEntity()));
+            return;
+        }
+
+        final String method = request.getMethod();
+        if (!HttpMethod.GET.equals(method)) {
+            if (isUnsafe(method) && isSuccess(response.getStatus())) {
+                store.remove(key(request));
+            }
+            return;
+        }
+        if (request.getProperty(BYPASS) != null) {
+            return;
+        }
+
+        final long now = System.currentTimeMillis();
+        final HttpCacheEntry revalidated = (HttpCacheEntry) request.getProperty(REVALIDATED_ENTRY);
+        if (revalidated != null && response.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode()) {
+            store.notModified();
+            final HttpCacheEntry updated = revalidated.revalidated(response.getHeaders(), now);
+            store.put(updated);
+
+            response.setStatus(updated.getStatus());
+            final MultivaluedMap<String, String> headers = response.getHeaders();
+            for (final Map.Entry<String, List<String>> header : updated.getHeaders().entrySet()) {
+                headers.put(header.getKey(), new ArrayList<String>(header.getValue()));
+            }
+            response.setEntityStream(new ByteArrayInputStream(updated.getEntity()));
+            return;
+        }
+
+        final int status = response.getStatus();
+        if ((status != Response.Status.OK.getStatusCode() && status != 203)
+                || response.getLength() > maxEntitySize
+                || !HttpCacheEntry.isStorable(response.getHeaders(), now)) {
+            return;
+        }
+
+        final InputStream in = response.getEntityStream();
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(response.getLength(), BUFFER_SIZE));
+        final byte[] chunk = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            buffer.write(chunk, 0, read);
+            if (buffer.size() > maxEntitySize) {
+                // too large to be cached - hand the already consumed bytes back to the reader
+                response.setEntityStream(new SequenceInputStream(new ByteArrayInputStream(buffer.toByteArray()), in));
+                return;
+            }
+        }
+        in.close();
+
+        final byte[] entity = buffer.toByteArray();
+        response.setEntityStream(new ByteArrayInputStream(entity));
+        store.put(HttpCacheEntry.create(key(request), request, status, response.getHeaders(), entity, now));
+    }
+
+    private static Response toResponse(final HttpCacheEntry entry) {
+        final Response.ResponseBuilder builder = Response.status(entry.getStatus());
+        for (final Map.Entry<String, List<String>> header : entry.getHeaders().entrySet()) {
+            for (final String value : header.getValue()) {
+                builder.header(header.getKey(), value);
+            }
+        }
+        return builder.entity(entry.getEntity()).build();
+    }
+
+    private static String key(final ClientRequestContext request) {
+        return request.getUri().toString();
+    }
+
+    private static boolean isUnsafe(final String method) {
+        return !HttpMethod.HEAD.equals(method) && !HttpMethod.OPTIONS.equals(method) && !"TRACE".equals(method);
+    }
+
+    private static boolean isSuccess(final int status) {
+        return status >= 200 && status < 400;
+    }
+}
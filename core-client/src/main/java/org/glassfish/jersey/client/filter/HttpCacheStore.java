@@ -0,0 +1,328 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.filter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+
+/**
+ * Bounded store of {@link HttpCacheEntry cached responses} used by the {@link HttpCacheFilter}.
+ * <p>
+ * Entries are kept in a least-recently-used in-memory map. If a disk directory is configured,
+ * entries evicted from memory are spilled to files in the directory and promoted back to memory
+ * on the next access. The disk tier is bounded as well; the least-recently-used files are deleted
+ * once the limit is exceeded. Only files written by this store instance are ever read.
+ * </p>
+ */
+final class HttpCacheStore implements HttpCacheFeature.Statistics {
+
+    private static final Logger LOGGER = Logger.getLogger(HttpCacheStore.class.getName());
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final int maxEntries;
+    private final File directory;
+    private final int maxDiskEntries;
+
+    // both maps are guarded by "this"
+    private final LinkedHashMap<String, HttpCacheEntry> memory;
+    private final LinkedHashMap<String, File> disk;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+
+    /**
+     * Create new cache store.
+     *
+     * @param maxEntries     maximal number of entries kept in memory.
+     * @param directory      directory of the disk tier, {@code null} if the disk tier should not be used.
+     * @param maxDiskEntries maximal number of entries kept in the disk tier.
+     */
+    HttpCacheStore(final int maxEntries, final File directory, final int maxDiskEntries) {
+        this.maxEntries = maxEntries;
+        this.directory = directory;
+        this.maxDiskEntries = maxDiskEntries;
+        this.memory = new LinkedHashMap<String, HttpCacheEntry>(16, 0.75f, true);
+        this.disk = directory == null ? null : new LinkedHashMap<String, File>(16, 0.75f, true);
+
+        if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException(LocalizationMessages.HTTP_CACHE_DISK_DIRECTORY_INVALID(directory));
+        }
+    }
+
+    /**
+     * Get the entry stored under the key.
+     *
+     * @param key cache key.
+     * @return cached entry or {@code null} if there is no such entry.
+     */
+    HttpCacheEntry get(final String key) {
+        final File file;
+        synchronized (this) {
+            final HttpCacheEntry entry = memory.get(key);
+            if (entry != null || disk == null) {
+                return entry;
+            }
+            file = disk.remove(key);
+        }
+        if (file == null) {
+            return null;
+        }
+
+        final HttpCacheEntry entry = read(file);
+        delete(file);
+        if (entry == null || !key.equals(entry.getKey())) {
+            return null;
+        }
+        put(entry);
+        return entry;
+    }
+
+    /**
+     * Store the entry, possibly replacing the previous entry with the same key.
+     *
+     * @param entry entry to be stored.
+     */
+    void put(final HttpCacheEntry entry) {
+        final List<HttpCacheEntry> spilled = new ArrayList<HttpCacheEntry>(1);
+        final File stale;
+        synchronized (this) {
+            memory.put(entry.getKey(), entry);
+            stale = disk == null ? null : disk.remove(entry.getKey());
+
+            final Iterator<HttpCacheEntry> eldest = memory.values().iterator();
+            while (memory.size() > maxEntries) {
+                final HttpCacheEntry evicted = eldest.next();
+                eldest.remove();
+                if (disk != null) {
+                    spilled.add(evicted);
+                }
+            }
+        }
+
+        delete(stale);
+        for (final HttpCacheEntry evicted : spilled) {
+            spill(evicted);
+        }
+    }
+
+    /**
+     * Remove the entry stored under the key from both tiers.
+     *
+     * @param key cache key.
+     */
+    void remove(final String key) {
+        final File file;
+        synchronized (this) {
+            memory.remove(key);
+            file = disk == null ? null : disk.remove(key);
+        }
+        delete(file);
+    }
+
+    /**
+     * Remove all entries from both tiers.
+     */
+    void clear() {
+        final List<File> files;
+        synchronized (this) {
+            memory.clear();
+            if (disk == null) {
+                return;
+            }
+            files = new ArrayList<File>(disk.values());
+            disk.clear();
+        }
+        for (final File file : files) {
+            delete(file);
+        }
+    }
+
+    void hit() {
+        hits.incrementAndGet();
+    }
+
+    void miss() {
+        misses.incrementAndGet();
+    }
+
+    void revalidation() {
+        revalidations.incrementAndGet();
+    }
+
+    void notModified() {
+        notModified.incrementAndGet();
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    @Override
+    public long getRevalidationCount() {
+        return revalidations.get();
+    }
+
+    @Override
+    public long getNotModifiedCount() {
+        return notModified.get();
+    }
+
+    @Override
+    public synchronized int getMemoryEntryCount() {
+        return memory.size();
+    }
+
+    @Override
+    public synchronized int getDiskEntryCount() {
+        return disk == null ? 0 : disk.size();
+    }
+
+    private void spill(final HttpCacheEntry entry) {
+        final File file = new File(directory, fileName(entry.getKey()));
+        if (!write(entry, file)) {
+            return;
+        }
+
+        final List<File> evicted = new ArrayList<File>(1);
+        synchronized (this) {
+            if (memory.containsKey(entry.getKey())) {
+                // the entry has been replaced in the meantime
+                evicted.add(file);
+            } else {
+                disk.put(entry.getKey(), file);
+                final Iterator<Map.Entry<String, File>> eldest = disk.entrySet().iterator();
+                while (disk.size() > maxDiskEntries) {
+                    evicted.add(eldest.next().getValue());
+                    eldest.remove();
+                }
+            }
+        }
+        for (final File obsolete : evicted) {
+            delete(obsolete);
+        }
+    }
+
+    private boolean write(final HttpCacheEntry entry, final File file) {
+        File temp = null;
+        try {
+            temp = File.createTempFile("entry", ".tmp", directory);
+            final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+            try {
+                entry.writeTo(out);
+            } finally {
+                out.close();
+            }
+            // rename is not guaranteed to replace an existing file on every platform
+            delete(file);
+            if (temp.renameTo(file)) {
+                return true;
+            }
+            LOGGER.log(Level.FINE, LocalizationMessages.HTTP_CACHE_DISK_WRITE_FAILED(file));
+        } catch (final IOException ex) {
+            LOGGER.log(Level.FINE, LocalizationMessages.HTTP_CACHE_DISK_WRITE_FAILED(file), ex);
+        }
+        delete(temp);
+        return false;
+    }
+
+    private static HttpCacheEntry read(final File file) {
+        try {
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            try {
+                return HttpCacheEntry.readFrom(in);
+            } finally {
+                in.close();
+            }
+        } catch (final IOException ex) {
+            LOGGER.log(Level.FINE, LocalizationMessages.HTTP_CACHE_DISK_READ_FAILED(file), ex);
+            return null;
+        }
+    }
+
+    private static void delete(final File file) {
+        if (file != null && file.exists() && !file.delete()) {
+            file.deleteOnExit();
+        }
+    }
+
+    private static String fileName(final String key) {
+        final byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(UTF8));
+        } catch (final NoSuchAlgorithmException ex) {
+            // SHA-1 is required to be supported by every Java platform
+            throw new IllegalStateException(ex);
+        }
+        final char[] name = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            name[2 * i] = HEX[(digest[i] >> 4) & 0x0F];
+            name[2 * i + 1] = HEX[digest[i] & 0x0F];
+        }
+        return new String(name) + ".entry";
+    }
+}
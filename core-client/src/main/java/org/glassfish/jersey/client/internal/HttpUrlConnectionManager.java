@@ -0,0 +1,559 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.internal;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.security.AccessController;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.net.ssl.HttpsURLConnection;
+
+import org.glassfish.jersey.client.HttpUrlConnectorProvider;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+
+/**
+ * Connection reuse layer of the {@link HttpUrlConnector}.
+ * <p>
+ * The sockets of {@link HttpURLConnection} instances are kept alive by the JDK keep-alive cache which is
+ * neither observable nor configurable per client. The manager therefore tracks connection leases per route
+ * (a unique combination of scheme, host and port): it limits the number of concurrently leased connections,
+ * keeps a record of the connections returned to the keep-alive cache in order to tell connection reuses
+ * from new connects and evicts the connections that stayed idle for longer than the configured idle timeout.
+ * </p>
+ * <p>
+ * An idle socket is evicted by connecting a new {@link HttpURLConnection} to the route, which takes the socket out
+ * of the JDK keep-alive cache without sending a request, and disconnecting it, which closes the socket.
+ * </p>
+ * <p>
+ * The record mirrors the expiration of the JDK keep-alive cache (the {@code Keep-Alive} timeout advertised by
+ * the server or the JDK default of 5 seconds), but the cache is shared by the whole JVM, so the connect and reuse
+ * counts are estimates. Leases of responses that are garbage collected without being closed are reclaimed.
+ * </p>
+ *
+ * @see org.glassfish.jersey.client.ClientProperties#CONNECTION_MAX_PER_ROUTE
+ * @see org.glassfish.jersey.client.ClientProperties#CONNECTION_IDLE_TIMEOUT
+ */
+final class HttpUrlConnectionManager {
+
+    private static final Logger LOGGER = Logger.getLogger(HttpUrlConnectionManager.class.getName());
+
+    /**
+     * Maximum number of idle connections the JDK keeps alive per destination.
+     */
+    private static final int MAX_IDLE_PER_ROUTE = getMaxIdlePerRoute();
+
+    /**
+     * Time the JDK keeps an idle connection alive if the server does not advertise a {@code Keep-Alive} timeout.
+     */
+    private static final long DEFAULT_KEEP_ALIVE_NANOS = TimeUnit.SECONDS.toNanos(getDefaultKeepAliveTime());
+
+    /**
+     * Maximum interval between the checks for abandoned leases while waiting for a connection.
+     */
+    private static final long RECLAIM_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final HttpUrlConnectorProvider.ConnectionFactory connectionFactory;
+    private final int maxPerRoute;
+    private final long idleTimeoutNanos;
+    private final ConcurrentMap<String, Route> routes = new ConcurrentHashMap<String, Route>();
+
+    private final ReferenceQueue<Object> abandoned = new ReferenceQueue<Object>();
+    private final Set<LeaseReference> tracked = Collections.newSetFromMap(new ConcurrentHashMap<LeaseReference, Boolean>());
+
+    /**
+     * Create new connection manager.
+     *
+     * @param connectionFactory factory of the connections used to evict the idle connections.
+     * @param maxPerRoute   maximum number of concurrently leased connections per route, {@code 0} means unlimited.
+     * @param idleTimeout   idle connection eviction timeout in milliseconds, {@code 0} means that the idle connections
+     *                      are left to the JDK keep-alive cache eviction policy.
+     */
+    HttpUrlConnectionManager(final HttpUrlConnectorProvider.ConnectionFactory connectionFactory,
+                             final int maxPerRoute, final int idleTimeout) {
+        this.connectionFactory = connectionFactory;
+        this.maxPerRoute = Math.max(maxPerRoute, 0);
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(idleTimeout, 0));
+    }
+
+    /**
+     * Lease a connection to the route of the given URL, waiting for a connection of the route to be released
+     * if the maximum number of connections per route has been reached.
+     *
+     * @param url         request URL.
+     * @param waitTimeout maximum time in milliseconds to wait for a connection, {@code 0} means that the lease fails
+     *                    immediately if no connection is available.
+     * @return connection lease that must be {@link Lease#release(HttpURLConnection, boolean) released}
+     * once the connection is not used anymore.
+     * @throws IOException in case no connection became available in time or the waiting thread has been interrupted.
+     */
+    Lease lease(final URL url, final int waitTimeout) throws IOException {
+        reclaimAbandoned();
+        if (idleTimeoutNanos > 0) {
+            evictExpired(System.nanoTime());
+        }
+
+        final String key = getRouteKey(url);
+        Route route = routes.get(key);
+        if (route == null) {
+            final Route newRoute = new Route(key);
+            route = routes.putIfAbsent(key, newRoute);
+            if (route == null) {
+                route = newRoute;
+            }
+        }
+
+        return route.lease(waitTimeout);
+    }
+
+    /**
+     * Get a snapshot of the connection statistics of all the routes used so far, sorted by the route name.
+     *
+     * @return connection statistics keyed by the route name.
+     */
+    Map<String, HttpUrlConnectorProvider.RouteStatistics> getStatistics() {
+        reclaimAbandoned();
+        final Map<String, HttpUrlConnectorProvider.RouteStatistics> statistics =
+                new TreeMap<String, HttpUrlConnectorProvider.RouteStatistics>();
+        for (final Route route : routes.values()) {
+            statistics.put(route.getRoute(), route.snapshot());
+        }
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    /**
+     * Evict all the idle connections.
+     */
+    void close() {
+        final long now = System.nanoTime();
+        for (final Route route : routes.values()) {
+            route.evict(now, 0);
+        }
+    }
+
+    /**
+     * Release the leases whose response entity stream has been garbage collected without being closed.
+     */
+    private void reclaimAbandoned() {
+        LeaseReference reference;
+        while ((reference = (LeaseReference) abandoned.poll()) != null) {
+            if (tracked.remove(reference)) {
+                LOGGER.warning(LocalizationMessages.CONNECTION_LEASE_NOT_RELEASED(reference.lease.route.getRoute()));
+                reference.lease.release(null, false);
+            }
+        }
+    }
+
+    private void evictExpired(final long now) {
+        for (final Route route : routes.values()) {
+            route.evict(now, idleTimeoutNanos);
+        }
+    }
+
+    private static int getMaxIdlePerRoute() {
+        if (!Boolean.valueOf(AccessController.doPrivileged(PropertiesHelper.getSystemProperty("http.keepAlive", "true")))) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(AccessController.doPrivileged(
+                    PropertiesHelper.getSystemProperty("http.maxConnections", "5")));
+        } catch (final NumberFormatException e) {
+            return 5;
+        }
+    }
+
+    private static long getDefaultKeepAliveTime() {
+        try {
+            // supported since JDK 20, older JDKs keep idle connections alive for 5 seconds
+            final long time = Long.parseLong(AccessController.doPrivileged(
+                    PropertiesHelper.getSystemProperty("http.keepAlive.time.server", "5")));
+            return time > 0 ? time : 5;
+        } catch (final NumberFormatException e) {
+            return 5;
+        }
+    }
+
+    /**
+     * Get the time the JDK keep-alive cache keeps the connection alive, i.e. the timeout advertised by the server
+     * in the {@code Keep-Alive} response header or the JDK default.
+     *
+     * @param connection released connection.
+     * @return keep-alive time in nanoseconds.
+     */
+    private static long getKeepAliveNanos(final HttpURLConnection connection) {
+        // the JDK ignores the Keep-Alive header unless the server sends "Connection: keep-alive" as well
+        final String keepAlive = "keep-alive".equalsIgnoreCase(connection.getHeaderField("Connection"))
+                ? connection.getHeaderField("Keep-Alive") : null;
+        if (keepAlive != null) {
+            for (final String parameter : keepAlive.split(",")) {
+                final String[] pair = parameter.trim().split("=", 2);
+                if (pair.length == 2 && "timeout".equalsIgnoreCase(pair[0].trim())) {
+                    try {
+                        return TimeUnit.SECONDS.toNanos(Math.max(Long.parseLong(pair[1].trim()), 0));
+                    } catch (final NumberFormatException e) {
+                        break;
+                    }
+                }
+            }
+        }
+        return DEFAULT_KEEP_ALIVE_NANOS;
+    }
+
+    private static String getRouteKey(final URL url) {
+        final int port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+        return url.getProtocol().toLowerCase() + "://" + url.getHost().toLowerCase() + ":" + port;
+    }
+
+    /**
+     * Lease of a single route connection.
+     */
+    final class Lease {
+
+        private final Route route;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+        private volatile LeaseReference reference;
+
+        private Lease(final Route route) {
+            this.route = route;
+        }
+
+        /**
+         * Release the lease once the given owner, typically the response entity stream, is garbage collected without
+         * the lease being released.
+         *
+         * @param owner object whose reachability guards the lease.
+         */
+        void track(final Object owner) {
+            final LeaseReference newReference = new LeaseReference(owner, this, abandoned);
+            tracked.add(newReference);
+            reference = newReference;
+            if (released.get()) {
+                tracked.remove(newReference);
+            }
+        }
+
+        /**
+         * Release the leased connection. Subsequent invocations of the method have no effect.
+         *
+         * @param connection  released connection, may be {@code null} if the request has failed before
+         *                    the connection has been established.
+         * @param reusable    {@code true} if the response has been consumed completely and the underlying socket
+         *                    can be returned to the keep-alive cache, {@code false} otherwise.
+         */
+        void release(final HttpURLConnection connection, final boolean reusable) {
+            if (released.compareAndSet(false, true)) {
+                final LeaseReference leaseReference = reference;
+                if (leaseReference != null) {
+                    tracked.remove(leaseReference);
+                }
+                route.release(connection, reusable
+                        && connection != null
+                        && !"close".equalsIgnoreCase(connection.getHeaderField("Connection")));
+            }
+        }
+    }
+
+    /**
+     * Reference to the owner of a lease that has not been released yet.
+     */
+    private static final class LeaseReference extends PhantomReference<Object> {
+
+        private final Lease lease;
+
+        private LeaseReference(final Object owner, final Lease lease, final ReferenceQueue<Object> queue) {
+            super(owner, queue);
+            this.lease = lease;
+        }
+    }
+
+    /**
+     * Connection returned to the JDK keep-alive cache.
+     */
+    private static final class IdleConnection {
+
+        private final HttpURLConnection connection;
+        private final long since;
+        private final long keepAliveNanos;
+
+        private IdleConnection(final HttpURLConnection connection, final long since, final long keepAliveNanos) {
+            this.connection = connection;
+            this.since = since;
+            this.keepAliveNanos = keepAliveNanos;
+        }
+    }
+
+    private final class Route {
+
+        private final String name;
+        private final Semaphore permits;
+        private final Deque<IdleConnection> idle = new ArrayDeque<IdleConnection>();
+
+        private final AtomicInteger leased = new AtomicInteger();
+        private final AtomicLong connects = new AtomicLong();
+        private final AtomicLong reuses = new AtomicLong();
+        private final AtomicLong evictions = new AtomicLong();
+        private final AtomicLong waitNanos = new AtomicLong();
+
+        private Route(final String name) {
+            this.name = name;
+            this.permits = maxPerRoute > 0 ? new Semaphore(maxPerRoute, true) : null;
+        }
+
+        private Lease lease(final int waitTimeout) throws IOException {
+            if (permits != null) {
+                final long start = System.nanoTime();
+                boolean acquired = permits.tryAcquire();
+                try {
+                    final long deadline = start + TimeUnit.MILLISECONDS.toNanos(waitTimeout);
+                    long remaining = deadline - start;
+                    while (!acquired && remaining > 0) {
+                        // leases abandoned by the owners of the other connections of the route are reclaimed meanwhile
+                        acquired = permits.tryAcquire(Math.min(remaining, RECLAIM_INTERVAL_NANOS), TimeUnit.NANOSECONDS);
+                        if (!acquired) {
+                            reclaimAbandoned();
+                            acquired = permits.tryAcquire();
+                        }
+                        remaining = deadline - System.nanoTime();
+                    }
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException(LocalizationMessages.CONNECTION_LEASE_TIMEOUT(name, waitTimeout));
+                } finally {
+                    waitNanos.addAndGet(System.nanoTime() - start);
+                }
+                if (!acquired) {
+                    throw new IOException(LocalizationMessages.CONNECTION_LEASE_TIMEOUT(name, waitTimeout));
+                }
+            }
+
+            leased.incrementAndGet();
+
+            // The JDK keep-alive cache hands out the most recently returned socket first.
+            final boolean reused;
+            synchronized (idle) {
+                pruneExpired(System.nanoTime());
+                reused = idle.pollLast() != null;
+            }
+            if (reused) {
+                reuses.incrementAndGet();
+            } else {
+                connects.incrementAndGet();
+            }
+
+            return new Lease(this);
+        }
+
+        private void release(final HttpURLConnection connection, final boolean reusable) {
+            if (reusable) {
+                synchronized (idle) {
+                    // the JDK keep-alive cache closes the sockets returned to a full cache
+                    if (idle.size() < MAX_IDLE_PER_ROUTE) {
+                        idle.addLast(new IdleConnection(connection, System.nanoTime(), getKeepAliveNanos(connection)));
+                    }
+                }
+            }
+
+            leased.decrementAndGet();
+            if (permits != null) {
+                permits.release();
+            }
+        }
+
+        /**
+         * Forget the idle connections the JDK keep-alive cache has closed on its own. Must be invoked while holding
+         * the lock of the idle connections.
+         *
+         * @param now current time in nanoseconds.
+         */
+        private void pruneExpired(final long now) {
+            final Iterator<IdleConnection> iterator = idle.iterator();
+            while (iterator.hasNext()) {
+                final IdleConnection connection = iterator.next();
+                if (now - connection.since >= connection.keepAliveNanos) {
+                    iterator.remove();
+                }
+            }
+        }
+
+        private void evict(final long now, final long timeoutNanos) {
+            List<IdleConnection> expired = null;
+            synchronized (idle) {
+                // the sockets already closed by the JDK keep-alive cache must not be reopened by the eviction
+                pruneExpired(now);
+                while (!idle.isEmpty() && now - idle.peekFirst().since >= timeoutNanos) {
+                    if (expired == null) {
+                        expired = new LinkedList<IdleConnection>();
+                    }
+                    expired.add(idle.pollFirst());
+                }
+            }
+
+            if (expired != null) {
+                for (final IdleConnection connection : expired) {
+                    close(connection.connection);
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+
+        /**
+         * Close an idle socket of the route. The connect of a new connection to the route takes the most recently
+         * returned socket from the JDK keep-alive cache, the sockets in use are never affected.
+         *
+         * @param idleConnection connection that returned the idle socket to the JDK keep-alive cache.
+         */
+        private void close(final HttpURLConnection idleConnection) {
+            try {
+                final HttpURLConnection connection = connectionFactory.getConnection(idleConnection.getURL());
+                if (idleConnection instanceof HttpsURLConnection && connection instanceof HttpsURLConnection) {
+                    // secure sockets are cached per socket factory
+                    final HttpsURLConnection secureConnection = (HttpsURLConnection) connection;
+                    secureConnection.setSSLSocketFactory(((HttpsURLConnection) idleConnection).getSSLSocketFactory());
+                    secureConnection.setHostnameVerifier(((HttpsURLConnection) idleConnection).getHostnameVerifier());
+                }
+                connection.setConnectTimeout(idleConnection.getConnectTimeout());
+                connection.connect();
+                connection.disconnect();
+            } catch (final IOException e) {
+                LOGGER.log(Level.FINE, LocalizationMessages.CONNECTION_EVICTION_FAILED(name), e);
+            }
+        }
+
+        private String getRoute() {
+            return name;
+        }
+
+        private HttpUrlConnectorProvider.RouteStatistics snapshot() {
+            final int idleCount;
+            synchronized (idle) {
+                pruneExpired(System.nanoTime());
+                idleCount = idle.size();
+            }
+            return new RouteStatisticsSnapshot(name, connects.get(), reuses.get(), leased.get(), idleCount,
+                    evictions.get(), waitNanos.get());
+        }
+    }
+
+    private static final class RouteStatisticsSnapshot implements HttpUrlConnectorProvider.RouteStatistics {
+
+        private final String route;
+        private final long connectCount;
+        private final long reuseCount;
+        private final int leasedCount;
+        private final int idleCount;
+        private final long evictedCount;
+        private final long waitNanos;
+
+        private RouteStatisticsSnapshot(final String route, final long connectCount, final long reuseCount,
+                                        final int leasedCount, final int idleCount, final long evictedCount,
+                                        final long waitNanos) {
+            this.route = route;
+            this.connectCount = connectCount;
+            this.reuseCount = reuseCount;
+            this.leasedCount = leasedCount;
+            this.idleCount = idleCount;
+            this.evictedCount = evictedCount;
+            this.waitNanos = waitNanos;
+        }
+
+        @Override
+        public String getRoute() {
+            return route;
+        }
+
+        @Override
+        public long getConnectCount() {
+            return connectCount;
+        }
+
+        @Override
+        public long getReuseCount() {
+            return reuseCount;
+        }
+
+        @Override
+        public int getLeasedCount() {
+            return leasedCount;
+        }
+
+        @Override
+        public int getIdleCount() {
+            return idleCount;
+        }
+
+        @Override
+        public long getEvictedCount() {
+            return evictedCount;
+        }
+
+        @Override
+        public long getWaitTime(final TimeUnit unit) {
+            return unit.convert(waitNanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public String toString() {
+            return route + "[connects=" + connectCount + ", reuses=" + reuseCount + ", leased=" + leasedCount
+                    + ", idle=" + idleCount + ", evicted=" + evictedCount + ", waitTime="
+                    + TimeUnit.NANOSECONDS.toMillis(waitNanos) + "ms]";
+        }
+    }
+}
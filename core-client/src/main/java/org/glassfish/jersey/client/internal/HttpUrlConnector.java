@@ -48,6 +48,7 @@ import java.net.HttpURLConnection;
 import java.net.ProtocolException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.URL;
 import java.security.AccessController;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
@@ -127,9 +128,14 @@ public class HttpUrlConnector implements Connector {
     private final boolean setMethodWorkaround;
     private final boolean isRestrictedHeaderPropertySet;
     private final LazyValue<SSLSocketFactory> sslSocketFactory;
+    private final HttpUrlConnectionManager connectionManager;
 
     /**
      * Create new {@code HttpUrlConnector} instance.
+     * <p>
+     * The connection management settings ({@link ClientProperties#CONNECTION_MAX_PER_ROUTE} and
+     * {@link ClientProperties#CONNECTION_IDLE_TIMEOUT}) are read from the configuration of the {@code client}.
+     * </p>
      *
      * @param client              JAX-RS client instance for which the connector is being created.
      * @param connectionFactory   {@link javax.net.ssl.HttpsURLConnection} factory to be used when creating connections.
@@ -146,6 +152,36 @@ public class HttpUrlConnector implements Connector {
             final int chunkSize,
             final boolean fixLengthStreaming,
             final boolean setMethodWorkaround) {
+        this(client, connectionFactory, chunkSize, fixLengthStreaming, setMethodWorkaround,
+                getConnectionProperty(client, ClientProperties.CONNECTION_MAX_PER_ROUTE),
+                getConnectionProperty(client, ClientProperties.CONNECTION_IDLE_TIMEOUT));
+    }
+
+    /**
+     * Create new {@code HttpUrlConnector} instance.
+     *
+     * @param client              JAX-RS client instance for which the connector is being created.
+     * @param connectionFactory   {@link javax.net.ssl.HttpsURLConnection} factory to be used when creating connections.
+     * @param chunkSize           chunk size to use when using HTTP chunked transfer coding.
+     * @param fixLengthStreaming  specify if the {@link java.net.HttpURLConnection#setFixedLengthStreamingMode(int)
+     *                            fixed-length streaming mode} on the underlying HTTP URL connection instances should be
+     *                            used when sending requests.
+     * @param setMethodWorkaround specify if the reflection workaround should be used to set HTTP URL connection method
+     *                            name. See {@link HttpUrlConnectorProvider#SET_METHOD_WORKAROUND} for details.
+     * @param maxPerRoute         maximum number of concurrent connections per route, {@code 0} means unlimited.
+     *                            See {@link ClientProperties#CONNECTION_MAX_PER_ROUTE} for details.
+     * @param idleTimeout         idle connection eviction timeout in milliseconds, {@code 0} means that the JDK
+     *                            keep-alive cache defaults apply.
+     *                            See {@link ClientProperties#CONNECTION_IDLE_TIMEOUT} for details.
+     */
+    public HttpUrlConnector(
+            final Client client,
+            final HttpUrlConnectorProvider.ConnectionFactory connectionFactory,
+            final int chunkSize,
+            final boolean fixLengthStreaming,
+            final boolean setMethodWorkaround,
+            final int maxPerRoute,
+            final int idleTimeout) {
 
         sslSocketFactory = Values.lazy(new Value<SSLSocketFactory>() {
             @Override
@@ -158,6 +194,7 @@ public class HttpUrlConnector implements Connector {
         this.chunkSize = chunkSize;
         this.fixLengthStreaming = fixLengthStreaming;
         this.setMethodWorkaround = setMethodWorkaround;
+        this.connectionManager = new HttpUrlConnectionManager(connectionFactory, maxPerRoute, idleTimeout);
 
         // check if sun.net.http.allowRestrictedHeaders system property has been set and log the result
         // the property is being cached in the HttpURLConnection, so this is only informative - there might
@@ -172,7 +209,25 @@ public class HttpUrlConnector implements Connector {
         );
     }
 
-    private static InputStream getInputStream(final HttpURLConnection uc) throws IOException {
+    private static int getConnectionProperty(final Client client, final String name) {
+        if (client == null) {
+            return 0;
+        }
+        return ClientProperties.getValue(client.getConfiguration().getProperties(), name, 0, Integer.class);
+    }
+
+    /**
+     * Get a snapshot of the connection statistics of the routes used by this connector.
+     *
+     * @return connection statistics keyed by the route name, e.g. {@code http://localhost:8080}.
+     * @see HttpUrlConnectorProvider#getRouteStatistics(javax.ws.rs.core.Configurable)
+     */
+    public Map<String, HttpUrlConnectorProvider.RouteStatistics> getRouteStatistics() {
+        return connectionManager.getStatistics();
+    }
+
+    private static InputStream getInputStream(final HttpURLConnection uc, final HttpUrlConnectionManager.Lease lease)
+            throws IOException {
         return new InputStream() {
             private final UnsafeValue<InputStream, IOException> in = Values.lazy(new UnsafeValue<InputStream, IOException>() {
                 @Override
@@ -187,6 +242,13 @@ public class HttpUrlConnector implements Connector {
             });
 
             private volatile boolean closed = false;
+            private volatile boolean eof = false;
+
+            private void eof() {
+                eof = true;
+                // the JDK returns the socket to the keep-alive cache once the response has been fully read
+                lease.release(uc, true);
+            }
 
             /**
              * The motivation for this method is to straighten up a behaviour of {@link sun.net.www.http.KeepAliveStream} which
@@ -213,6 +275,9 @@ public class HttpUrlConnector implements Connector {
             public int read() throws IOException {
                 int result = in.get().read();
                 throwIOExceptionIfClosed();
+                if (result == -1) {
+                    eof();
+                }
                 return result;
             }
 
@@ -220,6 +285,9 @@ public class HttpUrlConnector implements Connector {
             public int read(byte[] b) throws IOException {
                 int result = in.get().read(b);
                 throwIOExceptionIfClosed();
+                if (result == -1) {
+                    eof();
+                }
                 return result;
             }
 
@@ -227,6 +295,9 @@ public class HttpUrlConnector implements Connector {
             public int read(byte[] b, int off, int len) throws IOException {
                 int result = in.get().read(b, off, len);
                 throwIOExceptionIfClosed();
+                if (result == -1) {
+                    eof();
+                }
                 return result;
             }
 
@@ -250,6 +321,8 @@ public class HttpUrlConnector implements Connector {
                     in.get().close();
                 } finally {
                     closed = true;
+                    // fully consumed response leaves the socket in the keep-alive cache
+                    lease.release(uc, eof);
                 }
             }
 
@@ -306,7 +379,7 @@ public class HttpUrlConnector implements Connector {
 
     @Override
     public void close() {
-        // do nothing
+        connectionManager.close();
     }
 
     /**
@@ -335,9 +408,27 @@ public class HttpUrlConnector implements Connector {
     }
 
     private ClientResponse _apply(final ClientRequest request) throws IOException {
-        final HttpURLConnection uc;
+        final URL url = request.getUri().toURL();
+        final int leaseTimeout = request.resolveProperty(ClientProperties.CONNECTION_LEASE_TIMEOUT,
+                ClientProperties.DEFAULT_CONNECTION_LEASE_TIMEOUT);
+        final HttpUrlConnectionManager.Lease lease = connectionManager.lease(url, leaseTimeout);
 
-        uc = this.connectionFactory.getConnection(request.getUri().toURL());
+        HttpURLConnection uc = null;
+        boolean leased = false;
+        try {
+            uc = this.connectionFactory.getConnection(url);
+            final ClientResponse response = _apply(request, uc, lease);
+            leased = true;
+            return response;
+        } finally {
+            if (!leased) {
+                lease.release(uc, false);
+            }
+        }
+    }
+
+    private ClientResponse _apply(final ClientRequest request, final HttpURLConnection uc,
+                                  final HttpUrlConnectionManager.Lease lease) throws IOException {
         uc.setDoInput(true);
 
         final String httpMethod = request.getMethod();
@@ -404,11 +495,26 @@ public class HttpUrlConnector implements Connector {
 
         ClientResponse responseContext = new ClientResponse(status, request, resolvedRequestUri);
         responseContext.headers(Maps.filterKeys(uc.getHeaderFields(), Predicates.notNull()));
-        responseContext.setEntityStream(getInputStream(uc));
+        final InputStream entityStream = getInputStream(uc, lease);
+        // releases the connection of a response that is never read or closed once the response is garbage collected
+        lease.track(entityStream);
+        responseContext.setEntityStream(entityStream);
+        if (!hasEntity(request, uc, code)) {
+            // the socket is returned to the keep-alive cache right after the headers have been read
+            lease.release(uc, true);
+        }
 
         return responseContext;
     }
 
+    private static boolean hasEntity(final ClientRequest request, final HttpURLConnection uc, final int code) {
+        return !("HEAD".equalsIgnoreCase(request.getMethod())
+                || code < 200
+                || code == Response.Status.NO_CONTENT.getStatusCode()
+                || code == Response.Status.NOT_MODIFIED.getStatusCode()
+                || uc.getContentLength() == 0);
+    }
+
     private void setOutboundHeaders(MultivaluedMap<String, String> headers, HttpURLConnection uc) {
         boolean restrictedSent = false;
         for (Map.Entry<String, List<String>> header : headers.entrySet()) {
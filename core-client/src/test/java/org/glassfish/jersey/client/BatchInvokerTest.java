@@ -0,0 +1,243 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client;
+
+import java.io.ByteArrayInputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+import org.glassfish.jersey.client.spi.NonBlockingConnector;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link BatchInvoker} unit tests.
+ */
+public class BatchInvokerTest {
+
+    private PendingConnector connector;
+    private Client client;
+
+    @Before
+    public void setUp() {
+        connector = new PendingConnector();
+        client = ClientBuilder.newClient(new ClientConfig().connectorProvider(connector));
+    }
+
+    @After
+    public void tearDown() {
+        client.close();
+    }
+
+    /**
+     * Non-blocking connector that keeps the requests pending until explicitly completed.
+     */
+    private static class PendingConnector implements NonBlockingConnector, ConnectorProvider {
+
+        private final BlockingQueue<ClientRequest> requests = new LinkedBlockingQueue<ClientRequest>();
+        private final Map<ClientRequest, AsyncConnectorCallback> callbacks =
+                new HashMap<ClientRequest, AsyncConnectorCallback>();
+        private final Map<String, Integer> inFlight = new HashMap<String, Integer>();
+        private int maxInFlight = 0;
+        private volatile RuntimeException failure;
+
+        @Override
+        public ClientResponse apply(final ClientRequest request) {
+            throw new UnsupportedOperationException("Sync invocation not supported by the test connector.");
+        }
+
+        @Override
+        public synchronized Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+            if (failure != null) {
+                throw failure;
+            }
+            final String host = request.getUri().getHost();
+            final int count = inFlight.containsKey(host) ? inFlight.get(host) + 1 : 1;
+            inFlight.put(host, count);
+            maxInFlight = Math.max(maxInFlight, count);
+
+            callbacks.put(request, callback);
+            requests.add(request);
+            return null;
+        }
+
+        /**
+         * Complete the oldest pending request with the request path as the response entity.
+         */
+        void completeNext() throws InterruptedException {
+            final ClientRequest request = requests.poll(5, TimeUnit.SECONDS);
+            assertNotNull("No pending request.", request);
+
+            final AsyncConnectorCallback callback;
+            synchronized (this) {
+                final String host = request.getUri().getHost();
+                inFlight.put(host, inFlight.get(host) - 1);
+                callback = callbacks.remove(request);
+            }
+
+            final String path = request.getUri().getPath();
+            final ClientResponse response = new ClientResponse(
+                    path.endsWith("missing") ? Response.Status.NOT_FOUND : Response.Status.OK, request);
+            response.setEntityStream(new ByteArrayInputStream(path.getBytes()));
+            callback.response(response);
+        }
+
+        synchronized int getMaxInFlight() {
+            return maxInFlight;
+        }
+
+        @Override
+        public String getName() {
+            return "pending-connector";
+        }
+
+        @Override
+        public void close() {
+            // do nothing
+        }
+
+        @Override
+        public Connector getConnector(final Client client, final Configuration runtimeConfig) {
+            return this;
+        }
+    }
+
+    @Test
+    public void testInFlightWindowPerHost() throws Exception {
+        final JerseyWebTarget first = (JerseyWebTarget) client.target("http://first");
+        final JerseyWebTarget second = (JerseyWebTarget) client.target("http://second");
+        final BatchInvoker batch = first.batch(2);
+
+        for (int i = 0; i < 5; i++) {
+            batch.submit(first.path("a" + i).request().buildGet(), String.class);
+            batch.submit(second.path("b" + i).request().buildGet(), String.class);
+        }
+        assertEquals(10, batch.getPendingCount());
+
+        final Set<String> results = new HashSet<String>();
+        for (int i = 0; i < 10; i++) {
+            connector.completeNext();
+            final Future<?> result = batch.poll(5, TimeUnit.SECONDS);
+            assertNotNull(result);
+            results.add((String) result.get());
+        }
+
+        assertEquals(2, connector.getMaxInFlight());
+        assertEquals(0, batch.getPendingCount());
+        assertEquals(10, results.size());
+        assertTrue(results.contains("/a4"));
+        assertTrue(results.contains("/b4"));
+        assertNull(batch.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testFailedInvocationReleasesWindow() throws Exception {
+        final JerseyWebTarget target = (JerseyWebTarget) client.target("http://localhost");
+        final BatchInvoker batch = target.batch(1);
+
+        final Future<String> missing = batch.submit(target.path("missing").request().buildGet(), String.class);
+        final Future<Response> found = batch.submit(target.path("found").request().buildGet());
+
+        connector.completeNext();
+        assertTrue(batch.take() == missing);
+        try {
+            missing.get();
+            fail("NotFoundException expected.");
+        } catch (final ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof NotFoundException);
+        }
+
+        connector.completeNext();
+        assertTrue(batch.take() == found);
+        assertEquals("/found", found.get().readEntity(String.class));
+    }
+
+    @Test
+    public void testSubmitFailureReleasesWindow() throws Exception {
+        final JerseyWebTarget target = (JerseyWebTarget) client.target("http://localhost");
+        final BatchInvoker batch = target.batch(1);
+
+        connector.failure = new IllegalStateException("Connector closed.");
+        final Future<String> rejected = batch.submit(target.path("rejected").request().buildGet(), String.class);
+        assertTrue(batch.take() == rejected);
+        try {
+            rejected.get();
+            fail("ExecutionException expected.");
+        } catch (final ExecutionException expected) {
+            assertTrue(expected.getCause() instanceof ProcessingException);
+        }
+
+        connector.failure = null;
+        final Future<String> accepted = batch.submit(target.path("accepted").request().buildGet(), String.class);
+        connector.completeNext();
+        assertTrue(batch.take() == accepted);
+        assertEquals("/accepted", accepted.get());
+        assertEquals(0, batch.getPendingCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidWindow() {
+        ((JerseyWebTarget) client.target("http://localhost")).batch(0);
+    }
+}
@@ -41,7 +41,11 @@ package org.glassfish.jersey.client;
 
 import java.io.ByteArrayInputStream;
 import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.client.Client;
@@ -56,11 +60,13 @@ import javax.ws.rs.core.UriBuilder;
 import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
 import org.glassfish.jersey.client.spi.Connector;
 import org.glassfish.jersey.client.spi.ConnectorProvider;
+import org.glassfish.jersey.client.spi.NonBlockingConnector;
 
 import org.junit.Test;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Pavel Bucek (pavel.bucek at oracle.com)
@@ -243,4 +249,83 @@ public class CustomConnectorTest {
         }
     }
 
+
+    /**
+     * Non-blocking connector that completes the requests only when explicitly released.
+     */
+    public static class DeferredConnector implements NonBlockingConnector, ConnectorProvider {
+
+        private final List<ClientRequest> requests = new CopyOnWriteArrayList<ClientRequest>();
+        private final List<AsyncConnectorCallback> callbacks = new CopyOnWriteArrayList<AsyncConnectorCallback>();
+        private final CountDownLatch applied;
+
+        public DeferredConnector(final int expectedRequests) {
+            this.applied = new CountDownLatch(expectedRequests);
+        }
+
+        @Override
+        public ClientResponse apply(final ClientRequest request) {
+            throw new UnsupportedOperationException("Sync invocation not supported by the test connector.");
+        }
+
+        @Override
+        public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+            requests.add(request);
+            callbacks.add(callback);
+            applied.countDown();
+            return null;
+        }
+
+        void completeAll() {
+            for (int i = 0; i < callbacks.size(); i++) {
+                final ClientRequest request = requests.get(i);
+                final ClientResponse response = new ClientResponse(Response.Status.OK, request);
+                response.setEntityStream(new ByteArrayInputStream(request.getUri().toString().getBytes()));
+                callbacks.get(i).response(response);
+            }
+        }
+
+        @Override
+        public String getName() {
+            return null;
+        }
+
+        @Override
+        public void close() {
+            // do nothing
+        }
+
+        @Override
+        public Connector getConnector(final Client client, final Configuration runtimeConfig) {
+            return this;
+        }
+    }
+
+    /**
+     * Test that the asynchronous requests do not occupy the client async executor threads while waiting
+     * for a non-blocking connector to complete them.
+     */
+    @Test
+    public void testNonBlockingConnectorDoesNotParkAsyncThreads() throws Exception {
+        final int requests = 5;
+        final DeferredConnector connector = new DeferredConnector(requests);
+        final Client client = ClientBuilder.newClient(new ClientConfig()
+                .connectorProvider(connector)
+                .property(ClientProperties.ASYNC_THREADPOOL_SIZE, 1));
+
+        final WebTarget target = client.target("http://localhost/deferred");
+        final Future<?>[] responses = new Future<?>[requests];
+        for (int i = 0; i < requests; i++) {
+            responses[i] = target.path(Integer.toString(i)).request().async().get(String.class);
+        }
+
+        // all requests reach the connector even though the async executor has a single thread
+        assertTrue(connector.applied.await(5, TimeUnit.SECONDS));
+
+        connector.completeAll();
+        for (int i = 0; i < requests; i++) {
+            assertEquals("http://localhost/deferred/" + i, responses[i].get(5, TimeUnit.SECONDS));
+        }
+        client.close();
+    }
 }
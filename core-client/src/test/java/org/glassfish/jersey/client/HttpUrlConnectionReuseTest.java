@@ -0,0 +1,162 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.WebTarget;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests of the connection reuse bookkeeping of the default client connector against a real HTTP server and the JDK
+ * keep-alive cache. The server reports the client port of each request, so every new port is a new connection.
+ */
+public class HttpUrlConnectionReuseTest {
+
+    private final Set<Integer> clientPorts = Collections.synchronizedSet(new HashSet<Integer>());
+    private volatile String keepAlive;
+
+    private HttpServer server;
+    private Client client;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/test", new HttpHandler() {
+            @Override
+            public void handle(final HttpExchange exchange) throws IOException {
+                clientPorts.add(exchange.getRemoteAddress().getPort());
+                if (keepAlive != null) {
+                    exchange.getResponseHeaders().set("Connection", "keep-alive");
+                    exchange.getResponseHeaders().set("Keep-Alive", keepAlive);
+                }
+                final byte[] entity = "ok".getBytes();
+                exchange.sendResponseHeaders(200, entity.length);
+                final OutputStream out = exchange.getResponseBody();
+                out.write(entity);
+                out.close();
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+        server.stop(0);
+    }
+
+    private WebTarget target(final ClientConfig config) {
+        client = ClientBuilder.newClient(config.connectorProvider(new HttpUrlConnectorProvider()));
+        return client.target("http://localhost:" + server.getAddress().getPort()).path("test");
+    }
+
+    private HttpUrlConnectorProvider.RouteStatistics getStatistics() {
+        return HttpUrlConnectorProvider.getRouteStatistics(client)
+                .get("http://localhost:" + server.getAddress().getPort());
+    }
+
+    @Test
+    public void testConnectionReuse() {
+        final WebTarget target = target(new ClientConfig());
+
+        assertEquals("ok", target.request().get(String.class));
+        assertEquals("ok", target.request().get(String.class));
+        assertEquals("ok", target.request().get(String.class));
+
+        assertEquals(1, clientPorts.size());
+        final HttpUrlConnectorProvider.RouteStatistics statistics = getStatistics();
+        assertEquals(1, statistics.getConnectCount());
+        assertEquals(2, statistics.getReuseCount());
+        assertEquals(1, statistics.getIdleCount());
+    }
+
+    @Test
+    public void testIdleConnectionEviction() throws InterruptedException {
+        final WebTarget target = target(new ClientConfig().property(ClientProperties.CONNECTION_IDLE_TIMEOUT, 1));
+
+        assertEquals("ok", target.request().get(String.class));
+        Thread.sleep(10);
+        assertEquals("ok", target.request().get(String.class));
+
+        // the evicted socket has really been closed
+        assertEquals(2, clientPorts.size());
+        final HttpUrlConnectorProvider.RouteStatistics statistics = getStatistics();
+        assertEquals(2, statistics.getConnectCount());
+        assertEquals(0, statistics.getReuseCount());
+        assertEquals(1, statistics.getEvictedCount());
+    }
+
+    @Test
+    public void testKeepAliveExpiration() throws InterruptedException {
+        keepAlive = "timeout=1";
+        final WebTarget target = target(new ClientConfig());
+
+        assertEquals("ok", target.request().get(String.class));
+        assertEquals(1, getStatistics().getIdleCount());
+        Thread.sleep(1500);
+        assertEquals(0, getStatistics().getIdleCount());
+        assertEquals("ok", target.request().get(String.class));
+
+        // the JDK keep-alive cache has closed the expired socket on its own
+        assertEquals(2, clientPorts.size());
+        final HttpUrlConnectorProvider.RouteStatistics statistics = getStatistics();
+        assertEquals(2, statistics.getConnectCount());
+        assertEquals(0, statistics.getReuseCount());
+        assertEquals(0, statistics.getEvictedCount());
+    }
+}
@@ -39,6 +39,7 @@
  */
 package org.glassfish.jersey.client;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -52,6 +53,10 @@ import java.security.Principal;
 import java.security.cert.Certificate;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.ProcessingException;
 
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
@@ -73,6 +78,7 @@ import org.junit.Assert;
 import org.junit.Ignore;
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Various tests for the default client connector.
@@ -797,6 +803,152 @@ public class HttpUrlConnectorTest {
         return result;
     }
 
+    /**
+     * Test that the number of connections per route is limited and that the connection reuses are counted.
+     */
+    @Test
+    public void testMaxConnectionsPerRoute() {
+        final Client client = ClientBuilder.newClient(new ClientConfig()
+                .connectorProvider(new HttpUrlConnectorProvider().connectionFactory(new StubConnectionFactory()))
+                .property(ClientProperties.CONNECTION_MAX_PER_ROUTE, 1)
+                .property(ClientProperties.CONNECTION_LEASE_TIMEOUT, 100));
+        try {
+            final WebTarget target = client.target("http://localhost:8080/test");
+
+            final Response response = target.request().get();
+            HttpUrlConnectorProvider.RouteStatistics statistics = getStatistics(client);
+            assertEquals(1, statistics.getConnectCount());
+            assertEquals(1, statistics.getLeasedCount());
+
+            try {
+                target.request().get();
+                Assert.fail("Connection lease timeout expected.");
+            } catch (final ProcessingException expected) {
+                // the only connection of the route is still leased
+            }
+
+            assertEquals("ok", response.readEntity(String.class));
+            assertEquals("ok", target.request().get(String.class));
+
+            statistics = getStatistics(client);
+            assertEquals(1, statistics.getConnectCount());
+            assertEquals(1, statistics.getReuseCount());
+            assertEquals(0, statistics.getLeasedCount());
+            assertEquals(1, statistics.getIdleCount());
+            assertTrue(statistics.getWaitTime(TimeUnit.MILLISECONDS) > 0);
+        } finally {
+            client.close();
+        }
+    }
+
+    /**
+     * Test that the connections idle for longer than the configured idle timeout are evicted.
+     */
+    @Test
+    public void testIdleConnectionEviction() throws InterruptedException {
+        final StubConnectionFactory factory = new StubConnectionFactory();
+        final Client client = ClientBuilder.newClient(new ClientConfig()
+                .connectorProvider(new HttpUrlConnectorProvider().connectionFactory(factory))
+                .property(ClientProperties.CONNECTION_IDLE_TIMEOUT, 1));
+        try {
+            final WebTarget target = client.target("http://localhost:8080/test");
+
+            assertEquals("ok", target.request().get(String.class));
+            Thread.sleep(10);
+            assertEquals("ok", target.request().get(String.class));
+
+            final HttpUrlConnectorProvider.RouteStatistics statistics = getStatistics(client);
+            assertEquals(2, statistics.getConnectCount());
+            assertEquals(0, statistics.getReuseCount());
+            assertEquals(1, statistics.getEvictedCount());
+            assertEquals(1, factory.disconnected.get());
+        } finally {
+            client.close();
+        }
+    }
+
+    /**
+     * Test that the connection of a response that is neither read nor closed is released once the response is
+     * garbage collected.
+     */
+    @Test
+    public void testAbandonedResponseReleasesConnection() throws InterruptedException {
+        final Client client = ClientBuilder.newClient(new ClientConfig()
+                .connectorProvider(new HttpUrlConnectorProvider().connectionFactory(new StubConnectionFactory()))
+                .property(ClientProperties.CONNECTION_MAX_PER_ROUTE, 1)
+                .property(ClientProperties.CONNECTION_LEASE_TIMEOUT, 0));
+        try {
+            final WebTarget target = client.target("http://localhost:8080/test");
+
+            Response response = target.request().get();
+            assertEquals(200, response.getStatus());
+            assertEquals(1, getStatistics(client).getLeasedCount());
+            response = null;
+
+            for (int i = 0; i < 100 && getStatistics(client).getLeasedCount() > 0; i++) {
+                System.gc();
+                Thread.sleep(50);
+            }
+            assertEquals(0, getStatistics(client).getLeasedCount());
+            assertEquals("ok", target.request().get(String.class));
+        } finally {
+            client.close();
+        }
+    }
+
+    private static HttpUrlConnectorProvider.RouteStatistics getStatistics(final Client client) {
+        return HttpUrlConnectorProvider.getRouteStatistics(client).get("http://localhost:8080");
+    }
+
+    /**
+     * Connection factory providing connections that respond with a short entity without connecting to any server.
+     */
+    private static class StubConnectionFactory implements HttpUrlConnectorProvider.ConnectionFactory {
+
+        private final AtomicInteger disconnected = new AtomicInteger();
+
+        @Override
+        public HttpURLConnection getConnection(final URL url) throws IOException {
+            return new HttpURLConnection(url) {
+
+                @Override
+                public int getResponseCode() throws IOException {
+                    return Response.Status.OK.getStatusCode();
+                }
+
+                @Override
+                public String getResponseMessage() throws IOException {
+                    return Response.Status.OK.getReasonPhrase();
+                }
+
+                @Override
+                public int getContentLength() {
+                    return 2;
+                }
+
+                @Override
+                public InputStream getInputStream() throws IOException {
+                    return new ByteArrayInputStream("ok".getBytes());
+                }
+
+                @Override
+                public void disconnect() {
+                    disconnected.incrementAndGet();
+                }
+
+                @Override
+                public boolean usingProxy() {
+                    return false;
+                }
+
+                @Override
+                public void connect() throws IOException {
+                    connected = true;
+                }
+            };
+        }
+    }
+
     private WebTarget createNonRoutableTarget() {
         Client client = ClientBuilder.newClient();
         client.property(ClientProperties.CONNECT_TIMEOUT, TimeoutBASE);
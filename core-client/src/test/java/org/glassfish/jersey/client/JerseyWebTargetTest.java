@@ -59,6 +59,8 @@ import org.junit.Before;
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
 import jersey.repackaged.com.google.common.collect.Lists;
@@ -467,6 +469,29 @@ public class JerseyWebTargetTest {
         assertEquals(target, wt);
     }
 
+    @Test
+    public void testInvocationTemplateReused() {
+        final InvocationTemplate template = target.getTemplate();
+
+        assertSame(template, target.getTemplate());
+        assertEquals(URI.create("/"), template.getUri());
+        assertEquals(URI.create("/"), target.request().request().getUri());
+    }
+
+    @Test
+    public void testInvocationTemplateInvalidatedOnConfigurationChange() {
+        InvocationTemplate template = target.getTemplate();
+
+        target.property("foo", "bar");
+        assertNotSame(template, target.getTemplate());
+        assertEquals("bar", target.request().request().getConfiguration().getProperty("foo"));
+
+        template = target.getTemplate();
+        target.getConfiguration().property("foo", "baz");
+        assertNotSame(template, target.getTemplate());
+        assertEquals("baz", target.request().request().getConfiguration().getProperty("foo"));
+    }
+
 }
 
 
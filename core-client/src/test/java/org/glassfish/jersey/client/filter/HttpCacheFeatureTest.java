@@ -0,0 +1,267 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.filter;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientRequest;
+import org.glassfish.jersey.client.ClientResponse;
+import org.glassfish.jersey.client.spi.AsyncConnectorCallback;
+import org.glassfish.jersey.client.spi.Connector;
+import org.glassfish.jersey.client.spi.ConnectorProvider;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * {@link HttpCacheFeature} unit tests.
+ */
+public class HttpCacheFeatureTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Connector that answers every request with a configured set of caching headers, returns
+     * {@code 304 Not Modified} for matching {@code If-None-Match} requests and records the requests.
+     */
+    private static class CachingConnector implements Connector, ConnectorProvider {
+
+        private final List<ClientRequest> requests = new CopyOnWriteArrayList<ClientRequest>();
+        private final String cacheControl;
+        private final String vary;
+        private volatile String entityTag = "\"v1\"";
+
+        CachingConnector(final String cacheControl, final String vary) {
+            this.cacheControl = cacheControl;
+            this.vary = vary;
+        }
+
+        @Override
+        public ClientResponse apply(final ClientRequest request) {
+            requests.add(request);
+            final String ifNoneMatch = request.getHeaderString(HttpHeaders.IF_NONE_MATCH);
+            if (entityTag.equals(ifNoneMatch)) {
+                final ClientResponse response = new ClientResponse(Response.Status.NOT_MODIFIED, request);
+                response.header(HttpHeaders.ETAG, entityTag);
+                return response;
+            }
+
+            final ClientResponse response = new ClientResponse(Response.Status.OK, request);
+            response.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+            response.header(HttpHeaders.ETAG, entityTag);
+            if (vary != null) {
+                response.header(HttpHeaders.VARY, vary);
+            }
+            response.header(HttpHeaders.CONTENT_TYPE, "text/plain");
+            final String accept = request.getHeaderString(HttpHeaders.ACCEPT_LANGUAGE);
+            final String entity = request.getUri().getPath() + ":" + entityTag + (accept == null ? "" : ":" + accept);
+            response.setEntityStream(new ByteArrayInputStream(entity.getBytes()));
+            return response;
+        }
+
+        @Override
+        public Future<?> apply(final ClientRequest request, final AsyncConnectorCallback callback) {
+            throw new UnsupportedOperationException("Async invocation not supported by the test connector.");
+        }
+
+        @Override
+        public String getName() {
+            return null;
+        }
+
+        @Override
+        public void close() {
+            // do nothing
+        }
+
+        @Override
+        public Connector getConnector(final Client client, final Configuration runtimeConfig) {
+            return this;
+        }
+    }
+
+    private static WebTarget target(final CachingConnector connector, final HttpCacheFeature cache) {
+        final Client client = ClientBuilder.newClient(new ClientConfig().connectorProvider(connector).register(cache));
+        return client.target("http://localhost/cached");
+    }
+
+    @Test
+    public void testFreshResponseServedFromCache() {
+        final CachingConnector connector = new CachingConnector("max-age=60", null);
+        final HttpCacheFeature cache = new HttpCacheFeature();
+        final WebTarget target = target(connector, cache);
+
+        assertEquals("/cached:\"v1\"", target.request().get(String.class));
+        final Response response = target.request().get();
+        assertEquals(200, response.getStatus());
+        assertEquals("\"v1\"", response.getHeaderString(HttpHeaders.ETAG));
+        assertEquals("/cached:\"v1\"", response.readEntity(String.class));
+
+        assertEquals(1, connector.requests.size());
+        assertEquals(1, cache.getStatistics().getHitCount());
+        assertEquals(1, cache.getStatistics().getMissCount());
+        assertEquals(1, cache.getStatistics().getMemoryEntryCount());
+    }
+
+    @Test
+    public void testNoStore() {
+        final CachingConnector connector = new CachingConnector("no-store", null);
+        final HttpCacheFeature cache = new HttpCacheFeature();
+        final WebTarget target = target(connector, cache);
+
+        target.request().get(String.class);
+        target.request().get(String.class);
+
+        assertEquals(2, connector.requests.size());
+        assertEquals(0, cache.getStatistics().getMemoryEntryCount());
+    }
+
+    @Test
+    public void testStaleResponseRevalidated() {
+        final CachingConnector connector = new CachingConnector("no-cache", null);
+        final HttpCacheFeature cache = new HttpCacheFeature();
+        final WebTarget target = target(connector, cache);
+
+        assertEquals("/cached:\"v1\"", target.request().get(String.class));
+        assertNull(connector.requests.get(0).getHeaderString(HttpHeaders.IF_NONE_MATCH));
+
+        final Response response = target.request().get();
+        assertEquals(200, response.getStatus());
+        assertEquals("/cached:\"v1\"", response.readEntity(String.class));
+        assertEquals("\"v1\"", connector.requests.get(1).getHeaderString(HttpHeaders.IF_NONE_MATCH));
+
+        // changed representation replaces the cached one
+        connector.entityTag = "\"v2\"";
+        assertEquals("/cached:\"v2\"", target.request().get(String.class));
+
+        assertEquals(3, connector.requests.size());
+        assertEquals(0, cache.getStatistics().getHitCount());
+        assertEquals(2, cache.getStatistics().getRevalidationCount());
+        assertEquals(1, cache.getStatistics().getNotModifiedCount());
+    }
+
+    @Test
+    public void testVary() {
+        final CachingConnector connector = new CachingConnector("max-age=60", "Accept-Language");
+        final HttpCacheFeature cache = new HttpCacheFeature();
+        final WebTarget target = target(connector, cache);
+
+        assertEquals("/cached:\"v1\":en", target.request().acceptLanguage("en").get(String.class));
+        assertEquals("/cached:\"v1\":en", target.request().acceptLanguage("en").get(String.class));
+        assertEquals("/cached:\"v1\":de", target.request().acceptLanguage("de").get(String.class));
+
+        assertEquals(2, connector.requests.size());
+        assertEquals(1, cache.getStatistics().getHitCount());
+    }
+
+    @Test
+    public void testUnsafeMethodInvalidates() {
+        final CachingConnector connector = new CachingConnector("max-age=60", null);
+        final HttpCacheFeature cache = new HttpCacheFeature();
+        final WebTarget target = target(connector, cache);
+
+        target.request().get(String.class);
+        target.request().post(Entity.text("update")).close();
+        target.request().get(String.class);
+
+        assertEquals(3, connector.requests.size());
+        assertEquals(HttpMethod.GET, connector.requests.get(2).getMethod());
+        assertEquals(0, cache.getStatistics().getHitCount());
+    }
+
+    @Test
+    public void testMaxEntitySize() {
+        final CachingConnector connector = new CachingConnector("max-age=60", null);
+        final HttpCacheFeature cache = HttpCacheFeature.builder().maxEntitySize(4).build();
+        final WebTarget target = target(connector, cache);
+
+        assertEquals("/cached:\"v1\"", target.request().get(String.class));
+        assertEquals("/cached:\"v1\"", target.request().get(String.class));
+
+        assertEquals(2, connector.requests.size());
+        assertEquals(0, cache.getStatistics().getMemoryEntryCount());
+    }
+
+    @Test
+    public void testDiskStore() throws Exception {
+        final File directory = folder.newFolder();
+        final CachingConnector connector = new CachingConnector("max-age=60", null);
+        final HttpCacheFeature cache = HttpCacheFeature.builder().maxEntries(1).diskStore(directory, 1).build();
+        final WebTarget target = target(connector, cache);
+
+        target.path("a").request().get(String.class);
+        target.path("b").request().get(String.class);
+        assertEquals(1, cache.getStatistics().getMemoryEntryCount());
+        assertEquals(1, cache.getStatistics().getDiskEntryCount());
+
+        // promoted back from disk, "b" spilled instead
+        assertEquals("/cached/a:\"v1\"", target.path("a").request().get(String.class));
+        assertEquals(2, connector.requests.size());
+        assertEquals(1, cache.getStatistics().getHitCount());
+
+        // "c" pushes "a" to disk and the disk tier drops "b"
+        target.path("c").request().get(String.class);
+        assertEquals("/cached/b:\"v1\"", target.path("b").request().get(String.class));
+        assertEquals(4, connector.requests.size());
+        assertEquals(1, cache.getStatistics().getDiskEntryCount());
+
+        cache.clear();
+        assertEquals(0, cache.getStatistics().getDiskEntryCount());
+        assertEquals(0, directory.listFiles().length);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+/**
+ * Contract for entity output streams that are able to write a region of a file directly to the underlying
+ * connection without copying the file content through a heap buffer (e.g. using
+ * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel) sendfile} or memory mapped buffers).
+ * <p>
+ * Message body writers that write file content (such as the built-in {@link java.io.File} and {@code java.nio.file.Path}
+ * providers) check whether the entity output stream implements this interface and fall back to copying the file
+ * content through the stream if it does not or if {@link #writeRegion(FileChannel, long, long)} returns {@code false}.
+ * Container output streams may implement this interface to make the file transfer cheaper.
+ * </p>
+ */
+public interface FileRegionWriter {
+
+    /**
+     * Write a region of the file to the output.
+     * <p>
+     * In case the method returns {@code false} nothing has been written and the caller is expected to write the file
+     * region by copying it through the output stream.
+     * </p>
+     *
+     * @param channel  file channel to read the data from. The channel is not closed by this method.
+     * @param position position of the first byte of the region within the file.
+     * @param count    number of bytes to write.
+     * @return {@code true} if the file region has been written, {@code false} if the output does not support
+     * direct file transfer (at this point).
+     * @throws IOException in case of an I/O error.
+     */
+    public boolean writeRegion(FileChannel channel, long position, long count) throws IOException;
+}
@@ -85,11 +85,33 @@ public final class MessageProperties {
      */
     public static final String XML_FORMAT_OUTPUT = "jersey.config.xml.formatOutput";
 
+    /**
+     * Value of the property indicates the maximal number of idle JAXB {@link javax.xml.bind.Marshaller marshallers}
+     * and {@link javax.xml.bind.Unmarshaller unmarshallers} kept for reuse per JAXB context by each JAXB-based
+     * entity provider that supports pooling (the built-in XML providers do). The property value is expected to be
+     * a non-negative integer, {@code 0} disables the pooling.
+     * <p />
+     * The default value is <code>{@value #JAXB_DEFAULT_POOL_SIZE}</code>.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     */
+    public static final String JAXB_POOL_SIZE = "jersey.config.jaxb.poolSize";
+
+    /**
+     * The default maximal number ({@value}) of idle JAXB marshallers and unmarshallers kept for reuse
+     * per JAXB context.
+     */
+    public static final int JAXB_DEFAULT_POOL_SIZE = 16;
+
     /**
      * Value of the property indicates the buffer size to be used for I/O operations
      * on byte and character streams. The property value is expected to be a positive
      * integer otherwise it will be ignored.
      * <p />
+     * If set as a system property the value applies to all applications in the JVM. If set in the
+     * application configuration the value applies to the I/O buffers of the entity providers of that
+     * application only.
+     * <p />
      * The default value is <code>{@value #IO_DEFAULT_BUFFER_SIZE}</code>.
      * <p />
      * The name of the configuration property is <code>{@value}</code>.
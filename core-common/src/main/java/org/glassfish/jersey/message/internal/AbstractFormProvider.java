@@ -66,7 +66,7 @@ public abstract class AbstractFormProvider<T> extends AbstractMessageReaderWrite
     public <M extends MultivaluedMap<String, String>> M readFrom(M map,
                                                                  MediaType mediaType, boolean decode,
                                                                  InputStream entityStream) throws IOException {
-        final String encoded = readFromAsString(entityStream, mediaType);
+        final String encoded = ReaderWriter.readFromAsString(entityStream, mediaType, getBufferPool());
 
         final String charsetName = ReaderWriter.getCharset(mediaType).name();
 
@@ -52,6 +52,10 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.MessageBodyWriter;
 
+import javax.inject.Inject;
+
+import org.jvnet.hk2.annotations.Optional;
+
 /**
  * Abstract entity provider (reader and writer) base class.
  *
@@ -68,6 +72,20 @@ public abstract class AbstractMessageReaderWriterProvider<T> implements MessageB
      */
     public static final Charset UTF8 = ReaderWriter.UTF8;
 
+    @Inject
+    @Optional
+    private BufferPool bufferPool;
+
+    /**
+     * Get the pool of I/O buffers configured for the application. The {@link BufferPool#getDefault() default pool}
+     * is returned if the pool has not been injected into the provider.
+     *
+     * @return I/O buffer pool.
+     */
+    protected BufferPool getBufferPool() {
+        return bufferPool == null ? BufferPool.getDefault() : bufferPool;
+    }
+
     /**
      * Reader bytes from an input stream and write then to an output stream.
      *
@@ -0,0 +1,256 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.message.MessageProperties;
+
+/**
+ * Bounded thread-safe pool of byte and character arrays of a fixed size used for I/O operations.
+ * <p>
+ * Arrays are borrowed by {@link #acquireBytes()} or {@link #acquireChars()} and should be returned by
+ * {@link #release(byte[])} or {@link #release(char[])} once the I/O operation is finished. A new array is allocated
+ * if the pool is empty, a returned array is dropped if the pool is full. Pooled arrays are kept in an array of slots;
+ * a thread starts probing the slots at an index derived from its id to reduce contention.
+ * </p>
+ * <p>
+ * The {@link #getDefault() default pool} uses arrays of {@link ReaderWriter#BUFFER_SIZE} elements. An application
+ * specific pool is created by {@link MessagingBinders} if {@value MessageProperties#IO_BUFFER_SIZE} is set in the
+ * application configuration and made available for injection.
+ * </p>
+ */
+public final class BufferPool {
+
+    private static final Logger LOGGER = Logger.getLogger(BufferPool.class.getName());
+
+    /**
+     * Default number of pooled arrays of each kind.
+     */
+    static final int DEFAULT_CAPACITY = 64;
+    private static final int MAX_PROBES = 8;
+
+    private static final BufferPool DEFAULT = new BufferPool(ReaderWriter.BUFFER_SIZE, DEFAULT_CAPACITY);
+
+    private final int bufferSize;
+    private final int mask;
+    private final AtomicReferenceArray<byte[]> bytes;
+    private final AtomicReferenceArray<char[]> chars;
+
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong allocated = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Create new buffer pool.
+     *
+     * @param bufferSize size of the pooled arrays.
+     * @param capacity   maximal number of pooled arrays of each kind, rounded up to a power of two.
+     */
+    public BufferPool(final int bufferSize, final int capacity) {
+        if (bufferSize <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+        final int slots = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+
+        this.bufferSize = bufferSize;
+        this.mask = slots - 1;
+        this.bytes = new AtomicReferenceArray<byte[]>(slots);
+        this.chars = new AtomicReferenceArray<char[]>(slots);
+    }
+
+    /**
+     * Get the JVM-wide buffer pool with arrays of {@link ReaderWriter#BUFFER_SIZE} elements.
+     *
+     * @return default buffer pool.
+     */
+    public static BufferPool getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Get the buffer pool for the given configuration properties. A new pool is created only if
+     * {@value MessageProperties#IO_BUFFER_SIZE} is set to a valid value different from the default buffer size,
+     * otherwise the {@link #getDefault() default pool} is returned.
+     *
+     * @param properties configuration properties, may be {@code null}.
+     * @return buffer pool for the configuration.
+     */
+    public static BufferPool forProperties(final Map<String, Object> properties) {
+        if (properties == null || !properties.containsKey(MessageProperties.IO_BUFFER_SIZE)) {
+            return DEFAULT;
+        }
+
+        final Integer size = PropertiesHelper.getValue(properties, MessageProperties.IO_BUFFER_SIZE, Integer.class, null);
+        if (size == null || size <= 0) {
+            LOGGER.log(Level.CONFIG, "Value of " + MessageProperties.IO_BUFFER_SIZE
+                    + " property is not a valid positive integer [" + properties.get(MessageProperties.IO_BUFFER_SIZE) + "]."
+                    + " Reverting to [" + DEFAULT.bufferSize + "].");
+            return DEFAULT;
+        }
+        return size == DEFAULT.bufferSize ? DEFAULT : new BufferPool(size, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Get the size of the pooled arrays.
+     *
+     * @return size of the pooled arrays.
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Borrow a byte array of {@link #getBufferSize()} elements.
+     *
+     * @return byte array.
+     */
+    public byte[] acquireBytes() {
+        acquired.incrementAndGet();
+        final byte[] buffer = poll(bytes);
+        if (buffer != null) {
+            return buffer;
+        }
+        allocated.incrementAndGet();
+        return new byte[bufferSize];
+    }
+
+    /**
+     * Borrow a character array of {@link #getBufferSize()} elements.
+     *
+     * @return character array.
+     */
+    public char[] acquireChars() {
+        acquired.incrementAndGet();
+        final char[] buffer = poll(chars);
+        if (buffer != null) {
+            return buffer;
+        }
+        allocated.incrementAndGet();
+        return new char[bufferSize];
+    }
+
+    /**
+     * Return a byte array to the pool. Arrays of a different size than {@link #getBufferSize()} are ignored.
+     *
+     * @param buffer byte array obtained from {@link #acquireBytes()}. The array must not be used after the release.
+     */
+    public void release(final byte[] buffer) {
+        if (buffer.length != bufferSize || !offer(bytes, buffer)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Return a character array to the pool. Arrays of a different size than {@link #getBufferSize()} are ignored.
+     *
+     * @param buffer character array obtained from {@link #acquireChars()}. The array must not be used after the release.
+     */
+    public void release(final char[] buffer) {
+        if (buffer.length != bufferSize || !offer(chars, buffer)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Get the number of arrays borrowed from the pool so far.
+     *
+     * @return number of {@link #acquireBytes()} and {@link #acquireChars()} calls.
+     */
+    public long getAcquiredCount() {
+        return acquired.get();
+    }
+
+    /**
+     * Get the number of arrays allocated because the pool was empty.
+     *
+     * @return number of allocated arrays.
+     */
+    public long getAllocatedCount() {
+        return allocated.get();
+    }
+
+    /**
+     * Get the number of released arrays that were dropped because the pool was full.
+     *
+     * @return number of dropped arrays.
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private <T> T poll(final AtomicReferenceArray<T> slots) {
+        final int start = (int) Thread.currentThread().getId();
+        for (int i = 0; i < MAX_PROBES; i++) {
+            final int index = (start + i) & mask;
+            if (slots.get(index) != null) {
+                final T buffer = slots.getAndSet(index, null);
+                if (buffer != null) {
+                    return buffer;
+                }
+            }
+        }
+        return null;
+    }
+
+    private <T> boolean offer(final AtomicReferenceArray<T> slots, final T buffer) {
+        final int start = (int) Thread.currentThread().getId();
+        for (int i = 0; i < MAX_PROBES; i++) {
+            final int index = (start + i) & mask;
+            if (slots.get(index) == null && slots.compareAndSet(index, null, buffer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "BufferPool{bufferSize=" + bufferSize
+                + ", acquired=" + getAcquiredCount()
+                + ", allocated=" + getAllocatedCount()
+                + ", dropped=" + getDroppedCount() + '}';
+    }
+}
@@ -75,7 +75,7 @@ public final class ByteArrayProvider extends AbstractMessageReaderWriterProvider
             MultivaluedMap<String, String> httpHeaders,
             InputStream entityStream) throws IOException {
         ByteArrayOutputStream out = new ByteArrayOutputStream();
-        writeTo(entityStream, out);
+        ReaderWriter.writeTo(entityStream, out, getBufferPool());
         return out.toByteArray();
     }
 
@@ -40,13 +40,14 @@
 
 package org.glassfish.jersey.message.internal;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.glassfish.jersey.internal.LocalizationMessages;
+import org.glassfish.jersey.message.FileRegionWriter;
 
 import jersey.repackaged.com.google.common.base.Preconditions;
 
@@ -55,8 +56,8 @@ import jersey.repackaged.com.google.common.base.Preconditions;
  * which allows measuring of the entity size.
  * <p>
  * When buffering functionality is enabled the output stream buffers
- * the written bytes into an internal buffer of a configurable size. After the last
- * written byte the {@link #commit()} method is expected to be called to notify
+ * the written bytes into an internal {@link PooledSegmentedBuffer pooled segmented buffer} of a configurable size.
+ * After the last written byte the {@link #commit()} method is expected to be called to notify
  * a {@link org.glassfish.jersey.message.internal.OutboundMessageContext.StreamProvider#getOutputStream(int) callback}
  * with an actual measured entity size. If the entity is too large to
  * fit into the internal buffer and the buffer exceeds before the {@link #commit()}
@@ -79,7 +80,7 @@ import jersey.repackaged.com.google.common.base.Preconditions;
  * @author Marek Potociar (marek.potociar at oracle.com)
  * @author Miroslav Fuksa
  */
-final class CommittingOutputStream extends OutputStream {
+final class CommittingOutputStream extends OutputStream implements FileRegionWriter {
 
     private static final Logger LOGGER = Logger.getLogger(CommittingOutputStream.class.getName());
     /**
@@ -111,7 +112,7 @@ final class CommittingOutputStream extends OutputStream {
     /**
      * Entity buffer.
      */
-    private ByteArrayOutputStream buffer;
+    private PooledSegmentedBuffer buffer;
     /**
      * When {@code true}, the data are written directly to output stream and not to the buffer.
      */
@@ -170,7 +171,7 @@ final class CommittingOutputStream extends OutputStream {
             this.buffer = null;
         } else {
             directWrite = false;
-            buffer = new ByteArrayOutputStream(bufferSize);
+            buffer = new PooledSegmentedBuffer();
         }
     }
 
@@ -217,7 +218,7 @@ final class CommittingOutputStream extends OutputStream {
                 flushBuffer(false);
                 adaptedOutput.write(b);
             } else {
-                buffer.write(b);
+                buffer.write(b, 0, b.length);
             }
         }
     }
@@ -252,6 +253,28 @@ final class CommittingOutputStream extends OutputStream {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A file region that still fits into the entity buffer is not written directly so that the entity size
+     * can be measured. Otherwise the stream is committed and the region is written directly if the adapted
+     * output stream supports it.
+     * </p>
+     */
+    @Override
+    public boolean writeRegion(final FileChannel channel, final long position, final long count) throws IOException {
+        if (!directWrite) {
+            if (count + buffer.size() <= bufferSize) {
+                return false;
+            }
+            flushBuffer(false);
+        }
+        commitStream();
+
+        return adaptedOutput instanceof FileRegionWriter
+                && ((FileRegionWriter) adaptedOutput).writeRegion(channel, position, count);
+    }
+
     /**
      * Commit the output stream.
      *
@@ -262,6 +285,19 @@ final class CommittingOutputStream extends OutputStream {
         commitStream();
     }
 
+    /**
+     * Discard the entity data buffered so far and return the buffer segments to the pool.
+     * <p>
+     * The method is meant to be invoked when the stream is abandoned before it has been committed or closed, e.g.
+     * when writing the entity fails. The method has no effect if the stream has already been committed.
+     * </p>
+     */
+    void discardBuffer() {
+        if (!isCommitted && buffer != null) {
+            buffer.release();
+        }
+    }
+
     @Override
     public void close() throws IOException {
         if (isClosed) {
@@ -302,9 +338,18 @@ final class CommittingOutputStream extends OutputStream {
                 currentSize = -1;
             }
 
-            commitStream(currentSize);
-            if (buffer != null) {
-                buffer.writeTo(adaptedOutput);
+            try {
+                commitStream(currentSize);
+                if (buffer != null) {
+                    buffer.writeTo(adaptedOutput);
+                }
+            } finally {
+                if (buffer != null) {
+                    buffer.release();
+                    if (isCommitted) {
+                        buffer = null;
+                    }
+                }
             }
         }
     }
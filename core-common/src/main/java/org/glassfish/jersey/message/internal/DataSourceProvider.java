@@ -185,7 +185,7 @@ public class DataSourceProvider extends AbstractMessageReaderWriterProvider<Data
             final OutputStream entityStream) throws IOException {
         final InputStream in = t.getInputStream();
         try {
-            writeTo(in, entityStream);
+            ReaderWriter.writeTo(in, entityStream, getBufferPool());
         } finally {
             in.close();
         }
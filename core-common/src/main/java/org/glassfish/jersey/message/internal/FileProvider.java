@@ -39,7 +39,6 @@
  */
 package org.glassfish.jersey.message.internal;
 
-import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -49,6 +48,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.nio.channels.FileChannel;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.Produces;
@@ -60,6 +60,11 @@ import javax.inject.Singleton;
 /**
  * Provider for marshalling/un-marshalling of {@code application/octet-stream}
  * entity type to/from a {@link File} instance.
+ * <p>
+ * The file is written using {@link ReaderWriter#writeTo(FileChannel, long, long, OutputStream)} so that containers
+ * supporting {@link org.glassfish.jersey.message.FileRegionWriter direct file transfer} do not copy the file
+ * content through a heap buffer.
+ * </p>
  *
  * @author Paul Sandoz
  * @author Marek Potociar (marek.potociar at oracle.com)
@@ -88,7 +93,7 @@ public final class FileProvider extends AbstractMessageReaderWriterProvider<File
         final OutputStream stream = new BufferedOutputStream(new FileOutputStream(file));
 
         try {
-            writeTo(entityStream, stream);
+            ReaderWriter.writeTo(entityStream, stream, getBufferPool());
         } finally {
             stream.close();
         }
@@ -112,12 +117,12 @@ public final class FileProvider extends AbstractMessageReaderWriterProvider<File
                         final MediaType mediaType,
                         final MultivaluedMap<String, Object> httpHeaders,
                         final OutputStream entityStream) throws IOException {
-        final InputStream stream = new BufferedInputStream(new FileInputStream(t), ReaderWriter.BUFFER_SIZE);
+        final FileChannel channel = new FileInputStream(t).getChannel();
 
         try {
-            writeTo(stream, entityStream);
+            ReaderWriter.writeTo(channel, 0, channel.size(), entityStream, getBufferPool());
         } finally {
-            stream.close();
+            channel.close();
         }
     }
 
@@ -102,7 +102,7 @@ public final class InputStreamProvider extends AbstractMessageReaderWriterProvid
             MultivaluedMap<String, Object> httpHeaders,
             OutputStream entityStream) throws IOException {
         try {
-            writeTo(t, entityStream);
+            ReaderWriter.writeTo(t, entityStream, getBufferPool());
         } finally {
             t.close();
         }
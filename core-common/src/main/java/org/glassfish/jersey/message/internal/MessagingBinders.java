@@ -90,6 +90,9 @@ public final class MessagingBinders {
         @Override
         protected void configure() {
 
+            // I/O buffers used by the message body providers
+            bind(BufferPool.forProperties(applicationProperties)).to(BufferPool.class);
+
             // Message body providers (both readers & writers)
             bindSingletonWorker(ByteArrayProvider.class);
             bindSingletonWorker(DataSourceProvider.class);
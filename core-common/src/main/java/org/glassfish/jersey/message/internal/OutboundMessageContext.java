@@ -851,6 +851,18 @@ public class OutboundMessageContext {
         }
     }
 
+    /**
+     * Discard the entity data buffered by the {@link #getEntityStream() entity stream} if the stream has not been
+     * committed yet.
+     * <p>
+     * The method is meant to be invoked when writing the entity fails before the entity stream is committed or
+     * closed, so that the buffered data are released.
+     * </p>
+     */
+    public void discardBufferedEntity() {
+        committingOutputStream.discardBuffer();
+    }
+
     /**
      * Returns {@code true} if the entity stream has been committed.
      *
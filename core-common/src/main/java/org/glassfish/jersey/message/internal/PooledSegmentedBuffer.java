@@ -0,0 +1,156 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer composed of fixed size segments borrowed from a shared {@link BufferPool pool}.
+ * <p>
+ * Unlike {@link java.io.ByteArrayOutputStream} the buffer does not allocate its whole capacity in advance and never
+ * copies the data when it grows. Buffered data are written to the target stream segment by segment. Segments are
+ * returned to the pool by {@link #release()}.
+ * </p>
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ *
+ * @see CommittingOutputStream
+ */
+final class PooledSegmentedBuffer {
+
+    /**
+     * Size of a single buffer segment.
+     */
+    static final int SEGMENT_SIZE = 4096;
+
+    private static final BufferPool POOL = new BufferPool(SEGMENT_SIZE, 256);
+
+    private byte[][] segments = new byte[2][];
+    private int segmentCount;
+    private int position = SEGMENT_SIZE;
+    private int size;
+
+    /**
+     * Get the number of bytes written into this buffer.
+     *
+     * @return number of buffered bytes.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Write a byte into the buffer.
+     *
+     * @param b byte to be written.
+     */
+    void write(final int b) {
+        if (position == SEGMENT_SIZE) {
+            nextSegment();
+        }
+        segments[segmentCount - 1][position++] = (byte) b;
+        size++;
+    }
+
+    /**
+     * Write bytes into the buffer.
+     *
+     * @param b   the data.
+     * @param off the start offset in the data.
+     * @param len the number of bytes to write.
+     */
+    void write(final byte[] b, int off, int len) {
+        size += len;
+        while (len > 0) {
+            if (position == SEGMENT_SIZE) {
+                nextSegment();
+            }
+            final int chunk = Math.min(len, SEGMENT_SIZE - position);
+            System.arraycopy(b, off, segments[segmentCount - 1], position, chunk);
+            position += chunk;
+            off += chunk;
+            len -= chunk;
+        }
+    }
+
+    private void nextSegment() {
+        if (segmentCount == segments.length) {
+            segments = Arrays.copyOf(segments, segmentCount * 2);
+        }
+        segments[segmentCount++] = POOL.acquireBytes();
+        position = 0;
+    }
+
+    /**
+     * Write the buffered data to the given output stream.
+     *
+     * @param out target output stream.
+     * @throws IOException if writing into the output stream fails.
+     */
+    void writeTo(final OutputStream out) throws IOException {
+        if (size == 0) {
+            return;
+        }
+
+        for (int i = 0; i < segmentCount; i++) {
+            out.write(segments[i], 0, segmentLength(i));
+        }
+    }
+
+    private int segmentLength(final int index) {
+        return index == segmentCount - 1 ? position : SEGMENT_SIZE;
+    }
+
+    /**
+     * Return all the segments to the pool and reset the buffer. The buffer can be reused after the release.
+     */
+    void release() {
+        for (int i = 0; i < segmentCount; i++) {
+            POOL.release(segments[i]);
+            segments[i] = null;
+        }
+        segmentCount = 0;
+        position = SEGMENT_SIZE;
+        size = 0;
+    }
+}
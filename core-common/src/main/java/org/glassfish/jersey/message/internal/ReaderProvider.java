@@ -110,7 +110,7 @@ public final class ReaderProvider extends AbstractMessageReaderWriterProvider<Re
         try {
             final OutputStreamWriter out = new OutputStreamWriter(entityStream,
                     getCharset(mediaType));
-            writeTo(t, out);
+            ReaderWriter.writeTo(t, out, getBufferPool());
             out.flush();
         } finally {
             t.close();
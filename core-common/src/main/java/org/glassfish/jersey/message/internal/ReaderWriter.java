@@ -40,6 +40,7 @@
 package org.glassfish.jersey.message.internal;
 
 import java.io.Closeable;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -47,6 +48,8 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.security.AccessController;
 import java.util.logging.Level;
@@ -57,13 +60,15 @@ import javax.ws.rs.core.MediaType;
 
 import org.glassfish.jersey.internal.LocalizationMessages;
 import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.message.FileRegionWriter;
 import org.glassfish.jersey.message.MessageProperties;
 
 /**
  * A utility class for reading and writing using byte and character streams.
  * <p>
- * If a byte or character array is utilized then the size of the array
- * is by default the value of {@value org.glassfish.jersey.message.MessageProperties#IO_DEFAULT_BUFFER_SIZE}.
+ * If a byte or character array is utilized then the array is borrowed from a {@link BufferPool}. The size of
+ * the arrays in the {@link BufferPool#getDefault() default pool} is by default the value of
+ * {@value org.glassfish.jersey.message.MessageProperties#IO_DEFAULT_BUFFER_SIZE}.
  * This value can be set using the system property
  * {@value org.glassfish.jersey.message.MessageProperties#IO_BUFFER_SIZE}.
  *
@@ -110,10 +115,81 @@ public final class ReaderWriter {
      * @throws IOException if there is an error reading or writing bytes.
      */
     public static void writeTo(InputStream in, OutputStream out) throws IOException {
-        int read;
-        final byte[] data = new byte[BUFFER_SIZE];
-        while ((read = in.read(data)) != -1) {
-            out.write(data, 0, read);
+        writeTo(in, out, BufferPool.getDefault());
+    }
+
+    /**
+     * Read bytes from an input stream and write them to an output stream using a buffer borrowed from the pool.
+     *
+     * @param in   the input stream to read from.
+     * @param out  the output stream to write to.
+     * @param pool the buffer pool.
+     * @throws IOException if there is an error reading or writing bytes.
+     */
+    public static void writeTo(final InputStream in, final OutputStream out, final BufferPool pool) throws IOException {
+        final byte[] data = pool.acquireBytes();
+        try {
+            int read;
+            while ((read = in.read(data)) != -1) {
+                out.write(data, 0, read);
+            }
+        } finally {
+            pool.release(data);
+        }
+    }
+
+    /**
+     * Write a region of a file to an output stream.
+     * <p>
+     * If the output stream is a {@link FileRegionWriter} the region is written without copying the file
+     * content through a heap buffer, otherwise the content is copied.
+     * </p>
+     *
+     * @param channel  the file channel to read from.
+     * @param position position of the first byte of the region within the file.
+     * @param count    number of bytes to write.
+     * @param out      the output stream to write to.
+     * @throws IOException if there is an error reading or writing bytes or if the file ends before the region.
+     */
+    public static void writeTo(final FileChannel channel, final long position, final long count, final OutputStream out)
+            throws IOException {
+        writeTo(channel, position, count, out, BufferPool.getDefault());
+    }
+
+    /**
+     * Write a region of a file to an output stream. The file content is copied using a buffer borrowed from the pool
+     * if the output stream is not a {@link FileRegionWriter} able to write the region directly.
+     *
+     * @param channel  the file channel to read from.
+     * @param position position of the first byte of the region within the file.
+     * @param count    number of bytes to write.
+     * @param out      the output stream to write to.
+     * @param pool     the buffer pool.
+     * @throws IOException if there is an error reading or writing bytes or if the file ends before the region.
+     */
+    public static void writeTo(final FileChannel channel, long position, long count, final OutputStream out,
+                               final BufferPool pool) throws IOException {
+        if (out instanceof FileRegionWriter && ((FileRegionWriter) out).writeRegion(channel, position, count)) {
+            return;
+        }
+
+        final byte[] data = pool.acquireBytes();
+        try {
+            final ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (count > 0) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), count));
+
+                final int read = channel.read(buffer, position);
+                if (read == -1) {
+                    throw new EOFException();
+                }
+                out.write(data, 0, read);
+                position += read;
+                count -= read;
+            }
+        } finally {
+            pool.release(data);
         }
     }
 
@@ -125,10 +201,26 @@ public final class ReaderWriter {
      * @throws IOException if there is an error reading or writing characters.
      */
     public static void writeTo(Reader in, Writer out) throws IOException {
-        int read;
-        final char[] data = new char[BUFFER_SIZE];
-        while ((read = in.read(data)) != -1) {
-            out.write(data, 0, read);
+        writeTo(in, out, BufferPool.getDefault());
+    }
+
+    /**
+     * Read characters from an input stream and write them to an output stream using a buffer borrowed from the pool.
+     *
+     * @param in   the reader to read from.
+     * @param out  the writer to write to.
+     * @param pool the buffer pool.
+     * @throws IOException if there is an error reading or writing characters.
+     */
+    public static void writeTo(final Reader in, final Writer out, final BufferPool pool) throws IOException {
+        final char[] data = pool.acquireChars();
+        try {
+            int read;
+            while ((read = in.read(data)) != -1) {
+                out.write(data, 0, read);
+            }
+        } finally {
+            pool.release(data);
         }
     }
 
@@ -157,7 +249,23 @@ public final class ReaderWriter {
      * @throws IOException if there is an error reading from the input stream.
      */
     public static String readFromAsString(InputStream in, MediaType type) throws IOException {
-        return readFromAsString(new InputStreamReader(in, getCharset(type)));
+        return readFromAsString(in, type, BufferPool.getDefault());
+    }
+
+    /**
+     * Read the bytes of an input stream and convert to a string using a buffer borrowed from the pool.
+     *
+     * @param in   the input stream to read from.
+     * @param type the media type that determines the character set defining
+     *             how to decode bytes to characters.
+     * @param pool the buffer pool.
+     * @return the string.
+     *
+     * @throws IOException if there is an error reading from the input stream.
+     */
+    public static String readFromAsString(final InputStream in, final MediaType type, final BufferPool pool)
+            throws IOException {
+        return readFromAsString(new InputStreamReader(in, getCharset(type)), pool);
     }
 
     /**
@@ -169,11 +277,28 @@ public final class ReaderWriter {
      * @throws IOException if there is an error reading from the reader.
      */
     public static String readFromAsString(Reader reader) throws IOException {
-        StringBuilder sb = new StringBuilder();
-        char[] c = new char[BUFFER_SIZE];
-        int l;
-        while ((l = reader.read(c)) != -1) {
-            sb.append(c, 0, l);
+        return readFromAsString(reader, BufferPool.getDefault());
+    }
+
+    /**
+     * Read the characters of a reader and convert to a string using a buffer borrowed from the pool.
+     *
+     * @param reader the reader
+     * @param pool   the buffer pool.
+     * @return the string
+     *
+     * @throws IOException if there is an error reading from the reader.
+     */
+    public static String readFromAsString(final Reader reader, final BufferPool pool) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        final char[] c = pool.acquireChars();
+        try {
+            int l;
+            while ((l = reader.read(c)) != -1) {
+                sb.append(c, 0, l);
+            }
+        } finally {
+            pool.release(c);
         }
         return sb.toString();
     }
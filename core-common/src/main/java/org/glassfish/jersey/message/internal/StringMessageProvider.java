@@ -74,7 +74,7 @@ final class StringMessageProvider extends AbstractMessageReaderWriterProvider<St
             MediaType mediaType,
             MultivaluedMap<String, String> httpHeaders,
             InputStream entityStream) throws IOException {
-        return readFromAsString(entityStream, mediaType);
+        return ReaderWriter.readFromAsString(entityStream, mediaType, getBufferPool());
     }
 
     @Override
@@ -44,6 +44,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.nio.channels.FileChannel;
 import java.util.Iterator;
 import java.util.List;
 import java.util.logging.Level;
@@ -60,6 +61,7 @@ import javax.ws.rs.ext.WriterInterceptorContext;
 import org.glassfish.jersey.internal.LocalizationMessages;
 import org.glassfish.jersey.internal.PropertiesDelegate;
 import org.glassfish.jersey.internal.inject.ServiceLocatorSupplier;
+import org.glassfish.jersey.message.FileRegionWriter;
 import org.glassfish.jersey.message.MessageBodyWorkers;
 
 import org.glassfish.hk2.api.ServiceLocator;
@@ -274,7 +276,7 @@ public final class WriterInterceptorExecutor extends InterceptorExecutor<WriterI
      * {@link javax.ws.rs.ext.MessageBodyWriter}s should not close the given {@link java.io.OutputStream stream}. This output
      * stream makes sure that the stream is not closed even if MBW tries to do it.
      */
-    private static class UnCloseableOutputStream extends OutputStream {
+    private static class UnCloseableOutputStream extends OutputStream implements FileRegionWriter {
 
         private final OutputStream original;
         private final MessageBodyWriter writer;
@@ -299,6 +301,12 @@ public final class WriterInterceptorExecutor extends InterceptorExecutor<WriterI
             original.write(b, off, len);
         }
 
+        @Override
+        public boolean writeRegion(final FileChannel channel, final long position, final long count) throws IOException {
+            return original instanceof FileRegionWriter
+                    && ((FileRegionWriter) original).writeRegion(channel, position, count);
+        }
+
         @Override
         public void flush() throws IOException {
             original.flush();
@@ -0,0 +1,135 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.ws.rs.core.MediaType;
+
+import org.glassfish.jersey.message.MessageProperties;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * {@link BufferPool} tests.
+ */
+public class BufferPoolTest {
+
+    @Test
+    public void testReuse() {
+        final BufferPool pool = new BufferPool(16, 4);
+
+        final byte[] bytes = pool.acquireBytes();
+        assertEquals(16, bytes.length);
+        pool.release(bytes);
+        assertSame(bytes, pool.acquireBytes());
+
+        final char[] chars = pool.acquireChars();
+        assertEquals(16, chars.length);
+        pool.release(chars);
+        assertSame(chars, pool.acquireChars());
+
+        assertEquals(4, pool.getAcquiredCount());
+        assertEquals(2, pool.getAllocatedCount());
+        assertEquals(0, pool.getDroppedCount());
+    }
+
+    @Test
+    public void testForeignBufferDropped() {
+        final BufferPool pool = new BufferPool(16, 4);
+
+        pool.release(new byte[8]);
+        assertEquals(1, pool.getDroppedCount());
+        assertEquals(16, pool.acquireBytes().length);
+    }
+
+    @Test
+    public void testFullPool() {
+        final BufferPool pool = new BufferPool(16, 1);
+
+        final byte[] first = pool.acquireBytes();
+        final byte[] second = pool.acquireBytes();
+        assertNotSame(first, second);
+        pool.release(first);
+        pool.release(second);
+
+        assertEquals(1, pool.getDroppedCount());
+        assertSame(first, pool.acquireBytes());
+    }
+
+    @Test
+    public void testForProperties() {
+        assertSame(BufferPool.getDefault(), BufferPool.forProperties(null));
+        assertSame(BufferPool.getDefault(), BufferPool.forProperties(Collections.<String, Object>emptyMap()));
+
+        final Map<String, Object> properties = new HashMap<String, Object>();
+        properties.put(MessageProperties.IO_BUFFER_SIZE, "-1");
+        assertSame(BufferPool.getDefault(), BufferPool.forProperties(properties));
+
+        properties.put(MessageProperties.IO_BUFFER_SIZE, 32 * 1024);
+        assertEquals(32 * 1024, BufferPool.forProperties(properties).getBufferSize());
+    }
+
+    @Test
+    public void testReaderWriterWithPool() throws Exception {
+        final BufferPool pool = new BufferPool(3, 4);
+        final byte[] data = "0123456789".getBytes("US-ASCII");
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReaderWriter.writeTo(new ByteArrayInputStream(data), out, pool);
+        assertArrayEquals(data, out.toByteArray());
+
+        assertEquals("0123456789", ReaderWriter.readFromAsString(new ByteArrayInputStream(data),
+                MediaType.TEXT_PLAIN_TYPE, pool));
+        assertEquals("abcdefg", ReaderWriter.readFromAsString(new StringReader("abcdefg"), pool));
+
+        assertEquals(3, pool.getAcquiredCount());
+        assertEquals(2, pool.getAllocatedCount());
+    }
+}
@@ -43,12 +43,14 @@ package org.glassfish.jersey.message.internal;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.util.Map;
 
 import javax.ws.rs.RuntimeType;
 
 import org.glassfish.jersey.CommonProperties;
 import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.message.FileRegionWriter;
 import org.glassfish.jersey.model.internal.CommonConfig;
 import org.glassfish.jersey.model.internal.ComponentBag;
 
@@ -162,6 +164,24 @@ public class CommittingOutputStreamTest {
         assertTrue(passed.b);
     }
 
+    @Test
+    public void testDiscardBuffer() throws IOException {
+        final Passed passed = new Passed();
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream(1000);
+        CommittingOutputStream cos = new CommittingOutputStream();
+        setupBufferedStreamProvider(passed, baos, cos, 1);
+
+        cos.write((byte) 1);
+        cos.write((byte) 2);
+        cos.discardBuffer();
+        checkNotYetCommitted(passed, baos, cos);
+
+        cos.write((byte) 3);
+        cos.close();
+        check(baos, new byte[]{3});
+        assertTrue(passed.b);
+    }
+
     @Test
     public void testNoBytes() throws IOException {
         final Passed passed = new Passed();
@@ -377,7 +397,85 @@ public class CommittingOutputStreamTest {
         }
     }
 
-}
+    @Test
+    public void testBufferSpanningMultipleSegments() throws IOException {
+        final Passed passed = new Passed();
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final CommittingOutputStream cos = new CommittingOutputStream();
+        final byte[] entity = new byte[3 * PooledSegmentedBuffer.SEGMENT_SIZE + 17];
+        for (int i = 0; i < entity.length; i++) {
+            entity[i] = (byte) i;
+        }
+
+        cos.setStreamProvider(new OutboundMessageContext.StreamProvider() {
+            @Override
+            public OutputStream getOutputStream(int contentLength) throws IOException {
+                assertEquals(entity.length, contentLength);
+                passed.pass();
+                return baos;
+            }
+        });
+        cos.enableBuffering(entity.length);
+
+        cos.write(entity, 0, 100);
+        cos.write(entity, 100, entity.length - 100);
+        checkNotYetCommitted(passed, baos, cos);
+
+        cos.close();
+        check(baos, entity);
+        assertTrue(passed.b);
+    }
+
+    private static class RegionRecordingOutputStream extends ByteArrayOutputStream implements FileRegionWriter {
+
+        private long position = -1;
+        private long count = -1;
+
+        @Override
+        public boolean writeRegion(final FileChannel channel, final long position, final long count) {
+            this.position = position;
+            this.count = count;
+            return true;
+        }
+    }
+
+    @Test
+    public void testWriteRegion() throws IOException {
+        final Passed passed = new Passed();
+        final RegionRecordingOutputStream out = new RegionRecordingOutputStream();
+        final CommittingOutputStream cos = new CommittingOutputStream();
+        cos.setStreamProvider(new OutboundMessageContext.StreamProvider() {
+            @Override
+            public OutputStream getOutputStream(int contentLength) throws IOException {
+                assertEquals(-1, contentLength);
+                passed.pass();
+                return out;
+            }
+        });
+        cos.enableBuffering(3);
 
+        cos.write((byte) 1);
+        // region still fits into the buffer
+        assertFalse(cos.writeRegion(null, 0, 2));
+        checkNotYetCommitted(passed, out, cos);
 
+        assertTrue(cos.writeRegion(null, 10, 100));
+        checkCommitted(passed, cos);
+        check(out, new byte[]{1});
+        assertEquals(10, out.position);
+        assertEquals(100, out.count);
+        cos.close();
+    }
 
+    @Test
+    public void testWriteRegionNotSupported() throws IOException {
+        final Passed passed = new Passed();
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final CommittingOutputStream cos = new CommittingOutputStream();
+        setupStreamProvider(passed, baos, cos);
+
+        assertFalse(cos.writeRegion(null, 0, 100));
+        checkCommitted(passed, cos);
+        cos.close();
+    }
+}
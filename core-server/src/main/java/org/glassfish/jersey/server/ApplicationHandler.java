@@ -47,6 +47,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -110,6 +111,7 @@ import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.internal.ProcessingProviders;
 import org.glassfish.jersey.server.internal.monitoring.ApplicationEventImpl;
 import org.glassfish.jersey.server.internal.monitoring.CompositeApplicationEventListener;
+import org.glassfish.jersey.server.internal.monitoring.InitializationPhaseTimer;
 import org.glassfish.jersey.server.internal.monitoring.MonitoringContainerListener;
 import org.glassfish.jersey.server.internal.process.ReferencesInitializer;
 import org.glassfish.jersey.server.internal.process.RequestProcessingContext;
@@ -470,6 +472,8 @@ public final class ApplicationHandler implements ContainerLifecycleListener {
     private ServerRuntime initialize(Iterable<ComponentProvider> componentProviders) {
         LOGGER.config(LocalizationMessages.INIT_MSG(Version.getBuildId()));
 
+        final InitializationPhaseTimer timer = new InitializationPhaseTimer();
+
         // Lock original ResourceConfig.
         if (application instanceof ResourceConfig) {
             ((ResourceConfig) application).lock();
@@ -489,6 +493,9 @@ public final class ApplicationHandler implements ContainerLifecycleListener {
         final ComponentBag componentBag;
         ResourceModel resourceModel;
         CompositeApplicationEventListener compositeListener = null;
+        ResourceModelCache modelCache;
+        final ResourceModelCache.Snapshot modelSnapshot;
+        final Map<Class<?>, Resource> introspectedResources = new LinkedHashMap<>();
 
         Errors.mark(); // mark begin of validation phase
         try {
@@ -502,6 +509,10 @@ public final class ApplicationHandler implements ContainerLifecycleListener {
 
             // Configure binders and features.
             runtimeConfig.configureMetaProviders(locator);
+            timer.phaseFinished(ApplicationEvent.InitializationPhase.CONFIGURATION);
+
+            modelCache = ResourceModelCache.create(runtimeConfig);
+            modelSnapshot = modelCache == null ? null : modelCache.load();
 
             final ResourceBag.Builder resourceBagBuilder = new ResourceBag.Builder();
 
@@ -510,30 +521,44 @@ public final class ApplicationHandler implements ContainerLifecycleListener {
                 resourceBagBuilder.registerProgrammaticResource(programmaticResource);
             }
 
-            // Introspecting classes & instances
-            for (final Class<?> c : runtimeConfig.getClasses()) {
-                try {
-                    final Resource resource = Resource.from(c, disableValidation);
-                    if (resource != null) {
-                        resourceBagBuilder.registerResource(c, resource);
+            if (modelSnapshot != null) {
+                // Restoring introspected classes from the resource model cache
+                for (final Map.Entry<Class<?>, Resource> entry : modelSnapshot.resources.entrySet()) {
+                    resourceBagBuilder.registerResource(entry.getKey(), entry.getValue());
+                }
+            } else {
+                // Introspecting classes & instances
+                for (final Class<?> c : runtimeConfig.getClasses()) {
+                    try {
+                        final Resource resource = Resource.from(c, disableValidation);
+                        if (resource != null) {
+                            resourceBagBuilder.registerResource(c, resource);
+                            introspectedResources.put(c, resource);
+                        }
+                    } catch (final IllegalArgumentException ex) {
+                        LOGGER.warning(ex.getMessage());
                     }
-                } catch (final IllegalArgumentException ex) {
-                    LOGGER.warning(ex.getMessage());
                 }
-            }
 
-            for (final Object o : runtimeConfig.getSingletons()) {
-                try {
-                    final Resource resource = Resource.from(o.getClass(), disableValidation);
-                    if (resource != null) {
-                        resourceBagBuilder.registerResource(o, resource);
+                for (final Object o : runtimeConfig.getSingletons()) {
+                    try {
+                        final Resource resource = Resource.from(o.getClass(), disableValidation);
+                        if (resource != null) {
+                            resourceBagBuilder.registerResource(o, resource);
+                            if (modelCache != null) {
+                                // resource instances cannot be restored from the resource model cache
+                                LOGGER.warning(LocalizationMessages.RESOURCE_MODEL_CACHE_UNSUPPORTED(o));
+                                modelCache = null;
+                            }
+                        }
+                    } catch (final IllegalArgumentException ex) {
+                        LOGGER.warning(ex.getMessage());
                     }
-                } catch (final IllegalArgumentException ex) {
-                    LOGGER.warning(ex.getMessage());
                 }
             }
 
             resourceBag = resourceBagBuilder.build();
+            timer.phaseFinished(ApplicationEvent.InitializationPhase.RESOURCE_INTROSPECTION);
 
             runtimeConfig.lock();
 
@@ -582,8 +607,9 @@ public final class ApplicationHandler implements ContainerLifecycleListener {
                 compositeListener = new CompositeApplicationEventListener(appEventListeners);
                 compositeListener.onEvent(new ApplicationEventImpl(ApplicationEvent.Type.INITIALIZATION_START,
                         this.runtimeConfig, componentBag.getRegistrations(), resourceBag.classes, resourceBag.instances,
-                        null));
+                        null, timer.getTimes()));
             }
+            timer.phaseFinished(ApplicationEvent.InitializationPhase.COMPONENT_BINDING);
 
             processingProviders = getProcessingProviders(componentBag);
 
@@ -593,18 +619,29 @@ public final class ApplicationHandler implements ContainerLifecycleListener {
             final Ref<ProcessingProviders> refProcessingProvider = locator.getService(refGenericType.getType());
             refProcessingProvider.set(processingProviders);
 
-            resourceModel = new ResourceModel.Builder(resourceBag.getRootResources(), false).build();
-            resourceModel = processResourceModel(resourceModel);
+            if (modelSnapshot != null) {
+                // The cached model has already been processed and validated.
+                resourceModel = modelSnapshot.resourceModel;
+            } else {
+                resourceModel = new ResourceModel.Builder(resourceBag.getRootResources(), false).build();
+                resourceModel = processResourceModel(resourceModel);
+                timer.phaseFinished(ApplicationEvent.InitializationPhase.MODEL_PROCESSING);
 
-            if (!disableValidation) {
-                final ComponentModelValidator validator = new ComponentModelValidator(locator);
-                validator.validate(resourceModel);
+                if (!disableValidation) {
+                    final ComponentModelValidator validator = new ComponentModelValidator(locator);
+                    validator.validate(resourceModel);
+                }
+                timer.phaseFinished(ApplicationEvent.InitializationPhase.MODEL_VALIDATION);
             }
 
             if (Errors.fatalIssuesFound() && !ignoreValidationErrors) {
                 throw new ModelValidationException(LocalizationMessages.RESOURCE_MODEL_VALIDATION_FAILED_AT_INIT(),
                         ModelErrors.getErrorsAsResourceModelIssues(true));
             }
+
+            if (modelCache != null && modelSnapshot == null && !Errors.fatalIssuesFound()) {
+                modelCache.store(introspectedResources, resourceModel);
+            }
         } finally {
             if (ignoreValidationErrors) {
                 Errors.logErrors(true);
@@ -621,8 +658,10 @@ public final class ApplicationHandler implements ContainerLifecycleListener {
         // initiate resource model into JerseyResourceContext
         final JerseyResourceContext jerseyResourceContext = locator.getService(JerseyResourceContext.class);
         jerseyResourceContext.setResourceModel(resourceModel);
+        timer.phaseFinished(ApplicationEvent.InitializationPhase.COMPONENT_BINDING);
 
         msgBodyWorkers = locator.getService(MessageBodyWorkers.class);
+        timer.phaseFinished(ApplicationEvent.InitializationPhase.MESSAGE_BODY_WORKERS);
 
         // assembly request processing chain
         final ReferencesInitializer referencesInitializer = locator.createAndInitialize(ReferencesInitializer.class);
@@ -647,6 +686,7 @@ public final class ApplicationHandler implements ContainerLifecycleListener {
                 .to(routingStage)
                 .to(resourceFilteringStage)
                 .build(Routing.matchedEndpointExtractor());
+        timer.phaseFinished(ApplicationEvent.InitializationPhase.ROUTING);
 
         final ServerRuntime serverRuntime = locator.createAndInitialize(ServerRuntime.Builder.class)
                 .build(rootStage, compositeListener, processingProviders);
@@ -671,12 +711,16 @@ public final class ApplicationHandler implements ContainerLifecycleListener {
             locator.inject(instance);
         }
 
+        timer.phaseFinished(ApplicationEvent.InitializationPhase.RUNTIME);
+
         logApplicationInitConfiguration(locator, resourceBag, processingProviders);
+        logInitializationPhaseTimes(timer.getTimes());
 
         if (compositeListener != null) {
             final ApplicationEvent initFinishedEvent = new ApplicationEventImpl(
                     ApplicationEvent.Type.INITIALIZATION_APP_FINISHED, runtimeConfig,
-                    componentBag.getRegistrations(), resourceBag.classes, resourceBag.instances, resourceModel);
+                    componentBag.getRegistrations(), resourceBag.classes, resourceBag.instances, resourceModel,
+                    timer.getTimes());
             compositeListener.onEvent(initFinishedEvent);
 
             final MonitoringContainerListener containerListener
@@ -687,6 +731,23 @@ public final class ApplicationHandler implements ContainerLifecycleListener {
         return serverRuntime;
     }
 
+    private static void logInitializationPhaseTimes(final Map<ApplicationEvent.InitializationPhase, Long> times) {
+        if (!LOGGER.isLoggable(Level.CONFIG)) {
+            return;
+        }
+
+        final StringBuilder sb = new StringBuilder(LocalizationMessages.LOGGING_INITIALIZATION_PHASE_TIMES());
+        long total = 0;
+        for (final Map.Entry<ApplicationEvent.InitializationPhase, Long> entry : times.entrySet()) {
+            sb.append('\n').append("  ").append(entry.getKey()).append(": ")
+                    .append(TimeUnit.NANOSECONDS.toMillis(entry.getValue())).append(" ms");
+            total += entry.getValue();
+        }
+        sb.append('\n').append("  TOTAL: ").append(TimeUnit.NANOSECONDS.toMillis(total)).append(" ms");
+
+        LOGGER.log(Level.CONFIG, sb.toString());
+    }
+
     private static void logApplicationInitConfiguration(final ServiceLocator locator,
                                                         final ResourceBag resourceBag,
                                                         final ProcessingProviders processingProviders) {
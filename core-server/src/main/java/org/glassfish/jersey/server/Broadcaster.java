@@ -41,16 +41,43 @@
 package org.glassfish.jersey.server;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.glassfish.jersey.server.internal.LocalizationMessages;
 
+import jersey.repackaged.com.google.common.base.Preconditions;
+import jersey.repackaged.com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 /**
  * Used for broadcasting response chunks to multiple {@link ChunkedOutput} instances.
+ * <p>
+ * By default the chunks are written to all the registered chunked outputs synchronously by the thread calling
+ * {@link #broadcast(Object)}. A broadcaster created by {@link #Broadcaster(int, int, SlowConsumerPolicy)} delivers
+ * the chunks asynchronously instead: registered chunked outputs are distributed among a fixed number of writer
+ * threads (shards) and each of them gets a bounded queue of pending chunks. Broadcasting a chunk only puts it into the
+ * queues and never blocks. Once the queue of a slow chunked output is full the configured {@link SlowConsumerPolicy}
+ * is applied. A chunked output blocking a write for longer than the write timeout is evicted and the other chunked
+ * outputs handled by the same writer thread are moved to a new writer thread.
+ * </p>
  *
  * @param <T> broadcast type.
  * @author Pavel Bucek (pavel.bucek at oracle.com)
@@ -64,9 +91,42 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
     private final ConcurrentLinkedQueue<ChunkedOutput<T>> chunkedOutputs =
             new ConcurrentLinkedQueue<ChunkedOutput<T>>();
 
+    /**
+     * Asynchronous delivery of chunks or {@code null} if chunks are written synchronously.
+     */
+    private final ShardedDelivery delivery;
+
+    /**
+     * Default timeout of a single chunk write of a broadcaster delivering the chunks asynchronously, in milliseconds.
+     *
+     * @see Broadcaster#Broadcaster(int, int, SlowConsumerPolicy, long, TimeUnit)
+     */
+    public static final long DEFAULT_WRITE_TIMEOUT = 10000;
+
+    /**
+     * Policy applied by an asynchronous broadcaster when the queue of pending chunks of a registered
+     * {@link ChunkedOutput} is full.
+     *
+     * @see Broadcaster#Broadcaster(int, int, SlowConsumerPolicy)
+     */
+    public static enum SlowConsumerPolicy {
+        /**
+         * Drop the oldest pending chunk to make room for the new one.
+         */
+        DROP_OLDEST,
+        /**
+         * Drop the new chunk.
+         */
+        DROP_NEWEST,
+        /**
+         * Drop all the pending chunks and close the chunked output.
+         */
+        DISCONNECT
+    }
+
     /**
      * Creates a new instance.
-     * If this constructor is called by a subclass, it assumes the the reason for the subclass to exist is to implement
+     * If this constructor is called by a subclass, it assumes the reason for the subclass to exist is to implement
      * {@link #onClose(ChunkedOutput)} and {@link #onException(ChunkedOutput, Exception)} methods, so it adds
      * the newly created instance as the listener. To avoid this, subclasses may call {@link #Broadcaster(Class)}
      * passing their class as an argument.
@@ -88,6 +148,94 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
         if (subclass != getClass()) {
             listeners.add(this);
         }
+        this.delivery = null;
+    }
+
+    /**
+     * Creates a new instance delivering the chunks asynchronously with the {@link #DEFAULT_WRITE_TIMEOUT default write
+     * timeout}.
+     * If this constructor is called by a subclass, it assumes the reason for the subclass to exist is to implement
+     * {@link #onClose(ChunkedOutput)} and {@link #onException(ChunkedOutput, Exception)} methods, so it adds
+     * the newly created instance as the listener. To avoid this, subclasses may call
+     * {@link #Broadcaster(Class, int, int, SlowConsumerPolicy)} passing their class as an argument.
+     *
+     * @param writerThreads  number of threads writing the chunks to registered chunked outputs.
+     * @param queueCapacity  maximum number of pending chunks of a single chunked output.
+     * @param policy         policy applied when the queue of pending chunks of a chunked output is full.
+     * @see SlowConsumerPolicy
+     */
+    public Broadcaster(final int writerThreads, final int queueCapacity, final SlowConsumerPolicy policy) {
+        this(Broadcaster.class, writerThreads, queueCapacity, policy);
+    }
+
+    /**
+     * Creates a new instance delivering the chunks asynchronously.
+     * <p>
+     * A chunked output whose write has not returned within the write timeout is evicted: it is unregistered, its
+     * pending chunks are dropped, {@link #onException(ChunkedOutput, Exception)} is notified with
+     * a {@link TimeoutException} and the output is closed once the blocked write returns. The other chunked outputs
+     * handled by the same writer thread are moved to a new writer thread. The timeout is checked whenever a chunk
+     * is broadcast or the chunked outputs are closed.
+     * </p>
+     * If this constructor is called by a subclass, it assumes the reason for the subclass to exist is to implement
+     * {@link #onClose(ChunkedOutput)} and {@link #onException(ChunkedOutput, Exception)} methods, so it adds
+     * the newly created instance as the listener. To avoid this, subclasses may call
+     * {@link #Broadcaster(Class, int, int, SlowConsumerPolicy, long, TimeUnit)} passing their class as an argument.
+     *
+     * @param writerThreads  number of threads writing the chunks to registered chunked outputs.
+     * @param queueCapacity  maximum number of pending chunks of a single chunked output.
+     * @param policy         policy applied when the queue of pending chunks of a chunked output is full.
+     * @param writeTimeout   maximum duration of a single chunk write, {@code 0} means that the writes never time out.
+     * @param unit           time unit of the write timeout.
+     * @see SlowConsumerPolicy
+     */
+    public Broadcaster(final int writerThreads, final int queueCapacity, final SlowConsumerPolicy policy,
+                       final long writeTimeout, final TimeUnit unit) {
+        this(Broadcaster.class, writerThreads, queueCapacity, policy, writeTimeout, unit);
+    }
+
+    /**
+     * Can be used by subclasses to create a broadcaster delivering the chunks asynchronously and to override
+     * the default functionality of adding self to the set of {@link BroadcasterListener listeners}.
+     *
+     * @param subclass       subclass of Broadcaster that should not be registered as a listener - if creating a direct
+     *                       instance of this subclass, this constructor will not register the new instance as a listener.
+     * @param writerThreads  number of threads writing the chunks to registered chunked outputs.
+     * @param queueCapacity  maximum number of pending chunks of a single chunked output.
+     * @param policy         policy applied when the queue of pending chunks of a chunked output is full.
+     * @see #Broadcaster(int, int, SlowConsumerPolicy)
+     */
+    protected Broadcaster(final Class<? extends Broadcaster> subclass,
+                          final int writerThreads, final int queueCapacity, final SlowConsumerPolicy policy) {
+        this(subclass, writerThreads, queueCapacity, policy, DEFAULT_WRITE_TIMEOUT, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Can be used by subclasses to create a broadcaster delivering the chunks asynchronously and to override
+     * the default functionality of adding self to the set of {@link BroadcasterListener listeners}.
+     *
+     * @param subclass       subclass of Broadcaster that should not be registered as a listener - if creating a direct
+     *                       instance of this subclass, this constructor will not register the new instance as a listener.
+     * @param writerThreads  number of threads writing the chunks to registered chunked outputs.
+     * @param queueCapacity  maximum number of pending chunks of a single chunked output.
+     * @param policy         policy applied when the queue of pending chunks of a chunked output is full.
+     * @param writeTimeout   maximum duration of a single chunk write, {@code 0} means that the writes never time out.
+     * @param unit           time unit of the write timeout.
+     * @see #Broadcaster(int, int, SlowConsumerPolicy, long, TimeUnit)
+     */
+    protected Broadcaster(final Class<? extends Broadcaster> subclass,
+                          final int writerThreads, final int queueCapacity, final SlowConsumerPolicy policy,
+                          final long writeTimeout, final TimeUnit unit) {
+        Preconditions.checkArgument(writerThreads > 0, "Number of writer threads must be positive.");
+        Preconditions.checkArgument(queueCapacity > 0, "Queue capacity must be positive.");
+        Preconditions.checkArgument(writeTimeout >= 0, "Write timeout must not be negative.");
+        Preconditions.checkNotNull(policy);
+        Preconditions.checkNotNull(unit);
+
+        if (subclass != getClass()) {
+            listeners.add(this);
+        }
+        this.delivery = new ShardedDelivery(writerThreads, queueCapacity, policy, unit.toNanos(writeTimeout));
     }
 
     /**
@@ -97,6 +245,9 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
      * @return {@code true} if the instance was successfully registered, {@code false} otherwise.
      */
     public <OUT extends ChunkedOutput<T>> boolean add(final OUT chunkedOutput) {
+        if (delivery != null) {
+            return delivery.add(chunkedOutput);
+        }
         return chunkedOutputs.offer(chunkedOutput);
     }
 
@@ -109,6 +260,9 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
      * @return {@code true} if the instance was unregistered, {@code false} otherwise.
      */
     public <OUT extends ChunkedOutput<T>> boolean remove(final OUT chunkedOutput) {
+        if (delivery != null) {
+            return delivery.remove(chunkedOutput);
+        }
         return chunkedOutputs.remove(chunkedOutput);
     }
 
@@ -144,10 +298,18 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
 
     /**
      * Broadcast a chunk to all registered {@link ChunkedOutput} instances.
+     * <p>
+     * If the broadcaster delivers the chunks asynchronously, the method returns once the chunk is queued for all
+     * the registered chunked outputs.
+     * </p>
      *
      * @param chunk chunk to be sent.
      */
     public void broadcast(final T chunk) {
+        if (delivery != null) {
+            delivery.broadcast(chunk);
+            return;
+        }
         forEachOutput(new Task<ChunkedOutput<T>>() {
             @Override
             public void run(final ChunkedOutput<T> cr) throws IOException {
@@ -158,8 +320,16 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
 
     /**
      * Close all registered {@link ChunkedOutput} instances.
+     * <p>
+     * If the broadcaster delivers the chunks asynchronously, the chunked outputs are closed once their pending chunks
+     * are written.
+     * </p>
      */
     public void closeAll() {
+        if (delivery != null) {
+            delivery.closeAll();
+            return;
+        }
         forEachOutput(new Task<ChunkedOutput<T>>() {
             @Override
             public void run(final ChunkedOutput<T> cr) throws IOException {
@@ -192,6 +362,35 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
     public void onClose(final ChunkedOutput<T> chunkedOutput) {
     }
 
+    /**
+     * Get the number of chunks waiting to be written to the registered chunked outputs.
+     *
+     * @return number of pending chunks; always {@code 0} if the chunks are written synchronously.
+     */
+    public int getPendingChunkCount() {
+        return delivery == null ? 0 : delivery.getPendingChunkCount();
+    }
+
+    /**
+     * Get the number of chunks that were not delivered to a registered chunked output because of the
+     * {@link SlowConsumerPolicy slow consumer policy}.
+     *
+     * @return number of dropped chunks; always {@code 0} if the chunks are written synchronously.
+     */
+    public long getDroppedChunkCount() {
+        return delivery == null ? 0 : delivery.droppedChunks.sum();
+    }
+
+    /**
+     * Get the number of chunked outputs closed by the {@link SlowConsumerPolicy#DISCONNECT disconnect policy} or evicted
+     * because of a write timeout.
+     *
+     * @return number of disconnected slow chunked outputs; always {@code 0} if the chunks are written synchronously.
+     */
+    public long getDisconnectedCount() {
+        return delivery == null ? 0 : delivery.disconnected.sum();
+    }
+
     private static interface Task<T> {
         void run(T parameter) throws IOException;
     }
@@ -242,4 +441,257 @@ public class Broadcaster<T> implements BroadcasterListener<T> {
             }
         });
     }
+
+    /**
+     * Asynchronous delivery of chunks to chunked outputs distributed among single-threaded writer shards.
+     */
+    private final class ShardedDelivery {
+
+        /**
+         * Maximum number of chunks written to a single chunked output before other chunked outputs handled by the same
+         * writer thread get their turn.
+         */
+        private static final int WRITE_BATCH_SIZE = 16;
+
+        private final AtomicReferenceArray<ThreadPoolExecutor> shards;
+        private final ThreadFactoryBuilder threadFactory;
+        private final int queueCapacity;
+        private final SlowConsumerPolicy policy;
+        private final long writeTimeoutNanos;
+        private final AtomicInteger nextShard = new AtomicInteger();
+        private final ConcurrentMap<ChunkedOutput<T>, Subscriber> subscribers =
+                new ConcurrentHashMap<ChunkedOutput<T>, Subscriber>();
+
+        private final LongAdder droppedChunks = new LongAdder();
+        private final LongAdder disconnected = new LongAdder();
+
+        private ShardedDelivery(final int writerThreads, final int queueCapacity, final SlowConsumerPolicy policy,
+                                final long writeTimeoutNanos) {
+            this.queueCapacity = queueCapacity;
+            this.policy = policy;
+            this.writeTimeoutNanos = writeTimeoutNanos;
+            this.shards = new AtomicReferenceArray<ThreadPoolExecutor>(writerThreads);
+            this.threadFactory = new ThreadFactoryBuilder()
+                    .setNameFormat("jersey-broadcaster-writer-%d")
+                    .setDaemon(true);
+
+            for (int i = 0; i < writerThreads; i++) {
+                shards.set(i, createShard());
+            }
+        }
+
+        private ThreadPoolExecutor createShard() {
+            final ThreadPoolExecutor shard = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(), threadFactory.build());
+            // do not keep the writer threads of an idle broadcaster alive
+            shard.allowCoreThreadTimeOut(true);
+            return shard;
+        }
+
+        private boolean add(final ChunkedOutput<T> chunkedOutput) {
+            final int shard = (nextShard.getAndIncrement() & Integer.MAX_VALUE) % shards.length();
+            return subscribers.putIfAbsent(chunkedOutput, new Subscriber(chunkedOutput, shard)) == null;
+        }
+
+        private boolean remove(final ChunkedOutput<T> chunkedOutput) {
+            final Subscriber subscriber = subscribers.remove(chunkedOutput);
+            if (subscriber == null) {
+                return false;
+            }
+            subscriber.removed = true;
+            subscriber.queue.clear();
+            return true;
+        }
+
+        private void broadcast(final T chunk) {
+            evictTimedOut();
+            for (final Subscriber subscriber : subscribers.values()) {
+                subscriber.offer(chunk);
+            }
+        }
+
+        private void closeAll() {
+            evictTimedOut();
+            for (final Subscriber subscriber : subscribers.values()) {
+                subscriber.closeRequested = true;
+                subscriber.schedule();
+            }
+        }
+
+        /**
+         * Evict the subscribers whose chunk write has been blocking their writer thread for longer than the write timeout.
+         */
+        private void evictTimedOut() {
+            if (writeTimeoutNanos == 0) {
+                return;
+            }
+            final long now = System.nanoTime();
+            for (final Subscriber subscriber : subscribers.values()) {
+                if (subscriber.writing && now - subscriber.writeStarted > writeTimeoutNanos
+                        && subscribers.remove(subscriber.chunkedOutput, subscriber)) {
+                    evict(subscriber);
+                }
+            }
+        }
+
+        private void evict(final Subscriber subscriber) {
+            subscriber.evicted = true;
+            subscriber.removed = true;
+            droppedChunks.add(subscriber.queue.size());
+            subscriber.queue.clear();
+            disconnected.increment();
+
+            // the blocked writer thread keeps only the evicted subscriber, the other subscribers get a new writer thread
+            final ThreadPoolExecutor blocked = shards.get(subscriber.shard);
+            if (shards.compareAndSet(subscriber.shard, blocked, createShard())) {
+                // the blocked thread is not interrupted, it may already be writing to another subscriber
+                blocked.shutdown();
+                final List<Runnable> pending = new ArrayList<Runnable>();
+                blocked.getQueue().drainTo(pending);
+                for (final Runnable task : pending) {
+                    shards.get(subscriber.shard).execute(task);
+                }
+            }
+
+            fireOnException(subscriber.chunkedOutput, new TimeoutException(LocalizationMessages.BROADCASTER_WRITE_TIMEOUT(
+                    TimeUnit.NANOSECONDS.toMillis(writeTimeoutNanos))));
+        }
+
+        private int getPendingChunkCount() {
+            int count = 0;
+            for (final Subscriber subscriber : subscribers.values()) {
+                count += subscriber.queue.size();
+            }
+            return count;
+        }
+
+        /**
+         * Registered chunked output with its queue of pending chunks. The queue is drained by the writer thread of the
+         * shard the chunked output is assigned to.
+         */
+        private final class Subscriber implements Runnable {
+
+            private final ChunkedOutput<T> chunkedOutput;
+            private final int shard;
+            private final BlockingQueue<T> queue = new ArrayBlockingQueue<T>(queueCapacity);
+            private final AtomicBoolean scheduled = new AtomicBoolean();
+            private volatile boolean closeRequested;
+            private volatile boolean removed;
+            private volatile boolean evicted;
+            private volatile boolean writing;
+            private volatile long writeStarted;
+
+            private Subscriber(final ChunkedOutput<T> chunkedOutput, final int shard) {
+                this.chunkedOutput = chunkedOutput;
+                this.shard = shard;
+            }
+
+            private void offer(final T chunk) {
+                if (removed || closeRequested) {
+                    return;
+                }
+
+                if (!queue.offer(chunk)) {
+                    switch (policy) {
+                        case DROP_OLDEST:
+                            while (!queue.offer(chunk)) {
+                                if (queue.poll() != null) {
+                                    droppedChunks.increment();
+                                }
+                            }
+                            break;
+                        case DROP_NEWEST:
+                            droppedChunks.increment();
+                            break;
+                        case DISCONNECT:
+                            droppedChunks.add(queue.size() + 1);
+                            queue.clear();
+                            disconnected.increment();
+                            closeRequested = true;
+                            break;
+                    }
+                }
+                schedule();
+            }
+
+            private void schedule() {
+                if (scheduled.compareAndSet(false, true)) {
+                    while (true) {
+                        final ThreadPoolExecutor executor = shards.get(shard);
+                        try {
+                            executor.execute(this);
+                            return;
+                        } catch (final RejectedExecutionException e) {
+                            // the writer thread has been replaced meanwhile because of a write timeout
+                            if (shards.get(shard) == executor) {
+                                throw e;
+                            }
+                        }
+                    }
+                }
+            }
+
+            @Override
+            public void run() {
+                if (removed) {
+                    return;
+                }
+
+                T chunk;
+                int written = 0;
+                while (written < WRITE_BATCH_SIZE && !chunkedOutput.isClosed() && (chunk = queue.poll()) != null) {
+                    written++;
+                    writeStarted = System.nanoTime();
+                    writing = true;
+                    try {
+                        chunkedOutput.write(chunk);
+                    } catch (final Exception e) {
+                        if (!evicted) {
+                            fireOnException(chunkedOutput, e);
+                        }
+                    } finally {
+                        writing = false;
+                    }
+                }
+
+                if (evicted) {
+                    closeEvicted();
+                    return;
+                }
+
+                if (closeRequested && queue.isEmpty() && !chunkedOutput.isClosed()) {
+                    try {
+                        chunkedOutput.close();
+                    } catch (final Exception e) {
+                        fireOnException(chunkedOutput, e);
+                    }
+                }
+
+                if (chunkedOutput.isClosed()) {
+                    removed = true;
+                    queue.clear();
+                    if (subscribers.remove(chunkedOutput, this)) {
+                        fireOnClose(chunkedOutput);
+                    }
+                    return;
+                }
+
+                scheduled.set(false);
+                if (!queue.isEmpty() || closeRequested) {
+                    schedule();
+                }
+            }
+
+            private void closeEvicted() {
+                if (!chunkedOutput.isClosed()) {
+                    try {
+                        chunkedOutput.close();
+                    } catch (final Exception e) {
+                        fireOnException(chunkedOutput, e);
+                    }
+                }
+                fireOnClose(chunkedOutput);
+            }
+        }
+    }
 }
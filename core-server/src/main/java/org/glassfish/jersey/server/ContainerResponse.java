@@ -396,6 +396,13 @@ public class ContainerResponse implements ContainerResponseContext {
         messageContext.commitStream();
     }
 
+    /**
+     * Discard the entity data buffered by the {@link #getEntityStream() entity stream} unless already committed.
+     */
+    public void discardBufferedEntity() {
+        messageContext.discardBufferedEntity();
+    }
+
     /**
      * Returns {@code true} if the entity stream has been committed.
      * @return {@code true} if the entity stream has been committed. Otherwise returns {@code false}.
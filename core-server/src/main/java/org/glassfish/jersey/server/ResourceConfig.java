@@ -43,9 +43,11 @@ package org.glassfish.jersey.server;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.AccessController;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
@@ -71,6 +73,8 @@ import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.internal.scanning.AnnotationAcceptingListener;
 import org.glassfish.jersey.server.internal.scanning.FilesScanner;
 import org.glassfish.jersey.server.internal.scanning.PackageNamesScanner;
+import org.glassfish.jersey.server.internal.scanning.ParallelResourceScanner;
+import org.glassfish.jersey.server.internal.scanning.ResourceIndex;
 import org.glassfish.jersey.server.model.Resource;
 
 import org.glassfish.hk2.api.ServiceLocator;
@@ -904,22 +908,45 @@ public class ResourceConfig extends Application implements Configurable<Resource
             rfs.add(new FilesScanner(classPathElements, true));
         }
 
+        final List<ResourceFinder> scanned = new ArrayList<>(rfs.size());
+        for (final ResourceFinder resourceFinder : rfs) {
+            // Prefer the build-time index over scanning the class path.
+            final Set<String> indexed = ResourceIndex.lookup(resourceFinder);
+            if (indexed == null) {
+                scanned.add(resourceFinder);
+                continue;
+            }
+
+            resourceFinder.close();
+            for (final String className : indexed) {
+                try {
+                    result.add(_state.getClassLoader().loadClass(className));
+                } catch (final ClassNotFoundException e) {
+                    LOGGER.log(Level.CONFIG, LocalizationMessages.UNABLE_TO_LOAD_CLASS(className));
+                }
+            }
+        }
+
         final AnnotationAcceptingListener afl =
                 AnnotationAcceptingListener.newJaxrsResourceAndProviderListener(_state.getClassLoader());
-        for (final ResourceFinder resourceFinder : rfs) {
-            while (resourceFinder.hasNext()) {
-                final String next = resourceFinder.next();
-                if (afl.accept(next)) {
-                    final InputStream in = resourceFinder.open();
-                    try {
-                        afl.process(next, in);
-                    } catch (final IOException e) {
-                        LOGGER.log(Level.WARNING, LocalizationMessages.RESOURCE_CONFIG_UNABLE_TO_PROCESS(next));
-                    } finally {
+        if (isProperty(ServerProperties.PROVIDER_SCANNING_PARALLEL)) {
+            new ParallelResourceScanner(afl).scan(scanned);
+        } else {
+            for (final ResourceFinder resourceFinder : scanned) {
+                while (resourceFinder.hasNext()) {
+                    final String next = resourceFinder.next();
+                    if (afl.accept(next)) {
+                        final InputStream in = resourceFinder.open();
                         try {
-                            in.close();
-                        } catch (final IOException ex) {
-                            LOGGER.log(Level.FINER, "Error closing resource stream.", ex);
+                            afl.process(next, in);
+                        } catch (final IOException e) {
+                            LOGGER.log(Level.WARNING, LocalizationMessages.RESOURCE_CONFIG_UNABLE_TO_PROCESS(next));
+                        } finally {
+                            try {
+                                in.close();
+                            } catch (final IOException ex) {
+                                LOGGER.log(Level.FINER, "Error closing resource stream.", ex);
+                            }
                         }
                     }
                 }
@@ -0,0 +1,703 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.nio.charset.Charset;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.AccessController;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.Encoded;
+import javax.ws.rs.core.MediaType;
+
+import org.glassfish.jersey.internal.Version;
+import org.glassfish.jersey.internal.util.ReflectionHelper;
+import org.glassfish.jersey.server.internal.LocalizationMessages;
+import org.glassfish.jersey.server.model.AnnotatedMethod;
+import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.model.ResourceModel;
+import org.glassfish.jersey.server.model.internal.ModelHelper;
+
+import jersey.repackaged.com.google.common.collect.Sets;
+
+/**
+ * File based cache of the processed and validated application resource model.
+ * <p>
+ * The model is stored as a tree of plain descriptors referring to the resource handler classes and methods by
+ * their names and is rebuilt using the public resource model builders when restored. The descriptors are written
+ * field by field using {@link DataOutput}, so reading the cache file never deserializes arbitrary objects.
+ * The cached model is bound to a fingerprint of the application computed from the Jersey version, the configuration
+ * properties and the names and byte code of the registered classes and their super types. A cached model with
+ * a different fingerprint is ignored.
+ * </p>
+ *
+ * @see ServerProperties#RESOURCE_MODEL_CACHE_FILE
+ */
+final class ResourceModelCache {
+
+    private static final Logger LOGGER = Logger.getLogger(ResourceModelCache.class.getName());
+
+    /**
+     * Version of the cache file format, incremented whenever the format changes.
+     */
+    private static final int FORMAT_VERSION = 1;
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final Map<String, Class<?>> PRIMITIVE_TYPES = new HashMap<String, Class<?>>();
+
+    static {
+        for (final Class<?> type : new Class<?>[] {boolean.class, byte.class, char.class, short.class,
+                int.class, long.class, float.class, double.class, void.class}) {
+            PRIMITIVE_TYPES.put(type.getName(), type);
+        }
+    }
+
+    /**
+     * Restored content of the resource model cache.
+     */
+    static final class Snapshot {
+        /**
+         * Resource models of the registered resource classes as returned by the resource class introspection.
+         */
+        final Map<Class<?>, Resource> resources;
+        /**
+         * Processed and validated application resource model.
+         */
+        final ResourceModel resourceModel;
+
+        private Snapshot(final Map<Class<?>, Resource> resources, final ResourceModel resourceModel) {
+            this.resources = resources;
+            this.resourceModel = resourceModel;
+        }
+    }
+
+    private final File file;
+    private final String fingerprint;
+    private final Map<String, Class<?>> registeredClasses;
+
+    private ResourceModelCache(final File file, final String fingerprint, final Map<String, Class<?>> registeredClasses) {
+        this.file = file;
+        this.fingerprint = fingerprint;
+        this.registeredClasses = registeredClasses;
+    }
+
+    /**
+     * Create a resource model cache for the application configuration.
+     *
+     * @param config fully configured application configuration.
+     * @return resource model cache or {@code null} if the resource model of the application should not be cached.
+     */
+    static ResourceModelCache create(final ResourceConfig config) {
+        final Object property = config.getProperty(ServerProperties.RESOURCE_MODEL_CACHE_FILE);
+        if (property == null) {
+            return null;
+        }
+        if (!config.getResources().isEmpty()) {
+            LOGGER.warning(LocalizationMessages.RESOURCE_MODEL_CACHE_UNSUPPORTED(config.getResources().iterator().next()));
+            return null;
+        }
+        final File file = property instanceof File ? (File) property : new File(property.toString());
+
+        final Map<String, Class<?>> registeredClasses = new HashMap<String, Class<?>>();
+        // registered classes and instances are distinguished as resource instances are never cached
+        final Map<String, Class<?>> fingerprintedClasses = new TreeMap<String, Class<?>>();
+        for (final Class<?> clazz : config.getClasses()) {
+            registeredClasses.put(clazz.getName(), clazz);
+            fingerprintedClasses.put("class " + clazz.getName(), clazz);
+        }
+        for (final Object instance : config.getSingletons()) {
+            registeredClasses.put(instance.getClass().getName(), instance.getClass());
+            fingerprintedClasses.put("instance " + instance.getClass().getName(), instance.getClass());
+        }
+
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        update(digest, Version.getBuildId());
+
+        for (final Map.Entry<String, Object> entry : new TreeMap<String, Object>(config.getProperties()).entrySet()) {
+            final Object value = entry.getValue();
+            update(digest, entry.getKey());
+            if (value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Enum) {
+                update(digest, value.toString());
+            } else {
+                update(digest, value == null ? "null" : value.getClass().getName());
+            }
+        }
+
+        final Set<Class<?>> visited = Sets.newIdentityHashSet();
+        for (final Map.Entry<String, Class<?>> entry : fingerprintedClasses.entrySet()) {
+            update(digest, entry.getKey());
+            updateHierarchy(digest, entry.getValue(), visited);
+        }
+
+        return new ResourceModelCache(file, toHex(digest.digest()), registeredClasses);
+    }
+
+    private static void updateHierarchy(final MessageDigest digest, final Class<?> clazz, final Set<Class<?>> visited) {
+        if (clazz == null || !visited.add(clazz)) {
+            return;
+        }
+        final ClassLoader loader = AccessController.doPrivileged(ReflectionHelper.getClassLoaderPA(clazz));
+        if (loader == null) {
+            // JDK classes are covered by the Jersey build id.
+            return;
+        }
+
+        final InputStream in = loader.getResourceAsStream(clazz.getName().replace('.', '/') + ".class");
+        if (in != null) {
+            try {
+                try {
+                    final byte[] buffer = new byte[8192];
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        digest.update(buffer, 0, read);
+                    }
+                } finally {
+                    in.close();
+                }
+            } catch (final IOException e) {
+                // unreadable byte code is fingerprinted by the class name only
+                update(digest, e.getClass().getName());
+            }
+        }
+
+        updateHierarchy(digest, clazz.getSuperclass(), visited);
+        for (final Class<?> iface : clazz.getInterfaces()) {
+            updateHierarchy(digest, iface, visited);
+        }
+    }
+
+    private static void update(final MessageDigest digest, final String value) {
+        digest.update(value.getBytes(UTF8));
+        digest.update((byte) 0);
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0x0f];
+            chars[2 * i + 1] = HEX_DIGITS[bytes[i] & 0x0f];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Restore the cached resource model.
+     *
+     * @return restored resource model or {@code null} if the cache file does not exist, does not match
+     * the application or cannot be read.
+     */
+    Snapshot load() {
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            try {
+                if (in.readInt() != FORMAT_VERSION || !fingerprint.equals(in.readUTF())) {
+                    LOGGER.config(LocalizationMessages.RESOURCE_MODEL_CACHE_STALE(file));
+                    return null;
+                }
+                final ModelData data = ModelData.read(in);
+
+                final Map<Class<?>, Resource> resources = new LinkedHashMap<Class<?>, Resource>();
+                for (final Map.Entry<String, ResourceData> entry : data.resources.entrySet()) {
+                    resources.put(loadClass(entry.getKey()), restore(entry.getValue()));
+                }
+                final List<Resource> modelResources = new ArrayList<Resource>();
+                for (final ResourceData resourceData : data.model) {
+                    modelResources.add(restore(resourceData));
+                }
+
+                LOGGER.config(LocalizationMessages.RESOURCE_MODEL_CACHE_RESTORED(file));
+                return new Snapshot(resources, new ResourceModel.Builder(modelResources, false).build());
+            } finally {
+                in.close();
+            }
+        } catch (final IOException | ClassNotFoundException | NoSuchMethodException | ClassCastException
+                | IllegalArgumentException e) {
+            LOGGER.log(Level.WARNING, LocalizationMessages.RESOURCE_MODEL_CACHE_READ_FAILED(file), e);
+            return null;
+        }
+    }
+
+    /**
+     * Store the resource model to the cache file.
+     *
+     * @param resources     resource models of the registered resource classes as returned by the resource class
+     *                      introspection.
+     * @param resourceModel processed and validated application resource model.
+     */
+    void store(final Map<Class<?>, Resource> resources, final ResourceModel resourceModel) {
+        final ModelData data = new ModelData();
+        for (final Map.Entry<Class<?>, Resource> entry : resources.entrySet()) {
+            if (!isRestorable(entry.getValue())) {
+                return;
+            }
+            data.resources.put(entry.getKey().getName(), describe(entry.getValue()));
+        }
+        for (final Resource resource : resourceModel.getResources()) {
+            if (!isRestorable(resource)) {
+                return;
+            }
+            data.model.add(describe(resource));
+        }
+
+        File temp = null;
+        try {
+            final File parent = file.getAbsoluteFile().getParentFile();
+            if (!parent.isDirectory() && !parent.mkdirs()) {
+                throw new IOException(parent.getPath());
+            }
+            // write a temporary file in the same directory and rename it so that an application starting
+            // concurrently never reads a partially written cache file
+            temp = File.createTempFile("." + file.getName() + ".", ".tmp", parent);
+            final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+            try {
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(fingerprint);
+                data.write(out);
+            } finally {
+                out.close();
+            }
+            try {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            temp = null;
+            LOGGER.config(LocalizationMessages.RESOURCE_MODEL_CACHE_STORED(file));
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, LocalizationMessages.RESOURCE_MODEL_CACHE_WRITE_FAILED(file), e);
+        } finally {
+            if (temp != null && temp.exists() && !temp.delete()) {
+                temp.deleteOnExit();
+            }
+        }
+    }
+
+    private static boolean isRestorable(final Resource resource) {
+        for (final ResourceMethod method : resource.getAllMethods()) {
+            final Invocable invocable = method.getInvocable();
+            // instance handlers and overridden routing response types cannot be described by names
+            if (!invocable.getHandler().isClassBased()
+                    || !invocable.getRoutingResponseType().equals(invocable.getResponseType())) {
+                LOGGER.warning(LocalizationMessages.RESOURCE_MODEL_CACHE_UNSUPPORTED(method));
+                return false;
+            }
+        }
+        for (final Resource child : resource.getChildResources()) {
+            if (!isRestorable(child)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ResourceData describe(final Resource resource) {
+        final ResourceData data = new ResourceData();
+        data.path = resource.getPath();
+        data.names.addAll(resource.getNames());
+        data.extended = resource.isExtended();
+        for (final ResourceMethod method : resource.getResourceMethods()) {
+            data.methods.add(describe(method));
+        }
+        if (resource.getResourceLocator() != null) {
+            data.locator = describe(resource.getResourceLocator());
+        }
+        for (final Resource child : resource.getChildResources()) {
+            data.children.add(describe(child));
+        }
+        return data;
+    }
+
+    private static MethodData describe(final ResourceMethod method) {
+        final Invocable invocable = method.getInvocable();
+        final Class<?> handlerClass = invocable.getHandler().getHandlerClass();
+
+        final MethodData data = new MethodData();
+        data.httpMethod = method.getHttpMethod();
+        for (final MediaType mediaType : method.getConsumedTypes()) {
+            data.consumedTypes.add(mediaType.toString());
+        }
+        for (final MediaType mediaType : method.getProducedTypes()) {
+            data.producedTypes.add(mediaType.toString());
+        }
+        for (final Class<? extends Annotation> nameBinding : method.getNameBindings()) {
+            data.nameBindings.add(nameBinding.getName());
+        }
+        data.managedAsync = method.isManagedAsyncDeclared();
+        data.suspended = method.isSuspendDeclared();
+        data.suspendTimeout = method.getSuspendTimeout();
+        data.suspendTimeoutUnit = method.getSuspendTimeoutUnit();
+        // the same rule as applied by the resource class introspection
+        data.encodedParameters = !invocable.isInflector()
+                && (ModelHelper.getAnnotatedResourceClass(handlerClass).isAnnotationPresent(Encoded.class)
+                || new AnnotatedMethod(invocable.getHandlingMethod()).isAnnotationPresent(Encoded.class));
+        data.extended = method.isExtended();
+        data.handlerClass = handlerClass.getName();
+        data.definitionMethod = new MethodReference(invocable.getDefinitionMethod());
+        data.handlingMethod = new MethodReference(invocable.getHandlingMethod());
+        return data;
+    }
+
+    private Resource restore(final ResourceData data) throws ClassNotFoundException, NoSuchMethodException {
+        final Resource.Builder builder = data.path == null ? Resource.builder() : Resource.builder(data.path);
+        restore(data, builder);
+        return builder.build();
+    }
+
+    private void restore(final ResourceData data, final Resource.Builder builder)
+            throws ClassNotFoundException, NoSuchMethodException {
+        builder.name(data.names.get(0));
+        for (int i = 1; i < data.names.size(); i++) {
+            builder.mergeWith(Resource.builder().name(data.names.get(i)));
+        }
+        builder.extended(data.extended);
+
+        for (final MethodData method : data.methods) {
+            restore(method, builder.addMethod(method.httpMethod));
+        }
+        if (data.locator != null) {
+            restore(data.locator, builder.addMethod());
+        }
+        for (final ResourceData child : data.children) {
+            restore(child, builder.addChildResource(child.path));
+        }
+    }
+
+    private void restore(final MethodData data, final ResourceMethod.Builder builder)
+            throws ClassNotFoundException, NoSuchMethodException {
+        final List<MediaType> consumedTypes = new ArrayList<MediaType>(data.consumedTypes.size());
+        for (final String mediaType : data.consumedTypes) {
+            consumedTypes.add(MediaType.valueOf(mediaType));
+        }
+        final List<MediaType> producedTypes = new ArrayList<MediaType>(data.producedTypes.size());
+        for (final String mediaType : data.producedTypes) {
+            producedTypes.add(MediaType.valueOf(mediaType));
+        }
+        final List<Class<? extends Annotation>> nameBindings = new ArrayList<Class<? extends Annotation>>();
+        for (final String nameBinding : data.nameBindings) {
+            nameBindings.add(loadClass(nameBinding).asSubclass(Annotation.class));
+        }
+
+        builder.consumes(consumedTypes)
+                .produces(producedTypes)
+                .nameBindings(nameBindings)
+                .encodedParameters(data.encodedParameters)
+                .handledBy(loadClass(data.handlerClass), data.definitionMethod.resolve(this))
+                .handlingMethod(data.handlingMethod.resolve(this))
+                .extended(data.extended);
+        if (data.managedAsync) {
+            builder.managedAsync();
+        }
+        if (data.suspended) {
+            builder.suspended(data.suspendTimeout, data.suspendTimeoutUnit);
+        }
+    }
+
+    private Class<?> loadClass(final String name) throws ClassNotFoundException {
+        Class<?> clazz = registeredClasses.get(name);
+        if (clazz == null) {
+            clazz = PRIMITIVE_TYPES.get(name);
+        }
+        if (clazz == null) {
+            clazz = AccessController.doPrivileged(ReflectionHelper.classForNamePA(name));
+        }
+        if (clazz == null) {
+            clazz = AccessController.doPrivileged(
+                    ReflectionHelper.classForNamePA(name, ResourceModelCache.class.getClassLoader()));
+        }
+        if (clazz == null) {
+            throw new ClassNotFoundException(name);
+        }
+        return clazz;
+    }
+
+    private static void writeString(final DataOutput out, final String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(final DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeStrings(final DataOutput out, final List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (final String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static void readStrings(final DataInput in, final List<String> values) throws IOException {
+        for (int i = readCount(in); i > 0; i--) {
+            values.add(in.readUTF());
+        }
+    }
+
+    private static int readCount(final DataInput in) throws IOException {
+        final int count = in.readInt();
+        if (count < 0) {
+            throw new IOException(String.valueOf(count));
+        }
+        return count;
+    }
+
+    /**
+     * Cached resource model.
+     */
+    private static final class ModelData {
+
+        private final Map<String, ResourceData> resources = new LinkedHashMap<String, ResourceData>();
+        private final List<ResourceData> model = new ArrayList<ResourceData>();
+
+        private void write(final DataOutput out) throws IOException {
+            out.writeInt(resources.size());
+            for (final Map.Entry<String, ResourceData> entry : resources.entrySet()) {
+                out.writeUTF(entry.getKey());
+                entry.getValue().write(out);
+            }
+            out.writeInt(model.size());
+            for (final ResourceData resource : model) {
+                resource.write(out);
+            }
+        }
+
+        private static ModelData read(final DataInput in) throws IOException {
+            final ModelData data = new ModelData();
+            for (int i = readCount(in); i > 0; i--) {
+                data.resources.put(in.readUTF(), ResourceData.read(in));
+            }
+            for (int i = readCount(in); i > 0; i--) {
+                data.model.add(ResourceData.read(in));
+            }
+            return data;
+        }
+    }
+
+    /**
+     * Cached resource.
+     */
+    private static final class ResourceData {
+
+        private String path;
+        private final List<String> names = new ArrayList<String>();
+        private boolean extended;
+        private final List<MethodData> methods = new ArrayList<MethodData>();
+        private MethodData locator;
+        private final List<ResourceData> children = new ArrayList<ResourceData>();
+
+        private void write(final DataOutput out) throws IOException {
+            writeString(out, path);
+            writeStrings(out, names);
+            out.writeBoolean(extended);
+            out.writeInt(methods.size());
+            for (final MethodData method : methods) {
+                method.write(out);
+            }
+            out.writeBoolean(locator != null);
+            if (locator != null) {
+                locator.write(out);
+            }
+            out.writeInt(children.size());
+            for (final ResourceData child : children) {
+                child.write(out);
+            }
+        }
+
+        private static ResourceData read(final DataInput in) throws IOException {
+            final ResourceData data = new ResourceData();
+            data.path = readString(in);
+            readStrings(in, data.names);
+            if (data.names.isEmpty()) {
+                throw new IOException();
+            }
+            data.extended = in.readBoolean();
+            for (int i = readCount(in); i > 0; i--) {
+                data.methods.add(MethodData.read(in));
+            }
+            if (in.readBoolean()) {
+                data.locator = MethodData.read(in);
+            }
+            for (int i = readCount(in); i > 0; i--) {
+                data.children.add(ResourceData.read(in));
+            }
+            return data;
+        }
+    }
+
+    /**
+     * Cached resource method or sub-resource locator.
+     */
+    private static final class MethodData {
+
+        private String httpMethod;
+        private final List<String> consumedTypes = new ArrayList<String>();
+        private final List<String> producedTypes = new ArrayList<String>();
+        private final List<String> nameBindings = new ArrayList<String>();
+        private boolean managedAsync;
+        private boolean suspended;
+        private long suspendTimeout;
+        private TimeUnit suspendTimeoutUnit;
+        private boolean encodedParameters;
+        private boolean extended;
+        private String handlerClass;
+        private MethodReference definitionMethod;
+        private MethodReference handlingMethod;
+
+        private void write(final DataOutput out) throws IOException {
+            writeString(out, httpMethod);
+            writeStrings(out, consumedTypes);
+            writeStrings(out, producedTypes);
+            writeStrings(out, nameBindings);
+            out.writeBoolean(managedAsync);
+            out.writeBoolean(suspended);
+            out.writeLong(suspendTimeout);
+            out.writeUTF(suspendTimeoutUnit.name());
+            out.writeBoolean(encodedParameters);
+            out.writeBoolean(extended);
+            out.writeUTF(handlerClass);
+            definitionMethod.write(out);
+            handlingMethod.write(out);
+        }
+
+        private static MethodData read(final DataInput in) throws IOException {
+            final MethodData data = new MethodData();
+            data.httpMethod = readString(in);
+            readStrings(in, data.consumedTypes);
+            readStrings(in, data.producedTypes);
+            readStrings(in, data.nameBindings);
+            data.managedAsync = in.readBoolean();
+            data.suspended = in.readBoolean();
+            data.suspendTimeout = in.readLong();
+            data.suspendTimeoutUnit = TimeUnit.valueOf(in.readUTF());
+            data.encodedParameters = in.readBoolean();
+            data.extended = in.readBoolean();
+            data.handlerClass = in.readUTF();
+            data.definitionMethod = MethodReference.read(in);
+            data.handlingMethod = MethodReference.read(in);
+            return data;
+        }
+    }
+
+    /**
+     * Java method referred to by the declaring class name, the method name and the parameter type names.
+     */
+    private static final class MethodReference {
+
+        private final String declaringClass;
+        private final String name;
+        private final List<String> parameterTypes;
+
+        private MethodReference(final Method method) {
+            this.declaringClass = method.getDeclaringClass().getName();
+            this.name = method.getName();
+            this.parameterTypes = new ArrayList<String>();
+            for (final Class<?> parameterType : method.getParameterTypes()) {
+                parameterTypes.add(parameterType.getName());
+            }
+        }
+
+        private MethodReference(final String declaringClass, final String name, final List<String> parameterTypes) {
+            this.declaringClass = declaringClass;
+            this.name = name;
+            this.parameterTypes = parameterTypes;
+        }
+
+        private void write(final DataOutput out) throws IOException {
+            out.writeUTF(declaringClass);
+            out.writeUTF(name);
+            writeStrings(out, parameterTypes);
+        }
+
+        private static MethodReference read(final DataInput in) throws IOException {
+            final String declaringClass = in.readUTF();
+            final String name = in.readUTF();
+            final List<String> parameterTypes = new ArrayList<String>();
+            readStrings(in, parameterTypes);
+            return new MethodReference(declaringClass, name, parameterTypes);
+        }
+
+        private Method resolve(final ResourceModelCache cache) throws ClassNotFoundException, NoSuchMethodException {
+            final Class<?>[] types = new Class<?>[parameterTypes.size()];
+            for (int i = 0; i < types.length; i++) {
+                types[i] = cache.loadClass(parameterTypes.get(i));
+            }
+            return cache.loadClass(declaringClass).getDeclaredMethod(name, types);
+        }
+    }
+}
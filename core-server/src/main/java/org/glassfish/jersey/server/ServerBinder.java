@@ -42,6 +42,7 @@ package org.glassfish.jersey.server;
 import java.util.Map;
 
 import javax.ws.rs.RuntimeType;
+import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.ext.WriterInterceptor;
 
@@ -61,10 +62,12 @@ import org.glassfish.jersey.process.internal.RequestScope;
 import org.glassfish.jersey.server.internal.JerseyResourceContext;
 import org.glassfish.jersey.server.internal.JsonWithPaddingInterceptor;
 import org.glassfish.jersey.server.internal.MappableExceptionWrapperInterceptor;
+import org.glassfish.jersey.server.internal.PathProvider;
 import org.glassfish.jersey.server.internal.ProcessingProviders;
 import org.glassfish.jersey.server.internal.inject.ParameterInjectionBinder;
 import org.glassfish.jersey.server.internal.monitoring.MonitoringContainerListener;
 import org.glassfish.jersey.server.internal.process.ServerProcessingBinder;
+import org.glassfish.jersey.server.internal.routing.MediaTypeNegotiationCache;
 import org.glassfish.jersey.server.model.internal.ResourceModelBinder;
 import org.glassfish.jersey.server.spi.ContainerProvider;
 
@@ -108,11 +111,15 @@ class ServerBinder extends AbstractBinder {
                 new JerseyResourceContext.Binder(),
                 new ServiceFinderBinder<>(AutoDiscoverable.class, applicationProperties, RuntimeType.SERVER),
                 new MappableExceptionWrapperInterceptor.Binder(),
-                new MonitoringContainerListener.Binder());
+                new MonitoringContainerListener.Binder(),
+                new MediaTypeNegotiationCache.Binder());
 
         //ChunkedResponseWriter
         bind(ChunkedResponseWriter.class).to(MessageBodyWriter.class).in(Singleton.class);
 
+        // java.nio.file.Path entities
+        bind(PathProvider.class).to(MessageBodyReader.class).to(MessageBodyWriter.class).in(Singleton.class);
+
         // JSONP
         bind(JsonWithPaddingInterceptor.class).to(WriterInterceptor.class).in(Singleton.class);
     }
@@ -106,6 +106,30 @@ public final class ServerProperties {
      */
     public static final String PROVIDER_SCANNING_RECURSIVE = "jersey.config.server.provider.scanning.recursive";
 
+    /**
+     * Enables parallel scanning of the {@link #PROVIDER_PACKAGES provided packages} and
+     * {@link #PROVIDER_CLASSPATH class path elements}.
+     *
+     * If enabled, directories and archives are scanned concurrently using a fork/join pool sized to
+     * the number of available processors. Parallel scanning is applied only to the locations not covered
+     * by a build-time resource index (see {@link ResourceIndexProcessor}). When running with a security manager,
+     * the Jersey server code base must be granted {@code RuntimePermission("modifyThread")} to create the pool.
+     * <p>
+     * The property value MUST be an instance of {@code Boolean} type or a {@code String} convertible
+     * to {@code Boolean} type.
+     * </p>
+     * <p>
+     * A default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     *
+     * @see #PROVIDER_PACKAGES
+     * @see #PROVIDER_CLASSPATH
+     */
+    public static final String PROVIDER_SCANNING_PARALLEL = "jersey.config.server.provider.scanning.parallel";
+
     /**
      * Defines class-path that contains application-specific resources and
      * providers.
@@ -725,6 +749,115 @@ public final class ServerProperties {
     public static final String LOCATION_HEADER_RELATIVE_URI_RESOLUTION_DISABLED =
             "jersey.config.server.headers.location.relative.resolution.disabled";
 
+    /**
+     * If {@code true} then the request path matching routers pre-select candidate routes using a trie of the literal
+     * path segments of the routing templates instead of matching the request path against each route pattern in turn.
+     * <p>
+     * Routes are still matched using their regular expressions and in the same order, so the matching results and
+     * the JAX-RS matching precedence are not affected. Enabling the trie reduces the routing cost of applications
+     * with large numbers of root resources or sub-resources.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String PATH_MATCHING_TRIE_ENABLED = "jersey.config.server.routing.trie.enabled";
+
+    /**
+     * If {@code true} then the routers of sub-resources and the invokers of resource methods are built when the first
+     * request is routed to them instead of during the application initialization.
+     * <p>
+     * Lazy initialization shortens the deployment time of applications with large numbers of resources. The price is
+     * a longer processing of the first request to each resource method and the fact that issues found while building
+     * the resource method invokers are reported at the request time instead of failing the application deployment.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String ROUTING_LAZY_INITIALIZATION = "jersey.config.server.routing.lazy";
+
+    /**
+     * Path of a file used to cache the processed and validated application resource model between application starts.
+     * <p>
+     * If set, the resource model built during the first deployment is stored in the file and subsequent deployments
+     * of an unchanged application restore the model from the file, skipping the resource class introspection, the
+     * {@link org.glassfish.jersey.server.model.ModelProcessor model processors} and the resource model validation.
+     * The cached model is used only if the registered classes, their byte code, the configuration properties and the
+     * Jersey version match the ones the model was stored with, otherwise the model is built as usual and the cache
+     * file is overwritten.
+     * </p>
+     * <p>
+     * Applications with programmatically built {@link org.glassfish.jersey.server.model.Resource resources} or
+     * with resource instances registered as singletons are never cached. Restored models do not contain
+     * the parameters injected into resource class fields and setters, which are only used to generate
+     * the WADL documentation.
+     * </p>
+     * <p>
+     * The property value MUST be an instance of {@code String} type or {@link java.io.File}.
+     * </p>
+     * <p>
+     * There is no default value, the resource model cache is disabled by default.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String RESOURCE_MODEL_CACHE_FILE = "jersey.config.server.resource.model.cache.file";
+
+    /**
+     * An integer value that defines the size of the application-wide cache of media type negotiation results. The cache
+     * memoises the resource method selected for a combination of HTTP method, {@code Content-Type} and {@code Accept}
+     * request header values as well as the effective response media type, so that the media type negotiation does not
+     * need to be repeated for recurring requests.
+     * <p>
+     * The cache hit and miss counts are exposed via the {@code MediaTypeNegotiationCache} MBean if
+     * {@link #MONITORING_STATISTICS_MBEANS_ENABLED monitoring MBeans} are enabled.
+     * </p>
+     * <p>
+     * The default value is {@code 0} which means that media type negotiation results are not cached.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String MEDIA_TYPE_NEGOTIATION_CACHE_SIZE = "jersey.config.server.mediaTypeNegotiation.cache.size";
+
+    /**
+     * If {@code true} then the resource Java methods are invoked using {@link java.lang.invoke.MethodHandle method handles}
+     * resolved when the resource model is built instead of using reflection.
+     * <p>
+     * Method handles are used only for resource methods invoked by the default invocation handler, i.e. not for methods
+     * handled by a custom invocation handler (e.g. EJB or CDI integration). Resource methods that are not accessible via
+     * method handles are still invoked using reflection.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String METHOD_HANDLE_DISPATCHER_ENABLED = "jersey.config.server.resource.methodHandleDispatcher.enabled";
+
+    /**
+     * If {@code true} then the {@link org.glassfish.jersey.server.filter.RangeRequestFeature byte range request support}
+     * for {@link java.io.File} and {@link java.nio.file.Path} response entities is not registered automatically.
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <tt>{@value}</tt>.
+     * </p>
+     */
+    public static final String RANGE_REQUESTS_DISABLE = "jersey.config.server.rangeRequests.disable";
+
     private ServerProperties() {
         // prevents instantiation
     }
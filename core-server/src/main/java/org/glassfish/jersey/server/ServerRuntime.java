@@ -724,6 +724,8 @@ public class ServerRuntime {
                     LOGGER.log(Level.SEVERE, LocalizationMessages.ERROR_WRITING_RESPONSE_ENTITY(), ex);
                 } else {
                     skipFinally = true;
+                    // the response is going to be replaced by the mapped exception response
+                    response.discardBufferedEntity();
                     if (ex instanceof RuntimeException) {
                         throw (RuntimeException) ex;
                     } else {
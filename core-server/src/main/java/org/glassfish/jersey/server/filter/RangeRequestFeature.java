@@ -0,0 +1,75 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter;
+
+import javax.ws.rs.ConstrainedTo;
+import javax.ws.rs.RuntimeType;
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+import org.glassfish.jersey.server.filter.internal.ByteRangesWriter;
+import org.glassfish.jersey.server.filter.internal.RangeResponseFilter;
+
+/**
+ * Feature enabling byte range requests ({@code Range} header, RFC 7233) for {@link java.io.File} and
+ * {@link java.nio.file.Path} response entities.
+ * <p/>
+ * {@code 200 OK} responses with a file entity are marked with {@code Accept-Ranges: bytes}. A {@code GET} request
+ * with a satisfiable single byte range is answered by {@code 206 Partial Content} with the requested part of the file,
+ * multiple byte ranges are answered by a {@code multipart/byteranges} entity and an unsatisfiable range by
+ * {@code 416 Requested Range Not Satisfiable}. An {@code If-Range} precondition is evaluated against the {@code ETag}
+ * or {@code Last-Modified} header set by the resource method. Overlapping ranges are coalesced and requests with
+ * too many ranges are answered with the whole file. Responses with a {@code Content-Encoding} are not split into
+ * ranges.
+ * <p/>
+ * The file regions are written using {@link org.glassfish.jersey.message.FileRegionWriter direct file transfer}
+ * if supported by the container. The feature is registered automatically unless
+ * {@link org.glassfish.jersey.server.ServerProperties#RANGE_REQUESTS_DISABLE} is set.
+ */
+@ConstrainedTo(RuntimeType.SERVER)
+public final class RangeRequestFeature implements Feature {
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        context.register(RangeResponseFilter.class);
+        context.register(ByteRangesWriter.class);
+        return true;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter;
+
+import java.net.URI;
+
+/**
+ * Server-side cache of serialized resource method responses maintained by the {@link ResponseCacheFeature}.
+ * <p/>
+ * The cache is available for injection once the feature is registered, so that resources modifying the
+ * cached state can invalidate the stale responses:
+ * <pre>
+ * &#64;Inject
+ * private ResponseCache cache;
+ *
+ * &#64;PUT
+ * public void update(Item item, &#64;Context UriInfo uriInfo) {
+ *     ...
+ *     cache.invalidate(uriInfo.getRequestUri());
+ * }
+ * </pre>
+ */
+public interface ResponseCache {
+
+    /**
+     * Remove all cached variants of the responses to the request URI.
+     * <p/>
+     * The URI is compared with the absolute {@link javax.ws.rs.core.UriInfo#getRequestUri() request URIs}
+     * of the cached responses. If the URI does not contain a query component, the responses cached for
+     * the same URI with any query are removed as well.
+     *
+     * @param requestUri absolute request URI.
+     */
+    public void invalidate(URI requestUri);
+
+    /**
+     * Remove all cached responses.
+     */
+    public void invalidateAll();
+
+    /**
+     * Get the number of cached responses.
+     *
+     * @return number of cached responses.
+     */
+    public int size();
+
+    /**
+     * Get the number of requests answered from the cache.
+     *
+     * @return cache hit count.
+     */
+    public long getHitCount();
+
+    /**
+     * Get the number of requests to cached resource methods that could not be answered from the cache.
+     *
+     * @return cache miss count.
+     */
+    public long getMissCount();
+
+    /**
+     * Get the number of cache hits answered with {@code 304 Not Modified}.
+     *
+     * @return count of not modified responses.
+     */
+    public long getNotModifiedCount();
+
+    /**
+     * Get the number of cached responses removed because of expiration or the cache size limit.
+     *
+     * @return eviction count.
+     */
+    public long getEvictionCount();
+}
@@ -0,0 +1,176 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter;
+
+import javax.ws.rs.ConstrainedTo;
+import javax.ws.rs.RuntimeType;
+import javax.ws.rs.core.Feature;
+import javax.ws.rs.core.FeatureContext;
+
+import org.glassfish.jersey.server.filter.internal.ResponseCacheDynamicFeature;
+import org.glassfish.jersey.server.filter.internal.ResponseCacheStore;
+import org.glassfish.jersey.server.internal.LocalizationMessages;
+
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+
+/**
+ * Feature enabling the server-side cache of serialized responses of the {@link CachedResponse &#64;CachedResponse}
+ * annotated {@link javax.ws.rs.GET &#64;GET} resource methods.
+ * <p/>
+ * Responses are cached per request URI and response variant, i.e. the response media type selected by the
+ * resource method selection (or the {@code Accept} header if the media type depends on the returned entity)
+ * and the {@code Accept-Language} header. A cached response is returned without invoking the resource method.
+ * Cached responses carry a strong {@code ETag} computed from the serialized entity (unless the resource method
+ * sets its own entity tag), so that conditional requests with a matching {@code If-None-Match} header
+ * are answered by {@code 304 Not Modified}.
+ * <p/>
+ * Only {@code 200 OK} responses with an entity are cached. Responses that set cookies, that are marked by the
+ * {@code no-store} or {@code private} cache control directives, or that vary by headers other than
+ * {@code Accept}, {@code Accept-Language} and {@code Accept-Encoding} are not cached. Cached responses are evicted
+ * once they expire, when the cache size limit is exceeded or when {@link ResponseCache#invalidate(java.net.URI)
+ * invalidated} explicitly. The {@link ResponseCache} is available for injection.
+ */
+@ConstrainedTo(RuntimeType.SERVER)
+public final class ResponseCacheFeature implements Feature {
+
+    /**
+     * Default maximal number of cached responses.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    /**
+     * Default maximal size of a cached response entity in bytes.
+     */
+    public static final int DEFAULT_MAX_ENTITY_SIZE = 256 * 1024;
+
+    /**
+     * {@link ResponseCacheFeature} builder.
+     */
+    public static final class Builder {
+
+        private int maxEntries = DEFAULT_MAX_ENTRIES;
+        private int maxEntitySize = DEFAULT_MAX_ENTITY_SIZE;
+
+        private Builder() {
+        }
+
+        /**
+         * Set the maximal number of cached responses. Defaults to {@value #DEFAULT_MAX_ENTRIES}.
+         *
+         * @param maxEntries maximal number of cached responses.
+         * @return updated builder.
+         */
+        public Builder maxEntries(final int maxEntries) {
+            if (maxEntries < 0) {
+                throw new IllegalArgumentException(LocalizationMessages.RESPONSE_CACHE_PARAMETER_NEGATIVE("maxEntries"));
+            }
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        /**
+         * Set the maximal size of a cached response entity in bytes. Larger responses are not cached.
+         * Defaults to {@value #DEFAULT_MAX_ENTITY_SIZE}.
+         *
+         * @param maxEntitySize maximal cached entity size.
+         * @return updated builder.
+         */
+        public Builder maxEntitySize(final int maxEntitySize) {
+            if (maxEntitySize < 0) {
+                throw new IllegalArgumentException(LocalizationMessages.RESPONSE_CACHE_PARAMETER_NEGATIVE("maxEntitySize"));
+            }
+            this.maxEntitySize = maxEntitySize;
+            return this;
+        }
+
+        /**
+         * Build the feature.
+         *
+         * @return new response cache feature with an empty cache.
+         */
+        public ResponseCacheFeature build() {
+            return new ResponseCacheFeature(this);
+        }
+    }
+
+    private final ResponseCacheStore store;
+    private final int maxEntitySize;
+
+    /**
+     * Create new response cache feature with the default settings.
+     */
+    public ResponseCacheFeature() {
+        this(new Builder());
+    }
+
+    private ResponseCacheFeature(final Builder builder) {
+        this.store = new ResponseCacheStore(builder.maxEntries);
+        this.maxEntitySize = builder.maxEntitySize;
+    }
+
+    /**
+     * Create new {@link ResponseCacheFeature} builder.
+     *
+     * @return new feature builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Get the response cache managed by this feature.
+     *
+     * @return response cache.
+     */
+    public ResponseCache getCache() {
+        return store;
+    }
+
+    @Override
+    public boolean configure(final FeatureContext context) {
+        context.register(new ResponseCacheDynamicFeature(store, maxEntitySize));
+        context.register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(store).to(ResponseCache.class);
+            }
+        });
+        return true;
+    }
+}
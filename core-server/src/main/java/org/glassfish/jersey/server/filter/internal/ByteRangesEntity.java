@@ -0,0 +1,270 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter.internal;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import javax.ws.rs.core.MediaType;
+
+/**
+ * Response entity representing one or more byte ranges of a file.
+ * <p/>
+ * A single range is written as the plain file region, multiple ranges are written as a {@code multipart/byteranges}
+ * entity with the given boundary.
+ */
+public final class ByteRangesEntity {
+
+    private static final String BYTES_UNIT = "bytes";
+
+    /**
+     * Inclusive byte range of a file.
+     */
+    public static final class Range {
+
+        private final long first;
+        private final long last;
+
+        private Range(final long first, final long last) {
+            this.first = first;
+            this.last = last;
+        }
+
+        /**
+         * Get the position of the first byte of the range.
+         *
+         * @return position of the first byte.
+         */
+        public long getFirst() {
+            return first;
+        }
+
+        /**
+         * Get the number of bytes in the range.
+         *
+         * @return range length.
+         */
+        public long getLength() {
+            return last - first + 1;
+        }
+
+        /**
+         * Get the {@code Content-Range} header value of the range.
+         *
+         * @param length length of the whole file.
+         * @return {@code Content-Range} header value.
+         */
+        public String toContentRange(final long length) {
+            return BYTES_UNIT + ' ' + first + '-' + last + '/' + length;
+        }
+    }
+
+    private final Path path;
+    private final long length;
+    private final List<Range> ranges;
+    private final MediaType mediaType;
+    private final String boundary;
+
+    /**
+     * Create new byte ranges entity.
+     *
+     * @param path      file.
+     * @param length    length of the file.
+     * @param ranges    non-empty list of ranges of the file.
+     * @param mediaType media type of the file, used in the body part headers of a multi-range entity.
+     * @param boundary  multipart boundary of a multi-range entity.
+     */
+    public ByteRangesEntity(final Path path,
+                            final long length,
+                            final List<Range> ranges,
+                            final MediaType mediaType,
+                            final String boundary) {
+        this.path = path;
+        this.length = length;
+        this.ranges = ranges;
+        this.mediaType = mediaType;
+        this.boundary = boundary;
+    }
+
+    /**
+     * Get the file.
+     *
+     * @return file.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Get the length of the whole file.
+     *
+     * @return file length.
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * Get the ranges of the file.
+     *
+     * @return ranges in ascending order.
+     */
+    public List<Range> getRanges() {
+        return ranges;
+    }
+
+    /**
+     * Get the media type of the file.
+     *
+     * @return media type of the file.
+     */
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Get the boundary of the multi-range entity.
+     *
+     * @return multipart boundary.
+     */
+    public String getBoundary() {
+        return boundary;
+    }
+
+    /**
+     * Parse the {@code Range} header value.
+     * <p/>
+     * Ranges that start beyond the end of the file are not satisfiable and are skipped, overlapping and adjacent ranges
+     * are coalesced.
+     *
+     * @param header    {@code Range} header value.
+     * @param length    length of the file.
+     * @param maxRanges maximal number of ranges (after coalescing).
+     * @return satisfiable ranges in ascending order (empty if none of the ranges is satisfiable), or {@code null} if
+     * the header is invalid, uses another unit than {@code bytes} or contains too many ranges. The header should be
+     * ignored in such a case.
+     */
+    public static List<Range> parse(final String header, final long length, final int maxRanges) {
+        final int equals = header.indexOf('=');
+        if (equals < 0 || !BYTES_UNIT.equals(header.substring(0, equals).trim().toLowerCase(Locale.ROOT))) {
+            return null;
+        }
+
+        final List<Range> ranges = new ArrayList<>();
+        boolean specified = false;
+        for (final String spec : header.substring(equals + 1).split(",")) {
+            final String trimmed = spec.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+
+            final int dash = trimmed.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+            specified = true;
+
+            try {
+                if (dash == 0) {
+                    // suffix range
+                    final long suffix = Long.parseLong(trimmed.substring(1).trim());
+                    if (suffix < 0) {
+                        return null;
+                    } else if (suffix > 0 && length > 0) {
+                        ranges.add(new Range(Math.max(0, length - suffix), length - 1));
+                    }
+                } else {
+                    final long first = Long.parseLong(trimmed.substring(0, dash).trim());
+                    final String lastValue = trimmed.substring(dash + 1).trim();
+                    final long last = lastValue.isEmpty() ? Long.MAX_VALUE : Long.parseLong(lastValue);
+                    if (first < 0 || last < first) {
+                        return null;
+                    } else if (first < length) {
+                        ranges.add(new Range(first, Math.min(last, length - 1)));
+                    }
+                }
+            } catch (final NumberFormatException e) {
+                return null;
+            }
+
+            if (ranges.size() > maxRanges * 4) {
+                // do not bother with coalescing of abusive requests
+                return null;
+            }
+        }
+
+        if (!specified) {
+            return null;
+        }
+
+        final List<Range> coalesced = coalesce(ranges);
+        return coalesced.size() > maxRanges ? null : coalesced;
+    }
+
+    private static List<Range> coalesce(final List<Range> ranges) {
+        if (ranges.size() < 2) {
+            return ranges;
+        }
+
+        Collections.sort(ranges, new Comparator<Range>() {
+            @Override
+            public int compare(final Range r1, final Range r2) {
+                return Long.compare(r1.first, r2.first);
+            }
+        });
+
+        final List<Range> coalesced = new ArrayList<>(ranges.size());
+        Range current = ranges.get(0);
+        for (final Range range : ranges.subList(1, ranges.size())) {
+            if (range.first <= current.last + 1) {
+                current = new Range(current.first, Math.max(current.last, range.last));
+            } else {
+                coalesced.add(current);
+                current = range;
+            }
+        }
+        coalesced.add(current);
+        return coalesced;
+    }
+}
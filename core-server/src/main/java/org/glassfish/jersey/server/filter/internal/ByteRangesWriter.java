@@ -0,0 +1,118 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+
+import javax.inject.Singleton;
+
+import org.glassfish.jersey.message.internal.ReaderWriter;
+
+/**
+ * Message body writer of {@link ByteRangesEntity byte ranges} of a file. The file regions are written using
+ * {@link ReaderWriter#writeTo(FileChannel, long, long, OutputStream)}, i.e. without copying the file content through
+ * a heap buffer if the container supports it.
+ */
+@Singleton
+public final class ByteRangesWriter implements MessageBodyWriter<ByteRangesEntity> {
+
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+
+    @Override
+    public boolean isWriteable(final Class<?> type,
+                               final Type genericType,
+                               final Annotation[] annotations,
+                               final MediaType mediaType) {
+        return ByteRangesEntity.class == type;
+    }
+
+    @Override
+    public long getSize(final ByteRangesEntity entity,
+                        final Class<?> type,
+                        final Type genericType,
+                        final Annotation[] annotations,
+                        final MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(final ByteRangesEntity entity,
+                        final Class<?> type,
+                        final Type genericType,
+                        final Annotation[] annotations,
+                        final MediaType mediaType,
+                        final MultivaluedMap<String, Object> httpHeaders,
+                        final OutputStream entityStream) throws IOException, WebApplicationException {
+        final List<ByteRangesEntity.Range> ranges = entity.getRanges();
+        final FileChannel channel = FileChannel.open(entity.getPath(), StandardOpenOption.READ);
+
+        try {
+            if (ranges.size() == 1) {
+                final ByteRangesEntity.Range range = ranges.get(0);
+                ReaderWriter.writeTo(channel, range.getFirst(), range.getLength(), entityStream);
+                return;
+            }
+
+            for (final ByteRangesEntity.Range range : ranges) {
+                final String partHeaders = "\r\n--" + entity.getBoundary() + "\r\n"
+                        + "Content-Type: " + entity.getMediaType() + "\r\n"
+                        + "Content-Range: " + range.toContentRange(entity.getLength()) + "\r\n"
+                        + "\r\n";
+                entityStream.write(partHeaders.getBytes(ASCII));
+                ReaderWriter.writeTo(channel, range.getFirst(), range.getLength(), entityStream);
+            }
+            entityStream.write(("\r\n--" + entity.getBoundary() + "--\r\n").getBytes(ASCII));
+        } finally {
+            channel.close();
+        }
+    }
+}
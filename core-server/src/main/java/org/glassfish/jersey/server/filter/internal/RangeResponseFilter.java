@@ -0,0 +1,181 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+
+import javax.annotation.Priority;
+
+import org.glassfish.jersey.message.internal.HttpHeaderReader;
+
+/**
+ * Response filter answering byte range requests for {@link File} and {@link Path} response entities.
+ * <p/>
+ * The filter runs after the {@link org.glassfish.jersey.server.filter.EncodingFilter encoding filter} so that it can
+ * leave encoded responses untouched.
+ *
+ * @see org.glassfish.jersey.server.filter.RangeRequestFeature
+ */
+@Priority(Priorities.HEADER_DECORATOR)
+public final class RangeResponseFilter implements ContainerResponseFilter {
+
+    /**
+     * Maximal number of (coalesced) ranges of a request. Requests with more ranges are answered with the whole file.
+     */
+    static final int MAX_RANGES = 16;
+
+    private static final String ACCEPT_RANGES = "Accept-Ranges";
+    private static final String CONTENT_RANGE = "Content-Range";
+    private static final String IF_RANGE = "If-Range";
+    private static final String RANGE = "Range";
+    private static final String BYTES_UNIT = "bytes";
+
+    @Override
+    public void filter(final ContainerRequestContext request, final ContainerResponseContext response) throws IOException {
+        if (response.getStatus() != Response.Status.OK.getStatusCode()) {
+            return;
+        }
+
+        final Path path = getPath(response.getEntity());
+        final MultivaluedMap<String, Object> headers = response.getHeaders();
+        if (path == null || headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return;
+        }
+        headers.putSingle(ACCEPT_RANGES, BYTES_UNIT);
+
+        final String range = request.getHeaderString(RANGE);
+        if (range == null
+                || !HttpMethod.GET.equals(request.getMethod())
+                || !isIfRangeSatisfied(request.getHeaderString(IF_RANGE), response)) {
+            return;
+        }
+
+        final long length = Files.size(path);
+        final List<ByteRangesEntity.Range> ranges = ByteRangesEntity.parse(range, length, MAX_RANGES);
+        if (ranges == null) {
+            return;
+        }
+
+        if (ranges.isEmpty()) {
+            response.setStatus(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE.getStatusCode());
+            response.setEntity(null);
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            headers.putSingle(CONTENT_RANGE, BYTES_UNIT + " */" + length);
+        } else if (ranges.size() == 1) {
+            response.setStatus(Response.Status.PARTIAL_CONTENT.getStatusCode());
+            headers.putSingle(CONTENT_RANGE, ranges.get(0).toContentRange(length));
+            response.setEntity(new ByteRangesEntity(path, length, ranges, null, null),
+                    response.getEntityAnnotations(), response.getMediaType());
+        } else {
+            final MediaType mediaType = response.getMediaType() == null
+                    ? MediaType.APPLICATION_OCTET_STREAM_TYPE : response.getMediaType();
+            final String boundary = UUID.randomUUID().toString();
+
+            response.setStatus(Response.Status.PARTIAL_CONTENT.getStatusCode());
+            response.setEntity(new ByteRangesEntity(path, length, ranges, mediaType, boundary),
+                    response.getEntityAnnotations(),
+                    new MediaType("multipart", "byteranges", Collections.singletonMap("boundary", boundary)));
+        }
+    }
+
+    private static Path getPath(final Object entity) {
+        if (entity instanceof File) {
+            return ((File) entity).toPath();
+        } else if (entity instanceof Path) {
+            return (Path) entity;
+        }
+        return null;
+    }
+
+    /**
+     * Evaluate the {@code If-Range} precondition, i.e. whether the range request may be answered with a part of
+     * the current representation. An entity tag has to match the strong response entity tag, a date has to match
+     * the last modification date of the response.
+     */
+    private static boolean isIfRangeSatisfied(final String ifRange, final ContainerResponseContext response) {
+        if (ifRange == null) {
+            return true;
+        }
+
+        final String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            final EntityTag entityTag = response.getEntityTag();
+            if (entityTag == null || entityTag.isWeak()) {
+                return false;
+            }
+            try {
+                final EntityTag requested = EntityTag.valueOf(value);
+                return !requested.isWeak() && entityTag.getValue().equals(requested.getValue());
+            } catch (final IllegalArgumentException e) {
+                return false;
+            }
+        }
+
+        final Date lastModified = response.getLastModified();
+        if (lastModified == null) {
+            return false;
+        }
+        try {
+            // HTTP dates have a resolution of one second
+            return HttpHeaderReader.readDate(value).getTime() / 1000 == lastModified.getTime() / 1000;
+        } catch (final ParseException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter.internal;
+
+import java.lang.reflect.Method;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.FeatureContext;
+
+import org.glassfish.jersey.server.filter.CachedResponse;
+import org.glassfish.jersey.server.model.AnnotatedMethod;
+
+/**
+ * {@link DynamicFeature} binding the {@link ResponseCacheFilter} to the {@link GET &#64;GET} resource methods
+ * annotated with {@link CachedResponse &#64;CachedResponse} directly or on the resource class.
+ */
+public final class ResponseCacheDynamicFeature implements DynamicFeature {
+
+    private final ResponseCacheStore store;
+    private final int maxEntitySize;
+
+    /**
+     * Create new response cache dynamic feature.
+     *
+     * @param store         response cache store shared by all cached resource methods.
+     * @param maxEntitySize maximal size of a cached response entity in bytes.
+     */
+    public ResponseCacheDynamicFeature(final ResponseCacheStore store, final int maxEntitySize) {
+        this.store = store;
+        this.maxEntitySize = maxEntitySize;
+    }
+
+    @Override
+    public void configure(final ResourceInfo resourceInfo, final FeatureContext context) {
+        final Method method = resourceInfo.getResourceMethod();
+        if (method == null) {
+            return;
+        }
+
+        final AnnotatedMethod am = new AnnotatedMethod(method);
+        if (!am.isAnnotationPresent(GET.class)) {
+            return;
+        }
+
+        CachedResponse cached = am.getAnnotation(CachedResponse.class);
+        if (cached == null) {
+            cached = resourceInfo.getResourceClass().getAnnotation(CachedResponse.class);
+        }
+        if (cached != null && cached.maxAge() > 0) {
+            context.register(new ResponseCacheFilter(store, cached.unit().toMillis(cached.maxAge()), maxEntitySize));
+        }
+    }
+}
@@ -0,0 +1,384 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import javax.annotation.Priority;
+
+import org.glassfish.jersey.message.internal.HeaderUtils;
+import org.glassfish.jersey.server.internal.routing.RoutingContext;
+
+/**
+ * Filter and writer interceptor bound to a single cached resource method.
+ * <p/>
+ * The request filter looks up the response cached for the request URI and the response media type
+ * negotiated by the method selection. A cached response is returned without invoking the resource
+ * method; if the request preconditions match the cached entity tag, {@code 304 Not Modified} is returned.
+ * On a cache miss, a successful response is captured by the writer interceptor, a strong entity tag
+ * is computed from the serialized bytes unless the resource has set one, and the response is stored.
+ * <p/>
+ * The writer interceptor runs after the {@link Priorities#ENTITY_CODER entity coders}, i.e. the un-encoded
+ * entity bytes are cached and content encoding is applied again when a cached response is written.
+ */
+@Priority(Priorities.USER)
+public final class ResponseCacheFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+    private static final String KEY = ResponseCacheFilter.class.getName() + ".key";
+    private static final String CAPTURE = ResponseCacheFilter.class.getName() + ".capture";
+    private static final String RANGE = "Range";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Headers returned with {@code 304 Not Modified} in addition to the entity tag.
+     */
+    private static final String[] NOT_MODIFIED_HEADERS = {HttpHeaders.CACHE_CONTROL, HttpHeaders.EXPIRES, HttpHeaders.VARY,
+            HttpHeaders.CONTENT_LOCATION};
+
+    /**
+     * Response captured by the response filter to be stored by the writer interceptor.
+     */
+    private static final class Capture {
+
+        final String key;
+        final String uri;
+        final MultivaluedMap<String, String> headers;
+        final EntityTag entityTag;
+
+        Capture(final String key, final String uri, final MultivaluedMap<String, String> headers, final EntityTag entityTag) {
+            this.key = key;
+            this.uri = uri;
+            this.headers = headers;
+            this.entityTag = entityTag;
+        }
+    }
+
+    private final ResponseCacheStore store;
+    private final long maxAge;
+    private final int maxEntitySize;
+
+    /**
+     * Create new response cache filter.
+     *
+     * @param store         response cache store.
+     * @param maxAge        time to live of the cached responses in milliseconds.
+     * @param maxEntitySize maximal size of a cached response entity in bytes.
+     */
+    public ResponseCacheFilter(final ResponseCacheStore store, final long maxAge, final int maxEntitySize) {
+        this.store = store;
+        this.maxAge = maxAge;
+        this.maxEntitySize = maxEntitySize;
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext request) throws IOException {
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            return;
+        }
+
+        final String key = key(request);
+        final ResponseCacheStore.Entry entry = store.get(key, System.currentTimeMillis());
+        if (entry == null) {
+            store.miss();
+            request.setProperty(KEY, key);
+            return;
+        }
+
+        store.hit();
+        final Response.ResponseBuilder preconditionFailed = request.getRequest().evaluatePreconditions(entry.entityTag);
+        if (preconditionFailed != null) {
+            final Response response = preconditionFailed.build();
+            if (response.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode()) {
+                store.notModified();
+                for (final String name : NOT_MODIFIED_HEADERS) {
+                    final List<String> values = entry.headers.get(name);
+                    if (values != null) {
+                        response.getHeaders().addAll(name, values.toArray());
+                    }
+                }
+            }
+            request.abortWith(response);
+            return;
+        }
+
+        final Response.ResponseBuilder builder = Response.status(entry.status);
+        for (final Map.Entry<String, List<String>> header : entry.headers.entrySet()) {
+            for (final String value : header.getValue()) {
+                builder.header(header.getKey(), value);
+            }
+        }
+        request.abortWith(builder.entity(entry.entity).build());
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext request, final ContainerResponseContext response) throws IOException {
+        final String key = (String) request.getProperty(KEY);
+        if (key == null
+                || response.getStatus() != Response.Status.OK.getStatusCode()
+                || !response.hasEntity()
+                || request.getHeaderString(RANGE) != null
+                || !isCacheable(request, response)) {
+            // responses to range requests may get split into partial content later on
+            return;
+        }
+
+        final MultivaluedMap<String, String> headers = HeaderUtils.createInbound();
+        for (final Map.Entry<String, List<String>> header : response.getStringHeaders().entrySet()) {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(header.getKey())) {
+                headers.addAll(header.getKey(), header.getValue());
+            }
+        }
+        request.setProperty(CAPTURE, new Capture(key, request.getUriInfo().getRequestUri().toString(), headers,
+                response.getEntityTag()));
+    }
+
+    @Override
+    public void aroundWriteTo(final WriterInterceptorContext context) throws IOException {
+        final Capture capture = (Capture) context.getProperty(CAPTURE);
+        if (capture == null) {
+            context.proceed();
+            return;
+        }
+        context.removeProperty(CAPTURE);
+
+        final OutputStream original = context.getOutputStream();
+        final CapturingOutputStream captured = new CapturingOutputStream(original, maxEntitySize);
+        context.setOutputStream(captured);
+        try {
+            context.proceed();
+        } finally {
+            context.setOutputStream(original);
+        }
+        if (captured.buffer == null) {
+            // entity too large, already written through
+            return;
+        }
+
+        final byte[] entity = captured.buffer.toByteArray();
+        EntityTag entityTag = capture.entityTag;
+        if (entityTag == null) {
+            entityTag = new EntityTag(digest(entity));
+            // headers are not committed yet, nothing has been written to the original stream
+            context.getHeaders().putSingle(HttpHeaders.ETAG, entityTag);
+        }
+
+        final MediaType mediaType = context.getMediaType();
+        if (mediaType != null) {
+            capture.headers.putSingle(HttpHeaders.CONTENT_TYPE, mediaType.toString());
+        }
+        capture.headers.putSingle(HttpHeaders.ETAG, entityTag.toString());
+        store.put(capture.key, new ResponseCacheStore.Entry(capture.uri, Response.Status.OK.getStatusCode(), capture.headers,
+                entity, entityTag, System.currentTimeMillis() + maxAge));
+
+        original.write(entity);
+    }
+
+    /**
+     * Compose the cache key from the request URI, the negotiated response media type and the acceptable
+     * languages. If the method selection has not determined the response media type, the {@code Accept}
+     * header is used instead.
+     */
+    private static String key(final ContainerRequestContext request) {
+        final UriInfo uriInfo = request.getUriInfo();
+        final StringBuilder key = new StringBuilder(uriInfo.getRequestUri().toString()).append('\n');
+
+        final MediaType negotiated = uriInfo instanceof RoutingContext
+                ? ((RoutingContext) uriInfo).getNegotiatedMediaType() : null;
+        if (negotiated != null) {
+            key.append(negotiated);
+        } else {
+            key.append(HttpHeaders.ACCEPT).append(':').append(request.getHeaderString(HttpHeaders.ACCEPT));
+        }
+        return key.append('\n').append(request.getHeaderString(HttpHeaders.ACCEPT_LANGUAGE)).toString();
+    }
+
+    /**
+     * Check whether the response can be shared by all requests with the same cache key.
+     * <p/>
+     * The cache key does not include the request credentials, so a response to a request with
+     * an {@code Authorization} header is only stored if the response explicitly allows it
+     * ({@code public} or {@code s-maxage}, see RFC 7234, section 3.2).
+     */
+    private static boolean isCacheable(final ContainerRequestContext request, final ContainerResponseContext response) {
+        if (response.getHeaders().containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+
+        final boolean authorized = request.getHeaderString(HttpHeaders.AUTHORIZATION) != null;
+        final String cacheControl = response.getHeaderString(HttpHeaders.CACHE_CONTROL);
+        if (cacheControl != null) {
+            try {
+                final CacheControl parsed = CacheControl.valueOf(cacheControl);
+                if (parsed.isNoStore() || parsed.isPrivate()) {
+                    return false;
+                }
+                if (authorized && !isPublic(cacheControl) && parsed.getSMaxAge() < 0) {
+                    return false;
+                }
+            } catch (final IllegalArgumentException ex) {
+                return false;
+            }
+        } else if (authorized) {
+            return false;
+        }
+
+        final List<String> vary = response.getStringHeaders().get(HttpHeaders.VARY);
+        if (vary != null) {
+            for (final String value : vary) {
+                for (final String name : value.split(",")) {
+                    final String header = name.trim().toLowerCase(Locale.ROOT);
+                    if (!header.isEmpty() && !"accept".equals(header) && !"accept-language".equals(header)
+                            && !"accept-encoding".equals(header)) {
+                        // response varies by a header not covered by the cache key
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check whether the {@code Cache-Control} header value contains the {@code public} directive.
+     */
+    private static boolean isPublic(final String cacheControl) {
+        for (final String directive : cacheControl.split(",")) {
+            if ("public".equalsIgnoreCase(directive.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String digest(final byte[] entity) {
+        final byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1").digest(entity);
+        } catch (final NoSuchAlgorithmException ex) {
+            // SHA-1 is required to be supported by every Java platform
+            throw new IllegalStateException(ex);
+        }
+        final char[] value = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            value[2 * i] = HEX[(digest[i] >> 4) & 0x0F];
+            value[2 * i + 1] = HEX[digest[i] & 0x0F];
+        }
+        return new String(value);
+    }
+
+    /**
+     * Output stream buffering the entity up to the size limit. Once the limit is exceeded, the buffered
+     * bytes are written to the target stream and the buffer is discarded.
+     */
+    private static final class CapturingOutputStream extends OutputStream {
+
+        private final OutputStream target;
+        private final int limit;
+        private ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        CapturingOutputStream(final OutputStream target, final int limit) {
+            this.target = target;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            if (buffer != null && buffer.size() + 1 > limit) {
+                buffer.writeTo(target);
+                buffer = null;
+            }
+            if (buffer != null) {
+                buffer.write(b);
+            } else {
+                target.write(b);
+            }
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (buffer != null && buffer.size() + len > limit) {
+                buffer.writeTo(target);
+                buffer = null;
+            }
+            if (buffer != null) {
+                buffer.write(b, off, len);
+            } else {
+                target.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (buffer == null) {
+                target.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            // the target stream is closed by the runtime once the entity has been written
+            flush();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter.internal;
+
+import java.net.URI;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.glassfish.jersey.server.filter.ResponseCache;
+
+/**
+ * Bounded least-recently-used store of serialized responses backing the
+ * {@link org.glassfish.jersey.server.filter.ResponseCacheFeature}.
+ * <p/>
+ * Expired entries are removed lazily when looked up or when they become the least recently used
+ * entries and the size limit is exceeded.
+ */
+public final class ResponseCacheStore implements ResponseCache {
+
+    /**
+     * Cached serialized response.
+     */
+    static final class Entry {
+
+        final String uri;
+        final int status;
+        final MultivaluedMap<String, String> headers;
+        final byte[] entity;
+        final EntityTag entityTag;
+        final long expiresAt;
+
+        Entry(final String uri,
+              final int status,
+              final MultivaluedMap<String, String> headers,
+              final byte[] entity,
+              final EntityTag entityTag,
+              final long expiresAt) {
+            this.uri = uri;
+            this.status = status;
+            this.headers = headers;
+            this.entity = entity;
+            this.entityTag = entityTag;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final int maxEntries;
+    // guarded by "this"
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(16, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Create new response cache store.
+     *
+     * @param maxEntries maximal number of cached responses.
+     */
+    public ResponseCacheStore(final int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Get the cached response that has not expired yet.
+     *
+     * @param key cache key.
+     * @param now current time in milliseconds.
+     * @return cached response or {@code null} if not available.
+     */
+    synchronized Entry get(final String key, final long now) {
+        final Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt <= now) {
+            entries.remove(key);
+            evictions.incrementAndGet();
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Store the response, evicting the least recently used responses if the cache is full.
+     *
+     * @param key   cache key.
+     * @param entry cached response.
+     */
+    synchronized void put(final String key, final Entry entry) {
+        entries.put(key, entry);
+        final Iterator<Entry> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries) {
+            eldest.next();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    void hit() {
+        hits.incrementAndGet();
+    }
+
+    void miss() {
+        misses.incrementAndGet();
+    }
+
+    void notModified() {
+        notModified.incrementAndGet();
+    }
+
+    @Override
+    public void invalidate(final URI requestUri) {
+        final String uri = requestUri.toString();
+        final boolean anyQuery = requestUri.getRawQuery() == null;
+
+        synchronized (this) {
+            final Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                final String cached = iterator.next().uri;
+                if (cached.equals(uri) || (anyQuery && cached.startsWith(uri) && cached.charAt(uri.length()) == '?')) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    @Override
+    public long getNotModifiedCount() {
+        return notModified.get();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+}
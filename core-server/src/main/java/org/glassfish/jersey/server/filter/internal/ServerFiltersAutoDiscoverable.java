@@ -47,7 +47,9 @@ import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.FeatureContext;
 
 import org.glassfish.jersey.internal.spi.AutoDiscoverable;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.filter.RangeRequestFeature;
 import org.glassfish.jersey.server.filter.UriConnegFilter;
 
 /**
@@ -71,5 +73,11 @@ public final class ServerFiltersAutoDiscoverable implements AutoDiscoverable {
                 && (languageMappings != null || mediaTypesMappings != null)) {
             context.register(UriConnegFilter.class);
         }
+
+        // RangeRequestFeature.
+        if (!config.isRegistered(RangeRequestFeature.class)
+                && !PropertiesHelper.isProperty(config.getProperties(), ServerProperties.RANGE_REQUESTS_DISABLE)) {
+            context.register(RangeRequestFeature.class);
+        }
     }
 }
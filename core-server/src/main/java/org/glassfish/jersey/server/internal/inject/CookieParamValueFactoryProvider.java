@@ -50,6 +50,7 @@ import javax.inject.Singleton;
 
 import org.glassfish.jersey.internal.inject.ExtractorException;
 import org.glassfish.jersey.internal.util.collection.MultivaluedStringMap;
+import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ParamException;
 import org.glassfish.jersey.server.model.Parameter;
 
@@ -78,7 +79,7 @@ final class CookieParamValueFactoryProvider extends AbstractValueFactoryProvider
         }
     }
 
-    private static final class CookieParamValueFactory extends AbstractContainerRequestValueFactory<Object> {
+    private static final class CookieParamValueFactory extends AbstractRequestValueFactory<Object> {
 
         private final MultivaluedParameterExtractor<?> extractor;
 
@@ -87,11 +88,11 @@ final class CookieParamValueFactoryProvider extends AbstractValueFactoryProvider
         }
 
         @Override
-        public Object provide() {
+        public Object provide(final ContainerRequest request) {
             // TODO: cache?
             MultivaluedMap<String, String> cookies = new MultivaluedStringMap();
 
-            for (Map.Entry<String, Cookie> e : getContainerRequest().getCookies().entrySet()) {
+            for (Map.Entry<String, Cookie> e : request.getCookies().entrySet()) {
                 cookies.putSingle(e.getKey(), e.getValue().getValue());
             }
 
@@ -104,7 +105,7 @@ final class CookieParamValueFactoryProvider extends AbstractValueFactoryProvider
         }
     }
 
-    private static final class CookieTypeParamValueFactory extends AbstractContainerRequestValueFactory<Cookie> {
+    private static final class CookieTypeParamValueFactory extends AbstractRequestValueFactory<Cookie> {
 
         private final String name;
 
@@ -113,8 +114,8 @@ final class CookieParamValueFactoryProvider extends AbstractValueFactoryProvider
         }
 
         @Override
-        public Cookie provide() {
-            return getContainerRequest().getCookies().get(name);
+        public Cookie provide(final ContainerRequest request) {
+            return request.getCookies().get(name);
         }
     }
 
@@ -45,6 +45,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import org.glassfish.jersey.internal.inject.ExtractorException;
+import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ParamException;
 import org.glassfish.jersey.server.model.Parameter;
 
@@ -73,7 +74,7 @@ final class HeaderParamValueFactoryProvider extends AbstractValueFactoryProvider
         }
     }
 
-    private static final class HeaderParamValueFactory extends AbstractContainerRequestValueFactory<Object> {
+    private static final class HeaderParamValueFactory extends AbstractRequestValueFactory<Object> {
 
         private final MultivaluedParameterExtractor<?> extractor;
 
@@ -82,9 +83,9 @@ final class HeaderParamValueFactoryProvider extends AbstractValueFactoryProvider
         }
 
         @Override
-        public Object provide() {
+        public Object provide(final ContainerRequest request) {
             try {
-                return extractor.extract(getContainerRequest().getHeaders());
+                return extractor.extract(request.getHeaders());
             } catch (ExtractorException e) {
                 throw new ParamException.HeaderParamException(e.getCause(),
                         extractor.getName(), extractor.getDefaultValueString());
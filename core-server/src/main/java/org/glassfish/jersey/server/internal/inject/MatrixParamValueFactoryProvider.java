@@ -48,6 +48,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import org.glassfish.jersey.internal.inject.ExtractorException;
+import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ParamException;
 import org.glassfish.jersey.server.model.Parameter;
 
@@ -76,7 +77,7 @@ final class MatrixParamValueFactoryProvider extends AbstractValueFactoryProvider
         }
     }
 
-    private static final class MatrixParamValueFactory extends AbstractContainerRequestValueFactory<Object> {
+    private static final class MatrixParamValueFactory extends AbstractRequestValueFactory<Object> {
 
         private final MultivaluedParameterExtractor<?> extractor;
         private final boolean decode;
@@ -87,8 +88,8 @@ final class MatrixParamValueFactoryProvider extends AbstractValueFactoryProvider
         }
 
         @Override
-        public Object provide() {
-            List<PathSegment> l = getContainerRequest().getUriInfo().getPathSegments(decode);
+        public Object provide(final ContainerRequest request) {
+            List<PathSegment> l = request.getUriInfo().getPathSegments(decode);
             PathSegment p = l.get(l.size() - 1);
             try {
                 return extractor.extract(p.getMatrixParameters());
@@ -50,6 +50,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import org.glassfish.jersey.internal.inject.ExtractorException;
+import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ParamException.PathParamException;
 import org.glassfish.jersey.server.model.Parameter;
 
@@ -77,7 +78,7 @@ final class PathParamValueFactoryProvider extends AbstractValueFactoryProvider {
         }
     }
 
-    private static final class PathParamValueFactory extends AbstractContainerRequestValueFactory<Object> {
+    private static final class PathParamValueFactory extends AbstractRequestValueFactory<Object> {
 
         private final MultivaluedParameterExtractor<?> extractor;
         private final boolean decode;
@@ -88,16 +89,16 @@ final class PathParamValueFactoryProvider extends AbstractValueFactoryProvider {
         }
 
         @Override
-        public Object provide() {
+        public Object provide(final ContainerRequest request) {
             try {
-                return extractor.extract(getContainerRequest().getUriInfo().getPathParameters(decode));
+                return extractor.extract(request.getUriInfo().getPathParameters(decode));
             } catch (ExtractorException e) {
                 throw new PathParamException(e.getCause(), extractor.getName(), extractor.getDefaultValueString());
             }
         }
     }
 
-    private static final class PathParamPathSegmentValueFactory extends AbstractContainerRequestValueFactory<PathSegment> {
+    private static final class PathParamPathSegmentValueFactory extends AbstractRequestValueFactory<PathSegment> {
 
         private final String name;
         private final boolean decode;
@@ -108,8 +109,8 @@ final class PathParamValueFactoryProvider extends AbstractValueFactoryProvider {
         }
 
         @Override
-        public PathSegment provide() {
-            List<PathSegment> ps = getContainerRequest().getUriInfo().getPathSegments(name, decode);
+        public PathSegment provide(final ContainerRequest request) {
+            List<PathSegment> ps = request.getUriInfo().getPathSegments(name, decode);
             if (ps.isEmpty()) {
                 return null;
             }
@@ -118,7 +119,7 @@ final class PathParamValueFactoryProvider extends AbstractValueFactoryProvider {
     }
 
     private static final class PathParamListPathSegmentValueFactory
-            extends AbstractContainerRequestValueFactory<List<PathSegment>> {
+            extends AbstractRequestValueFactory<List<PathSegment>> {
 
         private final String name;
         private final boolean decode;
@@ -129,8 +130,8 @@ final class PathParamValueFactoryProvider extends AbstractValueFactoryProvider {
         }
 
         @Override
-        public List<PathSegment> provide() {
-            return getContainerRequest().getUriInfo().getPathSegments(name, decode);
+        public List<PathSegment> provide(final ContainerRequest request) {
+            return request.getUriInfo().getPathSegments(name, decode);
         }
     }
 
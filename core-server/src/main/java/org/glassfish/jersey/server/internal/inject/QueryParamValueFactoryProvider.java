@@ -45,6 +45,7 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import org.glassfish.jersey.internal.inject.ExtractorException;
+import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ParamException;
 import org.glassfish.jersey.server.model.Parameter;
 
@@ -73,7 +74,7 @@ final class QueryParamValueFactoryProvider extends AbstractValueFactoryProvider
         }
     }
 
-    private static final class QueryParamValueFactory extends AbstractContainerRequestValueFactory<Object> {
+    private static final class QueryParamValueFactory extends AbstractRequestValueFactory<Object> {
 
         private final MultivaluedParameterExtractor<?> extractor;
         private final boolean decode;
@@ -84,9 +85,9 @@ final class QueryParamValueFactoryProvider extends AbstractValueFactoryProvider
         }
 
         @Override
-        public Object provide() {
+        public Object provide(final ContainerRequest request) {
             try {
-                return extractor.extract(getContainerRequest().getUriInfo().getQueryParameters(decode));
+                return extractor.extract(request.getUriInfo().getQueryParameters(decode));
             } catch (ExtractorException e) {
                 throw new ParamException.QueryParamException(e.getCause(),
                         extractor.getName(), extractor.getDefaultValueString());
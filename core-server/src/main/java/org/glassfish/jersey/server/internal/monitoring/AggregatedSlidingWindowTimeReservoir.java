@@ -73,14 +73,32 @@ class AggregatedSlidingWindowTimeReservoir extends AbstractSlidingWindowTimeRese
         notifier.register(this);
     }
 
+    /**
+     * Creates an aggregated sliding window reservoir that is updated with the aggregated data directly rather than by an
+     * aggregating trimmer.
+     *
+     * @param window The time size of the window
+     * @param windowUnit The unit of the window size
+     * @param startTime The start time from when to calculate the statistics
+     * @param startTimeUnit The unit of the start time
+     */
+    public AggregatedSlidingWindowTimeReservoir(
+            final long window,
+            final TimeUnit windowUnit,
+            final long startTime,
+            final TimeUnit startTimeUnit) {
+        super(window, windowUnit, startTime, startTimeUnit);
+        this.notifier = null;
+    }
+
     @Override
     protected UniformTimeSnapshot snapshot(final Collection<AggregatedValueObject> values,
                                            final long timeInterval,
                                            final TimeUnit timeIntervalUnit,
                                            final long time,
                                            final TimeUnit timeUnit) {
-        final UniformTimeSnapshot notTrimmedMeasurementsSnapshot = notifier.getTimeReservoirNotifier()
-                .getSnapshot(time, timeUnit);
+        final UniformTimeSnapshot notTrimmedMeasurementsSnapshot = notifier == null
+                ? null : notifier.getTimeReservoirNotifier().getSnapshot(time, timeUnit);
 
         AggregatedValueObject[] arrayValues = new AggregatedValueObject[values.size()];
         arrayValues = values.toArray(arrayValues);
@@ -95,7 +113,7 @@ class AggregatedSlidingWindowTimeReservoir extends AbstractSlidingWindowTimeRese
             count += value.getCount();
             meanNumerator += value.getCount() * value.getMean();
         }
-        if (notTrimmedMeasurementsSnapshot.size() > 0) {
+        if (notTrimmedMeasurementsSnapshot != null && notTrimmedMeasurementsSnapshot.size() > 0) {
             min = Math.min(min, notTrimmedMeasurementsSnapshot.getMin());
             max = Math.max(max, notTrimmedMeasurementsSnapshot.getMax());
             count += notTrimmedMeasurementsSnapshot.size();
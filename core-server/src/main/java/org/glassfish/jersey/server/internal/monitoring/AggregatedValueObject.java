@@ -102,6 +102,23 @@ class AggregatedValueObject {
         return createFromValues(mergedCollection);
     }
 
+    /**
+     * Creates aggregated value object from already aggregated measurements.
+     *
+     * @param max   The maximum of the measurements.
+     * @param min   The minimum of the measurements.
+     * @param mean  The mean of the measurements.
+     * @param count The number of the measurements; must be positive.
+     * @return Aggregated value object for provided arguments.
+     */
+    public static AggregatedValueObject createFromAggregate(final long max, final long min, final double mean,
+                                                            final long count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("The count must be positive");
+        }
+        return new AggregatedValueObject(max, min, mean, count);
+    }
+
     /**
      * @return The maximum value of the aggregated data
      */
@@ -40,6 +40,7 @@
 
 package org.glassfish.jersey.server.internal.monitoring;
 
+import java.util.Map;
 import java.util.Set;
 
 import org.glassfish.jersey.server.ResourceConfig;
@@ -59,6 +60,7 @@ public class ApplicationEventImpl implements ApplicationEvent {
     private final Set<Class<?>> registeredClasses;
     private final Set<Object> registeredInstances;
     private final ResourceModel resourceModel;
+    private final Map<InitializationPhase, Long> initializationPhaseTimes;
 
     /**
      * Create a new application event.
@@ -69,16 +71,19 @@ public class ApplicationEventImpl implements ApplicationEvent {
      * @param resourceModel Resource model of the application (enhanced by
      *                      {@link org.glassfish.jersey.server.model.ModelProcessor model processors}).
      * @param providers Registered providers.
+     * @param initializationPhaseTimes Durations of the initialization phases in nanoseconds.
      */
     public ApplicationEventImpl(Type type, ResourceConfig resourceConfig,
                                 Set<Class<?>> providers, Set<Class<?>> registeredClasses,
-                                Set<Object> registeredInstances, ResourceModel resourceModel) {
+                                Set<Object> registeredInstances, ResourceModel resourceModel,
+                                Map<InitializationPhase, Long> initializationPhaseTimes) {
         this.type = type;
         this.resourceConfig = resourceConfig;
         this.providers = providers;
         this.registeredClasses = registeredClasses;
         this.registeredInstances = registeredInstances;
         this.resourceModel = resourceModel;
+        this.initializationPhaseTimes = initializationPhaseTimes;
     }
 
     @Override
@@ -110,4 +115,9 @@ public class ApplicationEventImpl implements ApplicationEvent {
     public ResourceModel getResourceModel() {
         return resourceModel;
     }
+
+    @Override
+    public Map<InitializationPhase, Long> getInitializationPhaseTimes() {
+        return initializationPhaseTimes;
+    }
 }
@@ -41,9 +41,11 @@
 package org.glassfish.jersey.server.internal.monitoring;
 
 import java.util.Date;
+import java.util.Map;
 import java.util.Set;
 
 import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
 import org.glassfish.jersey.server.monitoring.ApplicationInfo;
 
 /**
@@ -58,6 +60,7 @@ final class ApplicationInfoImpl implements ApplicationInfo {
     private final Set<Class<?>> registeredClasses;
     private final Set<Object> registeredInstances;
     private final Set<Class<?>> providers;
+    private final Map<ApplicationEvent.InitializationPhase, Long> initializationPhaseTimes;
 
     /**
      * Create a new application statistics instance.
@@ -67,15 +70,18 @@ final class ApplicationInfoImpl implements ApplicationInfo {
      * @param registeredClasses Registered resource classes.
      * @param registeredInstances Registered resource instances.
      * @param providers Registered providers.
+     * @param initializationPhaseTimes Durations of the initialization phases in nanoseconds.
      */
     ApplicationInfoImpl(final ResourceConfig resourceConfig, final Date startTime, final Set<Class<?>> registeredClasses,
-                        final Set<Object> registeredInstances, final Set<Class<?>> providers) {
+                        final Set<Object> registeredInstances, final Set<Class<?>> providers,
+                        final Map<ApplicationEvent.InitializationPhase, Long> initializationPhaseTimes) {
         this.resourceConfig = resourceConfig;
         this.startTime = startTime;
 
         this.registeredClasses = registeredClasses;
         this.registeredInstances = registeredInstances;
         this.providers = providers;
+        this.initializationPhaseTimes = initializationPhaseTimes;
     }
 
     @Override
@@ -103,6 +109,11 @@ final class ApplicationInfoImpl implements ApplicationInfo {
         return providers;
     }
 
+    @Override
+    public Map<ApplicationEvent.InitializationPhase, Long> getInitializationPhaseTimes() {
+        return initializationPhaseTimes;
+    }
+
     @Override
     public ApplicationInfo snapshot() {
         // snapshot functionality not yet implemented
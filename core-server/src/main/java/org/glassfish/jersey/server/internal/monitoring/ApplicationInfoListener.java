@@ -88,7 +88,7 @@ public final class ApplicationInfoListener implements ApplicationEventListener {
         final long now = System.currentTimeMillis();
         final ApplicationInfo applicationInfo = new ApplicationInfoImpl(event.getResourceConfig(),
                 new Date(now), event.getRegisteredClasses(),
-                event.getRegisteredInstances(), event.getProviders());
+                event.getRegisteredInstances(), event.getProviders(), event.getInitializationPhaseTimes());
         applicationInfoRefProvider.get().set(applicationInfo);
     }
 
@@ -0,0 +1,173 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.monitoring;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Immutable aggregate of execution durations recorded within an interval. Besides the number, sum, minimum and maximum
+ * of the durations it keeps a sparse histogram of the durations in the bucket layout of {@link HistogramTimeReservoir}
+ * and the start time of the last recorded execution.
+ */
+final class DurationHistogram {
+
+    private final long lastStartTime;
+    private final long count;
+    private final long sum;
+    private final long min;
+    private final long max;
+    private final int[] bucketIndexes;
+    private final long[] bucketCounts;
+
+    /**
+     * Create a new duration histogram.
+     *
+     * @param lastStartTime start time of the last recorded execution (Unix timestamp format).
+     * @param sum           sum of the recorded durations.
+     * @param min           minimal recorded duration.
+     * @param max           maximal recorded duration.
+     * @param bucketIndexes indexes of the non-empty histogram buckets.
+     * @param bucketCounts  number of durations in the buckets at the respective {@code bucketIndexes}.
+     */
+    DurationHistogram(final long lastStartTime, final long sum, final long min, final long max,
+                      final int[] bucketIndexes, final long[] bucketCounts) {
+        long total = 0;
+        for (final long bucketCount : bucketCounts) {
+            total += bucketCount;
+        }
+
+        this.lastStartTime = lastStartTime;
+        this.count = total;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+        this.bucketIndexes = bucketIndexes;
+        this.bucketCounts = bucketCounts;
+    }
+
+    /**
+     * Create a histogram of a single execution.
+     *
+     * @param startTime start time of the execution (Unix timestamp format).
+     * @param duration  duration of the execution.
+     * @return duration histogram.
+     */
+    static DurationHistogram of(final long startTime, final long duration) {
+        final long value = HistogramTimeReservoir.trackableValue(duration);
+        return new DurationHistogram(startTime, value, value, value,
+                new int[] {HistogramTimeReservoir.bucketIndex(value)}, new long[] {1});
+    }
+
+    /**
+     * Get the start time of the last recorded execution.
+     *
+     * @return start time (Unix timestamp format).
+     */
+    long getLastStartTime() {
+        return lastStartTime;
+    }
+
+    /**
+     * Get the number of recorded durations.
+     *
+     * @return number of durations.
+     */
+    long getCount() {
+        return count;
+    }
+
+    /**
+     * Get the sum of recorded durations.
+     *
+     * @return sum of durations.
+     */
+    long getSum() {
+        return sum;
+    }
+
+    /**
+     * Get the minimal recorded duration.
+     *
+     * @return minimal duration.
+     */
+    long getMin() {
+        return min;
+    }
+
+    /**
+     * Get the maximal recorded duration.
+     *
+     * @return maximal duration.
+     */
+    long getMax() {
+        return max;
+    }
+
+    /**
+     * Add the bucket counts of this histogram to the given dense bucket counts.
+     *
+     * @param counts bucket counts indexed by the bucket index.
+     */
+    void addTo(final long[] counts) {
+        for (int i = 0; i < bucketIndexes.length; i++) {
+            counts[bucketIndexes[i]] += bucketCounts[i];
+        }
+    }
+
+    /**
+     * Add the bucket counts of this histogram to the given dense bucket counts.
+     *
+     * @param counts bucket counts indexed by the bucket index.
+     */
+    void addTo(final AtomicLongArray counts) {
+        for (int i = 0; i < bucketIndexes.length; i++) {
+            counts.addAndGet(bucketIndexes[i], bucketCounts[i]);
+        }
+    }
+
+    /**
+     * Get the aggregated value of the recorded durations without the histogram.
+     *
+     * @return aggregated value.
+     */
+    AggregatedValueObject toAggregatedValue() {
+        return AggregatedValueObject.createFromAggregate(max, min, (double) sum / count, count);
+    }
+}
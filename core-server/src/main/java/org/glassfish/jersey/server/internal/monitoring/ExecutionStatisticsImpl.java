@@ -40,10 +40,12 @@
 
 package org.glassfish.jersey.server.internal.monitoring;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -74,8 +76,10 @@ final class ExecutionStatisticsImpl implements ExecutionStatistics {
     static class Builder {
 
         private volatile long lastStartTime;
+        private final HistogramTimeReservoir infiniteIntervalReservoir;
+        private final HistogramSlidingWindowTimeReservoir oneSecondIntervalReservoir;
+        private final Collection<AggregatedSlidingWindowTimeReservoir> aggregatedIntervalReservoirs;
         private final Map<Long, TimeWindowStatisticsImpl.Builder> intervalStatistics;
-        private final Collection<TimeWindowStatisticsImpl.Builder<Long>> updatableIntervalStatistics;
 
         /**
          * Create a new builder.
@@ -83,43 +87,42 @@ final class ExecutionStatisticsImpl implements ExecutionStatistics {
         @SuppressWarnings("MagicNumber")
         public Builder() {
             final long nowMillis = System.currentTimeMillis();
-            final AggregatingTrimmer trimmer = new AggregatingTrimmer(nowMillis, TimeUnit.MILLISECONDS, 1, TimeUnit.SECONDS);
-            final TimeWindowStatisticsImpl.Builder<Long> oneSecondIntervalWindowBuilder =
-                    new TimeWindowStatisticsImpl.Builder<>(
-                            new SlidingWindowTimeReservoir(1, TimeUnit.SECONDS, nowMillis, TimeUnit.MILLISECONDS, trimmer));
-            final TimeWindowStatisticsImpl.Builder<Long> infiniteIntervalWindowBuilder =
-                    new TimeWindowStatisticsImpl.Builder<>(new UniformTimeReservoir(nowMillis, TimeUnit.MILLISECONDS));
-
-            this.updatableIntervalStatistics = ImmutableList.of(infiniteIntervalWindowBuilder, oneSecondIntervalWindowBuilder);
+            this.infiniteIntervalReservoir = new HistogramTimeReservoir(nowMillis, TimeUnit.MILLISECONDS);
+            this.oneSecondIntervalReservoir = new HistogramSlidingWindowTimeReservoir(1, TimeUnit.SECONDS, nowMillis,
+                    TimeUnit.MILLISECONDS);
 
             // create unmodifiable map to ensure that an iteration in the build() won't have multi-threading issues
             final HashMap<Long, TimeWindowStatisticsImpl.Builder> tmpIntervalStatistics = new HashMap<>(6);
-            // Add approximate infinite time window builder
-            tmpIntervalStatistics.put(0L, infiniteIntervalWindowBuilder);
-            // Add precise 1 second time window builder
-            tmpIntervalStatistics.put(TimeUnit.SECONDS.toMillis(1), oneSecondIntervalWindowBuilder);
+            final List<AggregatedSlidingWindowTimeReservoir> tmpAggregatedReservoirs = new ArrayList<>(4);
+            // Add infinite time window builder backed by a histogram
+            tmpIntervalStatistics.put(0L, new TimeWindowStatisticsImpl.Builder<>(infiniteIntervalReservoir));
+            // Add 1 second time window builder backed by histograms of the recorded intervals
+            tmpIntervalStatistics.put(TimeUnit.SECONDS.toMillis(1),
+                    new TimeWindowStatisticsImpl.Builder<>(oneSecondIntervalReservoir));
             // Add aggregated 15 seconds time window builder
-            addAggregatedInterval(tmpIntervalStatistics, nowMillis, 15, TimeUnit.SECONDS, trimmer);
+            addAggregatedInterval(tmpIntervalStatistics, tmpAggregatedReservoirs, nowMillis, 15, TimeUnit.SECONDS);
             // Add aggregated 1 minute time window builder
-            addAggregatedInterval(tmpIntervalStatistics, nowMillis, 1, TimeUnit.MINUTES, trimmer);
+            addAggregatedInterval(tmpIntervalStatistics, tmpAggregatedReservoirs, nowMillis, 1, TimeUnit.MINUTES);
             // Add aggregated 15 minutes time window builder
-            addAggregatedInterval(tmpIntervalStatistics, nowMillis, 15, TimeUnit.MINUTES, trimmer);
+            addAggregatedInterval(tmpIntervalStatistics, tmpAggregatedReservoirs, nowMillis, 15, TimeUnit.MINUTES);
             // Add aggregated 1 hour time window builder
-            addAggregatedInterval(tmpIntervalStatistics, nowMillis, 1, TimeUnit.HOURS, trimmer);
+            addAggregatedInterval(tmpIntervalStatistics, tmpAggregatedReservoirs, nowMillis, 1, TimeUnit.HOURS);
 
             this.intervalStatistics = Collections.unmodifiableMap(tmpIntervalStatistics);
+            this.aggregatedIntervalReservoirs = ImmutableList.copyOf(tmpAggregatedReservoirs);
         }
 
         private static void addAggregatedInterval(
                 final Map<Long, TimeWindowStatisticsImpl.Builder> intervalStatisticsMap,
+                final List<AggregatedSlidingWindowTimeReservoir> aggregatedReservoirs,
                 final long nowMillis,
                 final long interval,
-                final TimeUnit timeUnit,
-                final AggregatingTrimmer notifier) {
+                final TimeUnit timeUnit) {
             final long intervalInMillis = timeUnit.toMillis(interval);
-            intervalStatisticsMap.put(intervalInMillis, new TimeWindowStatisticsImpl.Builder<>(
-                    new AggregatedSlidingWindowTimeReservoir(intervalInMillis, TimeUnit.MILLISECONDS, nowMillis,
-                            TimeUnit.MILLISECONDS, notifier)));
+            final AggregatedSlidingWindowTimeReservoir reservoir = new AggregatedSlidingWindowTimeReservoir(
+                    intervalInMillis, TimeUnit.MILLISECONDS, nowMillis, TimeUnit.MILLISECONDS);
+            aggregatedReservoirs.add(reservoir);
+            intervalStatisticsMap.put(intervalInMillis, new TimeWindowStatisticsImpl.Builder<>(reservoir));
         }
 
         /**
@@ -129,11 +132,26 @@ final class ExecutionStatisticsImpl implements ExecutionStatistics {
          * @param duration  Duration of an execution event in milliseconds.
          */
         void addExecution(final long startTime, final long duration) {
-            for (final TimeWindowStatisticsImpl.Builder<Long> statBuilder : updatableIntervalStatistics) {
-                statBuilder.addRequest(startTime, duration);
+            addExecutions(DurationHistogram.of(startTime, duration));
+        }
+
+        /**
+         * Add executions of a target recorded within an interval. The executions are bound to the start time
+         * of the last recorded execution.
+         *
+         * @param executions Durations of the executions in milliseconds.
+         */
+        void addExecutions(final DurationHistogram executions) {
+            final long time = executions.getLastStartTime();
+
+            infiniteIntervalReservoir.merge(executions);
+            oneSecondIntervalReservoir.update(executions, time, TimeUnit.MILLISECONDS);
+            final AggregatedValueObject aggregatedExecutions = executions.toAggregatedValue();
+            for (final AggregatedSlidingWindowTimeReservoir reservoir : aggregatedIntervalReservoirs) {
+                reservoir.update(aggregatedExecutions, time, TimeUnit.MILLISECONDS);
             }
 
-            this.lastStartTime = startTime;
+            this.lastStartTime = time;
         }
 
         /**
@@ -0,0 +1,90 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.monitoring;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sliding window time reservoir of {@link DurationHistogram duration histograms}. The snapshot merges the histograms
+ * in the window, therefore it provides quantiles with the precision of {@link HistogramTimeReservoir} in addition to
+ * the exact minimum, maximum and mean.
+ */
+class HistogramSlidingWindowTimeReservoir extends AbstractSlidingWindowTimeReservoir<DurationHistogram> {
+
+    /**
+     * Creates a new histogram sliding window reservoir.
+     *
+     * @param window        The time size of the window
+     * @param windowUnit    The unit of the window size
+     * @param startTime     The start time from when to calculate the statistics
+     * @param startTimeUnit The unit of the start time
+     */
+    public HistogramSlidingWindowTimeReservoir(final long window,
+                                               final TimeUnit windowUnit,
+                                               final long startTime,
+                                               final TimeUnit startTimeUnit) {
+        super(window, windowUnit, startTime, startTimeUnit);
+    }
+
+    @Override
+    UniformTimeSnapshot snapshot(final Collection<DurationHistogram> values,
+                                 final long timeInterval,
+                                 final TimeUnit timeIntervalUnit,
+                                 final long time,
+                                 final TimeUnit timeUnit) {
+        final long[] counts = new long[HistogramTimeReservoir.BUCKET_COUNT];
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        long count = 0;
+        long sum = 0;
+
+        for (final DurationHistogram value : values) {
+            value.addTo(counts);
+            min = Math.min(min, value.getMin());
+            max = Math.max(max, value.getMax());
+            count += value.getCount();
+            sum += value.getSum();
+        }
+
+        return new HistogramTimeReservoir.HistogramTimeSnapshot(counts, count, min, max,
+                count == 0 ? 0 : (double) sum / count, timeInterval, timeIntervalUnit);
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.monitoring;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A time reservoir backed by a log-linear histogram of a stream of non-negative {@code long}s that keeps all the values
+ * recorded since the reservoir was created. The histogram uses a fixed number of buckets, therefore the memory is
+ * bounded and recording a value is a constant time operation. Values smaller than {@value #SUB_BUCKET_COUNT} are
+ * counted exactly; greater values are counted with the relative error lower than {@code 1 / }{@value #SUB_BUCKET_COUNT}.
+ * The minimum, maximum and mean of the recorded values are tracked exactly. A snapshot of an empty reservoir reports
+ * {@code -1} as its minimum, maximum and quantile values.
+ *
+ * @see <a href="http://hdrhistogram.org/">HdrHistogram</a>
+ */
+class HistogramTimeReservoir implements TimeReservoir<Long> {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Values greater than this one (about 2 years in milliseconds) are recorded as this value.
+     */
+    static final long MAX_TRACKABLE_VALUE = (1L << 36) - 1;
+
+    /**
+     * Number of the histogram buckets.
+     */
+    static final int BUCKET_COUNT = bucketIndex(MAX_TRACKABLE_VALUE) + 1;
+
+    private final long startTime;
+    private final TimeUnit startTimeUnit;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Creates a new {@code HistogramTimeReservoir} instance.
+     *
+     * @param startTime     The start time
+     * @param startTimeUnit The start time unit
+     */
+    HistogramTimeReservoir(final long startTime, final TimeUnit startTimeUnit) {
+        this.startTime = startTime;
+        this.startTimeUnit = startTimeUnit;
+    }
+
+    /**
+     * Limit the given value to the range of values the histogram is able to record.
+     *
+     * @param value recorded value.
+     * @return value in the range from {@code 0} to {@link #MAX_TRACKABLE_VALUE}.
+     */
+    static long trackableValue(final long value) {
+        return Math.min(Math.max(0, value), MAX_TRACKABLE_VALUE);
+    }
+
+    /**
+     * Get index of the bucket the given value belongs to.
+     *
+     * @param value non-negative value not greater than {@link #MAX_TRACKABLE_VALUE}.
+     * @return bucket index.
+     */
+    static int bucketIndex(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    /**
+     * Get the lowest value that belongs to the bucket of the given index.
+     *
+     * @param index bucket index.
+     * @return lowest value of the bucket.
+     */
+    static long lowestValue(final int index) {
+        return index == 0 ? 0 : highestValue(index - 1) + 1;
+    }
+
+    /**
+     * Get the highest value that belongs to the bucket of the given index.
+     *
+     * @param index bucket index.
+     * @return highest value of the bucket.
+     */
+    static long highestValue(final int index) {
+        final int shift = Math.max(0, (index >> SUB_BUCKET_BITS) - 1);
+        final long lowest = (long) (index - (shift << SUB_BUCKET_BITS)) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    @Override
+    public int size(final long time, final TimeUnit timeUnit) {
+        return (int) Math.min(Integer.MAX_VALUE, count.sum());
+    }
+
+    @Override
+    public void update(final Long value, final long time, final TimeUnit timeUnit) {
+        final long recorded = trackableValue(value);
+
+        buckets.incrementAndGet(bucketIndex(recorded));
+        sum.add(recorded);
+        count.increment();
+
+        updateMin(min, recorded);
+        updateMax(max, recorded);
+    }
+
+    /**
+     * Add all the durations of the given histogram to the reservoir.
+     *
+     * @param histogram duration histogram.
+     */
+    void merge(final DurationHistogram histogram) {
+        histogram.addTo(buckets);
+        sum.add(histogram.getSum());
+        count.add(histogram.getCount());
+
+        updateMin(min, histogram.getMin());
+        updateMax(max, histogram.getMax());
+    }
+
+    /**
+     * Lower the given minimum to the value if the value is smaller.
+     *
+     * @param min   minimum.
+     * @param value recorded value.
+     */
+    static void updateMin(final AtomicLong min, final long value) {
+        long current;
+        while (value < (current = min.get()) && !min.compareAndSet(current, value)) {
+            // retry
+        }
+    }
+
+    /**
+     * Raise the given maximum to the value if the value is greater.
+     *
+     * @param max   maximum.
+     * @param value recorded value.
+     */
+    static void updateMax(final AtomicLong max, final long value) {
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // retry
+        }
+    }
+
+    @Override
+    public UniformTimeSnapshot getSnapshot(final long time, final TimeUnit timeUnit) {
+        final long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        final long totalSum = sum.sum();
+        final long totalCount = count.sum();
+
+        return new HistogramTimeSnapshot(counts, total, min.get(), max.get(),
+                totalCount == 0 ? 0 : (double) totalSum / totalCount,
+                startTimeUnit.convert(time, timeUnit) - startTime, startTimeUnit);
+    }
+
+    @Override
+    public long interval(final TimeUnit timeUnit) {
+        // the histogram keeps all the recorded values - returns 0 for infinity
+        return 0;
+    }
+
+    /**
+     * Snapshot of the histogram buckets.
+     */
+    static final class HistogramTimeSnapshot extends AbstractTimeSnapshot {
+
+        private final long[] counts;
+        private final long size;
+        private final long min;
+        private final long max;
+        private final double mean;
+
+        /**
+         * Create a new snapshot.
+         *
+         * @param counts           bucket counts indexed by the bucket index.
+         * @param size             number of values in the snapshot.
+         * @param min              minimal value.
+         * @param max              maximal value.
+         * @param mean             mean of the values.
+         * @param timeInterval     time interval of the snapshot.
+         * @param timeIntervalUnit time interval unit.
+         */
+        HistogramTimeSnapshot(final long[] counts, final long size, final long min, final long max,
+                                      final double mean, final long timeInterval, final TimeUnit timeIntervalUnit) {
+            super(timeInterval, timeIntervalUnit);
+            this.counts = counts;
+            this.size = size;
+            this.min = size == 0 ? -1 : min;
+            this.max = size == 0 ? -1 : max;
+            this.mean = mean;
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public long getMax() {
+            return max;
+        }
+
+        @Override
+        public long getMin() {
+            return min;
+        }
+
+        @Override
+        public double getMean() {
+            return mean;
+        }
+
+        @Override
+        public double getValue(final double quantile) {
+            if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+                throw new IllegalArgumentException(quantile + " is not in [0..1] range");
+            }
+            if (size == 0) {
+                return -1;
+            }
+
+            final long rank = Math.max(1, (long) Math.ceil(quantile * size));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.max(min, Math.min(max, highestValue(i)));
+                }
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.monitoring;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.glassfish.jersey.server.monitoring.ApplicationEvent.InitializationPhase;
+
+/**
+ * Measures durations of the {@link InitializationPhase application initialization phases}.
+ * <p>
+ * The timer measures consecutive intervals: each {@link #phaseFinished(InitializationPhase)} call ends the
+ * interval started by the previous call (or by the creation of the timer) and attributes it to the given
+ * phase. Intervals attributed to the same phase are summed up. The timer is not thread-safe.
+ */
+public final class InitializationPhaseTimer {
+
+    private final Map<InitializationPhase, Long> times = new EnumMap<>(InitializationPhase.class);
+    private long intervalStart = System.nanoTime();
+
+    /**
+     * Attribute the time elapsed since the previous phase has finished to the given phase.
+     *
+     * @param phase finished initialization phase.
+     */
+    public void phaseFinished(final InitializationPhase phase) {
+        final long now = System.nanoTime();
+        final Long time = times.get(phase);
+        times.put(phase, (time == null ? 0L : time) + now - intervalStart);
+        intervalStart = now;
+    }
+
+    /**
+     * Get durations of the phases finished so far.
+     *
+     * @return immutable map of phase durations in nanoseconds.
+     */
+    public Map<InitializationPhase, Long> getTimes() {
+        return Collections.unmodifiableMap(new EnumMap<>(times));
+    }
+}
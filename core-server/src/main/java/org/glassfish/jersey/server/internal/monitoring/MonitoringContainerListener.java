@@ -93,7 +93,7 @@ public final class MonitoringContainerListener implements ContainerLifecycleList
         return new ApplicationEventImpl(type,
                 initFinishedEvent.getResourceConfig(), initFinishedEvent.getProviders(),
                 initFinishedEvent.getRegisteredClasses(), initFinishedEvent.getRegisteredInstances(),
-                initFinishedEvent.getResourceModel());
+                initFinishedEvent.getResourceModel(), initFinishedEvent.getInitializationPhaseTimes());
     }
 
     @Override
@@ -0,0 +1,392 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.monitoring;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.uri.UriTemplate;
+
+/**
+ * Lock-free accumulator of request monitoring data shared by request threads (producers) and the
+ * {@link MonitoringStatisticsProcessor} (single consumer).
+ * <p>
+ * Response status codes and exception mapper executions are counted in {@link LongAdder} counters and merged into
+ * the statistics builder as deltas. Request and resource method durations are recorded into lock-free duration
+ * recorders (a {@code LongAdder} sum and an atomic log-linear histogram per monitored target) kept for the whole
+ * application and for each executed resource method and matched URI. Recording a request neither allocates nor
+ * blocks and no request is ever dropped; the recorders are drained into {@link DurationHistogram duration histograms}
+ * of the past interval at snapshot time. The URI of an executed resource method is computed from the matched templates
+ * only when the resource method is executed for the first time with those templates.
+ * </p>
+ */
+final class MonitoringEventAccumulator {
+
+    private static final int MAX_INDEXED_STATUS = 1000;
+
+    private final DurationRecorder requestDurations = new DurationRecorder();
+    private final ConcurrentMap<ResourceMethod, ConcurrentMap<List<UriTemplate>, MethodDurations>> methodDurations =
+            new ConcurrentHashMap<>();
+
+    private final LongAdder[] statusCounters = new LongAdder[MAX_INDEXED_STATUS];
+    private final long[] drainedStatusCounts = new long[MAX_INDEXED_STATUS];
+    private final ConcurrentMap<Integer, LongAdder> otherStatusCounters = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> drainedOtherStatusCounts = new HashMap<>();
+    private volatile int lastStatus = -1;
+
+    private final ConcurrentMap<Class<?>, LongAdder> mapperExecutions = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Long> drainedMapperExecutions = new HashMap<>();
+    private final LongAdder successfulMappings = new LongAdder();
+    private final LongAdder failedMappings = new LongAdder();
+    private long drainedSuccessfulMappings;
+    private long drainedFailedMappings;
+
+    /**
+     * Create a new accumulator.
+     */
+    MonitoringEventAccumulator() {
+        for (int i = 0; i < MAX_INDEXED_STATUS; i++) {
+            statusCounters[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Record a finished request.
+     *
+     * @param requestStart     request start time (Unix timestamp format).
+     * @param requestDuration  request duration in milliseconds.
+     * @param method           executed resource method or {@code null} if no method was executed.
+     * @param methodStart      resource method start time (Unix timestamp format).
+     * @param methodDuration   resource method duration in milliseconds.
+     * @param matchedTemplates templates matched during the request in the order returned by
+     *                         {@link javax.ws.rs.core.UriInfo}; used to compute the request URI.
+     */
+    void recordRequest(final long requestStart, final long requestDuration,
+                       final ResourceMethod method, final long methodStart, final long methodDuration,
+                       final List<UriTemplate> matchedTemplates) {
+        requestDurations.record(requestStart, requestDuration);
+
+        if (method != null) {
+            final MethodDurations durations = getMethodDurations(method, matchedTemplates);
+            durations.method.record(methodStart, methodDuration);
+            durations.request.record(requestStart, requestDuration);
+        }
+    }
+
+    private MethodDurations getMethodDurations(final ResourceMethod method, final List<UriTemplate> matchedTemplates) {
+        ConcurrentMap<List<UriTemplate>, MethodDurations> byTemplates = methodDurations.get(method);
+        if (byTemplates == null) {
+            final ConcurrentMap<List<UriTemplate>, MethodDurations> newByTemplates = new ConcurrentHashMap<>(4);
+            byTemplates = methodDurations.putIfAbsent(method, newByTemplates);
+            if (byTemplates == null) {
+                byTemplates = newByTemplates;
+            }
+        }
+
+        MethodDurations durations = byTemplates.get(matchedTemplates);
+        if (durations == null) {
+            final MethodDurations newDurations = new MethodDurations(method, getRequestUri(matchedTemplates));
+            // the matched templates list is owned by the request
+            durations = byTemplates.putIfAbsent(new ArrayList<>(matchedTemplates), newDurations);
+            if (durations == null) {
+                durations = newDurations;
+            }
+        }
+        return durations;
+    }
+
+    /**
+     * Record a response status code written to the client.
+     *
+     * @param status response status code.
+     */
+    void recordResponseStatus(final int status) {
+        if (status >= 0 && status < MAX_INDEXED_STATUS) {
+            statusCounters[status].increment();
+        } else {
+            LongAdder counter = otherStatusCounters.get(status);
+            if (counter == null) {
+                final LongAdder newCounter = new LongAdder();
+                counter = otherStatusCounters.putIfAbsent(status, newCounter);
+                if (counter == null) {
+                    counter = newCounter;
+                }
+            }
+            counter.increment();
+        }
+        lastStatus = status;
+    }
+
+    /**
+     * Record a finished exception mapping.
+     *
+     * @param mapperClass        class of the exception mapper executed or {@code null} if no mapper was found.
+     * @param successfullyMapped {@code true} if the exception was successfully mapped to a response.
+     */
+    void recordExceptionMapping(final Class<?> mapperClass, final boolean successfullyMapped) {
+        if (mapperClass != null) {
+            LongAdder counter = mapperExecutions.get(mapperClass);
+            if (counter == null) {
+                final LongAdder newCounter = new LongAdder();
+                counter = mapperExecutions.putIfAbsent(mapperClass, newCounter);
+                if (counter == null) {
+                    counter = newCounter;
+                }
+            }
+            counter.increment();
+        }
+        (successfullyMapped ? successfulMappings : failedMappings).increment();
+    }
+
+    /**
+     * Merge all data recorded since the last call into the given statistics builder. Must be invoked
+     * by a single thread at a time.
+     *
+     * @param builder monitoring statistics builder.
+     */
+    void drainTo(final MonitoringStatisticsImpl.Builder builder) {
+        final DurationHistogram requests = requestDurations.drain();
+        if (requests != null) {
+            builder.addRequestExecutions(requests);
+        }
+        for (final ConcurrentMap<List<UriTemplate>, MethodDurations> byTemplates : methodDurations.values()) {
+            for (final MethodDurations durations : byTemplates.values()) {
+                durations.drainTo(builder);
+            }
+        }
+        drainResponseStatuses(builder);
+        drainExceptionMappings(builder.getExceptionMapperStatisticsBuilder());
+    }
+
+    private void drainResponseStatuses(final MonitoringStatisticsImpl.Builder builder) {
+        // the last status is merged as the very last one so that it is reported as the last response code
+        final int last = lastStatus;
+        long lastDelta = 0;
+
+        for (int status = 0; status < MAX_INDEXED_STATUS; status++) {
+            final long count = statusCounters[status].sum();
+            final long delta = count - drainedStatusCounts[status];
+            if (delta > 0) {
+                drainedStatusCounts[status] = count;
+                if (status == last) {
+                    lastDelta = delta;
+                } else {
+                    builder.addResponseCode(status, delta);
+                }
+            }
+        }
+        for (final Map.Entry<Integer, LongAdder> entry : otherStatusCounters.entrySet()) {
+            final Integer status = entry.getKey();
+            final long count = entry.getValue().sum();
+            final Long drained = drainedOtherStatusCounts.get(status);
+            final long delta = drained == null ? count : count - drained;
+            if (delta > 0) {
+                drainedOtherStatusCounts.put(status, count);
+                if (status == last) {
+                    lastDelta = delta;
+                } else {
+                    builder.addResponseCode(status, delta);
+                }
+            }
+        }
+
+        if (lastDelta > 0) {
+            builder.addResponseCode(last, lastDelta);
+        }
+    }
+
+    private void drainExceptionMappings(final ExceptionMapperStatisticsImpl.Builder mapperStats) {
+        for (final Map.Entry<Class<?>, LongAdder> entry : mapperExecutions.entrySet()) {
+            final long count = entry.getValue().sum();
+            final Long drained = drainedMapperExecutions.get(entry.getKey());
+            final long delta = drained == null ? count : count - drained;
+            if (delta > 0) {
+                drainedMapperExecutions.put(entry.getKey(), count);
+                mapperStats.addExceptionMapperExecution(entry.getKey(), (int) delta);
+            }
+        }
+
+        final long successful = successfulMappings.sum();
+        if (successful > drainedSuccessfulMappings) {
+            mapperStats.addMapping(true, (int) (successful - drainedSuccessfulMappings));
+            drainedSuccessfulMappings = successful;
+        }
+        final long failed = failedMappings.sum();
+        if (failed > drainedFailedMappings) {
+            mapperStats.addMapping(false, (int) (failed - drainedFailedMappings));
+            drainedFailedMappings = failed;
+        }
+    }
+
+    /**
+     * Durations of a resource method executed for a request URI.
+     */
+    private static final class MethodDurations {
+
+        private final ResourceMethod resourceMethod;
+        private final String uri;
+        private final DurationRecorder method = new DurationRecorder();
+        private final DurationRecorder request = new DurationRecorder();
+
+        private MethodDurations(final ResourceMethod resourceMethod, final String uri) {
+            this.resourceMethod = resourceMethod;
+            this.uri = uri;
+        }
+
+        private void drainTo(final MonitoringStatisticsImpl.Builder builder) {
+            final DurationHistogram methodExecutions = method.drain();
+            final DurationHistogram requestExecutions = request.drain();
+            if (methodExecutions != null || requestExecutions != null) {
+                builder.addExecutions(uri, resourceMethod, methodExecutions, requestExecutions);
+            }
+        }
+    }
+
+    /**
+     * Lock-free recorder of durations of a single monitored target. Producers record into a {@code LongAdder} sum,
+     * an atomic log-linear histogram with the bucket layout of {@link HistogramTimeReservoir} and atomic minimum and
+     * maximum; the consumer takes the histogram buckets over by resetting them and computes the count and sum of the
+     * drained durations as deltas.
+     */
+    private static final class DurationRecorder {
+
+        private final AtomicLongArray buckets = new AtomicLongArray(HistogramTimeReservoir.BUCKET_COUNT);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicLong lastStartTime = new AtomicLong();
+
+        private long drainedCount;
+        private long drainedSum;
+
+        private void record(final long startTime, final long duration) {
+            final long value = HistogramTimeReservoir.trackableValue(duration);
+
+            // minimum and maximum first, the consumer treats durations as recorded once they are in the histogram
+            HistogramTimeReservoir.updateMin(min, value);
+            HistogramTimeReservoir.updateMax(max, value);
+            buckets.incrementAndGet(HistogramTimeReservoir.bucketIndex(value));
+            sum.add(value);
+            lastStartTime.lazySet(startTime);
+            count.increment();
+        }
+
+        private DurationHistogram drain() {
+            // durations are counted only after they are added to the histogram, therefore all the durations
+            // counted so far are taken over by the pass over the buckets below
+            final long totalCount = count.sum();
+            if (totalCount == drainedCount) {
+                return null;
+            }
+            drainedCount = totalCount;
+
+            int[] bucketIndexes = new int[16];
+            long[] bucketCounts = new long[16];
+            int drained = 0;
+            for (int i = 0; i < HistogramTimeReservoir.BUCKET_COUNT; i++) {
+                if (buckets.get(i) != 0) {
+                    if (drained == bucketIndexes.length) {
+                        bucketIndexes = Arrays.copyOf(bucketIndexes, drained * 2);
+                        bucketCounts = Arrays.copyOf(bucketCounts, drained * 2);
+                    }
+                    bucketIndexes[drained] = i;
+                    bucketCounts[drained] = buckets.getAndSet(i, 0);
+                    drained++;
+                }
+            }
+            if (drained == 0) {
+                // durations counted since the last call were already taken over by the last call
+                return null;
+            }
+
+            final long totalSum = sum.sum();
+            final long intervalSum = totalSum - drainedSum;
+            drainedSum = totalSum;
+
+            // a duration racing with the drain may have been counted in the bounds of the previous interval
+            final long lowest = HistogramTimeReservoir.lowestValue(bucketIndexes[0]);
+            final long highest = HistogramTimeReservoir.highestValue(bucketIndexes[drained - 1]);
+            long intervalMin = min.getAndSet(Long.MAX_VALUE);
+            long intervalMax = max.getAndSet(Long.MIN_VALUE);
+            if (intervalMin > highest) {
+                intervalMin = lowest;
+            }
+            if (intervalMax < lowest) {
+                intervalMax = highest;
+            }
+
+            return new DurationHistogram(lastStartTime.get(), intervalSum, intervalMin, intervalMax,
+                    Arrays.copyOf(bucketIndexes, drained), Arrays.copyOf(bucketCounts, drained));
+        }
+    }
+
+    /**
+     * Compute the request URI from the matched templates.
+     *
+     * @param matchedTemplates matched templates in the order returned by {@link javax.ws.rs.core.UriInfo}.
+     * @return request URI template.
+     */
+    static String getRequestUri(final List<UriTemplate> matchedTemplates) {
+        final StringBuilder sb = new StringBuilder();
+
+        final ListIterator<UriTemplate> iterator = matchedTemplates.listIterator(matchedTemplates.size());
+        while (iterator.hasPrevious()) {
+            final UriTemplate uriTemplate = iterator.previous();
+            sb.append(uriTemplate.getTemplate());
+            if (!uriTemplate.endsWithSlash()) {
+                sb.append("/");
+            }
+            sb.setLength(sb.length() - 1);
+        }
+
+        return sb.toString();
+    }
+}
@@ -41,7 +41,6 @@
 package org.glassfish.jersey.server.internal.monitoring;
 
 import java.util.List;
-import java.util.Queue;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -57,13 +56,9 @@ import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
 import org.glassfish.jersey.server.monitoring.DestroyListener;
 import org.glassfish.jersey.server.monitoring.RequestEvent;
 import org.glassfish.jersey.server.monitoring.RequestEventListener;
-import org.glassfish.jersey.uri.UriTemplate;
 
 import org.glassfish.hk2.api.ServiceLocator;
 
-import jersey.repackaged.com.google.common.collect.Lists;
-import jersey.repackaged.com.google.common.collect.Queues;
-
 /**
  * {@link ApplicationEventListener application event listener} that listens to {@link ApplicationEvent application}
  * and {@link RequestEvent request} events and supplies data to {@link MonitoringStatisticsProcessor} which
@@ -84,113 +79,13 @@ import jersey.repackaged.com.google.common.collect.Queues;
 public final class MonitoringEventListener implements ApplicationEventListener {
 
     private static final Logger LOGGER = Logger.getLogger(MonitoringEventListener.class.getName());
-    private static final int EVENT_QUEUE_SIZE = 500_000;
 
     @Inject
     private ServiceLocator serviceLocator;
 
-    private final Queue<RequestStats> requestQueuedItems = Queues.newArrayBlockingQueue(EVENT_QUEUE_SIZE);
-    private final Queue<Integer> responseStatuses = Queues.newArrayBlockingQueue(EVENT_QUEUE_SIZE);
-    private final Queue<RequestEvent> exceptionMapperEvents = Queues.newArrayBlockingQueue(EVENT_QUEUE_SIZE);
+    private final MonitoringEventAccumulator eventAccumulator = new MonitoringEventAccumulator();
     private volatile MonitoringStatisticsProcessor monitoringStatisticsProcessor;
 
-    /**
-     * Time statistics.
-     */
-    static class TimeStats {
-
-        private final long duration;
-        private final long startTime;
-
-        private TimeStats(final long startTime, final long requestDuration) {
-            this.duration = requestDuration;
-            this.startTime = startTime;
-        }
-
-        /**
-         * Get duration.
-         *
-         * @return Duration in milliseconds.
-         */
-        long getDuration() {
-            return duration;
-        }
-
-        /**
-         * Get start time.
-         *
-         * @return Start time (Unix timestamp format).
-         */
-        long getStartTime() {
-            return startTime;
-        }
-    }
-
-    /**
-     * Method statistics.
-     */
-    static class MethodStats extends TimeStats {
-
-        private final ResourceMethod method;
-
-        private MethodStats(final ResourceMethod method, final long startTime, final long requestDuration) {
-            super(startTime, requestDuration);
-            this.method = method;
-        }
-
-        /**
-         * Get the resource method executed.
-         *
-         * @return resource method.
-         */
-        ResourceMethod getMethod() {
-            return method;
-        }
-    }
-
-    /**
-     * Request statistics.
-     */
-    static class RequestStats {
-
-        private final TimeStats requestStats;
-        private final MethodStats methodStats; // might be null if a method was not executed during a request
-        private final String requestUri;
-
-        private RequestStats(final TimeStats requestStats, final MethodStats methodStats, final String requestUri) {
-            this.requestStats = requestStats;
-            this.methodStats = methodStats;
-            this.requestUri = requestUri;
-        }
-
-        /**
-         * Get request statistics.
-         *
-         * @return request statistics.
-         */
-        TimeStats getRequestStats() {
-            return requestStats;
-        }
-
-        /**
-         * Get method statistics.
-         *
-         * @return method statistics.
-         */
-        MethodStats getMethodStats() {
-            return methodStats;
-        }
-
-        /**
-         * Get the request uri.
-         *
-         * @return request uri.
-         */
-        String getRequestUri() {
-            return requestUri;
-        }
-    }
-
     @Override
     public ReqEventListener onRequest(final RequestEvent requestEvent) {
         switch (requestEvent.getType()) {
@@ -244,7 +139,8 @@ public final class MonitoringEventListener implements ApplicationEventListener {
 
         private final long requestTimeStart;
         private volatile long methodTimeStart;
-        private volatile MethodStats methodStats;
+        private volatile long methodDuration;
+        private volatile ResourceMethod method;
 
         public ReqEventListener() {
             this.requestTimeStart = System.currentTimeMillis();
@@ -259,64 +155,32 @@ public final class MonitoringEventListener implements ApplicationEventListener {
                     this.methodTimeStart = now;
                     break;
                 case RESOURCE_METHOD_FINISHED:
-                    final ResourceMethod method = event.getUriInfo().getMatchedResourceMethod();
-                    methodStats = new MethodStats(method, methodTimeStart, now - methodTimeStart);
+                    this.methodDuration = now - methodTimeStart;
+                    this.method = event.getUriInfo().getMatchedResourceMethod();
                     break;
                 case EXCEPTION_MAPPING_FINISHED:
-                    if (!exceptionMapperEvents.offer(event)) {
-                        LOGGER.warning(LocalizationMessages.ERROR_MONITORING_QUEUE_MAPPER());
-                    }
+                    eventAccumulator.recordExceptionMapping(
+                            event.getExceptionMapper() == null ? null : event.getExceptionMapper().getClass(),
+                            event.isResponseSuccessfullyMapped());
                     break;
                 case FINISHED:
                     if (event.isResponseWritten()) {
-                        if (!responseStatuses.offer(event.getContainerResponse().getStatus())) {
-                            LOGGER.warning(LocalizationMessages.ERROR_MONITORING_QUEUE_RESPONSE());
-                        }
-                    }
-                    final StringBuilder sb = new StringBuilder();
-                    final List<UriTemplate> orderedTemplates = Lists.reverse(event.getUriInfo().getMatchedTemplates());
-
-                    for (final UriTemplate uriTemplate : orderedTemplates) {
-                        sb.append(uriTemplate.getTemplate());
-                        if (!uriTemplate.endsWithSlash()) {
-                            sb.append("/");
-                        }
-                        sb.setLength(sb.length() - 1);
+                        eventAccumulator.recordResponseStatus(event.getContainerResponse().getStatus());
                     }
 
-                    if (!requestQueuedItems.offer(new RequestStats(new TimeStats(requestTimeStart, now - requestTimeStart),
-                            methodStats, sb.toString()))) {
-                        LOGGER.warning(LocalizationMessages.ERROR_MONITORING_QUEUE_REQUEST());
-                    }
+                    eventAccumulator.recordRequest(requestTimeStart, now - requestTimeStart,
+                            method, methodTimeStart, methodDuration, event.getUriInfo().getMatchedTemplates());
 
             }
         }
     }
 
     /**
-     * Get the exception mapper event queue.
-     *
-     * @return Exception mapper event queue.
-     */
-    Queue<RequestEvent> getExceptionMapperEvents() {
-        return exceptionMapperEvents;
-    }
-
-    /**
-     * Get the request event queue.
-     *
-     * @return Request event queue.
-     */
-    Queue<RequestStats> getRequestQueuedItems() {
-        return requestQueuedItems;
-    }
-
-    /**
-     * Get the queue with response status codes.
+     * Get the accumulator of request monitoring data.
      *
-     * @return response status queue.
+     * @return monitoring event accumulator.
      */
-    Queue<Integer> getResponseStatuses() {
-        return responseStatuses;
+    MonitoringEventAccumulator getEventAccumulator() {
+        return eventAccumulator;
     }
 }
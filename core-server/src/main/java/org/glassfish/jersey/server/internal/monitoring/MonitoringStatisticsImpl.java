@@ -172,16 +172,15 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
         }
 
         /**
-         * Add global request execution.
+         * Add global request executions recorded within an interval.
          *
-         * @param startTime time of the execution.
-         * @param duration  duration of the execution.
+         * @param executions durations of the executions.
          */
-        void addRequestExecution(final long startTime, final long duration) {
+        void addRequestExecutions(final DurationHistogram executions) {
             if (executionStatisticsBuilder == null) {
                 executionStatisticsBuilder = new ExecutionStatisticsImpl.Builder();
             }
-            executionStatisticsBuilder.addExecution(startTime, duration);
+            executionStatisticsBuilder.addExecutions(executions);
         }
 
         /**
@@ -198,21 +197,37 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
         void addExecution(final String uri, final ResourceMethod resourceMethod,
                           final long methodTime, final long methodDuration,
                           final long requestTime, final long requestDuration) {
+            addExecutions(uri, resourceMethod, DurationHistogram.of(methodTime, methodDuration),
+                    DurationHistogram.of(requestTime, requestDuration));
+        }
+
+        /**
+         * Add executions of a resource method recorded within an interval.
+         *
+         * @param uri               String uri which was executed.
+         * @param resourceMethod    Resource method.
+         * @param methodExecutions  Durations of the resource method executions themselves or {@code null}
+         *                          if none were recorded.
+         * @param requestExecutions Durations of the whole processing of the requests matched to the resource method
+         *                          (from receiving the request until writing the response) or {@code null}
+         *                          if none were recorded.
+         */
+        void addExecutions(final String uri, final ResourceMethod resourceMethod,
+                           final DurationHistogram methodExecutions, final DurationHistogram requestExecutions) {
             // Uri resource stats.
             ResourceStatisticsImpl.Builder uriStatsBuilder = uriStatistics.get(uri);
             if (uriStatsBuilder == null) {
                 uriStatsBuilder = new ResourceStatisticsImpl.Builder(resourceMethod.getParent(), methodFactory);
                 uriStatistics.put(uri, uriStatsBuilder);
             }
-            uriStatsBuilder.addExecution(resourceMethod, methodTime, methodDuration, requestTime, requestDuration);
+            uriStatsBuilder.addExecutions(resourceMethod, methodExecutions, requestExecutions);
 
             // Class resource stats.
             final ResourceStatisticsImpl.Builder classStatsBuilder = getOrCreateResourceBuilder(resourceMethod);
-            classStatsBuilder.addExecution(resourceMethod, methodTime, methodDuration, requestTime, requestDuration);
+            classStatsBuilder.addExecutions(resourceMethod, methodExecutions, requestExecutions);
 
             // Resource method stats.
-            methodFactory.getOrCreate(resourceMethod)
-                    .addResourceMethodExecution(methodTime, methodDuration, requestTime, requestDuration);
+            methodFactory.getOrCreate(resourceMethod).addResourceMethodExecutions(methodExecutions, requestExecutions);
         }
 
         /**
@@ -224,6 +239,16 @@ final class MonitoringStatisticsImpl implements MonitoringStatistics {
             responseStatisticsBuilder.addResponseCode(responseCode);
         }
 
+        /**
+         * Add a response status code produces by Jersey occurring {@code count} times.
+         *
+         * @param responseCode Response status code.
+         * @param count Number of responses with the given status code.
+         */
+        void addResponseCode(final int responseCode, final long count) {
+            responseStatisticsBuilder.addResponseCode(responseCode, count);
+        }
+
         /**
          * Build a new instance of monitoring statistics.
          *
@@ -40,11 +40,9 @@
 
 package org.glassfish.jersey.server.internal.monitoring;
 
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Queue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
@@ -58,10 +56,8 @@ import org.glassfish.jersey.server.BackgroundSchedulerLiteral;
 import org.glassfish.jersey.server.ExtendedResourceContext;
 import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.server.internal.LocalizationMessages;
-import org.glassfish.jersey.server.model.ResourceMethod;
 import org.glassfish.jersey.server.model.ResourceModel;
 import org.glassfish.jersey.server.monitoring.MonitoringStatisticsListener;
-import org.glassfish.jersey.server.monitoring.RequestEvent;
 
 import org.glassfish.hk2.api.ServiceLocator;
 
@@ -114,9 +110,7 @@ final class MonitoringStatisticsProcessor {
             @Override
             public void run() {
                 try {
-                    processRequestItems();
-                    processResponseCodeEvents();
-                    processExceptionMapperEvents();
+                    processEvents();
                 } catch (final Throwable t) {
                     LOGGER.log(Level.SEVERE, LocalizationMessages.ERROR_MONITORING_STATISTICS_GENERATION(), t);
                     // rethrowing exception stops further task execution
@@ -141,57 +135,8 @@ final class MonitoringStatisticsProcessor {
         }, 0, interval, TimeUnit.MILLISECONDS);
     }
 
-    private void processExceptionMapperEvents() {
-        final Queue<RequestEvent> eventQueue = monitoringEventListener.getExceptionMapperEvents();
-        final FloodingLogger floodingLogger = new FloodingLogger(eventQueue);
-
-        while (!eventQueue.isEmpty()) {
-            floodingLogger.conditionallyLogFlooding();
-
-            final RequestEvent event = eventQueue.remove();
-            final ExceptionMapperStatisticsImpl.Builder mapperStats = statisticsBuilder.getExceptionMapperStatisticsBuilder();
-
-            if (event.getExceptionMapper() != null) {
-                mapperStats.addExceptionMapperExecution(event.getExceptionMapper().getClass(), 1);
-            }
-
-            mapperStats.addMapping(event.isResponseSuccessfullyMapped(), 1);
-        }
-    }
-
-    private void processRequestItems() {
-        final Queue<MonitoringEventListener.RequestStats> requestQueuedItems = monitoringEventListener.getRequestQueuedItems();
-        final FloodingLogger floodingLogger = new FloodingLogger(requestQueuedItems);
-
-        while (!requestQueuedItems.isEmpty()) {
-            floodingLogger.conditionallyLogFlooding();
-
-            final MonitoringEventListener.RequestStats event = requestQueuedItems.remove();
-
-            final MonitoringEventListener.TimeStats requestStats = event.getRequestStats();
-            statisticsBuilder.addRequestExecution(requestStats.getStartTime(), requestStats.getDuration());
-
-            final MonitoringEventListener.MethodStats methodStat = event.getMethodStats();
-            if (methodStat != null) {
-                final ResourceMethod method = methodStat.getMethod();
-                statisticsBuilder.addExecution(event.getRequestUri(), method,
-                        methodStat.getStartTime(), methodStat.getDuration(),
-                        requestStats.getStartTime(), requestStats.getDuration());
-            }
-        }
-    }
-
-    private void processResponseCodeEvents() {
-        final Queue<Integer> responseEvents = monitoringEventListener.getResponseStatuses();
-        final FloodingLogger floodingLogger = new FloodingLogger(responseEvents);
-
-        while (!responseEvents.isEmpty()) {
-            floodingLogger.conditionallyLogFlooding();
-
-            final Integer code = responseEvents.remove();
-            statisticsBuilder.addResponseCode(code);
-        }
-
+    private void processEvents() {
+        monitoringEventListener.getEventAccumulator().drainTo(statisticsBuilder);
     }
 
     /**
@@ -210,54 +155,4 @@ final class MonitoringStatisticsProcessor {
             LOGGER.warning(LocalizationMessages.ERROR_MONITORING_SCHEDULER_DESTROY_TIMEOUT());
         }
     }
-
-    /**
-     * Upon calling of {@link #conditionallyLogFlooding()}, flooding logger conditionally checks for the size of the associated
-     * collection and if its size increases a warning about flooding is logged.
-     * <p/>
-     * The purpose of this flooding logger facility is to warn about disability to decrease the size of given collection which
-     * leads to never ending looping while trying to empty that collection in a loop.
-     *
-     * @author Stepan Vavra (stepan.vavra at oracle.com)
-     */
-    private static class FloodingLogger {
-
-        /** The frequency of logging a warning about the request queue being flooded. */
-        private static final int FLOODING_WARNING_LOG_INTERVAL_MILLIS = 5_000;
-
-        private final Collection<?> collection;
-        private final long startTime = System.nanoTime();
-
-        private int i = 0;
-        private int lastSize;
-
-        /**
-         * Constructs Flooding Logger and associate it with given collection.
-         *
-         * @param collection The collection to associate this flooding logger with.
-         */
-        public FloodingLogger(final Collection<?> collection) {
-            this.collection = collection;
-            this.lastSize = collection.size();
-        }
-
-        /**
-         * With a frequency of {@link #FLOODING_WARNING_LOG_INTERVAL_MILLIS}, a warning about flooding is logged if the size of
-         * the associated collection is increasing.
-         */
-        public void conditionallyLogFlooding() {
-            // this condition prevents the log warning from being logged more frequently than
-            // 'FLOODING_WARNING_LOG_INTERVAL_MILLIS' - counted from the initialization of this class
-            if ((System.nanoTime() - startTime) / TimeUnit.NANOSECONDS.convert(FLOODING_WARNING_LOG_INTERVAL_MILLIS,
-                    TimeUnit.MILLISECONDS) <= i) {
-                return;
-            }
-
-            if (collection.size() > lastSize) {
-                LOGGER.warning(LocalizationMessages.ERROR_MONITORING_QUEUE_FLOODED(collection.size()));
-            }
-            i++;
-            lastSize = collection.size();
-        }
-    }
 }
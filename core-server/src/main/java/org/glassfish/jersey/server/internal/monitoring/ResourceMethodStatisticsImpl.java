@@ -128,27 +128,31 @@ final class ResourceMethodStatisticsImpl implements ResourceMethodStatistics {
         }
 
         /**
-         * Add execution of the resource method to the statistics.
+         * Add executions of the resource method to the statistics.
          *
-         * @param methodStartTime  Time spent on execution of resource method itself (Unix timestamp format).
-         * @param methodDuration   Time of execution of the resource method.
-         * @param requestStartTime Time of whole request processing (from receiving the request until writing the response). (Unix
-         *                         timestamp format)
-         * @param requestDuration  Time when the request matching to the executed resource method has been received by Jersey.
+         * @param methodExecutions  Durations of the resource method executions themselves or {@code null}
+         *                          if none were recorded.
+         * @param requestExecutions Durations of the whole processing of the requests matched to the resource method
+         *                          (from receiving the request until writing the response) or {@code null}
+         *                          if none were recorded.
          */
-        void addResourceMethodExecution(final long methodStartTime, final long methodDuration, final long requestStartTime,
-                                        final long requestDuration) {
+        void addResourceMethodExecutions(final DurationHistogram methodExecutions,
+                                         final DurationHistogram requestExecutions) {
             cached = null;
 
-            if (resourceMethodExecutionStatisticsBuilder.get() == null) {
-                resourceMethodExecutionStatisticsBuilder.compareAndSet(null, new ExecutionStatisticsImpl.Builder());
+            if (methodExecutions != null) {
+                if (resourceMethodExecutionStatisticsBuilder.get() == null) {
+                    resourceMethodExecutionStatisticsBuilder.compareAndSet(null, new ExecutionStatisticsImpl.Builder());
+                }
+                resourceMethodExecutionStatisticsBuilder.get().addExecutions(methodExecutions);
             }
-            resourceMethodExecutionStatisticsBuilder.get().addExecution(methodStartTime, methodDuration);
 
-            if (requestExecutionStatisticsBuilder.get() == null) {
-                requestExecutionStatisticsBuilder.compareAndSet(null, new ExecutionStatisticsImpl.Builder());
+            if (requestExecutions != null) {
+                if (requestExecutionStatisticsBuilder.get() == null) {
+                    requestExecutionStatisticsBuilder.compareAndSet(null, new ExecutionStatisticsImpl.Builder());
+                }
+                requestExecutionStatisticsBuilder.get().addExecutions(requestExecutions);
             }
-            requestExecutionStatisticsBuilder.get().addExecution(requestStartTime, requestDuration);
         }
     }
 
@@ -134,27 +134,32 @@ final class ResourceStatisticsImpl implements ResourceStatistics {
         }
 
         /**
-         * Add execution of a resource method in the resource.
+         * Add executions of a resource method in the resource.
          *
-         * @param resourceMethod   Resource method executed.
-         * @param methodStartTime  Time of execution of the resource method.
-         * @param methodDuration   Time spent on execution of resource method itself.
-         * @param requestStartTime Time when the request matching to the executed resource method has been received by Jersey.
-         * @param requestDuration  Time of whole request processing (from receiving the request until writing the response).
+         * @param resourceMethod    Resource method executed.
+         * @param methodExecutions  Durations of the resource method executions themselves or {@code null}
+         *                          if none were recorded.
+         * @param requestExecutions Durations of the whole processing of the requests matched to the resource method
+         *                          (from receiving the request until writing the response) or {@code null}
+         *                          if none were recorded.
          */
-        void addExecution(final ResourceMethod resourceMethod, final long methodStartTime, final long methodDuration,
-                          final long requestStartTime, final long requestDuration) {
+        void addExecutions(final ResourceMethod resourceMethod, final DurationHistogram methodExecutions,
+                           final DurationHistogram requestExecutions) {
             cached = null;
 
-            if (resourceExecutionStatisticsBuilder.get() == null) {
-                resourceExecutionStatisticsBuilder.compareAndSet(null, new ExecutionStatisticsImpl.Builder());
+            if (methodExecutions != null) {
+                if (resourceExecutionStatisticsBuilder.get() == null) {
+                    resourceExecutionStatisticsBuilder.compareAndSet(null, new ExecutionStatisticsImpl.Builder());
+                }
+                resourceExecutionStatisticsBuilder.get().addExecutions(methodExecutions);
             }
-            resourceExecutionStatisticsBuilder.get().addExecution(methodStartTime, methodDuration);
 
-            if (requestExecutionStatisticsBuilder.get() == null) {
-                requestExecutionStatisticsBuilder.compareAndSet(null, new ExecutionStatisticsImpl.Builder());
+            if (requestExecutions != null) {
+                if (requestExecutionStatisticsBuilder.get() == null) {
+                    requestExecutionStatisticsBuilder.compareAndSet(null, new ExecutionStatisticsImpl.Builder());
+                }
+                requestExecutionStatisticsBuilder.get().addExecutions(requestExecutions);
             }
-            requestExecutionStatisticsBuilder.get().addExecution(requestStartTime, requestDuration);
 
             addMethod(resourceMethod);
         }
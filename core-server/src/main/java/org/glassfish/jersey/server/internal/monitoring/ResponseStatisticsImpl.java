@@ -69,6 +69,16 @@ final class ResponseStatisticsImpl implements ResponseStatistics {
         private ResponseStatisticsImpl cached = null;
 
         void addResponseCode(final int responseCode) {
+            addResponseCode(responseCode, 1);
+        }
+
+        /**
+         * Add response code occurring {@code count} times.
+         *
+         * @param responseCode Response code.
+         * @param count Number of responses with the given code.
+         */
+        void addResponseCode(final int responseCode, final long count) {
             cached = null;
 
             lastResponseCode = responseCode;
@@ -76,7 +86,7 @@ final class ResponseStatisticsImpl implements ResponseStatistics {
             if (currentValue == null) {
                 currentValue = 0L;
             }
-            responseCodesMap.put(responseCode, currentValue + 1);
+            responseCodesMap.put(responseCode, currentValue + count);
         }
 
         ResponseStatisticsImpl build() {
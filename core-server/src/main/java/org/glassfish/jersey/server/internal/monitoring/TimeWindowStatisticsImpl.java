@@ -116,7 +116,7 @@ final class TimeWindowStatisticsImpl implements TimeWindowStatistics {
 
         private TimeWindowStatisticsImpl getOrCreateEmptyStats(final long interval) {
             if (!EMPTY.containsKey(interval)) {
-                EMPTY.putIfAbsent(interval, new TimeWindowStatisticsImpl(interval, 0, -1, -1, -1, 0));
+                EMPTY.putIfAbsent(interval, new TimeWindowStatisticsImpl(interval, 0, -1, -1, -1, 0, EMPTY_PERCENTILES));
             }
             return EMPTY.get(interval);
         }
@@ -126,10 +126,16 @@ final class TimeWindowStatisticsImpl implements TimeWindowStatistics {
         }
     }
 
+    /**
+     * Quantiles of request durations provided by the time window statistics.
+     */
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99, 0.999};
+    private static final long[] EMPTY_PERCENTILES = {-1, -1, -1, -1};
+
     private static final ConcurrentHashMap<Long, TimeWindowStatisticsImpl> EMPTY = new ConcurrentHashMap<>(6);
 
     static {
-        EMPTY.putIfAbsent(0L, new TimeWindowStatisticsImpl(0, 0, 0, 0, 0, 0));
+        EMPTY.putIfAbsent(0L, new TimeWindowStatisticsImpl(0, 0, 0, 0, 0, 0, EMPTY_PERCENTILES));
     }
 
     private final long interval;
@@ -141,19 +147,34 @@ final class TimeWindowStatisticsImpl implements TimeWindowStatistics {
     private final long totalCount;
     private final double requestsPerSecond;
 
+    /**
+     * Durations at {@link #QUANTILES}.
+     */
+    private final long[] percentiles;
+
     private TimeWindowStatisticsImpl(final long interval, final double requestsPerSecond, final long minimumDuration,
-                                     final long maximumDuration, final long averageDuration, final long totalCount) {
+                                     final long maximumDuration, final long averageDuration, final long totalCount,
+                                     final long[] percentiles) {
         this.interval = interval;
         this.requestsPerSecond = requestsPerSecond;
         this.minimumDuration = minimumDuration;
         this.maximumDuration = maximumDuration;
         this.averageDuration = averageDuration;
         this.totalCount = totalCount;
+        this.percentiles = percentiles;
     }
 
     private TimeWindowStatisticsImpl(final long interval, final UniformTimeSnapshot snapshot) {
         this(interval, snapshot.getRate(TimeUnit.SECONDS), snapshot.getMin(), snapshot.getMax(), (long) snapshot.getMean(),
-                snapshot.size());
+                snapshot.size(), getPercentiles(snapshot));
+    }
+
+    private static long[] getPercentiles(final UniformTimeSnapshot snapshot) {
+        final long[] percentiles = new long[QUANTILES.length];
+        for (int i = 0; i < QUANTILES.length; i++) {
+            percentiles[i] = Math.round(snapshot.getValue(QUANTILES[i]));
+        }
+        return percentiles;
     }
 
     @Override
@@ -181,6 +202,26 @@ final class TimeWindowStatisticsImpl implements TimeWindowStatistics {
         return totalCount;
     }
 
+    @Override
+    public long getMedianDuration() {
+        return percentiles[0];
+    }
+
+    @Override
+    public long get95thPercentileDuration() {
+        return percentiles[1];
+    }
+
+    @Override
+    public long get99thPercentileDuration() {
+        return percentiles[2];
+    }
+
+    @Override
+    public long get999thPercentileDuration() {
+        return percentiles[3];
+    }
+
     @Override
     public TimeWindowStatistics snapshot() {
         // TimeWindowStatisticsImpl is immutable; the Builder is mutable
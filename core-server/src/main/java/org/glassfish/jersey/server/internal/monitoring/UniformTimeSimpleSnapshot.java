@@ -99,4 +99,15 @@ class UniformTimeSimpleSnapshot extends AbstractTimeSnapshot {
     public double getMean() {
         return mean;
     }
+
+    /**
+     * Returns {@code -1} as this snapshot does not keep the distribution of values.
+     *
+     * @param quantile a given quantile, in {@code [0..1]}
+     * @return {@code -1}
+     */
+    @Override
+    public double getValue(final double quantile) {
+        return -1;
+    }
 }
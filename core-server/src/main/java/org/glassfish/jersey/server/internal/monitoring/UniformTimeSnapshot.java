@@ -90,6 +90,15 @@ interface UniformTimeSnapshot {
      */
     double getMean();
 
+    /**
+     * Returns the value at the given quantile.
+     *
+     * @param quantile a given quantile, in {@code [0..1]}
+     * @return the value in the distribution at {@code quantile} or {@code -1} if the snapshot does not keep
+     * the distribution of values
+     */
+    double getValue(double quantile);
+
     /**
      * The time interval for which this snapshot was created.
      *
@@ -41,11 +41,13 @@
 package org.glassfish.jersey.server.internal.monitoring.jmx;
 
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.server.internal.LocalizationMessages;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
 import org.glassfish.jersey.server.monitoring.ApplicationMXBean;
 import org.glassfish.jersey.server.monitoring.ApplicationInfo;
 
@@ -66,6 +68,7 @@ public class ApplicationMXBeanImpl implements ApplicationMXBean {
     private final Set<String> providers;
     private final Set<String> registeredClasses;
     private final Set<String> registeredInstances;
+    private final Map<String, Long> initializationPhaseTimes;
 
     /**
      * Create a new application MXBean and register it to the mbean server using {@code mBeanExposer}.
@@ -109,6 +112,12 @@ public class ApplicationMXBeanImpl implements ApplicationMXBean {
         }
         this.startTime = new Date(applicationInfo.getStartTime().getTime());
 
+        this.initializationPhaseTimes = new LinkedHashMap<>();
+        for (final Map.Entry<ApplicationEvent.InitializationPhase, Long> entry
+                : applicationInfo.getInitializationPhaseTimes().entrySet()) {
+            initializationPhaseTimes.put(entry.getKey().name(), entry.getValue());
+        }
+
         mBeanExposer.registerMBean(this, parentName + ",global=Configuration");
     }
 
@@ -146,4 +155,9 @@ public class ApplicationMXBeanImpl implements ApplicationMXBean {
     public Set<String> getProviderClasses() {
         return providers;
     }
+
+    @Override
+    public Map<String, Long> getInitializationPhaseTimes() {
+        return initializationPhaseTimes;
+    }
 }
@@ -56,6 +56,7 @@ import javax.management.MBeanServer;
 import javax.management.ObjectName;
 
 import org.glassfish.jersey.server.internal.LocalizationMessages;
+import org.glassfish.jersey.server.internal.routing.MediaTypeNegotiationCache;
 import org.glassfish.jersey.server.monitoring.ApplicationInfo;
 import org.glassfish.jersey.server.monitoring.MonitoringStatistics;
 import org.glassfish.jersey.server.monitoring.MonitoringStatisticsListener;
@@ -97,6 +98,9 @@ public class MBeanExposer extends AbstractContainerLifecycleListener implements
     @Inject
     private Provider<ApplicationInfo> applicationInfoProvider;
 
+    @Inject
+    private Provider<MediaTypeNegotiationCache> negotiationCacheProvider;
+
 
     private Map<String, ResourceStatistics> transformToStringKeys(Map<Class<?>, ResourceStatistics> stats) {
         Map<String, ResourceStatistics> newMap = Maps.newHashMap();
@@ -205,6 +209,8 @@ public class MBeanExposer extends AbstractContainerLifecycleListener implements
                     globalSubType);
 
             new ApplicationMXBeanImpl(appStats, this, globalSubType);
+
+            new MediaTypeNegotiationCacheMXBeanImpl(negotiationCacheProvider.get(), this, globalSubType);
         }
 
         requestMBean.updateExecutionStatistics(statistics.getRequestStatistics());
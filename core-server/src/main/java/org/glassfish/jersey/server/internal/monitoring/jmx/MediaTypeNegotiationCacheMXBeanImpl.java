@@ -0,0 +1,96 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.monitoring.jmx;
+
+import org.glassfish.jersey.server.internal.routing.MediaTypeNegotiationCache;
+import org.glassfish.jersey.server.monitoring.MediaTypeNegotiationCacheMXBean;
+
+/**
+ * MXBean implementing the {@link org.glassfish.jersey.server.monitoring.MediaTypeNegotiationCacheMXBean} MXBean interface.
+ * The exposed values are read directly from the {@link MediaTypeNegotiationCache media type negotiation cache}.
+ */
+public class MediaTypeNegotiationCacheMXBeanImpl implements MediaTypeNegotiationCacheMXBean {
+
+    private final MediaTypeNegotiationCache cache;
+
+    /**
+     * Create a new media type negotiation cache MXBean and register it to the mbean server using {@code mBeanExposer}.
+     *
+     * @param cache        Media type negotiation cache which should be exposed.
+     * @param mBeanExposer MBean exposer.
+     * @param parentName   {@link javax.management.ObjectName Object name} prefix of parent mbeans.
+     */
+    public MediaTypeNegotiationCacheMXBeanImpl(final MediaTypeNegotiationCache cache, final MBeanExposer mBeanExposer,
+                                               final String parentName) {
+        this.cache = cache;
+
+        mBeanExposer.registerMBean(this, parentName + ",global=MediaTypeNegotiationCache");
+    }
+
+    @Override
+    public int getMaxSize() {
+        return cache.getMaxSize();
+    }
+
+    @Override
+    public long getSize() {
+        return cache.getSize();
+    }
+
+    @Override
+    public long getHitCount() {
+        return cache.getHitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return cache.getMissCount();
+    }
+
+    @Override
+    public long getResponseTypeHitCount() {
+        return cache.getResponseTypeHitCount();
+    }
+
+    @Override
+    public long getResponseTypeMissCount() {
+        return cache.getResponseTypeMissCount();
+    }
+}
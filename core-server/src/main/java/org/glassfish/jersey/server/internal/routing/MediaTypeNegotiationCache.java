@@ -0,0 +1,265 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.routing;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.ws.rs.core.Configuration;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+
+import jersey.repackaged.com.google.common.cache.Cache;
+import jersey.repackaged.com.google.common.cache.CacheBuilder;
+
+/**
+ * Application-wide bounded cache of media type negotiation results computed by {@link MethodSelectingRouter method
+ * selecting routers}.
+ * <p>
+ * The cached entries are keyed by the method selecting router instance, HTTP method, raw {@code Content-Type} and raw
+ * {@code Accept} request header values. The cache is enabled by setting the
+ * {@link ServerProperties#MEDIA_TYPE_NEGOTIATION_CACHE_SIZE} property to a positive value.
+ * </p>
+ */
+public final class MediaTypeNegotiationCache {
+
+    /**
+     * Media type negotiation cache injection binder.
+     */
+    public static class Binder extends AbstractBinder {
+
+        @Override
+        protected void configure() {
+            bindAsContract(MediaTypeNegotiationCache.class).in(Singleton.class);
+        }
+    }
+
+    /**
+     * Negotiation cache key.
+     */
+    private static final class Key {
+
+        private final Router router;
+        private final String httpMethod;
+        private final String contentType;
+        private final String accept;
+        private final int hash;
+
+        private Key(final Router router, final String httpMethod, final String contentType, final String accept) {
+            this.router = router;
+            this.httpMethod = httpMethod;
+            this.contentType = contentType;
+            this.accept = accept;
+
+            int result = System.identityHashCode(router);
+            result = 31 * result + (httpMethod != null ? httpMethod.hashCode() : 0);
+            result = 31 * result + (contentType != null ? contentType.hashCode() : 0);
+            result = 31 * result + (accept != null ? accept.hashCode() : 0);
+            this.hash = result;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+
+            final Key that = (Key) o;
+            return router == that.router
+                    && equal(httpMethod, that.httpMethod)
+                    && equal(contentType, that.contentType)
+                    && equal(accept, that.accept);
+        }
+
+        private static boolean equal(final String s1, final String s2) {
+            return s1 == null ? s2 == null : s1.equals(s2);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private final int maxSize;
+    private final Cache<Key, Object> cache;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong responseTypeHitCount = new AtomicLong();
+    private final AtomicLong responseTypeMissCount = new AtomicLong();
+
+    /**
+     * Create new media type negotiation cache.
+     *
+     * @param config application configuration.
+     */
+    @Inject
+    public MediaTypeNegotiationCache(final Configuration config) {
+        this(ServerProperties.getValue(config.getProperties(),
+                ServerProperties.MEDIA_TYPE_NEGOTIATION_CACHE_SIZE,
+                0,
+                Integer.class));
+    }
+
+    /**
+     * Create new media type negotiation cache.
+     *
+     * @param maxSize maximal number of cached negotiation results, non-positive value disables the cache.
+     */
+    MediaTypeNegotiationCache(final int maxSize) {
+        this.maxSize = Math.max(maxSize, 0);
+        this.cache = this.maxSize > 0 ? CacheBuilder.newBuilder().maximumSize(this.maxSize).<Key, Object>build() : null;
+    }
+
+    /**
+     * Check whether the cache is enabled.
+     *
+     * @return {@code true} if the negotiation results are cached, {@code false} otherwise.
+     */
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Get the cached negotiation result.
+     *
+     * @param router      method selecting router that computed the result.
+     * @param httpMethod  request HTTP method.
+     * @param contentType raw request {@code Content-Type} header value.
+     * @param accept      raw request {@code Accept} header value.
+     * @return cached negotiation result or {@code null} if not cached (or the cache is disabled).
+     */
+    Object get(final Router router, final String httpMethod, final String contentType, final String accept) {
+        if (cache == null) {
+            return null;
+        }
+
+        final Object result = cache.getIfPresent(new Key(router, httpMethod, contentType, accept));
+        (result == null ? missCount : hitCount).incrementAndGet();
+        return result;
+    }
+
+    /**
+     * Cache the negotiation result.
+     *
+     * @param router      method selecting router that computed the result.
+     * @param httpMethod  request HTTP method.
+     * @param contentType raw request {@code Content-Type} header value.
+     * @param accept      raw request {@code Accept} header value.
+     * @param result      negotiation result.
+     */
+    void put(final Router router, final String httpMethod, final String contentType, final String accept,
+             final Object result) {
+        if (cache != null) {
+            cache.put(new Key(router, httpMethod, contentType, accept), result);
+        }
+    }
+
+    /**
+     * Record a response media type lookup in a cached negotiation result.
+     *
+     * @param hit {@code true} if the effective response media type was found in the cached negotiation result.
+     */
+    void recordResponseTypeLookup(final boolean hit) {
+        (hit ? responseTypeHitCount : responseTypeMissCount).incrementAndGet();
+    }
+
+    /**
+     * Get the maximal number of cached negotiation results.
+     *
+     * @return maximal cache size, {@code 0} if the cache is disabled.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Get the current number of cached negotiation results.
+     *
+     * @return current cache size.
+     */
+    public long getSize() {
+        return cache == null ? 0 : cache.size();
+    }
+
+    /**
+     * Get the number of requests whose resource method selection has been served from the cache.
+     *
+     * @return cache hit count.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Get the number of requests whose resource method selection has not been found in the cache.
+     *
+     * @return cache miss count.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Get the number of responses whose effective media type has been served from the cache.
+     *
+     * @return response media type cache hit count.
+     */
+    public long getResponseTypeHitCount() {
+        return responseTypeHitCount.get();
+    }
+
+    /**
+     * Get the number of responses whose effective media type has not been found in the cache.
+     *
+     * @return response media type cache miss count.
+     */
+    public long getResponseTypeMissCount() {
+        return responseTypeMissCount.get();
+    }
+}
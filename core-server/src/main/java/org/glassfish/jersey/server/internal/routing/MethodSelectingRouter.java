@@ -41,6 +41,7 @@ package org.glassfish.jersey.server.internal.routing;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -49,6 +50,8 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -58,6 +61,7 @@ import javax.ws.rs.NotAllowedException;
 import javax.ws.rs.NotSupportedException;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
@@ -133,7 +137,13 @@ final class MethodSelectingRouter implements Router {
                 }
             };
 
+    /**
+     * Maximal number of effective response media types memoised per cached negotiation result.
+     */
+    private static final int MAX_CACHED_RESPONSE_TYPES = 16;
+
     private final MessageBodyWorkers workers;
+    private final MediaTypeNegotiationCache negotiationCache;
 
     private final Map<String, List<ConsumesProducesAcceptor>> consumesProducesAcceptors;
     private final Router router;
@@ -144,11 +154,15 @@ final class MethodSelectingRouter implements Router {
      * The router selects the method that best matches the request based on
      * produce/consume information from the resource method models.
      *
-     * @param workers        message body workers.
-     * @param methodRoutings [method model, method methodAcceptorPair] pairs.
+     * @param workers          message body workers.
+     * @param negotiationCache media type negotiation cache.
+     * @param methodRoutings   [method model, method methodAcceptorPair] pairs.
      */
-    MethodSelectingRouter(MessageBodyWorkers workers, List<MethodRouting> methodRoutings) {
+    MethodSelectingRouter(final MessageBodyWorkers workers,
+                          final MediaTypeNegotiationCache negotiationCache,
+                          final List<MethodRouting> methodRoutings) {
         this.workers = workers;
+        this.negotiationCache = negotiationCache;
 
         this.consumesProducesAcceptors = new HashMap<>();
 
@@ -356,6 +370,36 @@ final class MethodSelectingRouter implements Router {
         }
     }
 
+    /**
+     * Result of the request media type negotiation. Depends only on the HTTP method, {@code Content-Type} and
+     * {@code Accept} headers of the request and can therefore be cached and shared across requests.
+     */
+    private static final class NegotiationResult {
+
+        final List<AcceptableMediaType> acceptableMediaTypes;
+        final MethodSelector methodSelector;
+        /**
+         * Effective response media types keyed by response entity class and type, {@code null} if the result is not cached.
+         */
+        final ConcurrentMap<List<Object>, MediaType> responseTypes;
+        /**
+         * Response media type determined by the negotiation regardless of the response entity, {@code null} if the response
+         * media type depends on the entity writers.
+         */
+        final MediaType preSelectedMediaType;
+
+        NegotiationResult(final List<AcceptableMediaType> acceptableMediaTypes,
+                          final MethodSelector methodSelector,
+                          final boolean cached) {
+            this.acceptableMediaTypes = acceptableMediaTypes;
+            this.methodSelector = methodSelector;
+            this.preSelectedMediaType = methodSelector.selected != null
+                    && usePreSelectedMediaType(methodSelector.selected, acceptableMediaTypes)
+                    ? methodSelector.selected.produces.combinedType : null;
+            this.responseTypes = cached ? new ConcurrentHashMap<List<Object>, MediaType>() : null;
+        }
+    }
+
     private Router createInternalRouter() {
         return new Router() {
 
@@ -466,25 +510,23 @@ final class MethodSelectingRouter implements Router {
                     Response.status(Status.METHOD_NOT_ALLOWED).allow(consumesProducesAcceptors.keySet()).build());
         }
 
-        final List<ConsumesProducesAcceptor> satisfyingAcceptors = new LinkedList<>();
-        final Set<ResourceMethod> differentInvokableMethods = Sets.newIdentityHashSet();
-        for (ConsumesProducesAcceptor cpi : acceptors) {
-            if (cpi.isConsumable(request)) {
-                satisfyingAcceptors.add(cpi);
-                differentInvokableMethods.add(cpi.methodRouting.method);
+        final NegotiationResult negotiation;
+        if (negotiationCache.isEnabled()) {
+            final String contentType = request.getHeaderString(HttpHeaders.CONTENT_TYPE);
+            final String accept = request.getHeaderString(HttpHeaders.ACCEPT);
+
+            NegotiationResult cached = (NegotiationResult) negotiationCache.get(this, request.getMethod(), contentType, accept);
+            if (cached == null) {
+                cached = negotiate(request, acceptors, true);
+                negotiationCache.put(this, request.getMethod(), contentType, accept, cached);
             }
-        }
-        if (satisfyingAcceptors.isEmpty()) {
-            throw new NotSupportedException();
+            negotiation = cached;
+        } else {
+            negotiation = negotiate(request, acceptors, false);
         }
 
-        final List<AcceptableMediaType> acceptableMediaTypes = request.getQualifiedAcceptableMediaTypes();
-
-        final MediaType requestContentType = request.getMediaType();
-        final MediaType effectiveContentType = requestContentType == null ? MediaType.WILDCARD_TYPE : requestContentType;
-
-        final MethodSelector methodSelector = selectMethod(acceptableMediaTypes, satisfyingAcceptors, effectiveContentType,
-                differentInvokableMethods.size() == 1);
+        final MethodSelector methodSelector = negotiation.methodSelector;
+        final List<AcceptableMediaType> acceptableMediaTypes = negotiation.acceptableMediaTypes;
 
         if (methodSelector.selected != null) {
             final RequestSpecificConsumesProducesAcceptor selected = methodSelector.selected;
@@ -494,6 +536,7 @@ final class MethodSelectingRouter implements Router {
                         methodSelector.sameFitnessAcceptors);
             }
 
+            context.routingContext().setNegotiatedMediaType(negotiation.preSelectedMediaType);
             context.push(new Function<ContainerResponse, ContainerResponse>() {
                 @Override
                 public ContainerResponse apply(final ContainerResponse responseContext) {
@@ -506,8 +549,7 @@ final class MethodSelectingRouter implements Router {
                         MediaType effectiveResponseType = determineResponseMediaType(
                                 responseContext.getEntityClass(),
                                 responseContext.getEntityType(),
-                                methodSelector.selected,
-                                acceptableMediaTypes);
+                                negotiation);
 
                         if (MediaTypes.isWildcard(effectiveResponseType)) {
                             if (effectiveResponseType.isWildcardType()
@@ -529,6 +571,71 @@ final class MethodSelectingRouter implements Router {
         throw new NotAcceptableException();
     }
 
+    /**
+     * Select the resource method best matching the request media types.
+     *
+     * @param request   request to select the method for.
+     * @param acceptors acceptors bound to the request HTTP method.
+     * @param cacheable {@code true} if the result is going to be cached.
+     * @return media type negotiation result.
+     */
+    private NegotiationResult negotiate(final ContainerRequest request,
+                                        final List<ConsumesProducesAcceptor> acceptors,
+                                        final boolean cacheable) {
+        final List<ConsumesProducesAcceptor> satisfyingAcceptors = new LinkedList<>();
+        final Set<ResourceMethod> differentInvokableMethods = Sets.newIdentityHashSet();
+        for (ConsumesProducesAcceptor cpi : acceptors) {
+            if (cpi.isConsumable(request)) {
+                satisfyingAcceptors.add(cpi);
+                differentInvokableMethods.add(cpi.methodRouting.method);
+            }
+        }
+        if (satisfyingAcceptors.isEmpty()) {
+            throw new NotSupportedException();
+        }
+
+        final List<AcceptableMediaType> acceptableMediaTypes = request.getQualifiedAcceptableMediaTypes();
+
+        final MediaType requestContentType = request.getMediaType();
+        final MediaType effectiveContentType = requestContentType == null ? MediaType.WILDCARD_TYPE : requestContentType;
+
+        final MethodSelector methodSelector = selectMethod(acceptableMediaTypes, satisfyingAcceptors, effectiveContentType,
+                differentInvokableMethods.size() == 1);
+
+        return new NegotiationResult(acceptableMediaTypes, methodSelector, cacheable);
+    }
+
+    /**
+     * Determine the {@link MediaType} of the {@link Response} using the cached effective response media type
+     * if available.
+     *
+     * @param entityClass entity class to determine the media type for.
+     * @param entityType  entity type for writers.
+     * @param negotiation request media type negotiation result.
+     * @return media type of the response.
+     */
+    private MediaType determineResponseMediaType(final Class<?> entityClass,
+                                                 final Type entityType,
+                                                 final NegotiationResult negotiation) {
+        if (negotiation.responseTypes == null) {
+            return determineResponseMediaType(entityClass, entityType, negotiation.methodSelector.selected,
+                    negotiation.acceptableMediaTypes);
+        }
+
+        final List<Object> key = Arrays.<Object>asList(entityClass, entityType);
+        MediaType responseType = negotiation.responseTypes.get(key);
+        negotiationCache.recordResponseTypeLookup(responseType != null);
+
+        if (responseType == null) {
+            responseType = determineResponseMediaType(entityClass, entityType, negotiation.methodSelector.selected,
+                    negotiation.acceptableMediaTypes);
+            if (negotiation.responseTypes.size() < MAX_CACHED_RESPONSE_TYPES) {
+                negotiation.responseTypes.putIfAbsent(key, responseType);
+            }
+        }
+        return responseType;
+    }
+
     /**
      * Determine the {@link MediaType} of the {@link Response} based on writers suitable for the given entity class,
      * pre-selected method and acceptable media types.
@@ -115,4 +115,15 @@ final class PathMatchingRouterBuilder implements PathToRouterBuilder {
         return new PathMatchingRouter(acceptedRoutes());
     }
 
+    /**
+     * Build a {@link org.glassfish.jersey.server.internal.routing.Router hierarchical request path matching processor}
+     * that pre-selects the candidate routes using a literal path segment trie.
+     *
+     * @return hierarchical request path matching processor (i.e. router) backed by a literal path segment trie.
+     * @see TriePathMatchingRouter
+     */
+    public TriePathMatchingRouter buildTrie() {
+        return new TriePathMatchingRouter(acceptedRoutes());
+    }
+
 }
@@ -39,6 +39,8 @@
  */
 package org.glassfish.jersey.server.internal.routing;
 
+import org.glassfish.jersey.internal.util.collection.Value;
+import org.glassfish.jersey.internal.util.collection.Values;
 import org.glassfish.jersey.server.internal.process.Endpoint;
 import org.glassfish.jersey.server.internal.process.RequestProcessingContext;
 
@@ -82,9 +84,41 @@ final class Routers {
      * @return a router that wraps the supplied endpoint.
      */
     public static Router endpoint(final Endpoint endpoint) {
+        return new EndpointRouter(Values.of(endpoint));
+    }
+
+    /**
+     * Creates a terminal {@link Router} that wraps an {@link org.glassfish.jersey.server.internal.process.Endpoint
+     * endpoint} provided by the given value.
+     *
+     * The value is not retrieved until the endpoint is {@link #extractEndpoint(Router) extracted} from the router,
+     * i.e. until the first request is routed to the endpoint.
+     *
+     * @param endpoint value providing a server-side endpoint to be wrapped in a router instance.
+     * @return a router that wraps the supplied endpoint.
+     */
+    public static Router endpoint(final Value<Endpoint> endpoint) {
         return new EndpointRouter(endpoint);
     }
 
+    /**
+     * Creates a {@link Router} delegating to a router provided by the given value.
+     *
+     * The value is not retrieved until the first request is routed through the created router.
+     *
+     * @param router value providing the delegate router.
+     * @return a router delegating to the supplied router.
+     */
+    public static Router lazy(final Value<Router> router) {
+        return new Router() {
+
+            @Override
+            public Continuation apply(final RequestProcessingContext context) {
+                return router.get().apply(context);
+            }
+        };
+    }
+
     /**
      * Extract endpoint stored in a router (if any).
      *
@@ -93,7 +127,7 @@ final class Routers {
      */
     public static Endpoint extractEndpoint(final Router router) {
         if (router instanceof EndpointRouter) {
-            return ((EndpointRouter) router).endpoint;
+            return ((EndpointRouter) router).endpoint.get();
         }
 
         return null;
@@ -101,9 +135,9 @@ final class Routers {
 
     private static class EndpointRouter implements Router {
 
-        private final Endpoint endpoint;
+        private final Value<Endpoint> endpoint;
 
-        public EndpointRouter(final Endpoint endpoint) {
+        public EndpointRouter(final Value<Endpoint> endpoint) {
             this.endpoint = endpoint;
         }
 
@@ -42,6 +42,7 @@ package org.glassfish.jersey.server.internal.routing;
 import java.util.regex.MatchResult;
 
 import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.MediaType;
 
 import org.glassfish.jersey.server.ExtendedUriInfo;
 import org.glassfish.jersey.server.internal.process.Endpoint;
@@ -174,4 +175,26 @@ public interface RoutingContext extends ResourceInfo, ExtendedUriInfo {
      * @see #getMappedThrowable()
      */
     public void setMappedThrowable(Throwable throwable);
+
+    /**
+     * Set the response media type selected by the request media type negotiation.
+     * <p>
+     * The media type is set only if the negotiation determines the response media type regardless of the response
+     * entity, i.e. if the selected resource method produces a single media type. Otherwise {@code null} is set and
+     * the response media type is determined from the entity writers once the response entity is known.
+     * </p>
+     *
+     * @param mediaType negotiated response media type, may be {@code null}.
+     * @see #getNegotiatedMediaType()
+     */
+    public void setNegotiatedMediaType(MediaType mediaType);
+
+    /**
+     * Get the response media type selected by the request media type negotiation.
+     *
+     * @return negotiated response media type or {@code null} if the response media type has not been determined
+     * by the negotiation.
+     * @see #setNegotiatedMediaType(javax.ws.rs.core.MediaType)
+     */
+    public MediaType getNegotiatedMediaType();
 }
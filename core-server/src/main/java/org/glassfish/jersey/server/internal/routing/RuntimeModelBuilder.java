@@ -45,9 +45,12 @@ import java.util.List;
 
 import javax.ws.rs.core.Configuration;
 
+import org.glassfish.jersey.internal.Errors;
+import org.glassfish.jersey.internal.util.Producer;
 import org.glassfish.jersey.internal.util.collection.Value;
 import org.glassfish.jersey.internal.util.collection.Values;
 import org.glassfish.jersey.message.MessageBodyWorkers;
+import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.server.internal.JerseyResourceContext;
 import org.glassfish.jersey.server.internal.ProcessingProviders;
 import org.glassfish.jersey.server.internal.process.Endpoint;
@@ -73,6 +76,9 @@ final class RuntimeModelBuilder {
     private final ResourceMethodInvoker.Builder resourceMethodInvokerBuilder;
     private final MessageBodyWorkers workers;
     private final ProcessingProviders processingProviders;
+    private final MediaTypeNegotiationCache negotiationCache;
+    private final boolean pathMatchingTrieEnabled;
+    private final boolean lazyInitialization;
 
     // SubResourceLocator Model Builder.
     private final Value<RuntimeLocatorModelBuilder> locatorBuilder;
@@ -98,6 +104,15 @@ final class RuntimeModelBuilder {
         this.resourceMethodInvokerBuilder = resourceMethodInvokerBuilder;
         this.workers = workers;
         this.processingProviders = processingProviders;
+        this.negotiationCache = locator.getService(MediaTypeNegotiationCache.class);
+        this.pathMatchingTrieEnabled = ServerProperties.getValue(config.getProperties(),
+                ServerProperties.PATH_MATCHING_TRIE_ENABLED,
+                Boolean.FALSE,
+                Boolean.class);
+        this.lazyInitialization = ServerProperties.getValue(config.getProperties(),
+                ServerProperties.ROUTING_LAZY_INITIALIZATION,
+                Boolean.FALSE,
+                Boolean.class);
 
         this.locatorBuilder = Values.lazy(new Value<RuntimeLocatorModelBuilder>() {
             @Override
@@ -112,7 +127,16 @@ final class RuntimeModelBuilder {
         switch (resourceMethod.getType()) {
             case RESOURCE_METHOD:
             case SUB_RESOURCE_METHOD:
-                methodAcceptor = Routers.endpoint(createInflector(resourceMethod));
+                if (lazyInitialization) {
+                    methodAcceptor = Routers.endpoint(lazy(new Value<Endpoint>() {
+                        @Override
+                        public Endpoint get() {
+                            return createInflector(resourceMethod);
+                        }
+                    }));
+                } else {
+                    methodAcceptor = Routers.endpoint(createInflector(resourceMethod));
+                }
                 break;
             case SUB_RESOURCE_LOCATOR:
                 methodAcceptor = locatorBuilder.get().getRouter(resourceMethod);
@@ -134,7 +158,7 @@ final class RuntimeModelBuilder {
     private Router createRootRouter(final PathMatchingRouterBuilder lastRoutedBuilder, final boolean subResourceMode) {
         final Router routingRoot;
         if (lastRoutedBuilder != null) {
-            routingRoot = lastRoutedBuilder.build();
+            routingRoot = buildPathMatchingRouter(lastRoutedBuilder);
         } else {
             /**
              * Create an empty routing root that accepts any request, does not do
@@ -171,7 +195,7 @@ final class RuntimeModelBuilder {
             // resource methods
             if (!resource.getResourceMethods().isEmpty()) {
                 final List<MethodRouting> methodRoutings = createResourceMethodRouters(resource, subResourceMode);
-                final Router methodSelectingRouter = new MethodSelectingRouter(workers, methodRoutings);
+                final Router methodSelectingRouter = new MethodSelectingRouter(workers, negotiationCache, methodRoutings);
                 if (subResourceMode) {
                     currentRouterBuilder = startNextRoute(currentRouterBuilder, PathPattern.END_OF_PATH_PATTERN)
                             .to(resourcePushingRouter)
@@ -184,56 +208,21 @@ final class RuntimeModelBuilder {
                 }
             }
 
-            PathMatchingRouterBuilder srRoutedBuilder = null;
-            if (!resource.getChildRuntimeResources().isEmpty()) {
-                for (final RuntimeResource childResource : resource.getChildRuntimeResources()) {
-                    final PathPattern childOpenPattern = childResource.getPathPattern();
-                    final PathPattern childClosedPattern = PathPattern.asClosed(childOpenPattern);
-                    final PushMatchedRuntimeResourceRouter childResourcePushingRouter =
-                            new PushMatchedRuntimeResourceRouter(childResource);
-
-                    // sub resource methods
-                    if (!childResource.getResourceMethods().isEmpty()) {
-                        final List<MethodRouting> childMethodRoutings =
-                                createResourceMethodRouters(childResource, subResourceMode);
-
-                        srRoutedBuilder = startNextRoute(srRoutedBuilder, childClosedPattern)
-                                .to(uriPushingRouter)
-                                .to(childResourcePushingRouter)
-                                .to(new MethodSelectingRouter(workers, childMethodRoutings));
+            final Router methodRouter;
+            if (!lazyInitialization) {
+                methodRouter = buildChildRouter(resource, subResourceMode, uriPushingRouter);
+            } else if (hasChildRoutes(resource)) {
+                methodRouter = Routers.lazy(lazy(new Value<Router>() {
+                    @Override
+                    public Router get() {
+                        return buildChildRouter(resource, subResourceMode, uriPushingRouter);
                     }
-
-                    // sub resource locator
-                    if (childResource.getResourceLocator() != null) {
-                        final PushMatchedTemplateRouter locTemplateRouter =
-                                getTemplateRouterForChildLocator(subResourceMode, childResource);
-
-                        srRoutedBuilder = startNextRoute(srRoutedBuilder, childOpenPattern)
-                                .to(uriPushingRouter)
-                                .to(locTemplateRouter)
-                                .to(childResourcePushingRouter)
-                                .to(new PushMatchedMethodRouter(childResource.getResourceLocator()))
-                                .to(createMethodRouter(childResource.getResourceLocator()));
-                    }
-                }
+                }));
+            } else {
+                methodRouter = null;
             }
 
-            // resource locator with empty path
-            if (resource.getResourceLocator() != null) {
-                final PushMatchedTemplateRouter resourceTemplateRouter = getTemplateRouter(subResourceMode,
-                        getLocatorResource(resource).getPathPattern().getTemplate(),
-                        PathPattern.OPEN_ROOT_PATH_PATTERN.getTemplate());
-
-                srRoutedBuilder = startNextRoute(srRoutedBuilder, PathPattern.OPEN_ROOT_PATH_PATTERN)
-                        .to(uriPushingRouter)
-                        .to(resourceTemplateRouter)
-                        .to(new PushMatchedMethodRouter(resource.getResourceLocator()))
-                        .to(createMethodRouter(resource.getResourceLocator()));
-            }
-
-            if (srRoutedBuilder != null) {
-                final Router methodRouter = srRoutedBuilder.build();
-
+            if (methodRouter != null) {
                 if (subResourceMode) {
                     currentRouterBuilder = startNextRoute(currentRouterBuilder, PathPattern.OPEN_ROOT_PATH_PATTERN)
                             .to(resourcePushingRouter)
@@ -249,6 +238,99 @@ final class RuntimeModelBuilder {
         return createRootRouter(currentRouterBuilder, subResourceMode);
     }
 
+    /**
+     * Build a router of the sub-resource methods and sub-resource locators of the resource.
+     *
+     * @param resource         runtime resource.
+     * @param subResourceMode  True if the resource is a part of a sub resource model returned from sub resource locator.
+     * @param uriPushingRouter router pushing the matched URI.
+     * @return router of the child routes or {@code null} if the resource has no child routes.
+     */
+    private Router buildChildRouter(final RuntimeResource resource,
+                                    final boolean subResourceMode,
+                                    final PushMatchedUriRouter uriPushingRouter) {
+        PathMatchingRouterBuilder srRoutedBuilder = null;
+        if (!resource.getChildRuntimeResources().isEmpty()) {
+            for (final RuntimeResource childResource : resource.getChildRuntimeResources()) {
+                final PathPattern childOpenPattern = childResource.getPathPattern();
+                final PathPattern childClosedPattern = PathPattern.asClosed(childOpenPattern);
+                final PushMatchedRuntimeResourceRouter childResourcePushingRouter =
+                        new PushMatchedRuntimeResourceRouter(childResource);
+
+                // sub resource methods
+                if (!childResource.getResourceMethods().isEmpty()) {
+                    final List<MethodRouting> childMethodRoutings =
+                            createResourceMethodRouters(childResource, subResourceMode);
+
+                    srRoutedBuilder = startNextRoute(srRoutedBuilder, childClosedPattern)
+                            .to(uriPushingRouter)
+                            .to(childResourcePushingRouter)
+                            .to(new MethodSelectingRouter(workers, negotiationCache, childMethodRoutings));
+                }
+
+                // sub resource locator
+                if (childResource.getResourceLocator() != null) {
+                    final PushMatchedTemplateRouter locTemplateRouter =
+                            getTemplateRouterForChildLocator(subResourceMode, childResource);
+
+                    srRoutedBuilder = startNextRoute(srRoutedBuilder, childOpenPattern)
+                            .to(uriPushingRouter)
+                            .to(locTemplateRouter)
+                            .to(childResourcePushingRouter)
+                            .to(new PushMatchedMethodRouter(childResource.getResourceLocator()))
+                            .to(createMethodRouter(childResource.getResourceLocator()));
+                }
+            }
+        }
+
+        // resource locator with empty path
+        if (resource.getResourceLocator() != null) {
+            final PushMatchedTemplateRouter resourceTemplateRouter = getTemplateRouter(subResourceMode,
+                    getLocatorResource(resource).getPathPattern().getTemplate(),
+                    PathPattern.OPEN_ROOT_PATH_PATTERN.getTemplate());
+
+            srRoutedBuilder = startNextRoute(srRoutedBuilder, PathPattern.OPEN_ROOT_PATH_PATTERN)
+                    .to(uriPushingRouter)
+                    .to(resourceTemplateRouter)
+                    .to(new PushMatchedMethodRouter(resource.getResourceLocator()))
+                    .to(createMethodRouter(resource.getResourceLocator()));
+        }
+
+        return srRoutedBuilder == null ? null : buildPathMatchingRouter(srRoutedBuilder);
+    }
+
+    private static boolean hasChildRoutes(final RuntimeResource resource) {
+        if (resource.getResourceLocator() != null) {
+            return true;
+        }
+        for (final RuntimeResource childResource : resource.getChildRuntimeResources()) {
+            if (!childResource.getResourceMethods().isEmpty() || childResource.getResourceLocator() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Wrap the value to be computed on the first request, errors found are processed as during the model building.
+     *
+     * @param value value to be computed lazily.
+     * @return lazy value.
+     */
+    private static <T> Value<T> lazy(final Value<T> value) {
+        return Values.lazy(new Value<T>() {
+            @Override
+            public T get() {
+                return Errors.processWithException(new Producer<T>() {
+                    @Override
+                    public T call() {
+                        return value.get();
+                    }
+                });
+            }
+        });
+    }
+
     private PushMatchedTemplateRouter getTemplateRouterForChildLocator(final boolean subResourceMode,
                                                                        final RuntimeResource child) {
         int i = 0;
@@ -312,6 +394,10 @@ final class RuntimeModelBuilder {
         return methodRoutings.isEmpty() ? Collections.<MethodRouting>emptyList() : methodRoutings;
     }
 
+    private Router buildPathMatchingRouter(final PathMatchingRouterBuilder builder) {
+        return pathMatchingTrieEnabled ? builder.buildTrie() : builder.build();
+    }
+
     private PathToRouterBuilder startNextRoute(final PathMatchingRouterBuilder currentRouterBuilder, PathPattern routingPattern) {
         return currentRouterBuilder == null
                 ? PathMatchingRouterBuilder.newRoute(routingPattern) : currentRouterBuilder.route(routingPattern);
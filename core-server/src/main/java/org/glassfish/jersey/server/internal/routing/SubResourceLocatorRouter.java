@@ -43,7 +43,6 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.UndeclaredThrowableException;
 import java.security.PrivilegedAction;
-import java.util.List;
 
 import javax.ws.rs.NotFoundException;
 import javax.ws.rs.ProcessingException;
@@ -59,7 +58,7 @@ import org.glassfish.jersey.server.internal.process.RequestProcessingContext;
 import org.glassfish.jersey.server.model.Resource;
 import org.glassfish.jersey.server.model.ResourceMethod;
 import org.glassfish.jersey.server.monitoring.RequestEvent;
-import org.glassfish.jersey.server.spi.internal.ParamValueFactoryWithSource;
+import org.glassfish.jersey.server.spi.internal.ParamExtractionPlan;
 import org.glassfish.jersey.server.spi.internal.ParameterValueHelper;
 
 import org.glassfish.hk2.api.ServiceLocator;
@@ -78,7 +77,7 @@ import org.glassfish.hk2.api.ServiceLocator;
 final class SubResourceLocatorRouter implements Router {
 
     private final ResourceMethod locatorModel;
-    private final List<ParamValueFactoryWithSource<?>> valueProviders;
+    private final ParamExtractionPlan paramExtractionPlan;
     private final RuntimeLocatorModelBuilder runtimeLocatorBuilder;
     private final JerseyResourceContext resourceContext;
 
@@ -101,7 +100,8 @@ final class SubResourceLocatorRouter implements Router {
         this.resourceContext = resourceContext;
         this.locator = locator;
 
-        this.valueProviders = ParameterValueHelper.createValueProviders(locator, locatorModel.getInvocable());
+        this.paramExtractionPlan = ParamExtractionPlan.compile(
+                ParameterValueHelper.createValueProviders(locator, locatorModel.getInvocable()));
     }
 
     @Override
@@ -146,7 +146,7 @@ final class SubResourceLocatorRouter implements Router {
     private Object getResource(final RequestProcessingContext context) {
         final Object resource = context.routingContext().peekMatchedResource();
         final Method handlingMethod = locatorModel.getInvocable().getHandlingMethod();
-        final Object[] parameterValues = ParameterValueHelper.getParameterValues(valueProviders);
+        final Object[] parameterValues = paramExtractionPlan.getParameterValues(context.request());
 
         context.triggerEvent(RequestEvent.Type.LOCATOR_MATCHED);
 
@@ -0,0 +1,246 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.routing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.MatchResult;
+
+import org.glassfish.jersey.message.internal.TracingLogger;
+import org.glassfish.jersey.server.internal.ServerTraceEvent;
+import org.glassfish.jersey.server.internal.process.RequestProcessingContext;
+import org.glassfish.jersey.uri.PathPattern;
+
+/**
+ * Matches the un-matched right-hand request path to the configured collection of path pattern matching routes
+ * using a literal path segment trie to pre-select the candidate routes.
+ * <p>
+ * Every route is indexed under the longest sequence of leading literal path segments of its routing template
+ * (i.e. the segments preceding the first template variable). When routing a request, the trie is walked along
+ * the segments of the request path and only the routes registered at the visited trie nodes are considered
+ * as candidates. Candidate routes are still matched using their {@link PathPattern path patterns} in the original
+ * route order, so the produced {@link MatchResult match results} as well as the JAX-RS route precedence are
+ * identical to the ones produced by {@link PathMatchingRouter}. Routes with no literal prefix (e.g. templates
+ * starting with a template variable or a custom regular expression) are candidates for every request path.
+ * </p>
+ */
+final class TriePathMatchingRouter implements Router {
+
+    /**
+     * Trie node. Contains the next-level literal segment nodes and all the routes that are candidates for a
+     * request path whose literal segment walk ends in this node, in the original route order.
+     */
+    private static final class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<Integer> routeIndexes = new ArrayList<>();
+        private Route[] candidates;
+
+        private Node child(final String segment) {
+            Node child = children.get(segment);
+            if (child == null) {
+                child = new Node();
+                children.put(segment, child);
+            }
+            return child;
+        }
+
+        private void computeCandidates(final List<Route> routes, final List<Integer> inheritedIndexes) {
+            final List<Integer> merged = new ArrayList<>(inheritedIndexes.size() + routeIndexes.size());
+
+            int i = 0;
+            int j = 0;
+            while (i < inheritedIndexes.size() || j < routeIndexes.size()) {
+                if (j == routeIndexes.size()
+                        || (i < inheritedIndexes.size() && inheritedIndexes.get(i) < routeIndexes.get(j))) {
+                    merged.add(inheritedIndexes.get(i++));
+                } else {
+                    merged.add(routeIndexes.get(j++));
+                }
+            }
+
+            candidates = new Route[merged.size()];
+            for (int k = 0; k < candidates.length; k++) {
+                candidates[k] = routes.get(merged.get(k));
+            }
+
+            for (final Node child : children.values()) {
+                child.computeCandidates(routes, merged);
+            }
+        }
+    }
+
+    private final PathMatchingRouter linearRouter;
+    private final Node root;
+
+    /**
+     * Constructs a trie-based path matching router for the given routes.
+     *
+     * @param routes next-level request routers to be returned in case the router matching
+     *               the built router is successful.
+     */
+    TriePathMatchingRouter(final List<Route> routes) {
+        this.linearRouter = new PathMatchingRouter(routes);
+        this.root = new Node();
+
+        for (int i = 0; i < routes.size(); i++) {
+            Node node = root;
+            for (final String segment : literalPrefix(routes.get(i).routingPattern())) {
+                node = node.child(segment);
+            }
+            node.routeIndexes.add(i);
+        }
+
+        root.computeCandidates(routes, new ArrayList<Integer>());
+    }
+
+    @Override
+    public Router.Continuation apply(final RequestProcessingContext context) {
+        final TracingLogger tracingLogger = TracingLogger.getInstance(context.request());
+        if (tracingLogger.isLogEnabled(ServerTraceEvent.MATCH_PATH_NOT_MATCHED)) {
+            // verbose tracing reports every single route - fall back to linear matching
+            return linearRouter.apply(context);
+        }
+
+        final RoutingContext rc = context.routingContext();
+        // Peek at matching information to obtain path to match
+        final String path = rc.getFinalMatchingGroup();
+
+        tracingLogger.log(ServerTraceEvent.MATCH_PATH_FIND, path);
+
+        for (final Route candidate : findNode(path).candidates) {
+            final PathPattern routePattern = candidate.routingPattern();
+            final MatchResult m = routePattern.match(path);
+            if (m != null) {
+                // Push match result information and rest of path to match
+                rc.pushMatchResult(m);
+
+                tracingLogger.log(ServerTraceEvent.MATCH_PATH_SELECTED, routePattern.getRegex());
+                return Router.Continuation.of(context, candidate.next());
+            }
+        }
+
+        // No match
+        return Router.Continuation.of(context);
+    }
+
+    /**
+     * Walk the trie along the literal segments of the request path.
+     *
+     * @param path un-matched right-hand request path.
+     * @return the deepest trie node reachable by the request path segments.
+     */
+    private Node findNode(final String path) {
+        Node node = root;
+        if (path == null || path.isEmpty() || path.charAt(0) != '/') {
+            return node;
+        }
+
+        final int length = path.length();
+        int start = 1;
+        while (start < length) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+
+            final Node child = node.children.get(path.substring(start, end));
+            if (child == null) {
+                break;
+            }
+
+            node = child;
+            start = end + 1;
+        }
+        return node;
+    }
+
+    /**
+     * Get the leading literal path segments of the routing pattern template.
+     *
+     * Only segments that consist solely of characters that are matched verbatim by the pattern regular expression
+     * are considered literal. Collecting segments stops at the first segment containing a template variable,
+     * an empty segment or any other character.
+     *
+     * @param pattern routing pattern.
+     * @return leading literal path segments of the routing pattern template.
+     */
+    private static List<String> literalPrefix(final PathPattern pattern) {
+        final List<String> segments = new ArrayList<>();
+        final String template = pattern.getTemplate().getTemplate();
+        if (template == null || template.isEmpty()) {
+            return segments;
+        }
+
+        final int length = template.length();
+        int start = template.charAt(0) == '/' ? 1 : 0;
+        while (start < length) {
+            int end = template.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+
+            final String segment = template.substring(start, end);
+            if (!isLiteral(segment)) {
+                break;
+            }
+            segments.add(segment);
+            start = end + 1;
+        }
+        return segments;
+    }
+
+    private static boolean isLiteral(final String segment) {
+        if (segment.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            final char c = segment.charAt(i);
+            final boolean unreserved = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '.' || c == '_' || c == '~';
+            if (!unreserved) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
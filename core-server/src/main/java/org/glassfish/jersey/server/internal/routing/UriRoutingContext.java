@@ -48,6 +48,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.regex.MatchResult;
 
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.PathSegment;
@@ -95,6 +96,7 @@ public class UriRoutingContext implements RoutingContext {
     private volatile Throwable mappedThrowable = null;
 
     private Endpoint endpoint;
+    private MediaType negotiatedMediaType;
 
     private MultivaluedHashMap<String, String> decodedTemplateValues;
     private ImmutableMultivaluedMap<String, String> decodedTemplateValuesView;
@@ -102,6 +104,9 @@ public class UriRoutingContext implements RoutingContext {
     private ImmutableMultivaluedMap<String, String> encodedQueryParamsView;
     private ImmutableMultivaluedMap<String, String> decodedQueryParamsView;
 
+    private List<PathSegment> encodedPathSegmentsView;
+    private List<PathSegment> decodedPathSegmentsView;
+
     /**
      * Injection constructor.
      *
@@ -339,8 +344,19 @@ public class UriRoutingContext implements RoutingContext {
 
     @Override
     public List<PathSegment> getPathSegments(final boolean decode) {
-        final String requestPath = requestContext.getPath(false);
-        return Collections.unmodifiableList(UriComponent.decodePath(requestPath, decode));
+        if (decode) {
+            if (decodedPathSegmentsView == null) {
+                decodedPathSegmentsView = Collections.unmodifiableList(
+                        UriComponent.decodePath(requestContext.getPath(false), true));
+            }
+            return decodedPathSegmentsView;
+        } else {
+            if (encodedPathSegmentsView == null) {
+                encodedPathSegmentsView = Collections.unmodifiableList(
+                        UriComponent.decodePath(requestContext.getPath(false), false));
+            }
+            return encodedPathSegmentsView;
+        }
     }
 
     @Override
@@ -381,6 +397,8 @@ public class UriRoutingContext implements RoutingContext {
     public void invalidateUriComponentViews() {
         this.decodedQueryParamsView = null;
         this.encodedQueryParamsView = null;
+        this.decodedPathSegmentsView = null;
+        this.encodedPathSegmentsView = null;
     }
 
     @Override
@@ -404,6 +422,16 @@ public class UriRoutingContext implements RoutingContext {
         this.mappedThrowable = mappedThrowable;
     }
 
+    @Override
+    public void setNegotiatedMediaType(final MediaType mediaType) {
+        this.negotiatedMediaType = mediaType;
+    }
+
+    @Override
+    public MediaType getNegotiatedMediaType() {
+        return negotiatedMediaType;
+    }
+
     @Override
     public List<UriTemplate> getMatchedTemplates() {
         return Collections.unmodifiableList(templates);
@@ -80,14 +80,17 @@ import org.objectweb.asm.Opcodes;
  */
 public final class AnnotationAcceptingListener implements ResourceProcessor {
 
+    /**
+     * Only the class header and annotations are inspected, method bodies and debug information are skipped.
+     */
+    private static final int PARSING_OPTIONS = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
+
     private final ClassLoader classloader;
 
     private final Set<Class<?>> classes;
 
     private final Set<String> annotations;
 
-    private final AnnotatedClassVisitor classVisitor;
-
     /**
      * Create a scanning listener to check for Java classes in Java
      * class files annotated with {@link javax.ws.rs.Path} or {@link javax.ws.rs.ext.Provider}.
@@ -140,7 +143,6 @@ public final class AnnotationAcceptingListener implements ResourceProcessor {
         this.classloader = classloader;
         this.classes = new LinkedHashSet<Class<?>>();
         this.annotations = getAnnotationSet(annotations);
-        this.classVisitor = new AnnotatedClassVisitor();
     }
 
     /**
@@ -167,7 +169,58 @@ public final class AnnotationAcceptingListener implements ResourceProcessor {
     }
 
     public void process(final String name, final InputStream in) throws IOException {
-        new ClassReader(in).accept(classVisitor, 0);
+        final String className = getAnnotatedClassName(in);
+        if (className != null) {
+            addAnnotatedClass(className);
+        }
+    }
+
+    /**
+     * Check whether the class in the given class file is correctly scoped and annotated with any of the
+     * declared annotations.
+     * <p>
+     * The method does not load the class and may be invoked concurrently.
+     *
+     * @param in class file input stream.
+     * @return name of the class if it is correctly scoped and annotated, {@code null} otherwise.
+     * @throws IOException if the class file cannot be read.
+     */
+    String getAnnotatedClassName(final InputStream in) throws IOException {
+        final AnnotatedClassVisitor visitor = new AnnotatedClassVisitor();
+        new ClassReader(in).accept(visitor, PARSING_OPTIONS);
+        return visitor.annotatedClassName;
+    }
+
+    /**
+     * Load the class of the given name and add it to the set of annotated classes.
+     *
+     * @param className name of the class found by {@link #getAnnotatedClassName(InputStream)}.
+     */
+    void addAnnotatedClass(final String className) {
+        classes.add(getClassForName(className));
+    }
+
+    private Class getClassForName(final String className) {
+        try {
+            final OsgiRegistry osgiRegistry = ReflectionHelper.getOsgiRegistryInstance();
+
+            if (osgiRegistry != null) {
+                return osgiRegistry.classForNameWithException(className);
+            } else {
+                return AccessController.doPrivileged(ReflectionHelper.classForNameWithExceptionPEA(className, classloader));
+            }
+        } catch (final ClassNotFoundException ex) {
+            throw new RuntimeException(LocalizationMessages.ERROR_SCANNING_CLASS_NOT_FOUND(className), ex);
+        } catch (final PrivilegedActionException pae) {
+            final Throwable cause = pae.getCause();
+            if (cause instanceof ClassNotFoundException) {
+                throw new RuntimeException(LocalizationMessages.ERROR_SCANNING_CLASS_NOT_FOUND(className), cause);
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else {
+                throw new RuntimeException(cause);
+            }
+        }
     }
 
     //
@@ -186,6 +239,10 @@ public final class AnnotationAcceptingListener implements ResourceProcessor {
          * True if the class has the correct declared annotations
          */
         private boolean isAnnotated;
+        /**
+         * The name of the visited class if it has the correct scope and declared annotations.
+         */
+        private String annotatedClassName;
 
         private AnnotatedClassVisitor() {
             super(Opcodes.ASM5);
@@ -221,7 +278,7 @@ public final class AnnotationAcceptingListener implements ResourceProcessor {
             if (isScoped && isAnnotated) {
                 // Correctly scoped and annotated
                 // add to the set of matching classes.
-                classes.add(getClassForName(className.replaceAll("/", ".")));
+                annotatedClassName = className.replace('/', '.');
             }
         }
 
@@ -251,29 +308,5 @@ public final class AnnotationAcceptingListener implements ResourceProcessor {
             // Do nothing
             return null;
         }
-
-        private Class getClassForName(final String className) {
-            try {
-                final OsgiRegistry osgiRegistry = ReflectionHelper.getOsgiRegistryInstance();
-
-                if (osgiRegistry != null) {
-                    return osgiRegistry.classForNameWithException(className);
-                } else {
-                    return AccessController.doPrivileged(ReflectionHelper.classForNameWithExceptionPEA(className, classloader));
-                }
-            } catch (final ClassNotFoundException ex) {
-                throw new RuntimeException(LocalizationMessages.ERROR_SCANNING_CLASS_NOT_FOUND(className), ex);
-            } catch (final PrivilegedActionException pae) {
-                final Throwable cause = pae.getCause();
-                if (cause instanceof ClassNotFoundException) {
-                    throw new RuntimeException(LocalizationMessages.ERROR_SCANNING_CLASS_NOT_FOUND(className), cause);
-                } else if (cause instanceof RuntimeException) {
-                    throw (RuntimeException) cause;
-                } else {
-                    throw new RuntimeException(cause);
-                }
-            }
-        }
-
     }
 }
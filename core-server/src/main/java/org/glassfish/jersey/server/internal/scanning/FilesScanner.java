@@ -80,6 +80,24 @@ public final class FilesScanner extends AbstractResourceFinderAdapter {
         init();
     }
 
+    /**
+     * Get the scanned files and directories.
+     *
+     * @return scanned files.
+     */
+    File[] getFiles() {
+        return files.clone();
+    }
+
+    /**
+     * Check whether sub-directories are scanned as well.
+     *
+     * @return {@code true} if the sub-directories are scanned, {@code false} otherwise.
+     */
+    boolean isRecursive() {
+        return recursive;
+    }
+
     private void processFile(final File f) {
         if (f.getName().endsWith(".jar") || f.getName().endsWith(".zip")) {
             try {
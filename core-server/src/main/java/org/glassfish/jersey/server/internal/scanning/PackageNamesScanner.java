@@ -46,13 +46,16 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.security.AccessController;
+import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.glassfish.jersey.internal.OsgiRegistry;
 import org.glassfish.jersey.internal.util.ReflectionHelper;
 import org.glassfish.jersey.internal.util.Tokenizer;
+import org.glassfish.jersey.server.ResourceFinder;
 import org.glassfish.jersey.server.internal.AbstractResourceFinderAdapter;
 import org.glassfish.jersey.uri.UriComponent;
 
@@ -154,6 +157,33 @@ public final class PackageNamesScanner extends AbstractResourceFinderAdapter {
         init();
     }
 
+    /**
+     * Get the names of the scanned packages.
+     *
+     * @return scanned package names.
+     */
+    String[] getPackages() {
+        return packages.clone();
+    }
+
+    /**
+     * Get the class loader used to find the scanned packages.
+     *
+     * @return scanning class loader.
+     */
+    ClassLoader getClassLoader() {
+        return classloader;
+    }
+
+    /**
+     * Check whether nested packages are scanned as well.
+     *
+     * @return {@code true} if the nested packages are scanned, {@code false} otherwise.
+     */
+    boolean isRecursive() {
+        return recursive;
+    }
+
     private void add(final UriSchemeResourceFinderFactory uriSchemeResourceFinderFactory) {
         for (final String scheme : uriSchemeResourceFinderFactory.getSchemes()) {
             finderFactories.put(scheme.toLowerCase(), uriSchemeResourceFinderFactory);
@@ -189,13 +219,25 @@ public final class PackageNamesScanner extends AbstractResourceFinderAdapter {
     private void init() {
         compositeResourceFinder = new CompositeResourceFinder();
 
+        for (final URI uri : getPackageUris()) {
+            compositeResourceFinder.push(createResourceFinder(uri));
+        }
+    }
+
+    /**
+     * Get URIs of all the class path locations of the scanned packages.
+     *
+     * @return URIs of the scanned packages.
+     */
+    List<URI> getPackageUris() {
+        final List<URI> uris = new ArrayList<>();
         for (final String p : packages) {
             try {
                 final Enumeration<URL> urls =
                         ResourcesProvider.getInstance().getResources(p.replace('.', '/'), classloader);
                 while (urls.hasMoreElements()) {
                     try {
-                        addResourceFinder(toURI(urls.nextElement()));
+                        uris.add(toURI(urls.nextElement()));
                     } catch (final URISyntaxException e) {
                         throw new ResourceFinderException("Error when converting a URL to a URI", e);
                     }
@@ -204,7 +246,7 @@ public final class PackageNamesScanner extends AbstractResourceFinderAdapter {
                 throw new ResourceFinderException("IO error when package scanning jar", e);
             }
         }
-
+        return uris;
     }
 
     /**
@@ -214,7 +256,7 @@ public final class PackageNamesScanner extends AbstractResourceFinderAdapter {
 
         private static volatile ResourcesProvider provider;
 
-        private static ResourcesProvider getInstance() {
+        static ResourcesProvider getInstance() {
             // Double-check idiom for lazy initialization
             ResourcesProvider result = provider;
 
@@ -276,10 +318,16 @@ public final class PackageNamesScanner extends AbstractResourceFinderAdapter {
         ResourcesProvider.setInstance(provider);
     }
 
-    private void addResourceFinder(final URI u) {
+    /**
+     * Create a resource finder for a single class path location of the scanned packages.
+     *
+     * @param u URI of the scanned package.
+     * @return resource finder scanning the package location.
+     */
+    ResourceFinder createResourceFinder(final URI u) {
         final UriSchemeResourceFinderFactory finderFactory = finderFactories.get(u.getScheme().toLowerCase());
         if (finderFactory != null) {
-            compositeResourceFinder.push(finderFactory.create(u, recursive));
+            return finderFactory.create(u, recursive);
         } else {
             throw new ResourceFinderException("The URI scheme " + u.getScheme()
                     + " of the URI " + u
@@ -0,0 +1,428 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.scanning;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.glassfish.jersey.server.ResourceFinder;
+import org.glassfish.jersey.server.internal.LocalizationMessages;
+
+/**
+ * Scans resource finders for annotated classes in parallel.
+ * <p>
+ * Class path locations of {@link PackageNamesScanner package scanners} and files of {@link FilesScanner file scanners}
+ * are fanned out across a {@link ForkJoinPool fork/join pool}: directories are split into their sub-directories and
+ * entries of archives are split into chunks that are parsed concurrently. Any other resource finder is consumed
+ * sequentially by a single task. Class files are only parsed concurrently, the accepted classes are merged in
+ * a deterministic order and loaded on the calling thread.
+ */
+public final class ParallelResourceScanner {
+
+    private static final Logger LOGGER = Logger.getLogger(ParallelResourceScanner.class.getName());
+
+    /**
+     * Maximal number of archive entries parsed by a single task.
+     */
+    private static final int ENTRIES_PER_TASK = 256;
+
+    private final AnnotationAcceptingListener listener;
+
+    /**
+     * Create new parallel scanner.
+     *
+     * @param listener listener accepting the annotated classes.
+     */
+    public ParallelResourceScanner(final AnnotationAcceptingListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Scan the resource finders and add the found annotated classes to the {@link AnnotationAcceptingListener listener}.
+     *
+     * @param finders resource finders to be scanned.
+     */
+    public void scan(final Collection<? extends ResourceFinder> finders) {
+        final List<ScanTask> tasks = new ArrayList<>(finders.size());
+        for (final ResourceFinder finder : finders) {
+            tasks.add(createTask(finder));
+        }
+
+        // creating and shutting down a pool requires RuntimePermission("modifyThread")
+        final ForkJoinPool pool = AccessController.doPrivileged(new PrivilegedAction<ForkJoinPool>() {
+            @Override
+            public ForkJoinPool run() {
+                return new ForkJoinPool();
+            }
+        });
+        final List<String> classNames;
+        try {
+            classNames = pool.invoke(new CompositeTask(tasks));
+        } finally {
+            AccessController.doPrivileged(new PrivilegedAction<Void>() {
+                @Override
+                public Void run() {
+                    pool.shutdown();
+                    return null;
+                }
+            });
+
+            // The split finders have not been iterated, release the resources they have opened.
+            for (final ResourceFinder finder : finders) {
+                if (finder instanceof PackageNamesScanner || finder instanceof FilesScanner) {
+                    finder.close();
+                }
+            }
+        }
+
+        for (final String className : classNames) {
+            listener.addAnnotatedClass(className);
+        }
+    }
+
+    private ScanTask createTask(final ResourceFinder finder) {
+        final List<ScanTask> tasks = new ArrayList<>();
+        if (finder instanceof PackageNamesScanner) {
+            final PackageNamesScanner scanner = (PackageNamesScanner) finder;
+            for (final URI uri : scanner.getPackageUris()) {
+                tasks.add(createTask(scanner, uri));
+            }
+        } else if (finder instanceof FilesScanner) {
+            final FilesScanner scanner = (FilesScanner) finder;
+            for (final File file : scanner.getFiles()) {
+                tasks.add(new FileTask(file, scanner.isRecursive(), true));
+            }
+        } else {
+            return new FinderTask(finder);
+        }
+        return new CompositeTask(tasks);
+    }
+
+    private ScanTask createTask(final PackageNamesScanner scanner, final URI uri) {
+        final String scheme = uri.getScheme().toLowerCase();
+        if ("file".equals(scheme)) {
+            return new FileTask(new File(uri.getPath()), scanner.isRecursive(), false);
+        }
+
+        if ("jar".equals(scheme) || "zip".equals(scheme)) {
+            final String ssp = uri.getRawSchemeSpecificPart();
+            final int separator = ssp.lastIndexOf('!');
+            if (separator > 0 && ssp.startsWith("file:")) {
+                try {
+                    final File archive = new File(URI.create(ssp.substring(0, separator)));
+                    return new ArchiveTask(archive, ssp.substring(separator + 2), scanner.isRecursive());
+                } catch (final IllegalArgumentException e) {
+                    // Not a local file, let the scanner read it.
+                    LOGGER.log(Level.FINER, "Unable to access " + uri + " as a local file.", e);
+                }
+            }
+        }
+
+        return new FinderTask(scanner.createResourceFinder(uri));
+    }
+
+    private static boolean isArchive(final File file) {
+        return file.getName().endsWith(".jar") || file.getName().endsWith(".zip");
+    }
+
+    private void process(final String name, final InputStream in, final List<String> classNames) {
+        try {
+            final String className = listener.getAnnotatedClassName(in);
+            if (className != null) {
+                classNames.add(className);
+            }
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, LocalizationMessages.RESOURCE_CONFIG_UNABLE_TO_PROCESS(name));
+        } finally {
+            try {
+                in.close();
+            } catch (final IOException ex) {
+                LOGGER.log(Level.FINER, "Error closing resource stream.", ex);
+            }
+        }
+    }
+
+    private void process(final File file, final List<String> classNames) {
+        if (!listener.accept(file.getName())) {
+            return;
+        }
+
+        final InputStream in;
+        try {
+            in = new FileInputStream(file);
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, LocalizationMessages.RESOURCE_CONFIG_UNABLE_TO_PROCESS(file.getName()));
+            return;
+        }
+        process(file.getName(), in, classNames);
+    }
+
+    /**
+     * Task returning names of the annotated classes.
+     */
+    private abstract static class ScanTask extends RecursiveTask<List<String>> {
+    }
+
+    /**
+     * Scans several tasks in parallel and merges their results in the order of the tasks.
+     */
+    private final class CompositeTask extends ScanTask {
+
+        private final List<ScanTask> tasks;
+
+        private CompositeTask(final List<ScanTask> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        protected List<String> compute() {
+            if (tasks.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            invokeAll(tasks);
+
+            final List<String> classNames = new ArrayList<>();
+            for (final ScanTask task : tasks) {
+                classNames.addAll(task.join());
+            }
+            return classNames;
+        }
+    }
+
+    /**
+     * Consumes a resource finder sequentially.
+     */
+    private final class FinderTask extends ScanTask {
+
+        private final ResourceFinder finder;
+
+        private FinderTask(final ResourceFinder finder) {
+            this.finder = finder;
+        }
+
+        @Override
+        protected List<String> compute() {
+            final List<String> classNames = new ArrayList<>();
+            while (finder.hasNext()) {
+                final String next = finder.next();
+                if (listener.accept(next)) {
+                    process(next, finder.open(), classNames);
+                }
+            }
+            return classNames;
+        }
+    }
+
+    /**
+     * Scans a file or a directory, sub-directories and archives are scanned by sub-tasks.
+     */
+    private final class FileTask extends ScanTask {
+
+        private final File file;
+        private final boolean recursive;
+        private final boolean archives;
+
+        /**
+         * Create new file task.
+         *
+         * @param file      file or directory to be scanned.
+         * @param recursive if {@code true} sub-directories are scanned as well.
+         * @param archives  if {@code true} jar and zip files are scanned as well.
+         */
+        private FileTask(final File file, final boolean recursive, final boolean archives) {
+            this.file = file;
+            this.recursive = recursive;
+            this.archives = archives;
+        }
+
+        @Override
+        protected List<String> compute() {
+            final List<String> classNames = new ArrayList<>();
+            if (!file.isDirectory()) {
+                if (archives && isArchive(file)) {
+                    return new ArchiveTask(file, "", true).invoke();
+                }
+                process(file, classNames);
+                return classNames;
+            }
+
+            final File[] children = file.listFiles();
+            if (children == null) {
+                return classNames;
+            }
+            Arrays.sort(children);
+
+            final List<ScanTask> subTasks = new ArrayList<>();
+            for (final File child : children) {
+                if (child.isDirectory()) {
+                    if (recursive) {
+                        subTasks.add(new FileTask(child, true, archives));
+                    }
+                } else if (archives && isArchive(child)) {
+                    subTasks.add(new ArchiveTask(child, "", true));
+                } else {
+                    process(child, classNames);
+                }
+            }
+
+            if (!subTasks.isEmpty()) {
+                classNames.addAll(new CompositeTask(subTasks).invoke());
+            }
+            return classNames;
+        }
+    }
+
+    /**
+     * Scans entries of a jar or zip file.
+     */
+    private final class ArchiveTask extends ScanTask {
+
+        private final File archive;
+        private final String parent;
+        private final boolean recursive;
+
+        /**
+         * Create new archive task.
+         *
+         * @param archive   jar or zip file.
+         * @param parent    entry name prefix.
+         * @param recursive if {@code true} entries nested deeper than the prefix are scanned as well.
+         */
+        private ArchiveTask(final File archive, final String parent, final boolean recursive) {
+            this.archive = archive;
+            this.parent = (parent.isEmpty() || parent.endsWith("/")) ? parent : parent + "/";
+            this.recursive = recursive;
+        }
+
+        @Override
+        protected List<String> compute() {
+            final ZipFile zipFile;
+            try {
+                zipFile = new ZipFile(archive);
+            } catch (final IOException e) {
+                throw new ResourceFinderException(e);
+            }
+
+            try {
+                final List<ZipEntry> entries = new ArrayList<>();
+                final Enumeration<? extends ZipEntry> enumeration = zipFile.entries();
+                while (enumeration.hasMoreElements()) {
+                    final ZipEntry entry = enumeration.nextElement();
+                    final String name = entry.getName();
+                    if (!entry.isDirectory() && name.startsWith(parent) && listener.accept(name)
+                            && (recursive || name.indexOf('/', parent.length()) == -1)) {
+                        entries.add(entry);
+                    }
+                }
+                return new EntriesTask(zipFile, entries, 0, entries.size()).invoke();
+            } finally {
+                try {
+                    zipFile.close();
+                } catch (final IOException e) {
+                    LOGGER.log(Level.FINE, LocalizationMessages.JAR_SCANNER_UNABLE_TO_CLOSE_FILE(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses a range of archive entries, large ranges are split in halves parsed in parallel.
+     */
+    private final class EntriesTask extends ScanTask {
+
+        private final ZipFile zipFile;
+        private final List<ZipEntry> entries;
+        private final int from;
+        private final int to;
+
+        private EntriesTask(final ZipFile zipFile, final List<ZipEntry> entries, final int from, final int to) {
+            this.zipFile = zipFile;
+            this.entries = entries;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<String> compute() {
+            if (to - from > ENTRIES_PER_TASK) {
+                final int middle = (from + to) >>> 1;
+                final EntriesTask left = new EntriesTask(zipFile, entries, from, middle);
+                final EntriesTask right = new EntriesTask(zipFile, entries, middle, to);
+                invokeAll(left, right);
+
+                final List<String> classNames = new ArrayList<>(left.join());
+                classNames.addAll(right.join());
+                return classNames;
+            }
+
+            final List<String> classNames = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                final ZipEntry entry = entries.get(i);
+                final InputStream in;
+                try {
+                    in = zipFile.getInputStream(entry);
+                } catch (final IOException e) {
+                    LOGGER.log(Level.CONFIG, LocalizationMessages.JAR_SCANNER_UNABLE_TO_READ_ENTRY(), e);
+                    continue;
+                }
+                process(entry.getName(), in, classNames);
+            }
+            return classNames;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.scanning;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.jersey.internal.util.ReflectionHelper;
+import org.glassfish.jersey.server.ResourceFinder;
+import org.glassfish.jersey.server.internal.LocalizationMessages;
+
+/**
+ * Build-time index of resource and provider classes.
+ * <p>
+ * The index is a {@value #RESOURCE_NAME} class path resource created by the
+ * {@link org.glassfish.jersey.server.ResourceIndexProcessor} annotation processor. It lists binary names
+ * of the classes annotated with {@link javax.ws.rs.Path} or {@link javax.ws.rs.ext.Provider}, one per line,
+ * that were compiled into the same class path root (directory or jar) as the index itself.
+ * <p>
+ * The index replaces package scanning only if every class path root that contains any of the scanned
+ * packages carries an index. Otherwise the packages have to be scanned as there may be classes the index
+ * does not know about.
+ */
+public final class ResourceIndex {
+
+    private static final Logger LOGGER = Logger.getLogger(ResourceIndex.class.getName());
+
+    /**
+     * Name of the class path resource containing the index.
+     */
+    public static final String RESOURCE_NAME = "META-INF/jersey/resource-index";
+
+    private ResourceIndex() {
+        // prevents instantiation
+    }
+
+    /**
+     * Look up the names of the classes a resource finder would find in the build-time index.
+     * <p>
+     * Only {@link PackageNamesScanner package scanners} are supported.
+     *
+     * @param finder resource finder to be replaced by the index lookup.
+     * @return names of the indexed classes in the packages scanned by the finder, or {@code null}
+     * if the finder cannot be replaced by the index and the class path has to be scanned.
+     */
+    public static Set<String> lookup(final ResourceFinder finder) {
+        if (!(finder instanceof PackageNamesScanner) || ReflectionHelper.getOsgiRegistryInstance() != null) {
+            return null;
+        }
+        final PackageNamesScanner scanner = (PackageNamesScanner) finder;
+        final String[] packages = scanner.getPackages();
+
+        try {
+            final List<String> entries = new ArrayList<>();
+            for (final String p : packages) {
+                final String packagePath = p.replace('.', '/');
+                final Enumeration<URL> urls =
+                        PackageNamesScanner.ResourcesProvider.getInstance().getResources(packagePath, scanner.getClassLoader());
+                while (urls.hasMoreElements()) {
+                    final URL index = getIndexUrl(urls.nextElement(), packagePath);
+                    if (index == null || !read(index, entries)) {
+                        LOGGER.log(Level.CONFIG, LocalizationMessages.RESOURCE_INDEX_NOT_AVAILABLE(Arrays.toString(packages)));
+                        return null;
+                    }
+                }
+            }
+
+            final Set<String> result = new LinkedHashSet<>();
+            for (final String className : entries) {
+                if (isInPackages(className, packages, scanner.isRecursive())) {
+                    result.add(className);
+                }
+            }
+            LOGGER.log(Level.CONFIG, LocalizationMessages.RESOURCE_INDEX_USED(Arrays.toString(packages), result.size()));
+            return result;
+        } catch (final IOException e) {
+            LOGGER.log(Level.FINE, "Error reading the resource index.", e);
+            return null;
+        }
+    }
+
+    private static URL getIndexUrl(final URL packageUrl, final String packagePath) throws IOException {
+        final String protocol = packageUrl.getProtocol();
+        if (!"file".equals(protocol) && !"jar".equals(protocol)) {
+            return null;
+        }
+
+        String location = packageUrl.toExternalForm();
+        if (location.endsWith("/")) {
+            location = location.substring(0, location.length() - 1);
+        }
+        if (!location.endsWith(packagePath)) {
+            return null;
+        }
+        return new URL(location.substring(0, location.length() - packagePath.length()) + RESOURCE_NAME);
+    }
+
+    private static boolean read(final URL index, final List<String> entries) {
+        final InputStream in;
+        try {
+            in = index.openStream();
+        } catch (final IOException e) {
+            // No index in this class path root.
+            return false;
+        }
+
+        try {
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    entries.add(line);
+                }
+            }
+            return true;
+        } catch (final IOException e) {
+            LOGGER.log(Level.FINE, "Error reading the resource index " + index + ".", e);
+            return false;
+        } finally {
+            try {
+                in.close();
+            } catch (final IOException ex) {
+                LOGGER.log(Level.FINER, "Error closing resource stream.", ex);
+            }
+        }
+    }
+
+    private static boolean isInPackages(final String className, final String[] packages, final boolean recursive) {
+        final int lastDot = className.lastIndexOf('.');
+        final String classPackage = lastDot < 0 ? "" : className.substring(0, lastDot);
+        for (final String p : packages) {
+            if (classPackage.equals(p) || (recursive && classPackage.startsWith(p + "."))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -41,7 +41,6 @@ package org.glassfish.jersey.server.model.internal;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Type;
-import java.util.List;
 
 import javax.inject.Inject;
 import javax.ws.rs.ProcessingException;
@@ -54,7 +53,7 @@ import org.glassfish.jersey.message.internal.spi.EntityChangeInterceptor;
 import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.internal.inject.ConfiguredValidator;
 import org.glassfish.jersey.server.model.Invocable;
-import org.glassfish.jersey.server.spi.internal.ParamValueFactoryWithSource;
+import org.glassfish.jersey.server.spi.internal.ParamExtractionPlan;
 import org.glassfish.jersey.server.spi.internal.ParameterValueHelper;
 import org.glassfish.jersey.server.spi.internal.ResourceMethodDispatcher;
 
@@ -74,30 +73,30 @@ class JavaResourceMethodDispatcherProvider implements ResourceMethodDispatcher.P
     public ResourceMethodDispatcher create(final Invocable resourceMethod,
             final InvocationHandler invocationHandler,
             final ConfiguredValidator validator) {
-        final List<ParamValueFactoryWithSource<?>> valueProviders =
-                ParameterValueHelper.createValueProviders(serviceLocator, resourceMethod);
+        final ParamExtractionPlan paramExtractionPlan = ParamExtractionPlan.compile(
+                ParameterValueHelper.createValueProviders(serviceLocator, resourceMethod));
 
         final Class<?> returnType = resourceMethod.getHandlingMethod().getReturnType();
 
         final ResourceMethodDispatcher resourceMethodDispatcher;
         if (Response.class.isAssignableFrom(returnType)) {
             resourceMethodDispatcher =
-                    new ResponseOutInvoker(resourceMethod, invocationHandler, valueProviders, validator);
+                    new ResponseOutInvoker(resourceMethod, invocationHandler, paramExtractionPlan, validator);
         } else if (returnType != void.class) {
             // Entity change interceptors.
             final Iterable<EntityChangeInterceptor> entityInterceptors =
                     Providers.getAllProviders(serviceLocator, EntityChangeInterceptor.class);
 
             if (returnType == Object.class || GenericEntity.class.isAssignableFrom(returnType)) {
-                resourceMethodDispatcher = new ObjectOutInvoker(resourceMethod, invocationHandler, valueProviders, validator,
+                resourceMethodDispatcher = new ObjectOutInvoker(resourceMethod, invocationHandler, paramExtractionPlan, validator,
                         entityInterceptors);
             } else {
-                resourceMethodDispatcher = new TypeOutInvoker(resourceMethod, invocationHandler, valueProviders, validator,
+                resourceMethodDispatcher = new TypeOutInvoker(resourceMethod, invocationHandler, paramExtractionPlan, validator,
                         entityInterceptors);
             }
         } else {
             resourceMethodDispatcher
-                    = new VoidOutInvoker(resourceMethod, invocationHandler, valueProviders, validator);
+                    = new VoidOutInvoker(resourceMethod, invocationHandler, paramExtractionPlan, validator);
         }
 
         // Inject validator.
@@ -117,19 +116,19 @@ class JavaResourceMethodDispatcherProvider implements ResourceMethodDispatcher.P
 
     private abstract static class AbstractMethodParamInvoker extends AbstractJavaResourceMethodDispatcher {
 
-        private final List<ParamValueFactoryWithSource<?>> valueProviders;
+        private final ParamExtractionPlan paramExtractionPlan;
 
         public AbstractMethodParamInvoker(
                 final Invocable resourceMethod,
                 final InvocationHandler handler,
-                final List<ParamValueFactoryWithSource<?>> valueProviders,
+                final ParamExtractionPlan paramExtractionPlan,
                 final ConfiguredValidator validator) {
             super(resourceMethod, handler, validator);
-            this.valueProviders = valueProviders;
+            this.paramExtractionPlan = paramExtractionPlan;
         }
 
-        final Object[] getParamValues() {
-            return ParameterValueHelper.getParameterValues(valueProviders);
+        final Object[] getParamValues(final ContainerRequest containerRequest) {
+            return paramExtractionPlan.getParameterValues(containerRequest);
         }
 
         static boolean hasEntity(final Object entity,
@@ -153,14 +152,14 @@ class JavaResourceMethodDispatcherProvider implements ResourceMethodDispatcher.P
         public VoidOutInvoker(
                 final Invocable resourceMethod,
                 final InvocationHandler handler,
-                final List<ParamValueFactoryWithSource<?>> valueProviders,
+                final ParamExtractionPlan paramExtractionPlan,
                 final ConfiguredValidator validator) {
-            super(resourceMethod, handler, valueProviders, validator);
+            super(resourceMethod, handler, paramExtractionPlan, validator);
         }
 
         @Override
         protected Response doDispatch(final Object resource, final ContainerRequest containerRequest) throws ProcessingException {
-            invoke(containerRequest, resource, getParamValues());
+            invoke(containerRequest, resource, getParamValues(containerRequest));
             return Response.noContent().build();
         }
     }
@@ -170,14 +169,14 @@ class JavaResourceMethodDispatcherProvider implements ResourceMethodDispatcher.P
         public ResponseOutInvoker(
                 final Invocable resourceMethod,
                 final InvocationHandler handler,
-                final List<ParamValueFactoryWithSource<?>> valueProviders,
+                final ParamExtractionPlan paramExtractionPlan,
                 final ConfiguredValidator validator) {
-            super(resourceMethod, handler, valueProviders, validator);
+            super(resourceMethod, handler, paramExtractionPlan, validator);
         }
 
         @Override
         protected Response doDispatch(final Object resource, final ContainerRequest containerRequest) throws ProcessingException {
-            return Response.class.cast(invoke(containerRequest, resource, getParamValues()));
+            return Response.class.cast(invoke(containerRequest, resource, getParamValues(containerRequest)));
         }
     }
 
@@ -188,16 +187,16 @@ class JavaResourceMethodDispatcherProvider implements ResourceMethodDispatcher.P
         public ObjectOutInvoker(
                 final Invocable resourceMethod,
                 final InvocationHandler handler,
-                final List<ParamValueFactoryWithSource<?>> valueProviders,
+                final ParamExtractionPlan paramExtractionPlan,
                 final ConfiguredValidator validator, final Iterable<EntityChangeInterceptor> interceptors) {
-            super(resourceMethod, handler, valueProviders, validator);
+            super(resourceMethod, handler, paramExtractionPlan, validator);
 
             this.interceptors = interceptors;
         }
 
         @Override
         protected Response doDispatch(final Object resource, final ContainerRequest containerRequest) throws ProcessingException {
-            final Object o = invoke(containerRequest, resource, getParamValues());
+            final Object o = invoke(containerRequest, resource, getParamValues(containerRequest));
 
             if (o instanceof Response) {
                 return Response.class.cast(o);
@@ -219,9 +218,9 @@ class JavaResourceMethodDispatcherProvider implements ResourceMethodDispatcher.P
         public TypeOutInvoker(
                 final Invocable resourceMethod,
                 final InvocationHandler handler,
-                final List<ParamValueFactoryWithSource<?>> valueProviders,
+                final ParamExtractionPlan paramExtractionPlan,
                 final ConfiguredValidator validator, final Iterable<EntityChangeInterceptor> interceptors) {
-            super(resourceMethod, handler, valueProviders, validator);
+            super(resourceMethod, handler, paramExtractionPlan, validator);
 
             this.t = resourceMethod.getHandlingMethod().getGenericReturnType();
             this.interceptors = interceptors;
@@ -229,7 +228,7 @@ class JavaResourceMethodDispatcherProvider implements ResourceMethodDispatcher.P
 
         @Override
         protected Response doDispatch(final Object resource, final ContainerRequest containerRequest) throws ProcessingException {
-            final Object o = invoke(containerRequest, resource, getParamValues());
+            final Object o = invoke(containerRequest, resource, getParamValues(containerRequest));
 
             if (hasEntity(o, interceptors)) {
                 final Response response = Response.ok().entity(o).build();
@@ -0,0 +1,88 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.model.internal;
+
+import java.lang.reflect.InvocationHandler;
+
+import javax.ws.rs.core.Configuration;
+
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.internal.inject.ConfiguredValidator;
+import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.spi.internal.ResourceMethodDispatcher;
+
+/**
+ * An implementation of {@link ResourceMethodDispatcher.Provider} that creates resource method dispatchers invoking
+ * the resource Java methods using {@link MethodHandleInvocationHandler method handles} resolved at resource model
+ * build time.
+ * <p>
+ * The provider is used only if enabled via {@link ServerProperties#METHOD_HANDLE_DISPATCHER_ENABLED} and only for
+ * resource methods that are invoked by the default (reflective) invocation handler, i.e. methods that are not handled by
+ * a custom {@link org.glassfish.jersey.server.spi.internal.ResourceMethodInvocationHandlerProvider}. In other cases
+ * the dispatcher creation is left to the next provider.
+ * </p>
+ */
+final class MethodHandleDispatcherProvider extends JavaResourceMethodDispatcherProvider {
+
+    private volatile Boolean enabled;
+
+    @Override
+    public ResourceMethodDispatcher create(final Invocable resourceMethod,
+                                           final InvocationHandler invocationHandler,
+                                           final ConfiguredValidator validator) {
+        if (!isEnabled() || invocationHandler != ResourceMethodInvocationHandlerFactory.DEFAULT_HANDLER) {
+            return null;
+        }
+
+        final InvocationHandler handler = MethodHandleInvocationHandler.create(resourceMethod.getDefinitionMethod());
+        return handler == null ? null : super.create(resourceMethod, handler, validator);
+    }
+
+    private boolean isEnabled() {
+        if (enabled == null) {
+            final Configuration config = getServiceLocator().getService(Configuration.class);
+            enabled = config != null && ServerProperties.getValue(config.getProperties(),
+                    ServerProperties.METHOD_HANDLE_DISPATCHER_ENABLED,
+                    Boolean.FALSE,
+                    Boolean.class);
+        }
+        return enabled;
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.model.internal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Resource method invocation handler that invokes the resource Java method using a {@link MethodHandle method handle}
+ * resolved once, when the handler is created, instead of using {@link Method#invoke(Object, Object...) reflection}.
+ * <p>
+ * Methods with up to {@value #MAX_SPECIALIZED_ARITY} parameters are invoked using arity-specialized exact invocations
+ * that pass the arguments directly, methods with more parameters are invoked using a spreading method handle.
+ * Exceptions thrown by the resource method are wrapped in an {@link InvocationTargetException} to be processed the same
+ * way as exceptions thrown by reflectively invoked methods.
+ * </p>
+ */
+final class MethodHandleInvocationHandler implements InvocationHandler {
+
+    /**
+     * Maximal number of resource method parameters for which an arity-specialized invocation is used.
+     */
+    static final int MAX_SPECIALIZED_ARITY = 6;
+
+    private final MethodHandle handle;
+    private final int arity;
+
+    /**
+     * Create new method handle based invocation handler for the given resource Java method.
+     *
+     * @param method resource Java method.
+     * @return method handle based invocation handler or {@code null} if the method cannot be invoked using
+     * a method handle (e.g. the method is static or not accessible).
+     */
+    static MethodHandleInvocationHandler create(final Method method) {
+        if (Modifier.isStatic(method.getModifiers())) {
+            return null;
+        }
+
+        final MethodHandle handle;
+        try {
+            handle = MethodHandles.lookup().unreflect(method);
+        } catch (final IllegalAccessException e) {
+            return null;
+        }
+
+        final int arity = method.getParameterTypes().length;
+        // (Object receiver, Object... params)Object with boxing/unboxing and void -> null adaptations
+        MethodHandle generic = handle.asType(MethodType.genericMethodType(arity + 1));
+        if (arity > MAX_SPECIALIZED_ARITY) {
+            generic = generic.asSpreader(Object[].class, arity);
+        }
+
+        return new MethodHandleInvocationHandler(generic, arity);
+    }
+
+    private MethodHandleInvocationHandler(final MethodHandle handle, final int arity) {
+        this.handle = handle;
+        this.arity = arity;
+    }
+
+    @Override
+    public Object invoke(final Object target, final Method method, final Object[] args) throws InvocationTargetException {
+        try {
+            switch (arity) {
+                case 0:
+                    return handle.invokeExact(target);
+                case 1:
+                    return handle.invokeExact(target, args[0]);
+                case 2:
+                    return handle.invokeExact(target, args[0], args[1]);
+                case 3:
+                    return handle.invokeExact(target, args[0], args[1], args[2]);
+                case 4:
+                    return handle.invokeExact(target, args[0], args[1], args[2], args[3]);
+                case 5:
+                    return handle.invokeExact(target, args[0], args[1], args[2], args[3], args[4]);
+                case 6:
+                    return handle.invokeExact(target, args[0], args[1], args[2], args[3], args[4], args[5]);
+                default:
+                    return handle.invokeExact(target, args);
+            }
+        } catch (final Throwable t) {
+            throw new InvocationTargetException(t);
+        }
+    }
+}
@@ -73,7 +73,7 @@ import org.glassfish.hk2.api.ServiceLocator;
 @Singleton
 public final class ResourceMethodInvocationHandlerFactory implements ResourceMethodInvocationHandlerProvider {
 
-    private static final InvocationHandler DEFAULT_HANDLER = new InvocationHandler() {
+    static final InvocationHandler DEFAULT_HANDLER = new InvocationHandler() {
 
         @Override
         public Object invoke(Object target, Method method, Object[] args)
@@ -62,6 +62,7 @@ public class ResourceModelBinder extends AbstractBinder {
 
         // Dispatcher providers
         bind(VoidVoidDispatcherProvider.class).to(ResourceMethodDispatcher.Provider.class);
+        bind(MethodHandleDispatcherProvider.class).to(ResourceMethodDispatcher.Provider.class);
         bind(JavaResourceMethodDispatcherProvider.class).to(ResourceMethodDispatcher.Provider.class);
 
         bind(OptionsMethodProcessor.class).to(ModelProcessor.class);
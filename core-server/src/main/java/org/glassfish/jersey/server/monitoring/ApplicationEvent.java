@@ -40,6 +40,8 @@
 
 package org.glassfish.jersey.server.monitoring;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
 
 import org.glassfish.jersey.server.ResourceConfig;
@@ -95,6 +97,47 @@ public interface ApplicationEvent {
         RELOAD_FINISHED
     }
 
+    /**
+     * Phases of the {@link org.glassfish.jersey.server.ApplicationHandler application} initialization,
+     * in the order in which they are run.
+     */
+    public static enum InitializationPhase {
+        /**
+         * Discovery of providers: {@link org.glassfish.jersey.internal.spi.AutoDiscoverable auto-discoverable}
+         * providers, features and binders.
+         */
+        CONFIGURATION,
+        /**
+         * Introspection of the registered resource classes and instances including the class path scanning.
+         */
+        RESOURCE_INTROSPECTION,
+        /**
+         * Processing of the registered components and their binding into the injection framework.
+         */
+        COMPONENT_BINDING,
+        /**
+         * Building of the resource model and its processing by {@link org.glassfish.jersey.server.model.ModelProcessor
+         * model processors}.
+         */
+        MODEL_PROCESSING,
+        /**
+         * Validation of the resource model.
+         */
+        MODEL_VALIDATION,
+        /**
+         * Set-up of the message body readers and writers.
+         */
+        MESSAGE_BODY_WORKERS,
+        /**
+         * Building of the request routers, resource method invokers and dispatchers.
+         */
+        ROUTING,
+        /**
+         * Assembly of the server runtime and injection of the registered instances.
+         */
+        RUNTIME
+    }
+
     /**
      * Return the type of the event.
      *
@@ -158,4 +201,18 @@ public interface ApplicationEvent {
      */
     public ResourceModel getResourceModel();
 
+    /**
+     * Get durations of the application initialization phases in nanoseconds. The map iterates the phases in
+     * the order in which they are run. For the {@link Type#INITIALIZATION_START} event type the map contains
+     * only the phases finished before the event was triggered.
+     *
+     * <p>
+     * The default implementation returns an empty map.
+     * </p>
+     *
+     * @return Durations of the initialization phases in nanoseconds.
+     */
+    public default Map<InitializationPhase, Long> getInitializationPhaseTimes() {
+        return Collections.emptyMap();
+    }
 }
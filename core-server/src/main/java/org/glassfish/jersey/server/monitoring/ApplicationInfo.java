@@ -40,7 +40,9 @@
 
 package org.glassfish.jersey.server.monitoring;
 
+import java.util.Collections;
 import java.util.Date;
+import java.util.Map;
 import java.util.Set;
 
 import org.glassfish.jersey.server.ResourceConfig;
@@ -132,6 +134,19 @@ public interface ApplicationInfo {
      */
     public Set<Class<?>> getProviders();
 
+    /**
+     * Get durations of the application initialization phases in nanoseconds.
+     * <p>
+     * The default implementation returns an empty map.
+     * </p>
+     *
+     * @return Durations of the initialization phases in nanoseconds.
+     * @see ApplicationEvent#getInitializationPhaseTimes()
+     */
+    public default Map<ApplicationEvent.InitializationPhase, Long> getInitializationPhaseTimes() {
+        return Collections.emptyMap();
+    }
+
     /**
      * Get the immutable consistent snapshot of the application info. Working with snapshots might
      * have negative performance impact as snapshot must be created but ensures consistency of data over time.
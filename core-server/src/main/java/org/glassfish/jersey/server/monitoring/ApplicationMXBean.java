@@ -40,6 +40,7 @@
 
 package org.glassfish.jersey.server.monitoring;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.Map;
 import java.util.Set;
@@ -104,4 +105,18 @@ public interface ApplicationMXBean {
      *      of returned classes.
      */
     public Set<String> getProviderClasses();
+
+    /**
+     * Get durations of the application initialization phases in nanoseconds.
+     * <p>
+     * The default implementation returns an empty map.
+     * </p>
+     *
+     * @return Map of the {@link ApplicationEvent.InitializationPhase initialization phase} names to their durations
+     *         in nanoseconds.
+     * @see ApplicationEvent#getInitializationPhaseTimes()
+     */
+    public default Map<String, Long> getInitializationPhaseTimes() {
+        return Collections.emptyMap();
+    }
 }
@@ -111,6 +111,66 @@ public interface TimeWindowStatistics {
      */
     public long getRequestCount();
 
+    /**
+     * Returns the 50th percentile (median) of the duration (processing time) in milliseconds of the request processing
+     * measured in the time window. The value is available only for time windows that keep the distribution
+     * of request durations (the unlimited time window and the time window of one second).
+     * <p>
+     * The default implementation returns -1 (not available).
+     * </p>
+     *
+     * @return 50th percentile (median) of the request processing time or -1 if no request has been processed or the value
+     * is not available for the time window.
+     */
+    public default long getMedianDuration() {
+        return -1;
+    }
+
+    /**
+     * Returns the 95th percentile of the duration (processing time) in milliseconds of the request processing measured
+     * in the time window. The value is available only for time windows that keep the distribution
+     * of request durations (the unlimited time window and the time window of one second).
+     * <p>
+     * The default implementation returns -1 (not available).
+     * </p>
+     *
+     * @return 95th percentile of the request processing time or -1 if no request has been processed or the value is not
+     * available for the time window.
+     */
+    public default long get95thPercentileDuration() {
+        return -1;
+    }
+
+    /**
+     * Returns the 99th percentile of the duration (processing time) in milliseconds of the request processing measured
+     * in the time window. The value is available only for time windows that keep the distribution
+     * of request durations (the unlimited time window and the time window of one second).
+     * <p>
+     * The default implementation returns -1 (not available).
+     * </p>
+     *
+     * @return 99th percentile of the request processing time or -1 if no request has been processed or the value is not
+     * available for the time window.
+     */
+    public default long get99thPercentileDuration() {
+        return -1;
+    }
+
+    /**
+     * Returns the 99.9th percentile of the duration (processing time) in milliseconds of the request processing measured
+     * in the time window. The value is available only for time windows that keep the distribution
+     * of request durations (the unlimited time window and the time window of one second).
+     * <p>
+     * The default implementation returns -1 (not available).
+     * </p>
+     *
+     * @return 99.9th percentile of the request processing time or -1 if no request has been processed or the value is not
+     * available for the time window.
+     */
+    public default long get999thPercentileDuration() {
+        return -1;
+    }
+
     /**
      * Get the immutable and consistent snapshot of the monitoring statistics. Working with snapshots might
      * have negative performance impact as snapshot must be created but ensures consistency of data over time.
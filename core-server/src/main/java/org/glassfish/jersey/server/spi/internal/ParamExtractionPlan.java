@@ -0,0 +1,150 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.server.spi.internal;
+
+import java.util.List;
+
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.internal.inject.AbstractRequestValueFactory;
+import org.glassfish.jersey.server.model.Parameter;
+
+import org.glassfish.hk2.api.Factory;
+
+/**
+ * Parameter extraction plan of a {@link org.glassfish.jersey.server.model.Parameterized parameterized} resource model
+ * component compiled from its {@link ParameterValueHelper#createValueProviders parameter value providers}.
+ * <p>
+ * The plan is created once when the runtime resource model is built and fills the whole array of parameter values
+ * in a single pass. Parameter values derived solely from the request (path, query, matrix, header and cookie
+ * parameters) are extracted directly from the request passed to {@link #getParameterValues(ContainerRequest)}
+ * instead of looking up the current request for each of the parameters.
+ * </p>
+ *
+ * @see ParameterValueHelper#getParameterValues(List)
+ */
+public final class ParamExtractionPlan {
+
+    private final Factory<?>[] factories;
+    private final AbstractRequestValueFactory<?>[] requestFactories;
+    private final int entityIndex;
+
+    private ParamExtractionPlan(final Factory<?>[] factories,
+                                final AbstractRequestValueFactory<?>[] requestFactories,
+                                final int entityIndex) {
+        this.factories = factories;
+        this.requestFactories = requestFactories;
+        this.entityIndex = entityIndex;
+    }
+
+    /**
+     * Compile the parameter extraction plan.
+     *
+     * @param valueProviders a list of value providers.
+     * @return parameter extraction plan.
+     */
+    public static ParamExtractionPlan compile(final List<ParamValueFactoryWithSource<?>> valueProviders) {
+        final int size = valueProviders.size();
+        final Factory<?>[] factories = new Factory<?>[size];
+        final AbstractRequestValueFactory<?>[] requestFactories = new AbstractRequestValueFactory<?>[size];
+
+        int entityIndex = -1;
+        for (int i = 0; i < size; i++) {
+            final ParamValueFactoryWithSource<?> provider = valueProviders.get(i);
+            if (provider == null) {
+                // unresolved parameter, reported by the resource model validation
+                continue;
+            }
+
+            if (provider.getSource().equals(Parameter.Source.ENTITY)) {
+                entityIndex = i;
+            }
+
+            final Factory<?> factory = provider.getFactory();
+            if (factory instanceof AbstractRequestValueFactory) {
+                requestFactories[i] = (AbstractRequestValueFactory<?>) factory;
+            } else {
+                factories[i] = factory;
+            }
+        }
+
+        return new ParamExtractionPlan(factories, requestFactories, entityIndex);
+    }
+
+    /**
+     * Get the number of parameters extracted by the plan.
+     *
+     * @return number of parameters.
+     */
+    public int getParameterCount() {
+        return factories.length;
+    }
+
+    /**
+     * Get the array of parameter values for the given request.
+     *
+     * @param request request the parameter values are extracted from.
+     * @return array of parameter values.
+     */
+    public Object[] getParameterValues(final ContainerRequest request) {
+        final Object[] params = new Object[factories.length];
+        try {
+            for (int i = 0; i < params.length; i++) {
+                // entity provider has to be called last; see JERSEY-2642
+                if (i != entityIndex) {
+                    params[i] = provide(i, request);
+                }
+            }
+
+            if (entityIndex != -1) {
+                params[entityIndex] = provide(entityIndex, request);
+            }
+
+            return params;
+        } catch (RuntimeException e) {
+            throw ParameterValueHelper.toParameterException(e);
+        }
+    }
+
+    private Object provide(final int index, final ContainerRequest request) {
+        final AbstractRequestValueFactory<?> requestFactory = requestFactories[index];
+        return requestFactory != null ? requestFactory.provide(request) : factories[index].provide();
+    }
+}
@@ -76,6 +76,15 @@ public final class ParamValueFactoryWithSource<T> implements Factory<T> {
         factory.dispose(t);
     }
 
+    /**
+     * Get the wrapped param factory.
+     *
+     * @return wrapped param factory.
+     */
+    Factory<T> getFactory() {
+        return factory;
+    }
+
     /**
      * Returns {@link org.glassfish.jersey.server.model.Parameter.Source}
      * which closely determines a function of the given factory.
@@ -95,21 +95,28 @@ public final class ParameterValueHelper {
             }
 
             return params;
-        } catch (WebApplicationException e) {
-            throw e;
-        } catch (MessageBodyProviderNotFoundException e) {
-            throw new NotSupportedException(e);
-        } catch (ProcessingException e) {
-            throw e;
-        } catch (MultiException e) {
-            if (e.getCause() instanceof WebApplicationException) {
-                throw (WebApplicationException) e.getCause();
-            }
-
-            throw new MappableException("Exception obtaining parameters", e);
         } catch (RuntimeException e) {
-            throw new MappableException("Exception obtaining parameters", e);
+            throw toParameterException(e);
+        }
+    }
+
+    /**
+     * Translate an exception thrown while obtaining the parameter values to the exception that should be propagated.
+     *
+     * @param e exception thrown by a parameter value provider.
+     * @return exception to be thrown.
+     */
+    static RuntimeException toParameterException(final RuntimeException e) {
+        if (e instanceof WebApplicationException) {
+            return e;
+        } else if (e instanceof MessageBodyProviderNotFoundException) {
+            return new NotSupportedException(e);
+        } else if (e instanceof ProcessingException) {
+            return e;
+        } else if (e instanceof MultiException && e.getCause() instanceof WebApplicationException) {
+            return (WebApplicationException) e.getCause();
         }
+        return new MappableException("Exception obtaining parameters", e);
     }
 
     /**
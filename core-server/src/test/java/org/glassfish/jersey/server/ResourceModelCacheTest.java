@@ -0,0 +1,240 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.server;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Encoded;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.MediaType;
+
+import org.glassfish.jersey.server.model.ModelProcessor;
+import org.glassfish.jersey.server.model.ResourceModel;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test of the application resource model cache.
+ */
+public class ResourceModelCacheTest {
+
+    @Path("resource")
+    public static class Resource {
+
+        @GET
+        @Produces("text/plain")
+        public String getText() {
+            return "text";
+        }
+
+        @GET
+        @Produces("application/xml")
+        public String getXml() {
+            return "<xml/>";
+        }
+
+        @POST
+        @Consumes("text/plain")
+        public String post(final String entity) {
+            return "post " + entity;
+        }
+
+        @GET
+        @Path("{id}")
+        public String getId(@PathParam("id") final String id) {
+            return "id=" + id;
+        }
+
+        @GET
+        @Path("encoded")
+        @Encoded
+        public String getEncoded(@QueryParam("q") final String q) {
+            return "q=" + q;
+        }
+
+        @Path("locator")
+        public SubResource locator() {
+            return new SubResource();
+        }
+    }
+
+    public static class SubResource {
+
+        @GET
+        public String get() {
+            return "sub";
+        }
+    }
+
+    public static class CountingModelProcessor implements ModelProcessor {
+
+        private static final AtomicInteger INVOCATIONS = new AtomicInteger();
+
+        @Override
+        public ResourceModel processResourceModel(final ResourceModel resourceModel, final Configuration configuration) {
+            INVOCATIONS.incrementAndGet();
+            return resourceModel;
+        }
+
+        @Override
+        public ResourceModel processSubResource(final ResourceModel subResourceModel, final Configuration configuration) {
+            return subResourceModel;
+        }
+    }
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File cacheFile;
+
+    @Before
+    public void setUp() throws Exception {
+        cacheFile = new File(folder.getRoot(), "model.cache");
+        CountingModelProcessor.INVOCATIONS.set(0);
+    }
+
+    private ApplicationHandler createApplication(final Object... properties) {
+        final ResourceConfig config = new ResourceConfig(Resource.class, CountingModelProcessor.class);
+        config.property(ServerProperties.RESOURCE_MODEL_CACHE_FILE, cacheFile.getPath());
+        for (int i = 0; i < properties.length; i += 2) {
+            config.property((String) properties[i], properties[i + 1]);
+        }
+        return new ApplicationHandler(config);
+    }
+
+    private static void assertSameResponse(final ApplicationHandler expected, final ApplicationHandler actual,
+                                           final ContainerRequest expectedRequest, final ContainerRequest actualRequest)
+            throws Exception {
+        final ContainerResponse expectedResponse = expected.apply(expectedRequest).get();
+        final ContainerResponse actualResponse = actual.apply(actualRequest).get();
+
+        assertEquals(expectedResponse.getStatus(), actualResponse.getStatus());
+        assertEquals(expectedResponse.getEntity(), actualResponse.getEntity());
+        assertEquals(expectedResponse.getMediaType(), actualResponse.getMediaType());
+    }
+
+    @Test
+    public void testRestoredModelServesSameResponses() throws Exception {
+        final ApplicationHandler built = createApplication();
+        assertEquals(1, CountingModelProcessor.INVOCATIONS.get());
+        assertTrue(cacheFile.isFile());
+
+        final ApplicationHandler restored = createApplication();
+        // model processors are skipped for the restored model
+        assertEquals(1, CountingModelProcessor.INVOCATIONS.get());
+
+        for (final String uri : new String[] {"/resource", "/resource/1", "/resource/encoded?q=a%20b",
+                "/resource/locator", "/unknown"}) {
+            assertSameResponse(built, restored,
+                    RequestContextBuilder.from(uri, "GET").accept("text/plain").build(),
+                    RequestContextBuilder.from(uri, "GET").accept("text/plain").build());
+        }
+        assertSameResponse(built, restored,
+                RequestContextBuilder.from("/resource", "GET").accept("application/xml").build(),
+                RequestContextBuilder.from("/resource", "GET").accept("application/xml").build());
+        assertSameResponse(built, restored,
+                RequestContextBuilder.from("/resource", "POST").entity("e").type(MediaType.TEXT_PLAIN_TYPE).build(),
+                RequestContextBuilder.from("/resource", "POST").entity("e").type(MediaType.TEXT_PLAIN_TYPE).build());
+        assertSameResponse(built, restored,
+                RequestContextBuilder.from("/resource", "OPTIONS").accept("text/plain").build(),
+                RequestContextBuilder.from("/resource", "OPTIONS").accept("text/plain").build());
+    }
+
+    @Test
+    public void testChangedConfigurationRebuildsModel() throws Exception {
+        createApplication();
+        assertEquals(1, CountingModelProcessor.INVOCATIONS.get());
+
+        createApplication("test.property", "changed");
+        assertEquals(2, CountingModelProcessor.INVOCATIONS.get());
+
+        createApplication("test.property", "changed");
+        assertEquals(2, CountingModelProcessor.INVOCATIONS.get());
+    }
+
+    @Test
+    public void testUnreadableCacheFileIsReplaced() throws Exception {
+        final ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(cacheFile));
+        try {
+            out.writeObject(new ArrayList<String>());
+        } finally {
+            out.close();
+        }
+
+        final ApplicationHandler built = createApplication();
+        assertEquals(1, CountingModelProcessor.INVOCATIONS.get());
+        assertEquals("text", built.apply(RequestContextBuilder.from("/resource", "GET").accept("text/plain").build())
+                .get().getEntity());
+
+        createApplication();
+        assertEquals(1, CountingModelProcessor.INVOCATIONS.get());
+        // the cache file is replaced by renaming a temporary file
+        assertArrayEquals(new String[] {cacheFile.getName()}, folder.getRoot().list());
+    }
+
+    @Test
+    public void testResourceInstanceIsNotCached() throws Exception {
+        final ResourceConfig config = new ResourceConfig(CountingModelProcessor.class);
+        config.register(new Resource());
+        config.property(ServerProperties.RESOURCE_MODEL_CACHE_FILE, cacheFile.getPath());
+        new ApplicationHandler(config);
+
+        assertFalse(cacheFile.exists());
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.server;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link Broadcaster} delivering chunks asynchronously.
+ */
+public class ShardedBroadcasterTest {
+
+    private static class RecordingOutput extends ChunkedOutput<String> {
+
+        private final List<String> chunks = new CopyOnWriteArrayList<String>();
+        private final CountDownLatch writeAllowed;
+        private final CountDownLatch closeLatch = new CountDownLatch(1);
+        private volatile boolean closed;
+
+        RecordingOutput(final CountDownLatch writeAllowed) {
+            super(String.class);
+            this.writeAllowed = writeAllowed;
+        }
+
+        @Override
+        public void write(final String chunk) throws IOException {
+            try {
+                writeAllowed.await();
+            } catch (final InterruptedException e) {
+                throw new IOException(e);
+            }
+            chunks.add(chunk);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            closeLatch.countDown();
+        }
+
+        @Override
+        public boolean isClosed() {
+            return closed;
+        }
+    }
+
+    private static class CloseCountingListener implements BroadcasterListener<String> {
+
+        private final CountDownLatch closed;
+        private final List<Exception> exceptions = new CopyOnWriteArrayList<Exception>();
+
+        CloseCountingListener(final int count) {
+            this.closed = new CountDownLatch(count);
+        }
+
+        @Override
+        public void onException(final ChunkedOutput<String> chunkedOutput, final Exception exception) {
+            exceptions.add(exception);
+        }
+
+        @Override
+        public void onClose(final ChunkedOutput<String> chunkedOutput) {
+            closed.countDown();
+        }
+    }
+
+    @Test
+    public void testChunksDeliveredInOrder() throws Exception {
+        final Broadcaster<String> broadcaster = new Broadcaster<String>(2, 128, Broadcaster.SlowConsumerPolicy.DROP_NEWEST);
+        final CloseCountingListener listener = new CloseCountingListener(3);
+        broadcaster.add(listener);
+
+        final CountDownLatch open = new CountDownLatch(0);
+        final RecordingOutput[] outputs = new RecordingOutput[3];
+        for (int i = 0; i < outputs.length; i++) {
+            outputs[i] = new RecordingOutput(open);
+            assertTrue(broadcaster.add(outputs[i]));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            broadcaster.broadcast(Integer.toString(i));
+        }
+        broadcaster.closeAll();
+
+        assertTrue(listener.closed.await(5, TimeUnit.SECONDS));
+        for (final RecordingOutput output : outputs) {
+            assertEquals(100, output.chunks.size());
+            for (int i = 0; i < 100; i++) {
+                assertEquals(Integer.toString(i), output.chunks.get(i));
+            }
+        }
+        assertEquals(0, broadcaster.getDroppedChunkCount());
+        assertEquals(0, broadcaster.getPendingChunkCount());
+    }
+
+    @Test
+    public void testSlowConsumerDropNewest() throws Exception {
+        final Broadcaster<String> broadcaster = new Broadcaster<String>(2, 4, Broadcaster.SlowConsumerPolicy.DROP_NEWEST);
+
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final RecordingOutput slow = new RecordingOutput(blocked);
+        final RecordingOutput fast = new RecordingOutput(new CountDownLatch(0));
+        broadcaster.add(slow);
+        broadcaster.add(fast);
+
+        for (int i = 0; i < 20; i++) {
+            broadcaster.broadcast(Integer.toString(i));
+            // let the fast consumer keep up with the broadcast
+            while (fast.chunks.size() <= i) {
+                Thread.sleep(1);
+            }
+        }
+
+        // slow consumer holds at most one chunk in flight and its full queue
+        assertTrue(broadcaster.getDroppedChunkCount() >= 20 - 5);
+        assertEquals(20, fast.chunks.size());
+
+        blocked.countDown();
+        broadcaster.closeAll();
+        assertTrue(slow.closeLatch.await(5, TimeUnit.SECONDS));
+        assertEquals(20 - broadcaster.getDroppedChunkCount(), slow.chunks.size());
+        assertEquals("0", slow.chunks.get(0));
+    }
+
+    @Test
+    public void testSlowConsumerDisconnect() throws Exception {
+        final Broadcaster<String> broadcaster = new Broadcaster<String>(1, 2, Broadcaster.SlowConsumerPolicy.DISCONNECT);
+        final CloseCountingListener listener = new CloseCountingListener(1);
+        broadcaster.add(listener);
+
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final RecordingOutput slow = new RecordingOutput(blocked);
+        broadcaster.add(slow);
+
+        for (int i = 0; i < 10; i++) {
+            broadcaster.broadcast(Integer.toString(i));
+        }
+        assertEquals(1, broadcaster.getDisconnectedCount());
+
+        blocked.countDown();
+        assertTrue(slow.closeLatch.await(5, TimeUnit.SECONDS));
+        assertTrue(listener.closed.await(5, TimeUnit.SECONDS));
+        assertTrue(slow.chunks.size() <= 1);
+    }
+
+    @Test
+    public void testWriteTimeoutEvictsBlockedOutput() throws Exception {
+        final Broadcaster<String> broadcaster = new Broadcaster<String>(1, 32, Broadcaster.SlowConsumerPolicy.DROP_NEWEST,
+                100, TimeUnit.MILLISECONDS);
+        final CloseCountingListener listener = new CloseCountingListener(1);
+        broadcaster.add(listener);
+
+        // both outputs share the only writer thread, the blocked output never completes a write on its own
+        final CountDownLatch writeAllowed = new CountDownLatch(1);
+        final RecordingOutput blocked = new RecordingOutput(writeAllowed);
+        final RecordingOutput fast = new RecordingOutput(new CountDownLatch(0));
+        broadcaster.add(blocked);
+        broadcaster.add(fast);
+
+        for (int i = 0; i < 20; i++) {
+            broadcaster.broadcast(Integer.toString(i));
+            Thread.sleep(20);
+        }
+
+        // the blocked output has been evicted, the other output got a new writer thread meanwhile
+        assertEquals(1, broadcaster.getDisconnectedCount());
+        assertEquals(1, listener.exceptions.size());
+        assertTrue(listener.exceptions.get(0) instanceof TimeoutException);
+
+        // the evicted output is closed once the blocked write returns
+        writeAllowed.countDown();
+        assertTrue(blocked.closeLatch.await(5, TimeUnit.SECONDS));
+        assertTrue(listener.closed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, blocked.chunks.size());
+
+        broadcaster.closeAll();
+        assertTrue(fast.closeLatch.await(5, TimeUnit.SECONDS));
+        assertEquals(20, fast.chunks.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(Integer.toString(i), fast.chunks.get(i));
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * {@link RangeRequestFeature} tests.
+ */
+public class RangeRequestFeatureTest {
+
+    private static final String CONTENT = "0123456789abcdefghij";
+    private static final EntityTag ENTITY_TAG = new EntityTag("v1");
+
+    private static File file;
+
+    private ApplicationHandler handler;
+
+    @javax.ws.rs.Path("files")
+    public static class Resource {
+
+        @GET
+        @Produces("text/plain")
+        public Response getFile() {
+            return Response.ok(file).tag(ENTITY_TAG).build();
+        }
+
+        @GET
+        @javax.ws.rs.Path("path")
+        @Produces("text/plain")
+        public Path getPath() {
+            return file.toPath();
+        }
+
+        @GET
+        @javax.ws.rs.Path("string")
+        @Produces("text/plain")
+        public String getString() {
+            return CONTENT;
+        }
+    }
+
+    @BeforeClass
+    public static void createFile() throws Exception {
+        file = File.createTempFile("range", ".txt");
+        Files.write(file.toPath(), CONTENT.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @AfterClass
+    public static void deleteFile() throws Exception {
+        Files.delete(file.toPath());
+    }
+
+    @Before
+    public void setUp() {
+        handler = new ApplicationHandler(new ResourceConfig(Resource.class));
+    }
+
+    private ContainerResponse get(final ApplicationHandler handler, final String path, final String range,
+                                  final String ifRange, final ByteArrayOutputStream out) throws Exception {
+        final RequestContextBuilder request = RequestContextBuilder.from("", path, "GET");
+        if (range != null) {
+            request.header("Range", range);
+        }
+        if (ifRange != null) {
+            request.header("If-Range", ifRange);
+        }
+        return handler.apply(request.build(), out).get();
+    }
+
+    private ContainerResponse get(final String path, final String range, final ByteArrayOutputStream out) throws Exception {
+        return get(handler, path, range, null, out);
+    }
+
+    @Test
+    public void testWholeFile() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ContainerResponse response = get("/files", null, out);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("bytes", response.getHeaderString("Accept-Ranges"));
+        assertEquals(CONTENT, out.toString("US-ASCII"));
+    }
+
+    @Test
+    public void testSingleRange() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ContainerResponse response = get("/files", "bytes=2-5", out);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 2-5/20", response.getHeaderString("Content-Range"));
+        assertEquals("text/plain", response.getMediaType().toString());
+        assertEquals("2345", out.toString("US-ASCII"));
+    }
+
+    @Test
+    public void testWholePathEntity() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ContainerResponse response = get("/files/path", null, out);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("bytes", response.getHeaderString("Accept-Ranges"));
+        assertEquals(CONTENT, out.toString("US-ASCII"));
+    }
+
+    @Test
+    public void testPathEntity() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ContainerResponse response = get("/files/path", "bytes=15-", out);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 15-19/20", response.getHeaderString("Content-Range"));
+        assertEquals("fghij", out.toString("US-ASCII"));
+    }
+
+    @Test
+    public void testSuffixRange() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ContainerResponse response = get("/files", "bytes=-3", out);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 17-19/20", response.getHeaderString("Content-Range"));
+        assertEquals("hij", out.toString("US-ASCII"));
+    }
+
+    @Test
+    public void testOverlappingRangesCoalesced() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ContainerResponse response = get("/files", "bytes=2-5, 0-3", out);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 0-5/20", response.getHeaderString("Content-Range"));
+        assertEquals("012345", out.toString("US-ASCII"));
+    }
+
+    @Test
+    public void testMultipleRanges() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ContainerResponse response = get("/files", "bytes=0-1,10-12", out);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("multipart", response.getMediaType().getType());
+        assertEquals("byteranges", response.getMediaType().getSubtype());
+        assertNull(response.getHeaderString("Content-Range"));
+
+        final String boundary = response.getMediaType().getParameters().get("boundary");
+        final String expected = "\r\n--" + boundary + "\r\n"
+                + "Content-Type: text/plain\r\n"
+                + "Content-Range: bytes 0-1/20\r\n"
+                + "\r\n"
+                + "01"
+                + "\r\n--" + boundary + "\r\n"
+                + "Content-Type: text/plain\r\n"
+                + "Content-Range: bytes 10-12/20\r\n"
+                + "\r\n"
+                + "abc"
+                + "\r\n--" + boundary + "--\r\n";
+        assertEquals(expected, out.toString("US-ASCII"));
+    }
+
+    @Test
+    public void testUnsatisfiableRange() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ContainerResponse response = get("/files", "bytes=20-", out);
+
+        assertEquals(416, response.getStatus());
+        assertEquals("bytes */20", response.getHeaderString("Content-Range"));
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    public void testInvalidRangeIgnored() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ContainerResponse response = get("/files", "bytes=5-2", out);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(CONTENT, out.toString("US-ASCII"));
+
+        final ByteArrayOutputStream other = new ByteArrayOutputStream();
+        assertEquals(200, get("/files", "lines=0-1", other).getStatus());
+        assertEquals(CONTENT, other.toString("US-ASCII"));
+    }
+
+    @Test
+    public void testIfRange() throws Exception {
+        final ByteArrayOutputStream matching = new ByteArrayOutputStream();
+        assertEquals(206, get(handler, "/files", "bytes=0-0", ENTITY_TAG.toString(), matching).getStatus());
+        assertEquals("0", matching.toString("US-ASCII"));
+
+        final ByteArrayOutputStream changed = new ByteArrayOutputStream();
+        assertEquals(200, get(handler, "/files", "bytes=0-0", "\"v2\"", changed).getStatus());
+        assertEquals(CONTENT, changed.toString("US-ASCII"));
+    }
+
+    @Test
+    public void testOtherEntitiesUntouched() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ContainerResponse response = get("/files/string", "bytes=0-1", out);
+
+        assertEquals(200, response.getStatus());
+        assertFalse(response.getHeaders().containsKey("Accept-Ranges"));
+        assertEquals(CONTENT, out.toString("US-ASCII"));
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        final ApplicationHandler disabled = new ApplicationHandler(new ResourceConfig(Resource.class)
+                .property(ServerProperties.RANGE_REQUESTS_DISABLE, true));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ContainerResponse response = get(disabled, "/files", "bytes=0-1", null, out);
+
+        assertEquals(200, response.getStatus());
+        assertFalse(response.getHeaders().containsKey("Accept-Ranges"));
+        assertEquals(CONTENT, out.toString("US-ASCII"));
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.PUT;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.UriInfo;
+
+import javax.inject.Inject;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * {@link ResponseCacheFeature} tests.
+ */
+public class ResponseCacheFeatureTest {
+
+    private static final AtomicInteger INVOCATIONS = new AtomicInteger();
+    private static volatile String value = "initial";
+
+    private ResponseCacheFeature feature;
+    private ApplicationHandler handler;
+
+    @Path("items")
+    public static class Resource {
+
+        @Inject
+        private ResponseCache cache;
+
+        @Context
+        private UriInfo uriInfo;
+
+        @GET
+        @CachedResponse
+        @Produces({"text/plain", "text/html"})
+        public String get() {
+            INVOCATIONS.incrementAndGet();
+            return value;
+        }
+
+        @PUT
+        public void put(final String newValue) {
+            value = newValue;
+            cache.invalidate(uriInfo.getRequestUri());
+        }
+
+        @GET
+        @Path("no-store")
+        @CachedResponse
+        @Produces("text/plain")
+        public Response noStore() {
+            INVOCATIONS.incrementAndGet();
+            return Response.ok(value).cacheControl(CacheControl.valueOf("no-store")).build();
+        }
+
+        @GET
+        @Path("public")
+        @CachedResponse
+        @Produces("text/plain")
+        public Response shared() {
+            INVOCATIONS.incrementAndGet();
+            return Response.ok(value).header(HttpHeaders.CACHE_CONTROL, "public, max-age=60").build();
+        }
+
+        @GET
+        @Path("short")
+        @CachedResponse(maxAge = 1, unit = TimeUnit.MILLISECONDS)
+        @Produces("text/plain")
+        public String shortLived() {
+            INVOCATIONS.incrementAndGet();
+            return value;
+        }
+
+        @GET
+        @Path("uncached")
+        @Produces("text/plain")
+        public String uncached() {
+            INVOCATIONS.incrementAndGet();
+            return value;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        INVOCATIONS.set(0);
+        value = "initial";
+        feature = ResponseCacheFeature.builder().maxEntries(2).build();
+        handler = new ApplicationHandler(new ResourceConfig(Resource.class).register(feature));
+    }
+
+    private ContainerResponse get(final String path, final String accept, final String ifNoneMatch,
+                                  final ByteArrayOutputStream out) throws Exception {
+        final RequestContextBuilder request = RequestContextBuilder.from("", path, "GET").accept(accept);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return handler.apply(request.build(), out).get();
+    }
+
+    private String get(final String path, final String accept) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ContainerResponse response = get(path, accept, null, out);
+        assertEquals(200, response.getStatus());
+        return out.toString();
+    }
+
+    @Test
+    public void testCachedResponse() throws Exception {
+        final ByteArrayOutputStream first = new ByteArrayOutputStream();
+        final ContainerResponse response = get("/items", "text/plain", null, first);
+        assertEquals(200, response.getStatus());
+        final String entityTag = response.getHeaderString(HttpHeaders.ETAG);
+        assertNotNull(entityTag);
+
+        final ByteArrayOutputStream second = new ByteArrayOutputStream();
+        final ContainerResponse cached = get("/items", "text/plain", null, second);
+        assertEquals(200, cached.getStatus());
+        assertEquals(entityTag, cached.getHeaderString(HttpHeaders.ETAG));
+        assertEquals("text/plain", cached.getMediaType().toString());
+        assertEquals("initial", second.toString());
+
+        assertEquals(1, INVOCATIONS.get());
+        assertEquals(1, feature.getCache().getHitCount());
+        assertEquals(1, feature.getCache().getMissCount());
+    }
+
+    @Test
+    public void testNotModified() throws Exception {
+        final ContainerResponse response = get("/items", "text/plain", null, new ByteArrayOutputStream());
+        final String entityTag = response.getHeaderString(HttpHeaders.ETAG);
+
+        final ContainerResponse notModified = get("/items", "text/plain", entityTag, new ByteArrayOutputStream());
+        assertEquals(304, notModified.getStatus());
+        assertEquals(entityTag, notModified.getHeaderString(HttpHeaders.ETAG));
+        assertNull(notModified.getEntity());
+
+        assertEquals(1, INVOCATIONS.get());
+        assertEquals(1, feature.getCache().getNotModifiedCount());
+    }
+
+    @Test
+    public void testNegotiatedVariants() throws Exception {
+        assertEquals("initial", get("/items", "text/plain"));
+        assertEquals("initial", get("/items", "text/html"));
+        // different Accept header negotiated to an already cached variant
+        assertEquals("initial", get("/items", "text/plain;q=0.5"));
+
+        assertEquals(2, INVOCATIONS.get());
+        assertEquals(2, feature.getCache().size());
+    }
+
+    @Test
+    public void testInvalidation() throws Exception {
+        assertEquals("initial", get("/items", "text/plain"));
+        handler.apply(RequestContextBuilder.from("", "/items", "PUT").entity("updated").type("text/plain").build()).get();
+        assertEquals("updated", get("/items", "text/plain"));
+        assertEquals(2, INVOCATIONS.get());
+    }
+
+    @Test
+    public void testNoStore() throws Exception {
+        get("/items/no-store", "text/plain");
+        get("/items/no-store", "text/plain");
+        assertEquals(2, INVOCATIONS.get());
+        assertEquals(0, feature.getCache().size());
+    }
+
+    @Test
+    public void testAuthorizedRequest() throws Exception {
+        final ContainerRequest request = RequestContextBuilder.from("", "/items", "GET").accept("text/plain")
+                .header(HttpHeaders.AUTHORIZATION, "Basic dXNlcjpzZWNyZXQ=").build();
+        assertEquals(200, handler.apply(request, new ByteArrayOutputStream()).get().getStatus());
+        assertEquals(0, feature.getCache().size());
+
+        get("/items", "text/plain");
+        assertEquals(2, INVOCATIONS.get());
+    }
+
+    @Test
+    public void testAuthorizedRequestPublicResponse() throws Exception {
+        final ContainerRequest request = RequestContextBuilder.from("", "/items/public", "GET").accept("text/plain")
+                .header(HttpHeaders.AUTHORIZATION, "Basic dXNlcjpzZWNyZXQ=").build();
+        assertEquals(200, handler.apply(request, new ByteArrayOutputStream()).get().getStatus());
+        assertEquals(1, feature.getCache().size());
+
+        assertEquals("initial", get("/items/public", "text/plain"));
+        assertEquals(1, INVOCATIONS.get());
+    }
+
+    @Test
+    public void testNotAnnotated() throws Exception {
+        get("/items/uncached", "text/plain");
+        get("/items/uncached", "text/plain");
+        assertEquals(2, INVOCATIONS.get());
+        assertEquals(0, feature.getCache().getMissCount());
+    }
+
+    @Test
+    public void testExpiration() throws Exception {
+        get("/items/short", "text/plain");
+        Thread.sleep(10);
+        get("/items/short", "text/plain");
+        assertEquals(2, INVOCATIONS.get());
+        assertEquals(1, feature.getCache().getEvictionCount());
+    }
+
+    @Test
+    public void testSizeLimit() throws Exception {
+        get("/items", "text/plain");
+        get("/items", "text/html");
+        get("/items/short", "text/plain");
+
+        assertEquals(2, feature.getCache().size());
+        assertEquals(1, feature.getCache().getEvictionCount());
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.monitoring;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link HistogramTimeReservoir}.
+ */
+public class HistogramTimeReservoirTest {
+
+    @Test
+    public void testBucketBounds() {
+        long previousHighest = -1;
+        for (int index = 0; index <= HistogramTimeReservoir.bucketIndex(HistogramTimeReservoir.MAX_TRACKABLE_VALUE);
+             index++) {
+            final long highest = HistogramTimeReservoir.highestValue(index);
+            // buckets are contiguous
+            assertEquals(index, HistogramTimeReservoir.bucketIndex(previousHighest + 1));
+            assertEquals(index, HistogramTimeReservoir.bucketIndex(highest));
+            previousHighest = highest;
+        }
+        assertEquals(HistogramTimeReservoir.MAX_TRACKABLE_VALUE, previousHighest);
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        final HistogramTimeReservoir reservoir = new HistogramTimeReservoir(0, TimeUnit.MILLISECONDS);
+        for (long i = 1; i <= 20; i++) {
+            reservoir.update(i, i, TimeUnit.MILLISECONDS);
+        }
+
+        final UniformTimeSnapshot snapshot = reservoir.getSnapshot(1000, TimeUnit.MILLISECONDS);
+        assertEquals(20, snapshot.size());
+        assertEquals(1, snapshot.getMin());
+        assertEquals(20, snapshot.getMax());
+        assertEquals(10.5, snapshot.getMean(), 0.0001);
+        assertEquals(20.0, snapshot.getRate(TimeUnit.SECONDS), 0.0001);
+        assertEquals(10, (long) snapshot.getValue(0.5));
+        assertEquals(19, (long) snapshot.getValue(0.95));
+        assertEquals(20, (long) snapshot.getValue(0.999));
+        assertEquals(1, (long) snapshot.getValue(0.0));
+    }
+
+    @Test
+    public void testRelativeError() {
+        final HistogramTimeReservoir reservoir = new HistogramTimeReservoir(0, TimeUnit.MILLISECONDS);
+        for (long i = 1; i <= 100_000; i++) {
+            reservoir.update(i, 0, TimeUnit.MILLISECONDS);
+        }
+
+        final UniformTimeSnapshot snapshot = reservoir.getSnapshot(1000, TimeUnit.MILLISECONDS);
+        assertEquals(100_000, snapshot.size());
+        assertEquals(1, snapshot.getMin());
+        assertEquals(100_000, snapshot.getMax());
+        assertEquals(50_000.5, snapshot.getMean(), 0.0001);
+        checkRelativeError(50_000, snapshot.getValue(0.5));
+        checkRelativeError(95_000, snapshot.getValue(0.95));
+        checkRelativeError(99_000, snapshot.getValue(0.99));
+        checkRelativeError(99_900, snapshot.getValue(0.999));
+    }
+
+    private static void checkRelativeError(final long expected, final double actual) {
+        assertTrue("Expected " + expected + " but was " + actual, Math.abs(expected - actual) / expected < 1.0 / 32);
+    }
+
+    @Test
+    public void testEmptySnapshot() {
+        final HistogramTimeReservoir reservoir = new HistogramTimeReservoir(0, TimeUnit.MILLISECONDS);
+
+        final UniformTimeSnapshot snapshot = reservoir.getSnapshot(1000, TimeUnit.MILLISECONDS);
+        assertEquals(0, snapshot.size());
+        assertEquals(-1, snapshot.getMin());
+        assertEquals(-1, snapshot.getMax());
+        assertEquals(-1, (long) snapshot.getValue(0.5));
+    }
+
+    @Test
+    public void testOutOfRangeValues() {
+        final HistogramTimeReservoir reservoir = new HistogramTimeReservoir(0, TimeUnit.MILLISECONDS);
+        reservoir.update(-5L, 0, TimeUnit.MILLISECONDS);
+        reservoir.update(Long.MAX_VALUE, 0, TimeUnit.MILLISECONDS);
+
+        final UniformTimeSnapshot snapshot = reservoir.getSnapshot(1000, TimeUnit.MILLISECONDS);
+        assertEquals(2, snapshot.size());
+        assertEquals(0, snapshot.getMin());
+        assertEquals(HistogramTimeReservoir.MAX_TRACKABLE_VALUE, snapshot.getMax());
+        assertEquals(HistogramTimeReservoir.MAX_TRACKABLE_VALUE, (long) snapshot.getValue(1.0));
+    }
+
+    @Test
+    public void testTimeWindowStatisticsPercentiles() {
+        final TimeWindowStatisticsImpl.Builder<Long> builder = new TimeWindowStatisticsImpl.Builder<>(
+                new HistogramTimeReservoir(0, TimeUnit.MILLISECONDS));
+
+        assertEquals(-1, builder.build(1000).getMedianDuration());
+
+        for (long i = 1; i <= 1000; i++) {
+            builder.addRequest(i, i % 10 == 0 ? 5000L : 10L);
+        }
+
+        final TimeWindowStatisticsImpl statistics = builder.build(1000);
+        assertEquals(1000, statistics.getRequestCount());
+        assertEquals(10, statistics.getMinimumDuration());
+        assertEquals(5000, statistics.getMaximumDuration());
+        assertEquals(10, statistics.getMedianDuration());
+        checkRelativeError(5000, statistics.get95thPercentileDuration());
+        checkRelativeError(5000, statistics.get99thPercentileDuration());
+        assertEquals(5000, statistics.get999thPercentileDuration());
+    }
+}
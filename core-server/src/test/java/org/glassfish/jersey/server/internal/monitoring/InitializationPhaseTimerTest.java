@@ -0,0 +1,124 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.server.internal.monitoring;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent.InitializationPhase;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests of {@link InitializationPhaseTimer} and of the initialization phase times published in application events.
+ */
+public class InitializationPhaseTimerTest {
+
+    @Path("resource")
+    public static class Resource {
+
+        @GET
+        public String get() {
+            return "resource";
+        }
+    }
+
+    public static class Listener implements ApplicationEventListener {
+
+        private volatile ApplicationEvent initFinished;
+
+        @Override
+        public void onEvent(final ApplicationEvent event) {
+            if (event.getType() == ApplicationEvent.Type.INITIALIZATION_APP_FINISHED) {
+                initFinished = event;
+            }
+        }
+
+        @Override
+        public RequestEventListener onRequest(final RequestEvent requestEvent) {
+            return null;
+        }
+    }
+
+    @Test
+    public void testPhasesAccumulate() throws Exception {
+        final InitializationPhaseTimer timer = new InitializationPhaseTimer();
+
+        timer.phaseFinished(InitializationPhase.CONFIGURATION);
+        Thread.sleep(5);
+        timer.phaseFinished(InitializationPhase.ROUTING);
+        final long routing = timer.getTimes().get(InitializationPhase.ROUTING);
+        Thread.sleep(5);
+        timer.phaseFinished(InitializationPhase.ROUTING);
+
+        final Map<InitializationPhase, Long> times = timer.getTimes();
+        assertEquals(Arrays.asList(InitializationPhase.CONFIGURATION, InitializationPhase.ROUTING),
+                new ArrayList<>(times.keySet()));
+        assertTrue(routing >= 5000000L);
+        assertTrue(times.get(InitializationPhase.ROUTING) >= routing + 5000000L);
+    }
+
+    @Test
+    public void testInitializationEvent() throws Exception {
+        final Listener listener = new Listener();
+        new ApplicationHandler(new ResourceConfig(Resource.class).register(listener));
+
+        assertNotNull(listener.initFinished);
+        final Map<InitializationPhase, Long> times = listener.initFinished.getInitializationPhaseTimes();
+        assertEquals(Arrays.asList(InitializationPhase.values()), new ArrayList<>(times.keySet()));
+        for (final Long time : times.values()) {
+            assertTrue(time >= 0);
+        }
+    }
+}
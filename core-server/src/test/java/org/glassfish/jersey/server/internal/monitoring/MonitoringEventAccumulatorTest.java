@@ -0,0 +1,211 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.monitoring;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.model.ResourceModel;
+import org.glassfish.jersey.server.monitoring.ExceptionMapperStatistics;
+import org.glassfish.jersey.server.monitoring.ExecutionStatistics;
+import org.glassfish.jersey.server.monitoring.ResourceStatistics;
+import org.glassfish.jersey.server.monitoring.TimeWindowStatistics;
+import org.glassfish.jersey.uri.UriTemplate;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Tests of {@link MonitoringEventAccumulator}.
+ */
+public class MonitoringEventAccumulatorTest {
+
+    private static final int THREADS = 8;
+    private static final int REQUESTS_PER_THREAD = 1_000;
+
+    @Path("accumulator")
+    public static class AccumulatorResource {
+
+        @GET
+        public String get() {
+            return "get";
+        }
+    }
+
+    private static final class TestMapper {
+    }
+
+    private final ResourceModel model = new ResourceModel.Builder(
+            Collections.singletonList(Resource.from(AccumulatorResource.class)), false).build();
+    private final ResourceMethod method = model.getResources().get(0).getResourceMethods().get(0);
+    private final List<UriTemplate> templates = Arrays.asList(new UriTemplate("/accumulator"));
+
+    @Test
+    public void testConcurrentRecording() throws Exception {
+        final MonitoringEventAccumulator accumulator = new MonitoringEventAccumulator();
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Callable<Void>> tasks = Collections.nCopies(THREADS, new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                        final long now = System.currentTimeMillis();
+                        accumulator.recordRequest(now, 2, method, now + 1, 1, templates);
+                        accumulator.recordResponseStatus(i % 2 == 0 ? 200 : 404);
+                        accumulator.recordExceptionMapping(TestMapper.class, i % 2 == 0);
+                    }
+                    return null;
+                }
+            });
+            for (final Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        final MonitoringStatisticsImpl.Builder builder = new MonitoringStatisticsImpl.Builder(model);
+        accumulator.drainTo(builder);
+        final MonitoringStatisticsImpl statistics = builder.build();
+
+        final long total = THREADS * REQUESTS_PER_THREAD;
+        assertEquals(total, statistics.getRequestStatistics().getTimeWindowStatistics().get(0L).getRequestCount());
+        assertEquals(total / 2, (long) statistics.getResponseStatistics().getResponseCodes().get(200));
+        assertEquals(total / 2, (long) statistics.getResponseStatistics().getResponseCodes().get(404));
+
+        final ResourceStatistics uriStatistics = statistics.getUriStatistics().get("/accumulator");
+        assertNotNull(uriStatistics);
+        assertEquals(total, uriStatistics.getResourceMethodStatistics().get(method).getMethodStatistics()
+                .getTimeWindowStatistics().get(0L).getRequestCount());
+
+        final ExceptionMapperStatistics mapperStatistics = statistics.getExceptionMapperStatistics();
+        assertEquals(total, (long) mapperStatistics.getExceptionMapperExecutions().get(TestMapper.class));
+        assertEquals(total / 2, mapperStatistics.getSuccessfulMappings());
+        assertEquals(total / 2, mapperStatistics.getUnsuccessfulMappings());
+    }
+
+    @Test
+    public void testDrainMergesOnlyNewData() {
+        final MonitoringEventAccumulator accumulator = new MonitoringEventAccumulator();
+        final MonitoringStatisticsImpl.Builder builder = new MonitoringStatisticsImpl.Builder(model);
+
+        accumulator.recordResponseStatus(200);
+        accumulator.recordResponseStatus(500);
+        accumulator.recordRequest(System.currentTimeMillis(), 1, null, 0, 0, templates);
+        accumulator.drainTo(builder);
+
+        accumulator.recordResponseStatus(200);
+        accumulator.recordRequest(System.currentTimeMillis(), 1, null, 0, 0, templates);
+        accumulator.drainTo(builder);
+        accumulator.drainTo(builder);
+
+        final MonitoringStatisticsImpl statistics = builder.build();
+        assertEquals(2, (long) statistics.getResponseStatistics().getResponseCodes().get(200));
+        assertEquals(1, (long) statistics.getResponseStatistics().getResponseCodes().get(500));
+        assertEquals(200, (int) statistics.getResponseStatistics().getLastResponseCode());
+        assertEquals(2, statistics.getRequestStatistics().getTimeWindowStatistics().get(0L).getRequestCount());
+    }
+
+    @Test
+    public void testNoRequestDropped() {
+        final MonitoringEventAccumulator accumulator = new MonitoringEventAccumulator();
+        final MonitoringStatisticsImpl.Builder builder = new MonitoringStatisticsImpl.Builder(model);
+
+        final int requests = 500_000;
+        final long now = System.currentTimeMillis();
+        for (int i = 0; i < requests; i++) {
+            accumulator.recordRequest(now, i % 100, method, now, 0, templates);
+        }
+        accumulator.drainTo(builder);
+
+        final TimeWindowStatistics statistics = builder.build().getRequestStatistics().getTimeWindowStatistics().get(0L);
+        assertEquals(requests, statistics.getRequestCount());
+        assertEquals(0, statistics.getMinimumDuration());
+        assertEquals(99, statistics.getMaximumDuration());
+        assertEquals(49, statistics.getAverageDuration());
+    }
+
+    @Test
+    public void testDrainedDurations() {
+        final MonitoringEventAccumulator accumulator = new MonitoringEventAccumulator();
+        final MonitoringStatisticsImpl.Builder builder = new MonitoringStatisticsImpl.Builder(model);
+
+        final long now = System.currentTimeMillis();
+        for (int i = 1; i <= 100; i++) {
+            accumulator.recordRequest(now, i, method, now, i == 100 ? 1000 : 1, templates);
+        }
+        accumulator.drainTo(builder);
+        accumulator.recordRequest(now + 1, 5, method, now + 1, 3, templates);
+        accumulator.drainTo(builder);
+
+        final ExecutionStatistics methodStatistics = builder.build().getUriStatistics().get("/accumulator")
+                .getResourceMethodStatistics().get(method).getMethodStatistics();
+        assertEquals(now + 1, methodStatistics.getLastStartTime().getTime());
+        for (final long interval : new long[] {0, 1000, 15000}) {
+            final TimeWindowStatistics statistics = methodStatistics.getTimeWindowStatistics().get(interval);
+            assertEquals(101, statistics.getRequestCount());
+            assertEquals(1, statistics.getMinimumDuration());
+            assertEquals(1000, statistics.getMaximumDuration());
+        }
+        // quantiles are provided by the histogram backed windows
+        assertEquals(1, methodStatistics.getTimeWindowStatistics().get(0L).getMedianDuration());
+        assertEquals(1, methodStatistics.getTimeWindowStatistics().get(1000L).getMedianDuration());
+        assertEquals(1000, methodStatistics.getTimeWindowStatistics().get(1000L).get999thPercentileDuration());
+    }
+
+    @Test
+    public void testRequestUri() {
+        assertEquals("/accumulator/child", MonitoringEventAccumulator.getRequestUri(
+                Arrays.asList(new UriTemplate("/child"), new UriTemplate("/accumulator"))));
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.server.internal.routing;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test that lazily built routers and resource method invokers produce the same results as the eagerly built ones.
+ */
+public class LazyRoutingTest {
+
+    @Path("a")
+    public static class AResource {
+
+        @GET
+        public String get() {
+            return "a";
+        }
+
+        @POST
+        public String post(final String entity) {
+            return "post " + entity;
+        }
+
+        @GET
+        @Path("b")
+        public String getB() {
+            return "a/b";
+        }
+
+        @GET
+        @Path("{x}")
+        public String getX(@PathParam("x") final String x) {
+            return "a/{x}=" + x;
+        }
+
+        @Path("locator")
+        public SubResource locator() {
+            return new SubResource();
+        }
+    }
+
+    @Path("locator")
+    public static class LocatorResource {
+
+        @Path("{id}")
+        public SubResource locator(@PathParam("id") final String id) {
+            return new SubResource();
+        }
+    }
+
+    public static class SubResource {
+
+        @GET
+        public String get() {
+            return "sub";
+        }
+
+        @GET
+        @Path("{y}")
+        public String getY(@PathParam("y") final String y) {
+            return "sub/{y}=" + y;
+        }
+    }
+
+    private static final String[] URIS = {
+            "/a", "/a/", "/a/b", "/a/x", "/a/locator", "/a/locator/z", "/locator", "/locator/1", "/locator/1/z", "/unknown"
+    };
+
+    private ApplicationHandler createApplication(final boolean lazy) {
+        final ResourceConfig config = new ResourceConfig(AResource.class, LocatorResource.class);
+        config.property(ServerProperties.ROUTING_LAZY_INITIALIZATION, lazy);
+        return new ApplicationHandler(config);
+    }
+
+    @Test
+    public void testSameResultsAsEagerRouting() throws Exception {
+        final ApplicationHandler eager = createApplication(false);
+        final ApplicationHandler lazy = createApplication(true);
+
+        // Twice to route the requests both through the routers being built and the already built ones.
+        for (int i = 0; i < 2; i++) {
+            for (final String uri : URIS) {
+                final ContainerResponse expected = eager.apply(RequestContextBuilder.from(uri, "GET").build()).get();
+                final ContainerResponse actual = lazy.apply(RequestContextBuilder.from(uri, "GET").build()).get();
+
+                assertEquals(uri, expected.getStatus(), actual.getStatus());
+                assertEquals(uri, expected.getEntity(), actual.getEntity());
+            }
+        }
+    }
+
+    @Test
+    public void testPost() throws Exception {
+        final ContainerResponse response = createApplication(true)
+                .apply(RequestContextBuilder.from("/a", "POST").entity("entity").build()).get();
+
+        assertEquals(200, response.getStatus());
+        assertEquals("post entity", response.getEntity());
+    }
+}
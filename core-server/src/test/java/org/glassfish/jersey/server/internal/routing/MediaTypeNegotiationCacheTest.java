@@ -0,0 +1,142 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.routing;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Media type negotiation cache test.
+ */
+public class MediaTypeNegotiationCacheTest {
+
+    @Path("resource")
+    public static class Resource {
+
+        @GET
+        @Produces("text/plain")
+        public String getPlain() {
+            return "plain";
+        }
+
+        @GET
+        @Produces("text/html")
+        public String getHtml() {
+            return "html";
+        }
+
+        @GET
+        @Path("any")
+        public String getAny() {
+            return "any";
+        }
+    }
+
+    private ApplicationHandler createApplication(final int cacheSize) {
+        return new ApplicationHandler(new ResourceConfig(Resource.class)
+                .property(ServerProperties.MEDIA_TYPE_NEGOTIATION_CACHE_SIZE, cacheSize));
+    }
+
+    private ContainerResponse apply(final ApplicationHandler handler, final String uri, final String accept)
+            throws Exception {
+        return handler.apply(RequestContextBuilder.from(uri, "GET").accept(accept).build()).get();
+    }
+
+    @Test
+    public void testCacheDisabledByDefault() throws Exception {
+        final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(Resource.class));
+        final MediaTypeNegotiationCache cache = handler.getServiceLocator().getService(MediaTypeNegotiationCache.class);
+
+        assertEquals("plain", apply(handler, "/resource", "text/plain").getEntity());
+
+        assertFalse(cache.isEnabled());
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void testCachedSelection() throws Exception {
+        final ApplicationHandler handler = createApplication(16);
+        final MediaTypeNegotiationCache cache = handler.getServiceLocator().getService(MediaTypeNegotiationCache.class);
+        assertTrue(cache.isEnabled());
+
+        for (int i = 0; i < 3; i++) {
+            ContainerResponse response = apply(handler, "/resource", "text/plain");
+            assertEquals("plain", response.getEntity());
+            assertEquals(MediaType.TEXT_PLAIN_TYPE, response.getMediaType());
+
+            response = apply(handler, "/resource", "text/html");
+            assertEquals("html", response.getEntity());
+            assertEquals(MediaType.TEXT_HTML_TYPE, response.getMediaType());
+        }
+
+        assertEquals(2, cache.getMissCount());
+        assertEquals(4, cache.getHitCount());
+        assertEquals(2, cache.getSize());
+    }
+
+    @Test
+    public void testCachedResponseMediaType() throws Exception {
+        final ApplicationHandler handler = createApplication(16);
+        final MediaTypeNegotiationCache cache = handler.getServiceLocator().getService(MediaTypeNegotiationCache.class);
+
+        for (int i = 0; i < 3; i++) {
+            final ContainerResponse response = apply(handler, "/resource/any", "text/*, application/xml;q=0.5");
+            assertEquals("any", response.getEntity());
+            assertEquals(MediaType.TEXT_PLAIN_TYPE, response.getMediaType());
+        }
+
+        assertEquals(1, cache.getResponseTypeMissCount());
+        assertEquals(2, cache.getResponseTypeHitCount());
+    }
+}
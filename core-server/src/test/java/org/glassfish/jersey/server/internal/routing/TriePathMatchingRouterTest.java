@@ -0,0 +1,167 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.routing;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Test that the literal path segment trie based routing produces the same results as the linear path matching.
+ */
+public class TriePathMatchingRouterTest {
+
+    @Path("a")
+    public static class AResource {
+
+        @GET
+        public String get() {
+            return "a";
+        }
+
+        @GET
+        @Path("b")
+        public String getB() {
+            return "a/b";
+        }
+
+        @GET
+        @Path("{x}")
+        public String getX(@PathParam("x") final String x) {
+            return "a/{x}=" + x;
+        }
+
+        @GET
+        @Path("b/c")
+        public String getBC() {
+            return "a/b/c";
+        }
+
+        @Path("locator")
+        public SubResource locator() {
+            return new SubResource();
+        }
+    }
+
+    @Path("a.b")
+    public static class ADotBResource {
+
+        @GET
+        public String get() {
+            return "a.b";
+        }
+    }
+
+    @Path("{id: [0-9]+}")
+    public static class RegexResource {
+
+        @GET
+        public String get(@PathParam("id") final String id) {
+            return "{id}=" + id;
+        }
+    }
+
+    @Path("{any}/b")
+    public static class TemplateFirstResource {
+
+        @GET
+        public String get(@PathParam("any") final String any) {
+            return "{any}/b=" + any;
+        }
+    }
+
+    @Path("/")
+    public static class RootResource {
+
+        @GET
+        public String get() {
+            return "root";
+        }
+    }
+
+    public static class SubResource {
+
+        @GET
+        public String get() {
+            return "sub";
+        }
+
+        @GET
+        @Path("{y}")
+        public String getY(@PathParam("y") final String y) {
+            return "sub/{y}=" + y;
+        }
+    }
+
+    private static final String[] URIS = {
+            "/", "/a", "/a/", "/a/b", "/a/b/", "/a/b/c", "/a/b/c/d", "/a/x", "/a/locator", "/a/locator/z", "/a.b", "/axb",
+            "/123", "/123/b", "/abc/b", "/a/b/b", "/unknown", "/unknown/path"
+    };
+
+    private ApplicationHandler createApplication(final boolean trieEnabled) {
+        final ResourceConfig config = new ResourceConfig(AResource.class, ADotBResource.class, RegexResource.class,
+                TemplateFirstResource.class, RootResource.class);
+        config.property(ServerProperties.PATH_MATCHING_TRIE_ENABLED, trieEnabled);
+        return new ApplicationHandler(config);
+    }
+
+    @Test
+    public void testSameResultsAsLinearMatching() throws Exception {
+        final ApplicationHandler linear = createApplication(false);
+        final ApplicationHandler trie = createApplication(true);
+
+        for (final String uri : URIS) {
+            final ContainerResponse expected = linear.apply(RequestContextBuilder.from(uri, "GET").build()).get();
+            final ContainerResponse actual = trie.apply(RequestContextBuilder.from(uri, "GET").build()).get();
+
+            assertEquals(uri, expected.getStatus(), actual.getStatus());
+            assertEquals(uri, expected.getEntity(), actual.getEntity());
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.server.internal.scanning;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.ext.Provider;
+
+import org.glassfish.jersey.server.ResourceFinder;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link ParallelResourceScanner}.
+ */
+public class ParallelResourceScannerTest {
+
+    private static final String PACKAGE_PATH = ParallelResourceScannerTest.class.getPackage().getName().replace('.', '/');
+
+    @javax.ws.rs.Path("resource")
+    public static class Resource {
+
+        @GET
+        public String get() {
+            return "resource";
+        }
+    }
+
+    @Provider
+    public static class SomeProvider {
+    }
+
+    public static class NotAnnotated {
+    }
+
+    private static final Set<Class<?>> EXPECTED = new HashSet<Class<?>>(Arrays.asList(Resource.class, SomeProvider.class));
+
+    @Test
+    public void testDirectory() throws Exception {
+        final Path root = createDirectory();
+
+        assertEquals(EXPECTED, scan(new FilesScanner(new String[] {root.toString()}, true), true));
+        assertEquals(EXPECTED, scan(new FilesScanner(new String[] {root.toString()}, true), false));
+    }
+
+    @Test
+    public void testDirectoryNotRecursive() throws Exception {
+        final Path root = createDirectory();
+
+        assertEquals(Collections.emptySet(), scan(new FilesScanner(new String[] {root.toString()}, false), true));
+    }
+
+    @Test
+    public void testArchive() throws Exception {
+        final Path jar = createArchive(1000);
+
+        assertEquals(EXPECTED, scan(new FilesScanner(new String[] {jar.toString()}, true), true));
+    }
+
+    @Test
+    public void testPackages() throws Exception {
+        final ClassLoader loader = new URLClassLoader(
+                new URL[] {createDirectory().toUri().toURL(), createArchive(1000).toUri().toURL()}, null);
+        final String[] packages = {ParallelResourceScannerTest.class.getPackage().getName()};
+
+        assertEquals(EXPECTED, scan(new PackageNamesScanner(loader, packages, true), true));
+        assertEquals(EXPECTED, scan(new PackageNamesScanner(loader, packages, true), false));
+    }
+
+    private static Set<Class<?>> scan(final ResourceFinder finder, final boolean parallel) throws IOException {
+        final ClassLoader classLoader = ParallelResourceScannerTest.class.getClassLoader();
+        final AnnotationAcceptingListener listener = AnnotationAcceptingListener.newJaxrsResourceAndProviderListener(classLoader);
+
+        if (parallel) {
+            new ParallelResourceScanner(listener).scan(Collections.singleton(finder));
+        } else {
+            while (finder.hasNext()) {
+                final String next = finder.next();
+                if (listener.accept(next)) {
+                    final InputStream in = finder.open();
+                    try {
+                        listener.process(next, in);
+                    } finally {
+                        in.close();
+                    }
+                }
+            }
+        }
+        return listener.getAnnotatedClasses();
+    }
+
+    private static Path createDirectory() throws IOException {
+        final Path root = Files.createTempDirectory("jersey-scan");
+        final Path packageDir = Files.createDirectories(root.resolve(PACKAGE_PATH));
+        for (final Class<?> clazz : Arrays.asList(Resource.class, SomeProvider.class, NotAnnotated.class)) {
+            Files.write(packageDir.resolve(getFileName(clazz)), getBytes(clazz));
+        }
+        return root;
+    }
+
+    private static Path createArchive(final int copies) throws IOException {
+        final Path jar = Files.createTempFile("jersey-scan", ".jar");
+        final JarOutputStream out = new JarOutputStream(new FileOutputStream(jar.toFile()));
+        try {
+            out.putNextEntry(new JarEntry(PACKAGE_PATH + "/"));
+            out.closeEntry();
+            for (final Class<?> clazz : Arrays.asList(Resource.class, SomeProvider.class)) {
+                out.putNextEntry(new JarEntry(PACKAGE_PATH + "/" + getFileName(clazz)));
+                out.write(getBytes(clazz));
+                out.closeEntry();
+            }
+            // Many non-annotated classes to make sure the entries are split across several tasks.
+            final byte[] notAnnotated = getBytes(NotAnnotated.class);
+            for (int i = 0; i < copies; i++) {
+                out.putNextEntry(new JarEntry(PACKAGE_PATH + "/copies/NotAnnotated" + i + ".class"));
+                out.write(notAnnotated);
+                out.closeEntry();
+            }
+        } finally {
+            out.close();
+        }
+        return jar;
+    }
+
+    private static String getFileName(final Class<?> clazz) {
+        return clazz.getName().substring(clazz.getName().lastIndexOf('.') + 1) + ".class";
+    }
+
+    private static byte[] getBytes(final Class<?> clazz) throws IOException {
+        final InputStream in = clazz.getResourceAsStream(getFileName(clazz));
+        try {
+            final byte[] buffer = new byte[8192];
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.server.internal.scanning;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Unit tests for {@link ResourceIndex}.
+ */
+public class ResourceIndexTest {
+
+    @Test
+    public void testIndexedPackage() throws Exception {
+        final Path root = createRoot(true, "org/example/api", "org/example/api/v2");
+
+        final Set<String> classes =
+                ResourceIndex.lookup(new PackageNamesScanner(loader(root), new String[] {"org.example.api"}, false));
+
+        assertEquals(new HashSet<>(Arrays.asList("org.example.api.Resource", "org.example.api.Resource$Nested")), classes);
+    }
+
+    @Test
+    public void testIndexedPackageRecursive() throws Exception {
+        final Path root = createRoot(true, "org/example/api", "org/example/api/v2");
+
+        final Set<String> classes =
+                ResourceIndex.lookup(new PackageNamesScanner(loader(root), new String[] {"org.example"}, true));
+
+        assertEquals(new HashSet<>(Arrays.asList("org.example.api.Resource", "org.example.api.Resource$Nested",
+                "org.example.api.v2.Resource", "org.example.apix.Provider")), classes);
+    }
+
+    @Test
+    public void testNotIndexed() throws Exception {
+        final Path root = createRoot(false, "org/example/api");
+
+        assertNull(ResourceIndex.lookup(new PackageNamesScanner(loader(root), new String[] {"org.example.api"}, true)));
+    }
+
+    @Test
+    public void testPartiallyIndexed() throws Exception {
+        final Path indexed = createRoot(true, "org/example/api");
+        final Path notIndexed = createRoot(false, "org/example/api");
+
+        assertNull(ResourceIndex.lookup(
+                new PackageNamesScanner(loader(indexed, notIndexed), new String[] {"org.example.api"}, true)));
+    }
+
+    @Test
+    public void testUnsupportedFinder() throws Exception {
+        final Path root = createRoot(true, "org/example/api");
+
+        assertNull(ResourceIndex.lookup(new FilesScanner(new String[] {root.toString()}, true)));
+    }
+
+    private static Path createRoot(final boolean indexed, final String... packagePaths) throws IOException {
+        final Path root = Files.createTempDirectory("jersey-index");
+        root.toFile().deleteOnExit();
+        for (final String packagePath : packagePaths) {
+            Files.createDirectories(root.resolve(packagePath));
+        }
+        if (indexed) {
+            final Path index = root.resolve(ResourceIndex.RESOURCE_NAME);
+            Files.createDirectories(index.getParent());
+            Files.write(index, Arrays.asList(
+                    "# resource index",
+                    "org.example.api.Resource",
+                    "org.example.api.Resource$Nested",
+                    "org.example.api.v2.Resource",
+                    "org.example.apix.Provider",
+                    "org.other.Resource"), StandardCharsets.UTF_8);
+        }
+        return root;
+    }
+
+    private static ClassLoader loader(final Path... roots) throws IOException {
+        final URL[] urls = new URL[roots.length];
+        for (int i = 0; i < roots.length; i++) {
+            urls[i] = roots[i].toUri().toURL();
+        }
+        return new URLClassLoader(urls, null);
+    }
+}
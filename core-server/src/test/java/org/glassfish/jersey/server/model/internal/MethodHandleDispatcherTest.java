@@ -0,0 +1,180 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.model.internal;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.Path;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.RequestContextBuilder;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Test of resource methods invoked using method handles.
+ */
+public class MethodHandleDispatcherTest {
+
+    @Path("/")
+    public static class Resource {
+
+        @GET
+        @Path("zero")
+        public String zero() {
+            return "zero";
+        }
+
+        @GET
+        @Path("one")
+        public String one(@QueryParam("a") final String a) {
+            return a;
+        }
+
+        @GET
+        @Path("primitive")
+        public int primitive(@QueryParam("a") final int a, @QueryParam("b") final int b) {
+            return a + b;
+        }
+
+        @GET
+        @Path("void")
+        public void empty(@QueryParam("a") final String a) {
+        }
+
+        @GET
+        @Path("many")
+        public String many(@QueryParam("a") final String a, @QueryParam("b") final String b,
+                           @QueryParam("c") final String c, @QueryParam("d") final String d,
+                           @QueryParam("e") final String e, @QueryParam("f") final String f,
+                           @QueryParam("g") final String g, @QueryParam("h") final String h) {
+            return a + b + c + d + e + f + g + h;
+        }
+
+        @GET
+        @Path("webapp-exception")
+        public String webApplicationException() {
+            throw new NotFoundException();
+        }
+
+        @GET
+        @Path("runtime-exception")
+        public String runtimeException() {
+            throw new IllegalStateException();
+        }
+
+        @GET
+        @Path("dispatch")
+        public String dispatch() {
+            // class of the frame that invoked this resource method
+            return new Throwable().getStackTrace()[1].getClassName();
+        }
+    }
+
+    public static class IllegalStateExceptionMapper implements ExceptionMapper<IllegalStateException> {
+
+        @Override
+        public Response toResponse(final IllegalStateException exception) {
+            return Response.status(409).entity("mapped").build();
+        }
+    }
+
+    private ApplicationHandler handler;
+
+    @Before
+    public void setUp() {
+        handler = createApplication(true);
+    }
+
+    private static ApplicationHandler createApplication(final boolean methodHandles) {
+        return new ApplicationHandler(new ResourceConfig(Resource.class, IllegalStateExceptionMapper.class)
+                .property(ServerProperties.METHOD_HANDLE_DISPATCHER_ENABLED, methodHandles));
+    }
+
+    private ContainerResponse apply(final String uri) throws Exception {
+        return handler.apply(RequestContextBuilder.from(uri, "GET").build()).get();
+    }
+
+    @Test
+    public void testMethodHandleDispatch() throws Exception {
+        assertEquals(MethodHandleInvocationHandler.class.getName(), apply("/dispatch").getEntity());
+    }
+
+    @Test
+    public void testReflectiveDispatchWhenDisabled() throws Exception {
+        handler = createApplication(false);
+        assertNotEquals(MethodHandleInvocationHandler.class.getName(), apply("/dispatch").getEntity());
+    }
+
+    @Test
+    public void testArities() throws Exception {
+        assertEquals("zero", apply("/zero").getEntity());
+        assertEquals("a", apply("/one?a=a").getEntity());
+        assertEquals("abcdefgh", apply("/many?a=a&b=b&c=c&d=d&e=e&f=f&g=g&h=h").getEntity());
+    }
+
+    @Test
+    public void testPrimitiveReturnType() throws Exception {
+        assertEquals(3, apply("/primitive?a=1&b=2").getEntity());
+    }
+
+    @Test
+    public void testVoidReturnType() throws Exception {
+        assertEquals(204, apply("/void?a=a").getStatus());
+    }
+
+    @Test
+    public void testExceptions() throws Exception {
+        assertEquals(404, apply("/webapp-exception").getStatus());
+
+        final ContainerResponse response = apply("/runtime-exception");
+        assertEquals(409, response.getStatus());
+        assertEquals("mapped", response.getEntity());
+    }
+}
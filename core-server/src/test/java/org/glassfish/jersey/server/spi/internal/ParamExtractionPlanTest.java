@@ -0,0 +1,174 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.server.spi.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.ws.rs.BadRequestException;
+
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.internal.inject.AbstractRequestValueFactory;
+import org.glassfish.jersey.server.internal.process.MappableException;
+import org.glassfish.jersey.server.model.Parameter;
+
+import org.glassfish.hk2.api.Factory;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link ParamExtractionPlan} unit tests.
+ */
+public class ParamExtractionPlanTest {
+
+    private static class RecordingFactory implements Factory<Object> {
+
+        private final List<String> calls;
+        private final String value;
+
+        RecordingFactory(final List<String> calls, final String value) {
+            this.calls = calls;
+            this.value = value;
+        }
+
+        @Override
+        public Object provide() {
+            calls.add(value);
+            return value;
+        }
+
+        @Override
+        public void dispose(final Object instance) {
+        }
+    }
+
+    private static class RequestFactory extends AbstractRequestValueFactory<Object> {
+
+        private ContainerRequest request;
+
+        @Override
+        public Object provide(final ContainerRequest request) {
+            this.request = request;
+            return "request";
+        }
+    }
+
+    private static class FailingFactory implements Factory<Object> {
+
+        private final RuntimeException exception;
+
+        FailingFactory(final RuntimeException exception) {
+            this.exception = exception;
+        }
+
+        @Override
+        public Object provide() {
+            throw exception;
+        }
+
+        @Override
+        public void dispose(final Object instance) {
+        }
+    }
+
+    private static ParamValueFactoryWithSource<?> wrap(final Factory<Object> factory, final Parameter.Source source) {
+        return new ParamValueFactoryWithSource<Object>(factory, source);
+    }
+
+    @Test
+    public void testEntityProvidedLast() {
+        final List<String> calls = new ArrayList<String>();
+        final ParamExtractionPlan plan = ParamExtractionPlan.compile(Arrays.<ParamValueFactoryWithSource<?>>asList(
+                wrap(new RecordingFactory(calls, "entity"), Parameter.Source.ENTITY),
+                wrap(new RecordingFactory(calls, "context"), Parameter.Source.CONTEXT),
+                wrap(new RecordingFactory(calls, "bean"), Parameter.Source.BEAN_PARAM)));
+
+        assertEquals(3, plan.getParameterCount());
+        assertArrayEquals(new Object[] {"entity", "context", "bean"}, plan.getParameterValues(null));
+        assertEquals(Arrays.asList("context", "bean", "entity"), calls);
+    }
+
+    @Test
+    public void testRequestPassedToRequestFactories() {
+        final RequestFactory requestFactory = new RequestFactory();
+        final ParamExtractionPlan plan = ParamExtractionPlan.compile(Arrays.<ParamValueFactoryWithSource<?>>asList(
+                wrap(new RecordingFactory(new ArrayList<String>(), "context"), Parameter.Source.CONTEXT),
+                wrap(requestFactory, Parameter.Source.QUERY)));
+
+        final ContainerRequest request = new ContainerRequest(null, null, "GET", null, new MapPropertiesDelegate());
+        assertArrayEquals(new Object[] {"context", "request"}, plan.getParameterValues(request));
+        assertSame(request, requestFactory.request);
+    }
+
+    @Test
+    public void testExceptionTranslation() {
+        final BadRequestException badRequest = new BadRequestException();
+        try {
+            ParamExtractionPlan.compile(Arrays.<ParamValueFactoryWithSource<?>>asList(
+                    wrap(new FailingFactory(badRequest), Parameter.Source.QUERY))).getParameterValues(null);
+            fail("Web application exception expected.");
+        } catch (final BadRequestException e) {
+            assertSame(badRequest, e);
+        }
+
+        final IllegalStateException illegalState = new IllegalStateException();
+        try {
+            ParamExtractionPlan.compile(Arrays.<ParamValueFactoryWithSource<?>>asList(
+                    wrap(new FailingFactory(illegalState), Parameter.Source.QUERY))).getParameterValues(null);
+            fail("Mappable exception expected.");
+        } catch (final MappableException e) {
+            assertSame(illegalState, e.getCause());
+        }
+    }
+
+    @Test
+    public void testEmptyPlan() {
+        final ParamExtractionPlan plan = ParamExtractionPlan.compile(new ArrayList<ParamValueFactoryWithSource<?>>());
+        assertEquals(0, plan.getParameterCount());
+        assertEquals(0, plan.getParameterValues(null).length);
+    }
+}
@@ -264,12 +264,16 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
             final String charsetName = charset.name();
 
             final Marshaller m = getMarshaller(elementType, mediaType);
-            m.setProperty(Marshaller.JAXB_FRAGMENT, true);
-            if (charset != UTF8) {
-                m.setProperty(Marshaller.JAXB_ENCODING, charsetName);
+            try {
+                m.setProperty(Marshaller.JAXB_FRAGMENT, true);
+                if (charset != UTF8) {
+                    m.setProperty(Marshaller.JAXB_ENCODING, charsetName);
+                }
+                setHeader(m, annotations);
+                writeCollection(elementType, c, mediaType, charset, m, entityStream);
+            } finally {
+                releaseMarshaller(m);
             }
-            setHeader(m, annotations);
-            writeCollection(elementType, c, mediaType, charset, m, entityStream);
         } catch (JAXBException ex) {
             throw new InternalServerErrorException(ex);
         }
@@ -307,9 +311,10 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
             throw new NoContentException(LocalizationMessages.ERROR_READING_ENTITY_MISSING());
         }
 
+        Unmarshaller u = null;
         try {
             final Class<?> elementType = getElementClass(type, genericType);
-            final Unmarshaller u = getUnmarshaller(elementType, mediaType);
+            u = getUnmarshaller(elementType, mediaType);
             final XMLStreamReader r = getXMLStreamReader(elementType, mediaType, u, entityStream);
             boolean jaxbElement = false;
 
@@ -380,6 +385,8 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
             throw new BadRequestException(ex);
         } catch (JAXBException ex) {
             throw new InternalServerErrorException(ex);
+        } finally {
+            releaseUnmarshaller(u);
         }
     }
 
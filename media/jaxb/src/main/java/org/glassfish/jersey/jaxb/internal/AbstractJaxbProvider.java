@@ -41,9 +41,8 @@ package org.glassfish.jersey.jaxb.internal;
 
 import java.io.InputStream;
 import java.lang.annotation.Annotation;
-import java.lang.ref.WeakReference;
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -70,8 +69,18 @@ import org.glassfish.jersey.message.internal.AbstractMessageReaderWriterProvider
 
 import org.xml.sax.InputSource;
 
+import jersey.repackaged.com.google.common.cache.Cache;
+import jersey.repackaged.com.google.common.cache.CacheBuilder;
+
 /**
  * A base class for implementing JAXB-based readers and writers.
+ * <p>
+ * Marshallers and unmarshallers created from JAXB contexts are pooled per JAXB context by providers that
+ * {@link #isPoolingSupported() support pooling}, see {@link MessageProperties#JAXB_POOL_SIZE}. Subclasses should return
+ * the marshallers and unmarshallers obtained from {@link #getMarshaller(Class, MediaType)} and
+ * {@link #getUnmarshaller(Class, MediaType)} using {@link #releaseMarshaller(Marshaller)} and
+ * {@link #releaseUnmarshaller(Unmarshaller)} once they are not used anymore.
+ * </p>
  *
  * @param <T> Java type supported by the provider.
  * @author Paul Sandoz
@@ -79,8 +88,18 @@ import org.xml.sax.InputSource;
  */
 public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWriterProvider<T> {
 
-    private static final Map<Class<?>, WeakReference<JAXBContext>> jaxbContexts =
-            new WeakHashMap<Class<?>, WeakReference<JAXBContext>>();
+    private static final Cache<Class<?>, JAXBContext> jaxbContexts =
+            CacheBuilder.newBuilder().weakKeys().weakValues().build();
+    /**
+     * Pools of marshallers and unmarshallers. The pools are softly referenced as the pooled instances
+     * strongly reference their JAXB context.
+     */
+    private final Cache<JAXBContext, JaxbPool> pools = CacheBuilder.newBuilder().weakKeys().softValues().build();
+    /**
+     * Pools of the marshallers and unmarshallers currently in use. Instances not returned to their pool
+     * are released by the garbage collector.
+     */
+    private final Cache<Object, JaxbPool> leased = CacheBuilder.newBuilder().weakKeys().build();
     private final Providers jaxrsProviders;
     private final boolean fixedResolverMediaType;
     private final Value<ContextResolver<JAXBContext>> mtContext;
@@ -88,6 +107,7 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
     private final Value<ContextResolver<Marshaller>> mtMarshaller;
     private Value<Boolean> formattedOutput = Values.of(Boolean.FALSE);
     private Value<Boolean> xmlRootElementProcessing = Values.of(Boolean.FALSE);
+    private Value<Integer> poolSize = Values.of(MessageProperties.JAXB_DEFAULT_POOL_SIZE);
 
     /**
      * Inheritance constructor.
@@ -155,6 +175,15 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
                 return PropertiesHelper.isProperty(config.getProperty(MessageProperties.JAXB_PROCESS_XML_ROOT_ELEMENT));
             }
         });
+
+        poolSize = Values.lazy(new Value<Integer>() {
+
+            @Override
+            public Integer get() {
+                return Math.max(0, PropertiesHelper.getValue(config.getProperties(), MessageProperties.JAXB_POOL_SIZE,
+                        MessageProperties.JAXB_DEFAULT_POOL_SIZE, Integer.class, null));
+            }
+        });
     }
 
     /**
@@ -197,7 +226,7 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
         }
 
         final JAXBContext ctx = getJAXBContext(type, mediaType);
-        return (ctx == null) ? null : ctx.createUnmarshaller();
+        return (ctx == null) ? null : acquireUnmarshaller(ctx);
     }
 
     private Unmarshaller getUnmarshaller(Class type) throws JAXBException {
@@ -210,7 +239,7 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
         }
 
         final JAXBContext ctx = getJAXBContext(type);
-        return (ctx == null) ? null : ctx.createUnmarshaller();
+        return (ctx == null) ? null : acquireUnmarshaller(ctx);
     }
 
     /**
@@ -239,16 +268,7 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
         }
 
         final JAXBContext ctx = getJAXBContext(type, mediaType);
-        if (ctx == null) {
-            return null;
-        }
-
-        Marshaller m = ctx.createMarshaller();
-        if (formattedOutput.get()) {
-            m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formattedOutput.get());
-        }
-        return m;
-
+        return (ctx == null) ? null : acquireMarshaller(ctx);
     }
 
     private Marshaller getMarshaller(Class type) throws JAXBException {
@@ -261,17 +281,101 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
         }
 
         final JAXBContext ctx = getJAXBContext(type);
-        if (ctx == null) {
-            return null;
-        }
+        return (ctx == null) ? null : acquireMarshaller(ctx);
+    }
 
-        Marshaller m = ctx.createMarshaller();
+    private Marshaller acquireMarshaller(final JAXBContext ctx) throws JAXBException {
+        final JaxbPool pool = getPool(ctx);
+        final Marshaller m = (pool == null) ? ctx.createMarshaller() : pool.acquireMarshaller();
         if (formattedOutput.get()) {
             m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formattedOutput.get());
         }
+        if (pool != null) {
+            leased.put(m, pool);
+        }
         return m;
     }
 
+    private Unmarshaller acquireUnmarshaller(final JAXBContext ctx) throws JAXBException {
+        final JaxbPool pool = getPool(ctx);
+        if (pool == null) {
+            return ctx.createUnmarshaller();
+        }
+        final Unmarshaller u = pool.acquireUnmarshaller();
+        leased.put(u, pool);
+        return u;
+    }
+
+    private JaxbPool getPool(final JAXBContext ctx) {
+        final int size = poolSize.get();
+        if (size == 0 || !isPoolingSupported()) {
+            return null;
+        }
+        try {
+            return pools.get(ctx, new Callable<JaxbPool>() {
+
+                @Override
+                public JaxbPool call() {
+                    return new JaxbPool(ctx, size);
+                }
+            });
+        } catch (final ExecutionException e) {
+            // cannot happen, the pool creation does not throw checked exceptions
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Check whether the marshallers and unmarshallers used by this provider may be pooled and reused by subsequent
+     * requests.
+     * <p>
+     * A pooled instance is reset before reuse only as far as the JAXB API allows: the schema, the listener, the event
+     * handler and the attachment marshaller or unmarshaller are cleared and the standard marshaller properties as well
+     * as the {@link XmlHeader} properties are restored. Registered
+     * {@link javax.xml.bind.annotation.adapters.XmlAdapter adapters} and other properties cannot be reset. A provider
+     * that sets such state on its marshallers or unmarshallers must not support pooling, otherwise the state set while
+     * processing one request would be used by other requests.
+     * </p>
+     * <p>
+     * The default implementation returns {@code false}.
+     * </p>
+     *
+     * @return {@code true} if the marshallers and unmarshallers of this provider may be pooled.
+     */
+    protected boolean isPoolingSupported() {
+        return false;
+    }
+
+    /**
+     * Return a marshaller obtained from {@link #getMarshaller(Class, MediaType)} to its pool.
+     * <p>
+     * Marshallers provided by a {@link ContextResolver} are not pooled and are ignored by this method.
+     * </p>
+     *
+     * @param marshaller marshaller that is not used anymore, may be {@code null}.
+     */
+    protected final void releaseMarshaller(final Marshaller marshaller) {
+        final JaxbPool pool = (marshaller == null) ? null : leased.asMap().remove(marshaller);
+        if (pool != null) {
+            pool.release(marshaller);
+        }
+    }
+
+    /**
+     * Return an unmarshaller obtained from {@link #getUnmarshaller(Class, MediaType)} to its pool.
+     * <p>
+     * Unmarshallers provided by a {@link ContextResolver} are not pooled and are ignored by this method.
+     * </p>
+     *
+     * @param unmarshaller unmarshaller that is not used anymore, may be {@code null}.
+     */
+    protected final void releaseUnmarshaller(final Unmarshaller unmarshaller) {
+        final JaxbPool pool = (unmarshaller == null) ? null : leased.asMap().remove(unmarshaller);
+        if (pool != null) {
+            pool.release(unmarshaller);
+        }
+    }
+
     private JAXBContext getJAXBContext(Class type, MediaType mt) throws JAXBException {
         final ContextResolver<JAXBContext> cr = jaxrsProviders.getContextResolver(JAXBContext.class, mt);
         if (cr != null) {
@@ -303,16 +407,22 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
      * @return JAXB context associated with the Java type.
      * @throws JAXBException in case the JAXB context retrieval fails.
      */
-    protected JAXBContext getStoredJaxbContext(Class type) throws JAXBException {
-        synchronized (jaxbContexts) {
-            final WeakReference<JAXBContext> ref = jaxbContexts.get(type);
-            JAXBContext c = (ref != null) ? ref.get() : null;
-            if (c == null) {
-                c = JAXBContext.newInstance(type);
-                jaxbContexts.put(type, new WeakReference<JAXBContext>(c));
-            }
+    protected JAXBContext getStoredJaxbContext(final Class type) throws JAXBException {
+        final JAXBContext c = jaxbContexts.getIfPresent(type);
+        if (c != null) {
             return c;
         }
+        try {
+            return jaxbContexts.get(type, new Callable<JAXBContext>() {
+
+                @Override
+                public JAXBContext call() throws JAXBException {
+                    return JAXBContext.newInstance(type);
+                }
+            });
+        } catch (final ExecutionException e) {
+            throw (JAXBException) e.getCause();
+        }
     }
 
     /**
@@ -0,0 +1,225 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.jaxb.internal;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.PropertyException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.ValidationEventHandler;
+
+/**
+ * Bounded pool of idle JAXB marshallers and unmarshallers created by a single {@link JAXBContext JAXB context}.
+ * <p>
+ * Marshallers and unmarshallers are reset before they are returned to the pool: the schema, the listener, the event
+ * handler and the attachment marshaller or unmarshaller are cleared and the {@link #MARSHALLER_PROPERTIES known
+ * marshaller properties} are restored to the values they had when the marshaller was created by the JAXB context.
+ * The JAXB API does not allow to reset registered {@link javax.xml.bind.annotation.adapters.XmlAdapter adapters} or
+ * other properties, the pool must therefore only be used by providers that do not set such state, see
+ * {@link AbstractJaxbProvider#isPoolingSupported()}. Instances that cannot be reset as well as instances returned
+ * to a full pool are dropped.
+ * </p>
+ *
+ * @see org.glassfish.jersey.message.MessageProperties#JAXB_POOL_SIZE
+ */
+final class JaxbPool {
+
+    /**
+     * Marshaller properties reset when a marshaller is returned to the pool.
+     */
+    private static final String[] MARSHALLER_PROPERTIES = {
+            Marshaller.JAXB_ENCODING,
+            Marshaller.JAXB_FORMATTED_OUTPUT,
+            Marshaller.JAXB_FRAGMENT,
+            Marshaller.JAXB_SCHEMA_LOCATION,
+            Marshaller.JAXB_NO_NAMESPACE_SCHEMA_LOCATION,
+            // custom XML headers of the standalone and JDK JAXB RI
+            "com.sun.xml.bind.xmlHeaders",
+            "com.sun.xml.internal.bind.xmlHeaders"
+    };
+
+    private final JAXBContext context;
+    private final BlockingQueue<Marshaller> marshallers;
+    private final BlockingQueue<Unmarshaller> unmarshallers;
+
+    private volatile Map<String, Object> marshallerDefaults;
+    private volatile EventHandlerDefault marshallerHandlerDefault;
+    private volatile EventHandlerDefault unmarshallerHandlerDefault;
+
+    /**
+     * Create new pool.
+     *
+     * @param context  JAXB context creating the pooled marshallers and unmarshallers.
+     * @param capacity maximal number of idle instances of each kind.
+     */
+    JaxbPool(final JAXBContext context, final int capacity) {
+        this.context = context;
+        this.marshallers = new ArrayBlockingQueue<Marshaller>(capacity);
+        this.unmarshallers = new ArrayBlockingQueue<Unmarshaller>(capacity);
+    }
+
+    /**
+     * Borrow a marshaller from the pool or create a new one if the pool is empty.
+     *
+     * @return JAXB marshaller.
+     * @throws JAXBException in case the marshaller creation fails.
+     */
+    Marshaller acquireMarshaller() throws JAXBException {
+        final Marshaller pooled = marshallers.poll();
+        if (pooled != null) {
+            return pooled;
+        }
+
+        final Marshaller marshaller = context.createMarshaller();
+        if (marshallerDefaults == null) {
+            marshallerHandlerDefault = new EventHandlerDefault(marshaller, marshaller.getEventHandler());
+            marshallerDefaults = getProperties(marshaller);
+        }
+        return marshaller;
+    }
+
+    /**
+     * Borrow an unmarshaller from the pool or create a new one if the pool is empty.
+     *
+     * @return JAXB unmarshaller.
+     * @throws JAXBException in case the unmarshaller creation fails.
+     */
+    Unmarshaller acquireUnmarshaller() throws JAXBException {
+        final Unmarshaller pooled = unmarshallers.poll();
+        if (pooled != null) {
+            return pooled;
+        }
+
+        final Unmarshaller unmarshaller = context.createUnmarshaller();
+        if (unmarshallerHandlerDefault == null) {
+            unmarshallerHandlerDefault = new EventHandlerDefault(unmarshaller, unmarshaller.getEventHandler());
+        }
+        return unmarshaller;
+    }
+
+    /**
+     * Reset the marshaller and return it to the pool.
+     *
+     * @param marshaller marshaller obtained from {@link #acquireMarshaller()}. The marshaller must not be used after
+     *                   the release.
+     */
+    void release(final Marshaller marshaller) {
+        try {
+            for (final Map.Entry<String, Object> property : marshallerDefaults.entrySet()) {
+                final Object defaultValue = property.getValue();
+                final Object value = marshaller.getProperty(property.getKey());
+                if (value == null ? defaultValue != null : !value.equals(defaultValue)) {
+                    marshaller.setProperty(property.getKey(), defaultValue);
+                }
+            }
+            marshaller.setSchema(null);
+            marshaller.setListener(null);
+            marshaller.setEventHandler(marshallerHandlerDefault.get(marshaller));
+            marshaller.setAttachmentMarshaller(null);
+        } catch (final JAXBException e) {
+            // the marshaller cannot be reset, drop it
+            return;
+        } catch (final RuntimeException e) {
+            // e.g. unsupported schema validation of JAXB 1.0 mapped classes
+            return;
+        }
+        marshallers.offer(marshaller);
+    }
+
+    /**
+     * Reset the unmarshaller and return it to the pool.
+     *
+     * @param unmarshaller unmarshaller obtained from {@link #acquireUnmarshaller()}. The unmarshaller must not be used
+     *                     after the release.
+     */
+    void release(final Unmarshaller unmarshaller) {
+        try {
+            unmarshaller.setSchema(null);
+            unmarshaller.setListener(null);
+            unmarshaller.setEventHandler(unmarshallerHandlerDefault.get(unmarshaller));
+            unmarshaller.setAttachmentUnmarshaller(null);
+        } catch (final JAXBException e) {
+            // the unmarshaller cannot be reset, drop it
+            return;
+        } catch (final RuntimeException e) {
+            // e.g. unsupported schema validation of JAXB 1.0 mapped classes
+            return;
+        }
+        unmarshallers.offer(unmarshaller);
+    }
+
+    private static Map<String, Object> getProperties(final Marshaller marshaller) {
+        final Map<String, Object> properties = new HashMap<String, Object>();
+        for (final String name : MARSHALLER_PROPERTIES) {
+            try {
+                properties.put(name, marshaller.getProperty(name));
+            } catch (final PropertyException e) {
+                // property not supported by the JAXB implementation
+            }
+        }
+        return Collections.unmodifiableMap(properties);
+    }
+
+    /**
+     * Default validation event handler of the instances created by the JAXB context. The JAXB RI instances are their
+     * own default event handlers, which cannot be shared.
+     */
+    private static final class EventHandlerDefault {
+
+        private final boolean self;
+        private final ValidationEventHandler handler;
+
+        private EventHandlerDefault(final Object instance, final ValidationEventHandler handler) {
+            this.self = handler == instance;
+            this.handler = self ? null : handler;
+        }
+
+        private ValidationEventHandler get(final Object instance) {
+            return self ? (ValidationEventHandler) instance : handler;
+        }
+    }
+}
@@ -86,6 +86,12 @@ public abstract class XmlCollectionJaxbProvider extends AbstractCollectionJaxbPr
         this.xif = xif;
     }
 
+    @Override
+    protected boolean isPoolingSupported() {
+        // the provider sets only the marshaller properties restored by the pool
+        return true;
+    }
+
     /**
      * JAXB  provider for marshalling/un-marshalling collections
      * from/to entities of {@code application/xml} media type.
@@ -80,6 +80,12 @@ public abstract class XmlJaxbElementProvider extends AbstractJaxbElementProvider
         this.spf = spf;
     }
 
+    @Override
+    protected boolean isPoolingSupported() {
+        // the provider sets only the marshaller properties restored by the pool
+        return true;
+    }
+
     /**
      * Provider for marshalling/un-marshalling {@link JAXBElement JAXB elements}
      * from/to entities of {@code application/xml} media type.
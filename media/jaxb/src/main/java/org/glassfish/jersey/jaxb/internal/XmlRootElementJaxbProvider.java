@@ -81,6 +81,12 @@ public abstract class XmlRootElementJaxbProvider extends AbstractRootElementJaxb
         this.spf = spf;
     }
 
+    @Override
+    protected boolean isPoolingSupported() {
+        // the provider sets only the marshaller properties restored by the pool
+        return true;
+    }
+
     /**
      * Provider for marshalling/un-marshalling JAXB {@link XmlRootElement root element}
      * and {@link XmlType type} instances from/to entities of {@code application/xml}
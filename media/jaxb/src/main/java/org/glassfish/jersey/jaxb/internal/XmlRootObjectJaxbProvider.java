@@ -94,6 +94,12 @@ public abstract class XmlRootObjectJaxbProvider extends AbstractJaxbProvider<Obj
         return null;
     }
 
+    @Override
+    protected boolean isPoolingSupported() {
+        // the provider does not customize the unmarshallers
+        return true;
+    }
+
     /**
      * Provider for un-marshalling entities of {@code application/xml} media type
      * into JAXB beans using {@link Unmarshaller JAXB unmarshaller}.
@@ -143,8 +149,13 @@ public abstract class XmlRootObjectJaxbProvider extends AbstractJaxbProvider<Obj
 
     @Override
     public boolean isReadable(Class<?> type, Type genericType, Annotation annotations[], MediaType mediaType) {
+        if (Object.class != type || !isSupported(mediaType)) {
+            return false;
+        }
         try {
-            return Object.class == type && isSupported(mediaType) && getUnmarshaller(type, mediaType) != null;
+            final Unmarshaller u = getUnmarshaller(type, mediaType);
+            releaseUnmarshaller(u);
+            return u != null;
         } catch (JAXBException cause) {
             throw new RuntimeException(LocalizationMessages.ERROR_UNMARSHALLING_JAXB(type), cause);
         }
@@ -165,8 +176,12 @@ public abstract class XmlRootObjectJaxbProvider extends AbstractJaxbProvider<Obj
         }
 
         try {
-            return getUnmarshaller(type, mediaType)
-                    .unmarshal(getSAXSource(spf.provide(), entityStream));
+            final Unmarshaller u = getUnmarshaller(type, mediaType);
+            try {
+                return u.unmarshal(getSAXSource(spf.provide(), entityStream));
+            } finally {
+                releaseUnmarshaller(u);
+            }
         } catch (UnmarshalException ex) {
             throw new BadRequestException(ex);
         } catch (JAXBException ex) {
@@ -0,0 +1,198 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+
+package org.glassfish.jersey.jaxb.internal;
+
+import javax.activation.DataHandler;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.ValidationEvent;
+import javax.xml.bind.ValidationEventHandler;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.attachment.AttachmentMarshaller;
+import javax.xml.bind.attachment.AttachmentUnmarshaller;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Test of the pool of JAXB marshallers and unmarshallers.
+ */
+public class JaxbPoolTest {
+
+    @XmlRootElement
+    public static class Bean {
+
+        public String value;
+    }
+
+    private JaxbPool pool;
+
+    @Before
+    public void setUp() throws Exception {
+        pool = new JaxbPool(JAXBContext.newInstance(Bean.class), 1);
+    }
+
+    @Test
+    public void testMarshallerIsReused() throws Exception {
+        final Marshaller marshaller = pool.acquireMarshaller();
+        pool.release(marshaller);
+
+        assertSame(marshaller, pool.acquireMarshaller());
+    }
+
+    @Test
+    public void testUnmarshallerIsReused() throws Exception {
+        final Unmarshaller unmarshaller = pool.acquireUnmarshaller();
+        pool.release(unmarshaller);
+
+        assertSame(unmarshaller, pool.acquireUnmarshaller());
+    }
+
+    @Test
+    public void testMarshallerPropertiesAreReset() throws Exception {
+        final Marshaller marshaller = pool.acquireMarshaller();
+        final Object encoding = marshaller.getProperty(Marshaller.JAXB_ENCODING);
+
+        marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+        marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        marshaller.setProperty(Marshaller.JAXB_ENCODING, "ISO-8859-1");
+        pool.release(marshaller);
+
+        final Marshaller pooled = pool.acquireMarshaller();
+        assertSame(marshaller, pooled);
+        assertEquals(false, pooled.getProperty(Marshaller.JAXB_FORMATTED_OUTPUT));
+        assertEquals(false, pooled.getProperty(Marshaller.JAXB_FRAGMENT));
+        assertEquals(encoding, pooled.getProperty(Marshaller.JAXB_ENCODING));
+    }
+
+    @Test
+    public void testMarshallerHandlersAreReset() throws Exception {
+        final Marshaller marshaller = pool.acquireMarshaller();
+        final ValidationEventHandler defaultHandler = marshaller.getEventHandler();
+
+        marshaller.setEventHandler(new TestEventHandler());
+        marshaller.setListener(new Marshaller.Listener() {
+        });
+        marshaller.setAttachmentMarshaller(new AttachmentMarshaller() {
+
+            @Override
+            public String addMtomAttachment(final DataHandler data, final String elementNamespace,
+                                            final String elementLocalName) {
+                return null;
+            }
+
+            @Override
+            public String addMtomAttachment(final byte[] data, final int offset, final int length, final String mimeType,
+                                            final String elementNamespace, final String elementLocalName) {
+                return null;
+            }
+
+            @Override
+            public String addSwaRefAttachment(final DataHandler data) {
+                return null;
+            }
+        });
+        pool.release(marshaller);
+
+        final Marshaller pooled = pool.acquireMarshaller();
+        assertSame(marshaller, pooled);
+        assertSame(defaultHandler, pooled.getEventHandler());
+        assertNull(pooled.getListener());
+        assertNull(pooled.getAttachmentMarshaller());
+    }
+
+    @Test
+    public void testUnmarshallerHandlersAreReset() throws Exception {
+        final Unmarshaller unmarshaller = pool.acquireUnmarshaller();
+        final ValidationEventHandler defaultHandler = unmarshaller.getEventHandler();
+
+        unmarshaller.setEventHandler(new TestEventHandler());
+        unmarshaller.setListener(new Unmarshaller.Listener() {
+        });
+        unmarshaller.setAttachmentUnmarshaller(new AttachmentUnmarshaller() {
+
+            @Override
+            public DataHandler getAttachmentAsDataHandler(final String cid) {
+                return null;
+            }
+
+            @Override
+            public byte[] getAttachmentAsByteArray(final String cid) {
+                return null;
+            }
+        });
+        pool.release(unmarshaller);
+
+        final Unmarshaller pooled = pool.acquireUnmarshaller();
+        assertSame(unmarshaller, pooled);
+        assertSame(defaultHandler, pooled.getEventHandler());
+        assertNull(pooled.getListener());
+        assertNull(pooled.getAttachmentUnmarshaller());
+    }
+
+    @Test
+    public void testPoolIsBounded() throws Exception {
+        final Marshaller first = pool.acquireMarshaller();
+        final Marshaller second = pool.acquireMarshaller();
+        assertNotSame(first, second);
+
+        pool.release(first);
+        pool.release(second);
+
+        assertSame(first, pool.acquireMarshaller());
+        final Marshaller created = pool.acquireMarshaller();
+        assertNotSame(first, created);
+        assertNotSame(second, created);
+    }
+
+    private static class TestEventHandler implements ValidationEventHandler {
+
+        @Override
+        public boolean handleEvent(final ValidationEvent event) {
+            return true;
+        }
+    }
+}
@@ -134,6 +134,13 @@ import org.glassfish.jersey.server.model.ParamQualifier;
  * "Content-Disposition" header can be accessed by the parameter
  * {@code fileDisposition}.
  * <p/>
+ * The request entity is buffered in order to provide the parameters above. If all the annotated parameters
+ * of a resource method are {@code InputStream}s of distinct body parts and the method has no entity parameter,
+ * the body parts are streamed directly from the request entity instead. The parameter streams should then be read
+ * in the order of the body parts in the request, a body part passed over while reading another one is buffered
+ * in a temporary file. A missing body part is injected as the default value or an empty stream rather than
+ * {@code null}.
+ * <p/>
  * Note that, whilst the annotation target permits use on fields and methods,
  * this annotation is only required to be supported on resource method
  * parameters.
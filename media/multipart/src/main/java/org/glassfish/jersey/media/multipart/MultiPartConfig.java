@@ -0,0 +1,108 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.media.multipart;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Per-endpoint override of the global {@link MultiPartProperties multipart configuration}.
+ * <p/>
+ * The annotation can be placed on a resource method consuming a {@link FormDataMultiPart}, {@link MultiPart}
+ * or {@link StreamingMultiPart} entity (directly or using {@link FormDataParam &#64;FormDataParam} parameters),
+ * or on the entity parameter itself. Attributes left at their default values are taken from the global
+ * configuration.
+ * <pre>
+ * &#64;POST
+ * &#64;Consumes(MediaType.MULTIPART_FORM_DATA)
+ * &#64;MultiPartConfig(maxPartSize = 4L * 1024 * 1024 * 1024)
+ * public void upload(StreamingMultiPart parts) {
+ *     while (parts.hasNext()) {
+ *         StreamingBodyPart part = parts.next();
+ *         store(part.getName(), part.getInputStream());
+ *     }
+ * }
+ * </pre>
+ *
+ * @see MultiPartProperties
+ */
+@Target({ElementType.METHOD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface MultiPartConfig {
+
+    /**
+     * Attribute value indicating that the global configuration value should be used.
+     */
+    public static final int DEFAULT = Integer.MIN_VALUE;
+
+    /**
+     * Size (in bytes) above which a buffered body part entity is stored in a temporary file,
+     * or {@value MultiPartProperties#BUFFER_THRESHOLD_MEMORY_ONLY} to keep the body parts in memory.
+     *
+     * @see MultiPartProperties#BUFFER_THRESHOLD
+     */
+    int bufferThreshold() default DEFAULT;
+
+    /**
+     * Directory to store the temporary files of the buffered body parts in.
+     *
+     * @see MultiPartProperties#TEMP_DIRECTORY
+     */
+    String tempDir() default "";
+
+    /**
+     * Maximal size (in bytes) of a body part read by {@link StreamingMultiPart},
+     * or {@value MultiPartProperties#SIZE_UNLIMITED} for no limit.
+     *
+     * @see MultiPartProperties#MAX_PART_SIZE
+     */
+    long maxPartSize() default DEFAULT;
+
+    /**
+     * Maximal size (in bytes) of the multipart entity, or {@value MultiPartProperties#SIZE_UNLIMITED} for no limit.
+     *
+     * @see MultiPartProperties#MAX_TOTAL_SIZE
+     */
+    long maxTotalSize() default DEFAULT;
+}
@@ -48,6 +48,7 @@ import org.glassfish.jersey.media.multipart.internal.FormDataParamInjectionFeatu
 import org.glassfish.jersey.media.multipart.internal.MultiPartReaderClientSide;
 import org.glassfish.jersey.media.multipart.internal.MultiPartReaderServerSide;
 import org.glassfish.jersey.media.multipart.internal.MultiPartWriter;
+import org.glassfish.jersey.media.multipart.internal.StreamingMultiPartReader;
 
 /**
  * Feature used to register Multipart providers.
@@ -68,6 +69,7 @@ public class MultiPartFeature implements Feature {
         }
 
         context.register(MultiPartWriter.class);
+        context.register(StreamingMultiPartReader.class);
 
         return true;
     }
@@ -92,6 +92,29 @@ public class MultiPartProperties {
      */
     public static final String TEMP_DIRECTORY = "jersey.config.multipart.tempDir";
 
+    /**
+     * The {@link #MAX_PART_SIZE} and {@link #MAX_TOTAL_SIZE} property value to not limit the size of the multipart
+     * entity or its body parts.
+     */
+    public static final long SIZE_UNLIMITED = -1;
+
+    /**
+     * Name of the resource property for the maximal size (in bytes) of a single body part entity read by
+     * {@link StreamingMultiPart}. A larger body part is rejected with {@code 413 Request Entity Too Large}
+     * as soon as the limit is exceeded.
+     *
+     * The default value is {@value #SIZE_UNLIMITED} (unlimited).
+     */
+    public static final String MAX_PART_SIZE = "jersey.config.multipart.maxPartSize";
+
+    /**
+     * Name of the resource property for the maximal size (in bytes) of the whole multipart entity. A larger entity
+     * is rejected with {@code 413 Request Entity Too Large} as soon as the limit is exceeded.
+     *
+     * The default value is {@value #SIZE_UNLIMITED} (unlimited).
+     */
+    public static final String MAX_TOTAL_SIZE = "jersey.config.multipart.maxTotalSize";
+
     /**
      * The threshold size (in bytes) above which a body part entity will be
      * buffered to disk instead of being held in memory.
@@ -103,6 +126,16 @@ public class MultiPartProperties {
      */
     private String tempDir = null;
 
+    /**
+     * Maximal size of a body part entity read in a streaming fashion.
+     */
+    private long maxPartSize = SIZE_UNLIMITED;
+
+    /**
+     * Maximal size of the multipart entity.
+     */
+    private long maxTotalSize = SIZE_UNLIMITED;
+
     /**
      * Load and customize (if necessary) the configuration values for the
      * {@code jersey-multipart} injection binder.
@@ -137,6 +170,24 @@ public class MultiPartProperties {
         return tempDir;
     }
 
+    /**
+     * Get the maximal size (in bytes) of a body part entity read by {@link StreamingMultiPart}.
+     *
+     * @return maximal body part size or {@value #SIZE_UNLIMITED} if not limited.
+     */
+    public long getMaxPartSize() {
+        return maxPartSize;
+    }
+
+    /**
+     * Get the maximal size (in bytes) of the multipart entity.
+     *
+     * @return maximal multipart entity size or {@value #SIZE_UNLIMITED} if not limited.
+     */
+    public long getMaxTotalSize() {
+        return maxTotalSize;
+    }
+
     /**
      * Set the size (in bytes) of the entity of an incoming {@link BodyPart} before it will be buffered to disk.
      *
@@ -162,6 +213,28 @@ public class MultiPartProperties {
         return this;
     }
 
+    /**
+     * Set the maximal size (in bytes) of a body part entity read by {@link StreamingMultiPart}.
+     *
+     * @param size maximal body part size, negative value means unlimited.
+     * @return {@code MultiPartProperties} instance.
+     */
+    public MultiPartProperties maxPartSize(final long size) {
+        this.maxPartSize = size < 0 ? SIZE_UNLIMITED : size;
+        return this;
+    }
+
+    /**
+     * Set the maximal size (in bytes) of the multipart entity.
+     *
+     * @param size maximal multipart entity size, negative value means unlimited.
+     * @return {@code MultiPartProperties} instance.
+     */
+    public MultiPartProperties maxTotalSize(final long size) {
+        this.maxTotalSize = size < 0 ? SIZE_UNLIMITED : size;
+        return this;
+    }
+
     /**
      * Configure the values returned by this instance's getters based on
      * the contents of a properties resource, if it exists on the classpath
@@ -193,6 +266,12 @@ public class MultiPartProperties {
             if (props.containsKey(TEMP_DIRECTORY)) {
                 this.tempDir = props.getProperty(TEMP_DIRECTORY);
             }
+            if (props.containsKey(MAX_PART_SIZE)) {
+                maxPartSize(Long.parseLong(props.getProperty(MAX_PART_SIZE)));
+            }
+            if (props.containsKey(MAX_TOTAL_SIZE)) {
+                maxTotalSize(Long.parseLong(props.getProperty(MAX_TOTAL_SIZE)));
+            }
         } catch (final IOException e) {
             throw new IllegalArgumentException(e);
         } finally {
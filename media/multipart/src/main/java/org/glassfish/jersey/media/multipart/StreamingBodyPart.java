@@ -0,0 +1,157 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.media.multipart;
+
+import java.io.InputStream;
+import java.text.ParseException;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.glassfish.jersey.internal.util.collection.ImmutableMultivaluedMap;
+import org.glassfish.jersey.media.multipart.internal.LocalizationMessages;
+
+/**
+ * Body part of a {@link StreamingMultiPart} entity.
+ * <p/>
+ * The body part entity is not buffered, it can be read only once from the {@link #getInputStream() entity stream}
+ * and only until the {@link StreamingMultiPart} is advanced to the next body part.
+ */
+public final class StreamingBodyPart {
+
+    private final MultivaluedMap<String, String> headers;
+    private final InputStream entityStream;
+    private final boolean formData;
+
+    private ContentDisposition contentDisposition;
+    private MediaType mediaType;
+
+    /**
+     * Create new streaming body part.
+     *
+     * @param headers      body part headers.
+     * @param entityStream body part entity stream.
+     * @param formData     {@code true} if the body part is a part of a {@code multipart/form-data} entity.
+     */
+    StreamingBodyPart(final MultivaluedMap<String, String> headers, final InputStream entityStream, final boolean formData) {
+        this.headers = new ImmutableMultivaluedMap<String, String>(headers);
+        this.entityStream = entityStream;
+        this.formData = formData;
+    }
+
+    /**
+     * Get the immutable body part headers.
+     *
+     * @return body part headers.
+     */
+    public MultivaluedMap<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Get the media type of the body part entity. Defaults to {@code text/plain} if the body part
+     * does not contain the {@code Content-Type} header.
+     *
+     * @return body part media type.
+     * @throws IllegalArgumentException if the content type header cannot be parsed.
+     */
+    public MediaType getMediaType() {
+        if (mediaType == null) {
+            final String contentType = headers.getFirst("Content-Type");
+            mediaType = contentType == null ? MediaType.TEXT_PLAIN_TYPE : MediaType.valueOf(contentType);
+        }
+        return mediaType;
+    }
+
+    /**
+     * Get the content disposition of the body part. For body parts of a {@code multipart/form-data} entity
+     * an instance of {@link FormDataContentDisposition} is returned.
+     *
+     * @return content disposition or {@code null} if the body part does not contain the {@code Content-Disposition} header.
+     * @throws IllegalArgumentException if the content disposition header cannot be parsed.
+     */
+    public ContentDisposition getContentDisposition() {
+        if (contentDisposition == null) {
+            final String header = headers.getFirst("Content-Disposition");
+            if (header != null) {
+                try {
+                    contentDisposition = formData ? new FormDataContentDisposition(header) : new ContentDisposition(header);
+                } catch (final ParseException ex) {
+                    throw new IllegalArgumentException(LocalizationMessages.ERROR_PARSING_CONTENT_DISPOSITION(header), ex);
+                }
+            }
+        }
+        return contentDisposition;
+    }
+
+    /**
+     * Get the control name of a {@code multipart/form-data} body part.
+     *
+     * @return control name or {@code null} if the body part is not a form data body part.
+     */
+    public String getName() {
+        final ContentDisposition disposition = getContentDisposition();
+        return disposition instanceof FormDataContentDisposition ? ((FormDataContentDisposition) disposition).getName() : null;
+    }
+
+    /**
+     * Get the file name of the body part as declared by the content disposition.
+     *
+     * @return file name or {@code null} if not declared.
+     */
+    public String getFileName() {
+        final ContentDisposition disposition = getContentDisposition();
+        return disposition == null ? null : disposition.getFileName();
+    }
+
+    /**
+     * Get the body part entity stream.
+     *
+     * @return body part entity stream.
+     */
+    public InputStream getInputStream() {
+        return entityStream;
+    }
+
+    @Override
+    public String toString() {
+        return "StreamingBodyPart{headers=" + headers + '}';
+    }
+}
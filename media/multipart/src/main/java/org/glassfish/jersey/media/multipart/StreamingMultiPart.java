@@ -0,0 +1,207 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.media.multipart;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.glassfish.jersey.media.multipart.internal.LocalizationMessages;
+import org.glassfish.jersey.media.multipart.internal.MultiPartStreamParser;
+import org.glassfish.jersey.media.multipart.internal.SizeLimitingInputStream;
+import org.glassfish.jersey.message.internal.MediaTypes;
+
+/**
+ * Multipart entity whose body parts are read sequentially, directly from the entity stream.
+ * <p/>
+ * Unlike {@link MultiPart}, neither the body parts nor their entities are buffered in memory or in temporary
+ * files, so that arbitrarily large multipart entities can be processed with constant memory. The body parts
+ * are provided by the iterator methods; each {@link StreamingBodyPart#getInputStream() body part entity stream}
+ * is valid only until the next call to {@link #hasNext()}, which skips the unread rest of the current body part.
+ * <pre>
+ * &#64;POST
+ * &#64;Consumes(MediaType.MULTIPART_FORM_DATA)
+ * public void upload(StreamingMultiPart parts) {
+ *     while (parts.hasNext()) {
+ *         StreamingBodyPart part = parts.next();
+ *         store(part.getFileName(), part.getInputStream());
+ *     }
+ * }
+ * </pre>
+ * Body part and total entity size limits are enforced while reading; a request exceeding them is rejected with
+ * {@code 413 Request Entity Too Large}. The limits are taken from {@link MultiPartProperties} and can be overridden
+ * using {@link MultiPartConfig &#64;MultiPartConfig}.
+ * <p/>
+ * Instances are not thread-safe. Iterator methods report I/O errors as {@link ProcessingException}.
+ */
+public final class StreamingMultiPart implements Iterator<StreamingBodyPart>, Closeable {
+
+    private final MediaType mediaType;
+    private final InputStream entityStream;
+    private final MultiPartStreamParser parser;
+    private final boolean formData;
+
+    private StreamingBodyPart next;
+    private boolean closed;
+
+    /**
+     * Create new streaming multipart entity with no size limits.
+     *
+     * @param entityStream multipart entity stream.
+     * @param mediaType    multipart media type including the {@code boundary} parameter.
+     * @throws IllegalArgumentException if the media type does not define the boundary.
+     */
+    public StreamingMultiPart(final InputStream entityStream, final MediaType mediaType) {
+        this(entityStream, mediaType, MultiPartProperties.SIZE_UNLIMITED, MultiPartProperties.SIZE_UNLIMITED);
+    }
+
+    /**
+     * Create new streaming multipart entity.
+     *
+     * @param entityStream multipart entity stream.
+     * @param mediaType    multipart media type including the {@code boundary} parameter.
+     * @param maxPartSize  maximal size of a body part entity, {@value MultiPartProperties#SIZE_UNLIMITED} if not limited.
+     * @param maxTotalSize maximal size of the multipart entity, {@value MultiPartProperties#SIZE_UNLIMITED} if not limited.
+     * @throws IllegalArgumentException if the media type does not define the boundary.
+     */
+    public StreamingMultiPart(final InputStream entityStream,
+                              final MediaType mediaType,
+                              final long maxPartSize,
+                              final long maxTotalSize) {
+        String boundary = mediaType.getParameters().get("boundary");
+        if (boundary == null || boundary.isEmpty()) {
+            throw new IllegalArgumentException(LocalizationMessages.MULTIPART_BOUNDARY_MISSING(mediaType));
+        }
+        if (boundary.length() > 1 && boundary.startsWith("\"") && boundary.endsWith("\"")) {
+            boundary = boundary.substring(1, boundary.length() - 1);
+        }
+
+        this.mediaType = mediaType;
+        this.entityStream = maxTotalSize == MultiPartProperties.SIZE_UNLIMITED
+                ? entityStream : new SizeLimitingInputStream(entityStream, maxTotalSize);
+        this.parser = new MultiPartStreamParser(this.entityStream, boundary, maxPartSize);
+        this.formData = MediaTypes.typeEqual(mediaType, MediaType.MULTIPART_FORM_DATA_TYPE);
+    }
+
+    /**
+     * Get the media type of the multipart entity.
+     *
+     * @return multipart media type.
+     */
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Check whether there is another body part. The unread rest of the previously returned body part is skipped.
+     *
+     * @return {@code true} if there is another body part.
+     * @throws ProcessingException in case of an I/O error.
+     * @throws javax.ws.rs.WebApplicationException in case the entity is malformed or exceeds the size limit.
+     */
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        } else if (closed) {
+            return false;
+        }
+
+        final MultivaluedMap<String, String> headers;
+        try {
+            headers = parser.nextPart();
+        } catch (final IOException ex) {
+            throw new ProcessingException(LocalizationMessages.ERROR_READING_ENTITY(StreamingMultiPart.class.getName()), ex);
+        }
+        if (headers == null) {
+            return false;
+        }
+        next = new StreamingBodyPart(headers, parser.getPartStream(), formData);
+        return true;
+    }
+
+    /**
+     * Get the next body part. The unread rest of the previously returned body part is skipped.
+     *
+     * @return next body part.
+     * @throws NoSuchElementException if there are no more body parts.
+     * @throws ProcessingException in case of an I/O error.
+     * @throws javax.ws.rs.WebApplicationException in case the entity is malformed or exceeds the size limit.
+     */
+    @Override
+    public StreamingBodyPart next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final StreamingBodyPart part = next;
+        next = null;
+        return part;
+    }
+
+    /**
+     * Not supported.
+     *
+     * @throws UnsupportedOperationException always.
+     */
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Close the multipart entity stream. No more body parts are returned once the entity is closed.
+     *
+     * @throws IOException in case of an I/O error.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            next = null;
+            entityStream.close();
+        }
+    }
+}
@@ -43,6 +43,7 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.annotation.Annotation;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -57,6 +58,7 @@ import javax.ws.rs.core.Response;
 import javax.ws.rs.ext.MessageBodyReader;
 
 import javax.inject.Inject;
+import javax.inject.Provider;
 
 import org.glassfish.jersey.internal.inject.ExtractorException;
 import org.glassfish.jersey.internal.util.ReflectionHelper;
@@ -66,9 +68,13 @@ import org.glassfish.jersey.media.multipart.FormDataBodyPart;
 import org.glassfish.jersey.media.multipart.FormDataContentDisposition;
 import org.glassfish.jersey.media.multipart.FormDataMultiPart;
 import org.glassfish.jersey.media.multipart.FormDataParam;
+import org.glassfish.jersey.media.multipart.MultiPartConfig;
+import org.glassfish.jersey.media.multipart.StreamingMultiPart;
 import org.glassfish.jersey.message.MessageBodyWorkers;
 import org.glassfish.jersey.message.MessageUtils;
+import org.glassfish.jersey.message.internal.MediaTypes;
 import org.glassfish.jersey.message.internal.Utils;
+import org.glassfish.jersey.server.CloseableService;
 import org.glassfish.jersey.server.ContainerRequest;
 import org.glassfish.jersey.server.ParamException;
 import org.glassfish.jersey.server.internal.inject.AbstractContainerRequestValueFactory;
@@ -77,6 +83,7 @@ import org.glassfish.jersey.server.internal.inject.MultivaluedParameterExtractor
 import org.glassfish.jersey.server.internal.inject.MultivaluedParameterExtractorProvider;
 import org.glassfish.jersey.server.internal.inject.ParamInjectionResolver;
 import org.glassfish.jersey.server.model.Parameter;
+import org.glassfish.jersey.server.model.ResourceMethod;
 
 import org.glassfish.hk2.api.Factory;
 import org.glassfish.hk2.api.ServiceLocator;
@@ -89,6 +96,10 @@ import jersey.repackaged.com.google.common.collect.Lists;
 /**
  * Value factory provider supporting the {@link FormDataParam} injection annotation and entity ({@link FormDataMultiPart})
  * injection.
+ * <p/>
+ * The {@code FormDataParam} injected {@link InputStream} parameters of a resource method that has no other {@code FormDataParam}
+ * or entity parameters are streamed from the request entity (see {@link FormDataPartStreams}), the other parameters are read
+ * from the buffered {@code FormDataMultiPart} entity.
  *
  * @author Craig McClanahan
  * @author Paul Sandoz
@@ -120,6 +131,22 @@ final class FormDataParamValueFactoryProvider extends AbstractValueFactoryProvid
 
     private abstract class ValueFactory<T> extends AbstractContainerRequestValueFactory<T> {
 
+        /**
+         * Returns the {@link MultiPartConfig &#64;MultiPartConfig} annotation of the matched resource method, if any.
+         *
+         * @return annotations to be passed to the multipart message body reader.
+         */
+        Annotation[] getMethodAnnotations() {
+            final ResourceMethod method = getContainerRequest().getUriInfo().getMatchedResourceMethod();
+            if (method != null) {
+                final MultiPartConfig config = method.getInvocable().getHandlingMethod().getAnnotation(MultiPartConfig.class);
+                if (config != null) {
+                    return new Annotation[] {config};
+                }
+            }
+            return new Annotation[0];
+        }
+
         /**
          * Returns a {@code FormDataMultiPart} entity from the request and stores it in the request context properties.
          *
@@ -131,7 +158,7 @@ final class FormDataParamValueFactoryProvider extends AbstractValueFactoryProvid
 
             Object entity = request.getProperty(requestPropertyName);
             if (entity == null) {
-                entity = request.readEntity(FormDataMultiPart.class);
+                entity = request.readEntity(FormDataMultiPart.class, getMethodAnnotations());
                 if (entity == null) {
                     throw new BadRequestException(LocalizationMessages.ENTITY_IS_EMPTY());
                 }
@@ -153,6 +180,31 @@ final class FormDataParamValueFactoryProvider extends AbstractValueFactoryProvid
         }
     }
 
+    /**
+     * Provider factory for entity of {@code StreamingMultiPart} type. The entity is not buffered, body parts are read
+     * from the request entity stream while the resource method iterates over them.
+     */
+    private final class StreamingMultiPartFactory extends ValueFactory<StreamingMultiPart> {
+
+        private final Parameter parameter;
+
+        public StreamingMultiPartFactory(final Parameter parameter) {
+            this.parameter = parameter;
+        }
+
+        @Override
+        public StreamingMultiPart provide() {
+            final Annotation[] annotations = MultiPartReaderClientSide.getConfig(parameter.getAnnotations()) != null
+                    ? parameter.getAnnotations() : getMethodAnnotations();
+
+            final StreamingMultiPart entity = getContainerRequest().readEntity(StreamingMultiPart.class, annotations);
+            if (entity == null) {
+                throw new BadRequestException(LocalizationMessages.ENTITY_IS_EMPTY());
+            }
+            return entity;
+        }
+    }
+
     /**
      * Provider factory for list of {@link org.glassfish.jersey.media.multipart.FormDataBodyPart} types injected via
      * {@link FormDataParam} annotation.
@@ -272,7 +324,7 @@ final class FormDataParamValueFactoryProvider extends AbstractValueFactoryProvid
     /**
      * Provider factory for generic types injected via {@link FormDataParam} annotation.
      */
-    private final class FormDataParamValueFactory extends ValueFactory<Object> {
+    private class FormDataParamValueFactory extends ValueFactory<Object> {
 
         private final MultivaluedParameterExtractor<?> extractor;
         private final Parameter parameter;
@@ -365,6 +417,96 @@ final class FormDataParamValueFactoryProvider extends AbstractValueFactoryProvid
         }
     }
 
+    /**
+     * Provider factory for {@link java.io.InputStream} types injected via {@link FormDataParam} annotation. The body part is
+     * streamed from the request entity if possible, otherwise it is read from the buffered {@code FormDataMultiPart} entity.
+     */
+    private final class InputStreamFactory extends FormDataParamValueFactory {
+
+        @Inject
+        private Provider<CloseableService> closeableService;
+
+        private final Parameter parameter;
+
+        public InputStreamFactory(final Parameter parameter, final MultivaluedParameterExtractor<?> extractor) {
+            super(parameter, extractor);
+            this.parameter = parameter;
+        }
+
+        @Override
+        public Object provide() {
+            final FormDataPartStreams streams = getPartStreams();
+            if (streams == null) {
+                return super.provide();
+            }
+
+            final String defaultValue = parameter.getDefaultValue();
+            return streams.getStream(parameter.getSourceName(), defaultValue == null
+                    ? null : defaultValue.getBytes(MessageUtils.getCharset(MediaType.TEXT_PLAIN_TYPE)));
+        }
+
+        /**
+         * Returns the body part streams of the request, if the matched resource method is eligible for streaming and
+         * the request entity has not been buffered yet.
+         *
+         * @return body part streams or {@code null} if the body part has to be read from the buffered entity.
+         */
+        private FormDataPartStreams getPartStreams() {
+            final ContainerRequest request = getContainerRequest();
+            final String requestPropertyName = FormDataPartStreams.class.getName();
+
+            Object streams = request.getProperty(requestPropertyName);
+            if (streams == null) {
+                if (request.getProperty(FormDataMultiPart.class.getName()) != null
+                        || !MediaTypes.typeEqual(MediaType.MULTIPART_FORM_DATA_TYPE, request.getMediaType())) {
+                    return null;
+                }
+
+                final Set<String> names = getStreamedNames(request.getUriInfo().getMatchedResourceMethod());
+                if (names == null || !names.contains(parameter.getSourceName())) {
+                    return null;
+                }
+
+                final StreamingMultiPart multiPart = request.readEntity(StreamingMultiPart.class, getMethodAnnotations());
+                if (multiPart == null) {
+                    throw new BadRequestException(LocalizationMessages.ENTITY_IS_EMPTY());
+                }
+                streams = new FormDataPartStreams(multiPart, names);
+                closeableService.get().add((FormDataPartStreams) streams);
+                request.setProperty(requestPropertyName, streams);
+            }
+
+            return (FormDataPartStreams) streams;
+        }
+    }
+
+    /**
+     * Returns the names of the body parts injected into the {@link FormDataParam} injected {@link InputStream} parameters
+     * of the resource method, if the method does not read the request entity in any other way.
+     *
+     * @param method matched resource method.
+     * @return body part names or {@code null} if the body parts cannot be streamed.
+     */
+    private static Set<String> getStreamedNames(final ResourceMethod method) {
+        if (method == null) {
+            return null;
+        }
+
+        final Set<String> names = new HashSet<>();
+        for (final Parameter parameter : method.getInvocable().getParameters()) {
+            if (Parameter.Source.ENTITY == parameter.getSource() || Parameter.Source.BEAN_PARAM == parameter.getSource()) {
+                return null;
+            }
+            final Annotation annotation = parameter.getSourceAnnotation();
+            if (annotation != null && annotation.annotationType() == FormDataParam.class
+                    && (InputStream.class != parameter.getRawType() || !names.add(parameter.getSourceName()))) {
+                // other parameter types need random access to the fields, a body part can be streamed only once
+                return null;
+            }
+        }
+        return names;
+    }
+
     private static final Set<Class<?>> TYPES = initializeTypes();
 
     private static Set<Class<?>> initializeTypes() {
@@ -411,6 +553,8 @@ final class FormDataParamValueFactoryProvider extends AbstractValueFactoryProvid
         if (Parameter.Source.ENTITY == parameter.getSource()) {
             if (FormDataMultiPart.class.isAssignableFrom(rawType)) {
                 return new FormDataMultiPartFactory();
+            } else if (StreamingMultiPart.class == rawType) {
+                return new StreamingMultiPartFactory(parameter);
             } else {
                 return null;
             }
@@ -440,6 +584,8 @@ final class FormDataParamValueFactoryProvider extends AbstractValueFactoryProvid
                 return new FormDataContentDispositionFactory(paramName);
             } else if (File.class == rawType) {
                 return new FileFactory(paramName);
+            } else if (InputStream.class == rawType) {
+                return new InputStreamFactory(parameter, get(parameter));
             } else {
                 return new FormDataParamValueFactory(parameter, get(parameter));
             }
@@ -0,0 +1,234 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.media.multipart.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.glassfish.jersey.media.multipart.StreamingBodyPart;
+import org.glassfish.jersey.media.multipart.StreamingMultiPart;
+import org.glassfish.jersey.message.internal.ReaderWriter;
+import org.glassfish.jersey.message.internal.Utils;
+
+/**
+ * Body part streams of the {@link org.glassfish.jersey.media.multipart.FormDataParam &#64;FormDataParam} injected
+ * {@link InputStream} parameters of a single request.
+ * <p/>
+ * The parameter streams are opened lazily, when they are read for the first time. A parameter stream reads directly
+ * from the request entity if the parameter streams are read in the order of the body parts in the request. Body parts
+ * passed over while looking for the part of a parameter, including the unread rest of the part being read, are buffered
+ * in temporary files to be read by their parameter streams later. Body parts of other names are skipped. Only the first
+ * body part of a name is injected, a missing body part is injected as the default value or an empty stream.
+ */
+final class FormDataPartStreams implements Closeable {
+
+    private final StreamingMultiPart multiPart;
+    private final Set<String> names;
+
+    private final Set<String> found = new HashSet<>();
+    private final Map<String, File> buffered = new HashMap<>();
+    private final List<File> files = new LinkedList<>();
+    private final List<PartStream> streams = new LinkedList<>();
+
+    private PartStream active;
+    private boolean closed;
+
+    /**
+     * Create new body part streams.
+     *
+     * @param multiPart streaming multipart request entity.
+     * @param names     names of the body parts injected as streams.
+     */
+    FormDataPartStreams(final StreamingMultiPart multiPart, final Set<String> names) {
+        this.multiPart = multiPart;
+        this.names = names;
+    }
+
+    /**
+     * Get the lazily opened stream of the first body part of the given name.
+     *
+     * @param name         body part name.
+     * @param defaultValue value of the stream if the body part is missing, may be {@code null}.
+     * @return body part stream.
+     */
+    InputStream getStream(final String name, final byte[] defaultValue) {
+        final PartStream stream = new PartStream(name, defaultValue);
+        streams.add(stream);
+        return stream;
+    }
+
+    private InputStream open(final PartStream stream) throws IOException {
+        if (closed) {
+            throw new IOException(LocalizationMessages.FORM_DATA_PARAM_STREAM_CLOSED(stream.name));
+        }
+
+        final File file = buffered.remove(stream.name);
+        if (file != null) {
+            return new FileInputStream(file);
+        }
+
+        if (active != null) {
+            // the parameter stream reading the current body part continues with the buffered rest of the part
+            active.in = new FileInputStream(buffer(active.in));
+            active = null;
+        }
+
+        while (!found.contains(stream.name) && multiPart.hasNext()) {
+            final StreamingBodyPart part = multiPart.next();
+            final String name = part.getName();
+            if (name == null || !names.contains(name) || !found.add(name)) {
+                // the body part is skipped by the next invocation of hasNext()
+                continue;
+            } else if (name.equals(stream.name)) {
+                active = stream;
+                return part.getInputStream();
+            } else {
+                buffered.put(name, buffer(part.getInputStream()));
+            }
+        }
+
+        return new ByteArrayInputStream(stream.defaultValue == null ? new byte[0] : stream.defaultValue);
+    }
+
+    private File buffer(final InputStream in) throws IOException {
+        final File file = Utils.createTempFile();
+        files.add(file);
+        try (final OutputStream out = new FileOutputStream(file)) {
+            ReaderWriter.writeTo(in, out);
+        }
+        return file;
+    }
+
+    /**
+     * Close the parameter streams and delete the temporary files of the buffered body parts.
+     *
+     * @throws IOException in case of an I/O error.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            for (final PartStream stream : streams) {
+                stream.close();
+            }
+            multiPart.close();
+        } finally {
+            for (final File file : files) {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * Lazily opened parameter stream.
+     */
+    private final class PartStream extends InputStream {
+
+        private final String name;
+        private final byte[] defaultValue;
+
+        private InputStream in;
+        private boolean closed;
+
+        private PartStream(final String name, final byte[] defaultValue) {
+            this.name = name;
+            this.defaultValue = defaultValue;
+        }
+
+        private InputStream in() throws IOException {
+            if (closed) {
+                throw new IOException(LocalizationMessages.FORM_DATA_PARAM_STREAM_CLOSED(name));
+            }
+            if (in == null) {
+                in = open(this);
+            }
+            return in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return in().read();
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            return in().read(b, off, len);
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            return in().skip(n);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return closed || in == null ? 0 : in.available();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                if (active == this) {
+                    active = null;
+                }
+                if (in != null) {
+                    in.close();
+                }
+            }
+        }
+    }
+}
@@ -48,6 +48,8 @@ import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -73,6 +75,7 @@ import org.glassfish.jersey.media.multipart.BodyPartEntity;
 import org.glassfish.jersey.media.multipart.FormDataBodyPart;
 import org.glassfish.jersey.media.multipart.FormDataMultiPart;
 import org.glassfish.jersey.media.multipart.MultiPart;
+import org.glassfish.jersey.media.multipart.MultiPartConfig;
 import org.glassfish.jersey.media.multipart.MultiPartProperties;
 import org.glassfish.jersey.message.MessageBodyWorkers;
 import org.glassfish.jersey.message.internal.MediaTypes;
@@ -104,25 +107,72 @@ public class MultiPartReaderClientSide implements MessageBodyReader<MultiPart> {
     @Inject
     private Provider<MessageBodyWorkers> messageBodyWorkers;
 
+    private final MultiPartProperties properties;
     private final MIMEConfig mimeConfig;
+    /**
+     * MIME configurations overridden by {@link MultiPartConfig &#64;MultiPartConfig} annotations.
+     */
+    private final ConcurrentMap<MultiPartConfig, MIMEConfig> mimeConfigs = new ConcurrentHashMap<>();
 
     /**
      * Accepts constructor injection of the configuration parameters for this
      * application.
      */
     public MultiPartReaderClientSide(@Context final Providers providers) {
+        properties = getProperties(providers, getClass());
+        mimeConfig = createMimeConfig(properties);
+    }
+
+    /**
+     * Get the {@link MultiPartProperties} configured in the application.
+     *
+     * @param providers JAX-RS providers.
+     * @param type      type of the provider requesting the configuration.
+     * @return application multipart configuration, or the default configuration if none is available.
+     */
+    static MultiPartProperties getProperties(final Providers providers, final Class<?> type) {
         final ContextResolver<MultiPartProperties> contextResolver =
                 providers.getContextResolver(MultiPartProperties.class, MediaType.WILDCARD_TYPE);
 
         MultiPartProperties properties = null;
         if (contextResolver != null) {
-            properties = contextResolver.getContext(this.getClass());
+            properties = contextResolver.getContext(type);
+        }
+        return properties == null ? new MultiPartProperties() : properties;
+    }
+
+    /**
+     * Get the per-endpoint multipart configuration override.
+     *
+     * @param annotations annotations passed to the message body reader.
+     * @return multipart configuration override or {@code null} if not present.
+     */
+    static MultiPartConfig getConfig(final Annotation[] annotations) {
+        if (annotations != null) {
+            for (final Annotation annotation : annotations) {
+                if (annotation instanceof MultiPartConfig) {
+                    return (MultiPartConfig) annotation;
+                }
+            }
         }
-        if (properties == null) {
-            properties = new MultiPartProperties();
+        return null;
+    }
+
+    private MIMEConfig getMimeConfig(final MultiPartConfig config) {
+        if (config == null || (config.bufferThreshold() == MultiPartConfig.DEFAULT && config.tempDir().isEmpty())) {
+            return mimeConfig;
         }
 
-        mimeConfig = createMimeConfig(properties);
+        MIMEConfig overridden = mimeConfigs.get(config);
+        if (overridden == null) {
+            final MultiPartProperties effective = new MultiPartProperties()
+                    .bufferThreshold(config.bufferThreshold() == MultiPartConfig.DEFAULT
+                            ? properties.getBufferThreshold() : config.bufferThreshold())
+                    .tempDir(config.tempDir().isEmpty() ? properties.getTempDir() : config.tempDir());
+            overridden = createMimeConfig(effective);
+            mimeConfigs.putIfAbsent(config, overridden);
+        }
+        return overridden;
     }
 
     private MIMEConfig createMimeConfig(final MultiPartProperties properties) {
@@ -198,9 +248,16 @@ public class MultiPartReaderClientSide implements MessageBodyReader<MultiPart> {
                                       final InputStream stream) throws IOException, MIMEParsingException {
         mediaType = unquoteMediaTypeParameters(mediaType, "boundary");
 
-        final MIMEMessage mimeMessage = new MIMEMessage(stream,
+        final MultiPartConfig config = getConfig(annotations);
+        long maxTotalSize = properties.getMaxTotalSize();
+        if (config != null && config.maxTotalSize() != MultiPartConfig.DEFAULT) {
+            maxTotalSize = Math.max(MultiPartProperties.SIZE_UNLIMITED, config.maxTotalSize());
+        }
+
+        final MIMEMessage mimeMessage = new MIMEMessage(
+                maxTotalSize == MultiPartProperties.SIZE_UNLIMITED ? stream : new SizeLimitingInputStream(stream, maxTotalSize),
                 mediaType.getParameters().get("boundary"),
-                mimeConfig);
+                getMimeConfig(config));
 
         final boolean formData = MediaTypes.typeEqual(mediaType, MediaType.MULTIPART_FORM_DATA_TYPE);
         final MultiPart multiPart = formData ? new FormDataMultiPart() : new MultiPart();
@@ -270,7 +327,7 @@ public class MultiPartReaderClientSide implements MessageBodyReader<MultiPart> {
     private List<MIMEPart> getMimeParts(final MIMEMessage message) {
         try {
             return message.getAttachments();
-        } catch (final MIMEParsingException obtainPartsError) {
+        } catch (final MIMEParsingException | WebApplicationException obtainPartsError) {
             LOGGER.log(Level.FINE, LocalizationMessages.PARSING_ERROR(), obtainPartsError);
 
             message.close();
@@ -0,0 +1,326 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.media.multipart.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.List;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.media.multipart.MultiPartProperties;
+import org.glassfish.jersey.message.internal.HeaderUtils;
+
+/**
+ * Pull parser of a multipart entity that reads body parts sequentially directly from the entity stream.
+ * <p/>
+ * Neither body part entities nor the whole multipart entity are buffered, the parser keeps only a fixed size
+ * read buffer. A body part entity stream is valid until the parser is {@link #nextPart() advanced} to the next
+ * body part; the unread rest of the body part is skipped then.
+ */
+public final class MultiPartStreamParser {
+
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_HEADERS_SIZE = 16 * 1024;
+
+    private final InputStream source;
+    private final long maxPartSize;
+    /**
+     * Body part delimiter including the leading line break.
+     */
+    private final byte[] delimiter;
+
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+    private boolean eof;
+
+    private boolean finished;
+    private PartInputStream current;
+
+    /**
+     * Create new multipart entity parser.
+     *
+     * @param source      multipart entity stream.
+     * @param boundary    multipart boundary.
+     * @param maxPartSize maximal size of a body part entity, {@link MultiPartProperties#SIZE_UNLIMITED} if not limited.
+     */
+    public MultiPartStreamParser(final InputStream source, final String boundary, final long maxPartSize) {
+        this.source = source;
+        this.maxPartSize = maxPartSize;
+        this.delimiter = ("\r\n--" + boundary).getBytes(ASCII);
+        this.buffer = new byte[Math.max(BUFFER_SIZE, 2 * delimiter.length)];
+
+        // virtual line break so that a delimiter at the very beginning of the entity is found as well
+        buffer[0] = '\r';
+        buffer[1] = '\n';
+        limit = 2;
+
+        // the preamble is read as an unlimited body part that is skipped
+        current = new PartInputStream(MultiPartProperties.SIZE_UNLIMITED);
+    }
+
+    /**
+     * Advance to the next body part. The unread rest of the current body part is skipped.
+     *
+     * @return headers of the next body part, or {@code null} if there are no more body parts.
+     * @throws IOException in case of an I/O error.
+     * @throws BadRequestException in case the multipart entity is malformed.
+     */
+    public MultivaluedMap<String, String> nextPart() throws IOException {
+        if (finished) {
+            return null;
+        }
+        current.skipRemaining();
+        current = null;
+
+        if (!ensure(2)) {
+            throw malformed("missing close delimiter");
+        }
+        if (buffer[position] == '-' && buffer[position + 1] == '-') {
+            // close delimiter, the epilogue is ignored
+            position += 2;
+            finished = true;
+            return null;
+        }
+
+        final int[] budget = {MAX_HEADERS_SIZE};
+        // skip transport padding following the delimiter
+        readLine(budget);
+
+        final MultivaluedMap<String, String> headers = HeaderUtils.createInbound();
+        String name = null;
+        String line;
+        while (!(line = readLine(budget)).isEmpty()) {
+            if (name != null && (line.charAt(0) == ' ' || line.charAt(0) == '\t')) {
+                // folded header value
+                final List<String> values = headers.get(name);
+                values.set(values.size() - 1, values.get(values.size() - 1) + ' ' + line.trim());
+                continue;
+            }
+            final int colon = line.indexOf(':');
+            if (colon <= 0) {
+                throw malformed("invalid body part header");
+            }
+            name = line.substring(0, colon).trim();
+            headers.add(name, line.substring(colon + 1).trim());
+        }
+
+        current = new PartInputStream(maxPartSize);
+        return headers;
+    }
+
+    /**
+     * Get the entity stream of the current body part.
+     *
+     * @return current body part entity stream or {@code null} if the parser has not been advanced to a body part.
+     */
+    public InputStream getPartStream() {
+        return current;
+    }
+
+    /**
+     * Make sure there are at least {@code count} bytes available in the buffer unless the end of the source
+     * stream has been reached.
+     */
+    private boolean ensure(final int count) throws IOException {
+        while (limit - position < count && !eof) {
+            if (position > 0) {
+                System.arraycopy(buffer, position, buffer, 0, limit - position);
+                limit -= position;
+                position = 0;
+            }
+            final int read = source.read(buffer, limit, buffer.length - limit);
+            if (read == -1) {
+                eof = true;
+            } else {
+                limit += read;
+            }
+        }
+        return limit - position >= count;
+    }
+
+    private String readLine(final int[] budget) throws IOException {
+        final ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+        while (true) {
+            if (!ensure(1)) {
+                throw malformed("unexpected end of body part headers");
+            }
+            final byte b = buffer[position++];
+            if (--budget[0] < 0) {
+                throw new WebApplicationException(LocalizationMessages.MULTIPART_HEADERS_TOO_LARGE(MAX_HEADERS_SIZE),
+                        Response.Status.BAD_REQUEST);
+            }
+            if (b == '\n') {
+                final byte[] bytes = line.toByteArray();
+                final int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+                return new String(bytes, 0, length, UTF8);
+            }
+            line.write(b);
+        }
+    }
+
+    /**
+     * Find the delimiter in the buffered data.
+     *
+     * @return index of the delimiter in the buffer or {@code -1} if the buffer does not contain the whole delimiter.
+     */
+    private int indexOfDelimiter() {
+        final int last = limit - delimiter.length;
+        outer:
+        for (int i = position; i <= last; i++) {
+            for (int j = 0; j < delimiter.length; j++) {
+                if (buffer[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static BadRequestException malformed(final String detail) {
+        return new BadRequestException(LocalizationMessages.MULTIPART_MALFORMED(detail));
+    }
+
+    /**
+     * Entity stream of a single body part terminated by the delimiter.
+     */
+    private final class PartInputStream extends InputStream {
+
+        private final long maxSize;
+        private long count;
+        private boolean done;
+        private boolean closed;
+
+        private PartInputStream(final long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * Get the number of buffered bytes that belong to the body part, consuming the delimiter
+         * if it is found right at the current buffer position.
+         */
+        private int scan() throws IOException {
+            ensure(delimiter.length);
+
+            final int index = indexOfDelimiter();
+            if (index == position) {
+                position += delimiter.length;
+                done = true;
+                return 0;
+            } else if (index >= 0) {
+                return index - position;
+            } else if (eof) {
+                if (limit == position) {
+                    throw malformed("missing close delimiter");
+                }
+                return limit - position;
+            }
+            // the tail of the buffer may contain the beginning of the delimiter
+            return limit - position - delimiter.length + 1;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (done || closed) {
+                return -1;
+            } else if (len == 0) {
+                return 0;
+            }
+
+            final int available = scan();
+            if (done) {
+                return -1;
+            }
+
+            final int read = Math.min(len, available);
+            System.arraycopy(buffer, position, b, off, read);
+            position += read;
+
+            count += read;
+            if (maxSize != MultiPartProperties.SIZE_UNLIMITED && count > maxSize) {
+                throw new WebApplicationException(LocalizationMessages.MULTIPART_PART_SIZE_EXCEEDED(maxSize),
+                        Response.Status.REQUEST_ENTITY_TOO_LARGE);
+            }
+            return read;
+        }
+
+        @Override
+        public int available() {
+            if (done || closed) {
+                return 0;
+            }
+            final int index = indexOfDelimiter();
+            return index >= 0 ? index - position : Math.max(0, limit - position - delimiter.length + 1);
+        }
+
+        /**
+         * Skip the rest of the body part including the delimiter.
+         */
+        private void skipRemaining() throws IOException {
+            while (!done) {
+                // scan() may move the position past the delimiter, so it must run before the position is read
+                final int n = scan();
+                position += n;
+            }
+        }
+
+        @Override
+        public void close() {
+            // the rest of the body part is skipped once the parser is advanced
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.media.multipart;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link StreamingMultiPart}.
+ */
+public class StreamingMultiPartTest {
+
+    private static final String BOUNDARY = "XyZ-boundary";
+
+    private static final String ENTITY = "preamble to be ignored\r\n"
+            + "--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"foo\"\r\n"
+            + "\r\n"
+            + "bar\r\n"
+            + "--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"file\"; filename=\"data.txt\"\r\n"
+            + "Content-Type: application/octet-stream\r\n"
+            + "\r\n"
+            + "line one\r\n--not a boundary\r\nline two\r\n"
+            + "--" + BOUNDARY + "\r\n"
+            + "Content-Disposition: form-data; name=\"empty\"\r\n"
+            + "\r\n"
+            + "\r\n"
+            + "--" + BOUNDARY + "--\r\n"
+            + "epilogue to be ignored";
+
+    private static MediaType formData(final String boundary) {
+        final Map<String, String> parameters = new HashMap<>();
+        parameters.put("boundary", boundary);
+        return new MediaType("multipart", "form-data", parameters);
+    }
+
+    private static InputStream stream(final String entity) {
+        return new ByteArrayInputStream(entity.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[3];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testReadAllParts() throws Exception {
+        final StreamingMultiPart multiPart = new StreamingMultiPart(stream(ENTITY), formData(BOUNDARY));
+
+        assertTrue(multiPart.hasNext());
+        StreamingBodyPart part = multiPart.next();
+        assertEquals("foo", part.getName());
+        assertNull(part.getFileName());
+        assertEquals(MediaType.TEXT_PLAIN_TYPE, part.getMediaType());
+        assertEquals("bar", read(part.getInputStream()));
+
+        assertTrue(multiPart.hasNext());
+        part = multiPart.next();
+        assertEquals("file", part.getName());
+        assertEquals("data.txt", part.getFileName());
+        assertEquals(MediaType.APPLICATION_OCTET_STREAM_TYPE, part.getMediaType());
+        assertEquals("line one\r\n--not a boundary\r\nline two", read(part.getInputStream()));
+
+        assertTrue(multiPart.hasNext());
+        part = multiPart.next();
+        assertEquals("empty", part.getName());
+        assertEquals("", read(part.getInputStream()));
+
+        assertFalse(multiPart.hasNext());
+        multiPart.close();
+    }
+
+    @Test
+    public void testSkipUnreadParts() throws Exception {
+        final StreamingMultiPart multiPart = new StreamingMultiPart(stream(ENTITY), formData(BOUNDARY));
+
+        // Read only the first byte of the first part and ignore the second part completely.
+        assertEquals('b', multiPart.next().getInputStream().read());
+        assertEquals("file", multiPart.next().getName());
+
+        final StreamingBodyPart part = multiPart.next();
+        assertEquals("empty", part.getName());
+        assertFalse(multiPart.hasNext());
+    }
+
+    @Test
+    public void testQuotedBoundary() throws Exception {
+        final StreamingMultiPart multiPart = new StreamingMultiPart(stream(ENTITY), formData("\"" + BOUNDARY + "\""));
+
+        int count = 0;
+        while (multiPart.hasNext()) {
+            multiPart.next();
+            count++;
+        }
+        assertEquals(3, count);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingBoundary() throws Exception {
+        new StreamingMultiPart(stream(ENTITY), MediaType.MULTIPART_FORM_DATA_TYPE);
+    }
+
+    @Test
+    public void testMaxPartSizeExceeded() throws Exception {
+        final StreamingMultiPart multiPart = new StreamingMultiPart(stream(ENTITY), formData(BOUNDARY),
+                10, MultiPartProperties.SIZE_UNLIMITED);
+
+        assertEquals("bar", read(multiPart.next().getInputStream()));
+        try {
+            read(multiPart.next().getInputStream());
+            fail("Part size limit should have been exceeded.");
+        } catch (final WebApplicationException expected) {
+            assertEquals(Response.Status.REQUEST_ENTITY_TOO_LARGE.getStatusCode(), expected.getResponse().getStatus());
+        }
+    }
+
+    @Test
+    public void testMaxTotalSizeExceeded() throws Exception {
+        final StreamingMultiPart multiPart = new StreamingMultiPart(stream(ENTITY), formData(BOUNDARY),
+                MultiPartProperties.SIZE_UNLIMITED, 100);
+
+        try {
+            while (multiPart.hasNext()) {
+                read(multiPart.next().getInputStream());
+            }
+            fail("Total size limit should have been exceeded.");
+        } catch (final WebApplicationException expected) {
+            assertEquals(Response.Status.REQUEST_ENTITY_TOO_LARGE.getStatusCode(), expected.getResponse().getStatus());
+        }
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void testMissingClosingBoundary() throws Exception {
+        final String entity = "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"foo\"\r\n"
+                + "\r\n"
+                + "truncated";
+        final StreamingMultiPart multiPart = new StreamingMultiPart(stream(entity), formData(BOUNDARY));
+
+        read(multiPart.next().getInputStream());
+    }
+}
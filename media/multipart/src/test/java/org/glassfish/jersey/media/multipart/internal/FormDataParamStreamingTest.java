@@ -0,0 +1,175 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2015 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.media.multipart.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+
+import org.glassfish.jersey.media.multipart.FormDataMultiPart;
+import org.glassfish.jersey.media.multipart.FormDataParam;
+import org.glassfish.jersey.server.ContainerRequest;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+import jersey.repackaged.com.google.common.collect.Sets;
+
+/**
+ * Tests for streaming of the {@link FormDataParam &#64;FormDataParam} injected {@code InputStream} parameters.
+ */
+public class FormDataParamStreamingTest extends MultiPartJerseyTest {
+
+    @Override
+    protected Set<Class<?>> getResourceClasses() {
+        return Sets.<Class<?>>newHashSet(StreamingResource.class);
+    }
+
+    private static String read(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int read;
+        while ((read = in.read()) != -1) {
+            out.write(read);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static String buffered(final ContainerRequest request) {
+        return request.getProperty(FormDataMultiPart.class.getName()) != null ? "buffered" : "streamed";
+    }
+
+    @Path("/")
+    @Consumes("multipart/form-data")
+    @Produces("text/plain")
+    public static class StreamingResource {
+
+        @POST
+        @Path("ordered")
+        public String ordered(@Context final ContainerRequest request,
+                              @FormDataParam("first") final InputStream first,
+                              @FormDataParam("second") final InputStream second) throws IOException {
+            return read(first) + "," + read(second) + "," + buffered(request);
+        }
+
+        @POST
+        @Path("reversed")
+        public String reversed(@Context final ContainerRequest request,
+                               @FormDataParam("first") final InputStream first,
+                               @FormDataParam("second") final InputStream second) throws IOException {
+            // the first part is passed over while looking for the second one
+            final String secondValue = read(second);
+            return read(first) + "," + secondValue + "," + buffered(request);
+        }
+
+        @POST
+        @Path("interleaved")
+        public String interleaved(@Context final ContainerRequest request,
+                                  @FormDataParam("first") final InputStream first,
+                                  @FormDataParam("second") final InputStream second) throws IOException {
+            // the rest of the first part is buffered once the second one is read
+            final char head = (char) first.read();
+            final String secondValue = read(second);
+            return head + read(first) + "," + secondValue + "," + buffered(request);
+        }
+
+        @POST
+        @Path("default")
+        public String defaultValue(@Context final ContainerRequest request,
+                                   @FormDataParam("first") final InputStream first,
+                                   @DefaultValue("default") @FormDataParam("missing") final InputStream missing,
+                                   @FormDataParam("none") final InputStream none) throws IOException {
+            return read(first) + "," + read(missing) + "," + read(none) + "," + buffered(request);
+        }
+
+        @POST
+        @Path("mixed")
+        public String mixed(@Context final ContainerRequest request,
+                            @FormDataParam("first") final InputStream first,
+                            @FormDataParam("second") final String second) throws IOException {
+            return read(first) + "," + second + "," + buffered(request);
+        }
+    }
+
+    private String post(final String path) {
+        final FormDataMultiPart entity = new FormDataMultiPart()
+                .field("ignored", "skipped")
+                .field("first", "one")
+                .field("other", "skipped")
+                .field("second", "two");
+
+        return target(path).request().post(Entity.entity(entity, MediaType.MULTIPART_FORM_DATA_TYPE), String.class);
+    }
+
+    @Test
+    public void testOrdered() {
+        assertEquals("one,two,streamed", post("ordered"));
+    }
+
+    @Test
+    public void testReversed() {
+        assertEquals("one,two,streamed", post("reversed"));
+    }
+
+    @Test
+    public void testInterleaved() {
+        assertEquals("one,two,streamed", post("interleaved"));
+    }
+
+    @Test
+    public void testMissingParts() {
+        assertEquals("one,default,,streamed", post("default"));
+    }
+
+    @Test
+    public void testBufferedFallback() {
+        assertEquals("one,two,buffered", post("mixed"));
+    }
+}
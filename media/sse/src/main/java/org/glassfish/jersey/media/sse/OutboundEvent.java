@@ -40,6 +40,7 @@
 package org.glassfish.jersey.media.sse;
 
 import java.lang.reflect.Type;
+import java.nio.charset.Charset;
 
 import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.MediaType;
@@ -61,6 +62,28 @@ public final class OutboundEvent {
     private final MediaType mediaType;
     private final Object data;
     private final long reconnectDelay;
+    /**
+     * {@code true} if the event is written to multiple event outputs and its serialized form should be reused.
+     */
+    private final boolean shared;
+    /**
+     * Cached serialized form of a shared event.
+     */
+    private volatile SerializedForm serializedForm;
+
+    /**
+     * Event serialized using a particular charset.
+     */
+    private static final class SerializedForm {
+
+        private final Charset charset;
+        private final byte[] bytes;
+
+        private SerializedForm(final Charset charset, final byte[] bytes) {
+            this.charset = charset;
+            this.bytes = bytes;
+        }
+    }
 
     /**
      * Used for creating {@link OutboundEvent} instances.
@@ -285,6 +308,18 @@ public final class OutboundEvent {
                   final MediaType mediaType,
                   final Object data,
                   final String comment) {
+        this(name, id, reconnectDelay, type, mediaType, data, comment, false);
+    }
+
+    private OutboundEvent(final String name,
+                          final String id,
+                          final long reconnectDelay,
+                          final GenericType type,
+                          final MediaType mediaType,
+                          final Object data,
+                          final String comment,
+                          final boolean shared) {
+        this.shared = shared;
         this.name = name;
         this.comment = comment;
         this.id = id;
@@ -411,4 +446,51 @@ public final class OutboundEvent {
     public Object getData() {
         return data;
     }
+
+    /**
+     * Get a copy of this event that is serialized only once when written to multiple event outputs.
+     * <p>
+     * The serialized form of the returned event is cached on the first write and the cached bytes are written
+     * to all subsequent event outputs using the same charset. The event data must therefore not be modified
+     * while the shared event is being written.
+     * </p>
+     *
+     * @return shared copy of this event.
+     */
+    OutboundEvent shared() {
+        if (shared) {
+            return this;
+        }
+        return new OutboundEvent(name, id, reconnectDelay, type, mediaType, data, comment, true);
+    }
+
+    /**
+     * Check whether the serialized form of this event should be cached.
+     *
+     * @return {@code true} if the serialized form of this event is reused, {@code false} otherwise.
+     */
+    boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * Get the cached serialized form of this event.
+     *
+     * @param charset charset the event is serialized with.
+     * @return serialized event bytes or {@code null} if the event has not been serialized using given charset yet.
+     */
+    byte[] getSerializedForm(final Charset charset) {
+        final SerializedForm form = serializedForm;
+        return form != null && form.charset.equals(charset) ? form.bytes : null;
+    }
+
+    /**
+     * Cache the serialized form of this event.
+     *
+     * @param charset charset the event is serialized with.
+     * @param bytes   serialized event bytes.
+     */
+    void setSerializedForm(final Charset charset, final byte[] bytes) {
+        serializedForm = new SerializedForm(charset, bytes);
+    }
 }
@@ -39,6 +39,7 @@
  */
 package org.glassfish.jersey.media.sse;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
@@ -93,7 +94,6 @@ class OutboundEventWriter implements MessageBodyWriter<OutboundEvent> {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void writeTo(final OutboundEvent outboundEvent,
                         final Class<?> type,
                         final Type genericType,
@@ -103,6 +103,28 @@ class OutboundEventWriter implements MessageBodyWriter<OutboundEvent> {
                         final OutputStream entityStream) throws IOException, WebApplicationException {
 
         final Charset charset = MessageUtils.getCharset(mediaType);
+        if (!outboundEvent.isShared()) {
+            writeEvent(outboundEvent, annotations, charset, httpHeaders, entityStream);
+            return;
+        }
+
+        // shared event is serialized only once and the same bytes are written to all the event outputs
+        byte[] serialized = outboundEvent.getSerializedForm(charset);
+        if (serialized == null) {
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            writeEvent(outboundEvent, annotations, charset, httpHeaders, buffer);
+            serialized = buffer.toByteArray();
+            outboundEvent.setSerializedForm(charset, serialized);
+        }
+        entityStream.write(serialized);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeEvent(final OutboundEvent outboundEvent,
+                            final Annotation[] annotations,
+                            final Charset charset,
+                            final MultivaluedMap<String, Object> httpHeaders,
+                            final OutputStream entityStream) throws IOException {
         if (outboundEvent.getComment() != null) {
             for (final String comment : outboundEvent.getComment().split("\n")) {
                 entityStream.write(COMMENT_LEAD);
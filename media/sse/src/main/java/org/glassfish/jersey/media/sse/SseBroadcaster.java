@@ -40,6 +40,8 @@
 
 package org.glassfish.jersey.media.sse;
 
+import java.util.concurrent.TimeUnit;
+
 import org.glassfish.jersey.server.Broadcaster;
 
 /**
@@ -74,4 +76,92 @@ public class SseBroadcaster extends Broadcaster<OutboundEvent> {
     protected SseBroadcaster(final Class<? extends SseBroadcaster> subclass) {
         super(subclass);
     }
+
+    /**
+     * Creates a new instance delivering the events asynchronously.
+     * If this constructor is called by a subclass, it assumes the reason for the subclass to exist is to implement
+     * {@link #onClose(org.glassfish.jersey.server.ChunkedOutput)} and
+     * {@link #onException(org.glassfish.jersey.server.ChunkedOutput, Exception)} methods, so it adds the newly created
+     * instance as the listener. To avoid this, subclasses may call
+     * {@link #SseBroadcaster(Class, int, int, Broadcaster.SlowConsumerPolicy)} passing their class as an argument.
+     *
+     * @param writerThreads number of threads writing the events to registered event outputs.
+     * @param queueCapacity maximum number of pending events of a single event output.
+     * @param policy        policy applied when the queue of pending events of an event output is full.
+     * @see Broadcaster#Broadcaster(int, int, Broadcaster.SlowConsumerPolicy)
+     */
+    public SseBroadcaster(final int writerThreads, final int queueCapacity, final SlowConsumerPolicy policy) {
+        this(SseBroadcaster.class, writerThreads, queueCapacity, policy);
+    }
+
+    /**
+     * Can be used by subclasses to create a broadcaster delivering the events asynchronously and to override the default
+     * functionality of adding self to the set of {@link org.glassfish.jersey.server.BroadcasterListener listeners}.
+     *
+     * @param subclass      subclass of SseBroadcaster that should not be registered as a listener - if creating a direct
+     *                      instance of this subclass, this constructor will not register the new instance as a listener.
+     * @param writerThreads number of threads writing the events to registered event outputs.
+     * @param queueCapacity maximum number of pending events of a single event output.
+     * @param policy        policy applied when the queue of pending events of an event output is full.
+     * @see #SseBroadcaster(int, int, Broadcaster.SlowConsumerPolicy)
+     */
+    protected SseBroadcaster(final Class<? extends SseBroadcaster> subclass,
+                             final int writerThreads, final int queueCapacity, final SlowConsumerPolicy policy) {
+        super(subclass, writerThreads, queueCapacity, policy);
+    }
+
+    /**
+     * Creates a new instance delivering the events asynchronously with the given write timeout.
+     * If this constructor is called by a subclass, it assumes the reason for the subclass to exist is to implement
+     * {@link #onClose(org.glassfish.jersey.server.ChunkedOutput)} and
+     * {@link #onException(org.glassfish.jersey.server.ChunkedOutput, Exception)} methods, so it adds the newly created
+     * instance as the listener. To avoid this, subclasses may call
+     * {@link #SseBroadcaster(Class, int, int, Broadcaster.SlowConsumerPolicy, long, TimeUnit)} passing their class
+     * as an argument.
+     *
+     * @param writerThreads number of threads writing the events to registered event outputs.
+     * @param queueCapacity maximum number of pending events of a single event output.
+     * @param policy        policy applied when the queue of pending events of an event output is full.
+     * @param writeTimeout  maximum duration of a single event write, {@code 0} means that the writes never time out.
+     * @param unit          time unit of the write timeout.
+     * @see Broadcaster#Broadcaster(int, int, Broadcaster.SlowConsumerPolicy, long, TimeUnit)
+     */
+    public SseBroadcaster(final int writerThreads, final int queueCapacity, final SlowConsumerPolicy policy,
+                          final long writeTimeout, final TimeUnit unit) {
+        this(SseBroadcaster.class, writerThreads, queueCapacity, policy, writeTimeout, unit);
+    }
+
+    /**
+     * Can be used by subclasses to create a broadcaster delivering the events asynchronously with the given write timeout
+     * and to override the default functionality of adding self to the set of
+     * {@link org.glassfish.jersey.server.BroadcasterListener listeners}.
+     *
+     * @param subclass      subclass of SseBroadcaster that should not be registered as a listener - if creating a direct
+     *                      instance of this subclass, this constructor will not register the new instance as a listener.
+     * @param writerThreads number of threads writing the events to registered event outputs.
+     * @param queueCapacity maximum number of pending events of a single event output.
+     * @param policy        policy applied when the queue of pending events of an event output is full.
+     * @param writeTimeout  maximum duration of a single event write, {@code 0} means that the writes never time out.
+     * @param unit          time unit of the write timeout.
+     * @see #SseBroadcaster(int, int, Broadcaster.SlowConsumerPolicy, long, TimeUnit)
+     */
+    protected SseBroadcaster(final Class<? extends SseBroadcaster> subclass,
+                             final int writerThreads, final int queueCapacity, final SlowConsumerPolicy policy,
+                             final long writeTimeout, final TimeUnit unit) {
+        super(subclass, writerThreads, queueCapacity, policy, writeTimeout, unit);
+    }
+
+    /**
+     * Broadcast an event to all registered {@link EventOutput} instances.
+     * <p>
+     * The event is serialized only once and the serialized form is written to all the event outputs that use
+     * the same charset.
+     * </p>
+     *
+     * @param chunk event to be sent.
+     */
+    @Override
+    public void broadcast(final OutboundEvent chunk) {
+        super.broadcast(chunk.shared());
+    }
 }
@@ -39,6 +39,9 @@
  */
 package org.glassfish.jersey.media.sse;
 
+import java.io.ByteArrayOutputStream;
+import java.lang.annotation.Annotation;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 
 import javax.ws.rs.core.GenericEntity;
@@ -49,7 +52,11 @@ import org.glassfish.jersey.internal.util.ReflectionHelper;
 
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -151,4 +158,31 @@ public class OutboundEventTest {
         assertEquals(new GenericEntity<ArrayList<String>>(new ArrayList<String>()) {
         }.getType(), event.getGenericType());
     }
+
+    @Test
+    public void testSharedEventSerializedOnce() throws Exception {
+        final OutboundEvent event = new OutboundEvent.Builder().comment("first\nsecond").build();
+        assertFalse(event.isShared());
+
+        final OutboundEvent shared = event.shared();
+        assertTrue(shared.isShared());
+        assertSame(shared, shared.shared());
+        assertEquals(event.getComment(), shared.getComment());
+
+        final OutboundEventWriter writer = new OutboundEventWriter();
+        final ByteArrayOutputStream first = new ByteArrayOutputStream();
+        writer.writeTo(shared, OutboundEvent.class, OutboundEvent.class, new Annotation[0],
+                SseFeature.SERVER_SENT_EVENTS_TYPE, null, first);
+        assertEquals(": first\n: second\n", first.toString("UTF-8"));
+
+        final byte[] cached = shared.getSerializedForm(Charset.forName("UTF-8"));
+        assertNotNull(cached);
+        assertNull(event.getSerializedForm(Charset.forName("UTF-8")));
+
+        final ByteArrayOutputStream second = new ByteArrayOutputStream();
+        writer.writeTo(shared, OutboundEvent.class, OutboundEvent.class, new Annotation[0],
+                SseFeature.SERVER_SENT_EVENTS_TYPE, null, second);
+        assertArrayEquals(first.toByteArray(), second.toByteArray());
+        assertSame(cached, shared.getSerializedForm(Charset.forName("UTF-8")));
+    }
 }
@@ -57,8 +57,13 @@ public class AllBenchmarks {
         final Options opt = new OptionsBuilder()
                 // Register our benchmarks.
                 .include(ClientBenchmark.class.getSimpleName())
+                .include(ClientTemplateBenchmark.class.getSimpleName())
+                .include(DispatcherBenchmark.class.getSimpleName())
                 .include(JacksonBenchmark.class.getSimpleName())
+                .include(JaxbBenchmark.class.getSimpleName())
                 .include(LocatorBenchmark.class.getSimpleName())
+                .include(MonitoringBenchmark.class.getSimpleName())
+                .include(ScanningBenchmark.class.getSimpleName())
                 // Measure throughput in seconds (ops/s).
                 .mode(Mode.Throughput)
                 .timeUnit(TimeUnit.SECONDS)